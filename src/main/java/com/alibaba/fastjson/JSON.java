@@ -26,12 +26,16 @@ import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
 
 import com.alibaba.fastjson.parser.*;
 import com.alibaba.fastjson.parser.deserializer.ExtraProcessor;
 import com.alibaba.fastjson.parser.deserializer.ExtraTypeProvider;
 import com.alibaba.fastjson.parser.deserializer.FieldTypeResolver;
+import com.alibaba.fastjson.parser.deserializer.PropertyProjection;
 import com.alibaba.fastjson.parser.deserializer.ParseProcess;
+import com.alibaba.fastjson.parser.deserializer.JavaBeanDeserializer;
+import com.alibaba.fastjson.parser.deserializer.ObjectDeserializer;
 import com.alibaba.fastjson.serializer.*;
 import com.alibaba.fastjson.util.IOUtils;
 import com.alibaba.fastjson.util.TypeUtils;
@@ -166,13 +170,57 @@ public abstract class JSON implements JSONStreamAware, JSONAware {
         return parse(text, ParserConfig.getGlobalInstance(), features);
     }
 
+    /**
+     * 延迟解析，先建立结构索引，返回的JSONObject/JSONArray中的值在第一次访问的时候才创建。不处理$ref引用。
+     *
+     * @since 1.2.57
+     */
+    public static Object parseLazy(String text) {
+        return parseLazy(text, DEFAULT_PARSER_FEATURE);
+    }
+
+    /**
+     * @since 1.2.57
+     */
+    public static Object parseLazy(String text, int features) {
+        return LazyJSONParser.parse(text, ParserConfig.getGlobalInstance(), features);
+    }
+
     public static Object parse(byte[] input, Feature... features) {
-        char[] chars = allocateChars(input.length);
-        int len = IOUtils.decodeUTF8(input, 0, input.length, chars);
-        if (len < 0) {
-            return null;
+        int featureValues = DEFAULT_PARSER_FEATURE;
+        for (Feature feature : features) {
+            featureValues = Feature.config(featureValues, feature, true);
         }
-        return parse(new String(chars, 0, len), features);
+
+        DefaultJSONParser parser = new DefaultJSONParser(input, 0, input.length, ParserConfig.getGlobalInstance(), featureValues);
+        Object value = parser.parse();
+
+        parser.handleResovleTask(value);
+
+        parser.close();
+
+        return value;
+    }
+
+    /**
+     * 按UTF-8解析ByteBuffer中position到limit之间的内容，支持heap、direct和memory-mapped buffer，不会修改position
+     *
+     * @since 1.2.57
+     */
+    public static Object parse(ByteBuffer input, Feature... features) {
+        int featureValues = DEFAULT_PARSER_FEATURE;
+        for (Feature feature : features) {
+            featureValues = Feature.config(featureValues, feature, true);
+        }
+
+        DefaultJSONParser parser = new DefaultJSONParser(input, ParserConfig.getGlobalInstance(), featureValues);
+        Object value = parser.parse();
+
+        parser.handleResovleTask(value);
+
+        parser.close();
+
+        return value;
     }
 
     public static Object parse(byte[] input, int off, int len, CharsetDecoder charsetDecoder, Feature... features) {
@@ -356,6 +404,11 @@ public abstract class JSON implements JSONStreamAware, JSONAware {
          */
         DefaultJSONParser parser = new DefaultJSONParser(input, config, featureValues);
 
+        return (T) parseObject(parser, clazz, processor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T parseObject(DefaultJSONParser parser, Type clazz, ParseProcess processor) {
         /** 添加拦截器 */
         if (processor != null) {
             if (processor instanceof ExtraTypeProvider) {
@@ -369,6 +422,10 @@ public abstract class JSON implements JSONStreamAware, JSONAware {
             if (processor instanceof FieldTypeResolver) {
                 parser.setFieldTypeResolver((FieldTypeResolver) processor);
             }
+
+            if (processor instanceof PropertyProjection) {
+                parser.setProjection((PropertyProjection) processor);
+            }
         }
 
         /** 使用反序列化实例转换对象，查找具体序列化实例委托给config查找 */
@@ -424,23 +481,69 @@ public abstract class JSON implements JSONStreamAware, JSONAware {
             charset = IOUtils.UTF8;
         }
 
-        String strVal;
+        if (len < 0) {
+            return null;
+        }
+
         if (charset == IOUtils.UTF8) {
-            char[] chars = allocateChars(bytes.length);
-            int chars_len = IOUtils.decodeUTF8(bytes, offset, len, chars);
-            if (chars_len < 0) {
-                return null;
-            }
-            strVal = new String(chars, 0, chars_len);
-        } else {
-            if (len < 0) {
-                return null;
+            if (features != null) {
+                for (Feature feature : features) {
+                    featureValues |= feature.mask;
+                }
             }
-            strVal = new String(bytes, offset, len, charset);
+
+            /** utf-8直接按字节扫描，不再先解码成String */
+            DefaultJSONParser parser = new DefaultJSONParser(bytes, offset, len, config, featureValues);
+            return (T) parseObject(parser, clazz, processor);
         }
+
+        String strVal = new String(bytes, offset, len, charset);
         return (T) parseObject(strVal, clazz, config, processor, featureValues, features);
     }
 
+    /**
+     * 把json解析到已经存在的target中，用于对象池复用对象。target先被重置：基本类型为0/false，
+     * 集合和Map清空，嵌套的JavaBean递归重置，其他属性为null；然后写入json中的属性，
+     * 嵌套的JavaBean和集合写入到target中已有的实例，不再创建新的对象。target的对象图不能有循环引用。
+     *
+     * @return target
+     * @since 1.2.57
+     */
+    public static <T> T parseObjectInto(String text, T target, Feature... features) {
+        int featureValues = DEFAULT_PARSER_FEATURE;
+        for (Feature feature : features) {
+            featureValues |= feature.mask;
+        }
+        return parseObjectInto(new DefaultJSONParser(text, ParserConfig.global, featureValues), target);
+    }
+
+    /**
+     * utf-8编码的json直接按字节解析到target中
+     *
+     * @see #parseObjectInto(String, Object, Feature...)
+     * @since 1.2.57
+     */
+    public static <T> T parseObjectInto(byte[] bytes, T target, Feature... features) {
+        int featureValues = DEFAULT_PARSER_FEATURE;
+        for (Feature feature : features) {
+            featureValues |= feature.mask;
+        }
+        return parseObjectInto(new DefaultJSONParser(bytes, 0, bytes.length, ParserConfig.global, featureValues), target);
+    }
+
+    private static <T> T parseObjectInto(DefaultJSONParser parser, T target) {
+        ObjectDeserializer deserializer = parser.getConfig().getDeserializer(target.getClass());
+        if (!(deserializer instanceof JavaBeanDeserializer)) {
+            throw new JSONException("parseObjectInto not support " + target.getClass().getName());
+        }
+
+        parser.setReuseFieldValues(true);
+        T value = ((JavaBeanDeserializer) deserializer).deserialzeInto(parser, null, target);
+        parser.handleResovleTask(value);
+        parser.close();
+        return value;
+    }
+
     @SuppressWarnings("unchecked")
     public static <T> T parseObject(byte[] input, //
                                     int off, //
@@ -531,6 +634,18 @@ public abstract class JSON implements JSONStreamAware, JSONAware {
             charset = IOUtils.UTF8;
         }
 
+        if (charset == IOUtils.UTF8) {
+            if (features != null) {
+                for (Feature feature : features) {
+                    featureValues |= feature.mask;
+                }
+            }
+
+            /** utf-8边读边解析，只占用一个固定大小的窗口，不再先把整个流读到内存中 */
+            DefaultJSONParser parser = new DefaultJSONParser(new JSONUTF8StreamScanner(is, featureValues), config);
+            return (T) parseObject(parser, type, processor);
+        }
+
         byte[] bytes = allocateBytes(1024 * 64);
         int offset = 0;
         for (;;) {
@@ -549,6 +664,42 @@ public abstract class JSON implements JSONStreamAware, JSONAware {
         return (T) parseObject(bytes, 0, offset, charset, type, config, processor, featureValues, features);
     }
 
+    /**
+     * @since 1.2.57
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T parseObject(ByteBuffer input, Type clazz, Feature... features) {
+        return (T) parseObject(input, clazz, ParserConfig.global, null, DEFAULT_PARSER_FEATURE, features);
+    }
+
+    /**
+     * 按UTF-8解析ByteBuffer中position到limit之间的内容，不会修改position。
+     * heap buffer直接扫描底层数组；direct和memory-mapped buffer每次只复制一个窗口到堆上，
+     * 适合用mmap解析很大的文件
+     *
+     * @since 1.2.57
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T parseObject(ByteBuffer input, //
+                                    Type clazz, //
+                                    ParserConfig config, //
+                                    ParseProcess processor, //
+                                    int featureValues, //
+                                    Feature... features) {
+        if (input == null) {
+            return null;
+        }
+
+        if (features != null) {
+            for (Feature feature : features) {
+                featureValues |= feature.mask;
+            }
+        }
+
+        DefaultJSONParser parser = new DefaultJSONParser(input, config, featureValues);
+        return (T) parseObject(parser, clazz, processor);
+    }
+
     public static <T> T parseObject(String text, Class<T> clazz) {
         /** 根据指定text，返回期望的java对象类型class */
         return parseObject(text, clazz, new Feature[0]);
@@ -608,6 +759,19 @@ public abstract class JSON implements JSONStreamAware, JSONAware {
         return list;
     }
 
+    /**
+     * 并行解析顶层的大数组，结果的顺序和输入一致。元素较少时按顺序解析。
+     * <pre>
+     * List&lt;Model&gt; models = JSON.parseArray(text, Model.class, executor);
+     * </pre>
+     *
+     * @param executor 用于解析各段元素的线程池，可以是ForkJoinPool
+     * @since 1.2.57
+     */
+    public static <T> List<T> parseArray(String text, Class<T> clazz, ExecutorService executor) {
+        return ParallelArrayParser.parseArray(text, clazz, ParserConfig.getGlobalInstance(), DEFAULT_PARSER_FEATURE, executor);
+    }
+
     public static List<Object> parseArray(String text, Type[] types) {
         if (text == null) {
             return null;
@@ -0,0 +1,297 @@
+package com.alibaba.fastjson;
+
+import java.lang.reflect.Type;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+
+import com.alibaba.fastjson.parser.DefaultJSONParser;
+import com.alibaba.fastjson.parser.Feature;
+import com.alibaba.fastjson.parser.ParserConfig;
+
+/**
+ * 非阻塞的推模式解析器，适用于Netty/WebFlux这类异步服务器：网络上收到一段字节就feed一段，不需要阻塞线程等待完整的输入。
+ * <p>
+ * 输入是UTF-8编码的一个或者多个顶层json值（以空白分隔）。feed时增量地做结构扫描（嵌套深度、字符串、转义和注释的状态跨chunk保留），
+ * 一个顶层值的字节一旦完整就立刻反序列化，已经解析完的字节会被丢弃。
+ *
+ * <pre>
+ * JSONFeeder feeder = new JSONFeeder(Model.class);
+ * // 每收到一个chunk
+ * if (feeder.feed(bytes, 0, len) != JSONFeeder.NEED_MORE_INPUT) {
+ *     while (feeder.hasNext()) {
+ *         Model model = feeder.next();
+ *     }
+ * }
+ * // 连接关闭时
+ * feeder.endOfInput();
+ * </pre>
+ *
+ * 这个类不是线程安全的。
+ *
+ * @since 1.2.57
+ */
+public class JSONFeeder {
+
+    /** feed的返回值，表示还没有完整的值 */
+    public final static int          NEED_MORE_INPUT   = 0;
+
+    private final static int         COMMENT_NONE      = 0;
+    private final static int         COMMENT_START     = 1; // 读到了'/'
+    private final static int         COMMENT_LINE      = 2;
+    private final static int         COMMENT_BLOCK     = 3;
+    private final static int         COMMENT_BLOCK_END = 4; // 块注释中读到了'*'
+
+    private final Type               type;
+    private final ParserConfig       config;
+    private final int                features;
+
+    private byte[]                   buf;
+    private int                      count;
+    private int                      pos;
+
+    /** 当前值在buf中的开始位置，-1表示值还没有开始 */
+    private int                      start             = -1;
+    private int                      depth;
+    private byte                     quote;
+    private boolean                  escape;
+    private boolean                  scalar;
+    private int                      comment;
+
+    private boolean                  eof;
+    private final LinkedList<Object> values            = new LinkedList<Object>();
+
+    public JSONFeeder(){
+        this(null);
+    }
+
+    /**
+     * @param type 每个顶层值反序列化的类型，null表示解析成JSONObject/JSONArray等
+     */
+    public JSONFeeder(Type type){
+        this(type, ParserConfig.global, JSON.DEFAULT_PARSER_FEATURE);
+    }
+
+    public JSONFeeder(Type type, ParserConfig config, Feature... features){
+        this(type, config, Feature.of(features) | JSON.DEFAULT_PARSER_FEATURE);
+    }
+
+    public JSONFeeder(Type type, ParserConfig config, int features){
+        this.type = type;
+        this.config = config;
+        this.features = features;
+    }
+
+    /**
+     * @return 已经解析完成、可以通过next读取的值的个数，没有时返回{@link #NEED_MORE_INPUT}
+     */
+    public int feed(byte[] bytes, int off, int len) {
+        if (eof) {
+            throw new JSONException("endOfInput already called");
+        }
+
+        if (len > 0) {
+            append(bytes, off, len);
+            scan();
+        }
+
+        return values.size();
+    }
+
+    /**
+     * 通知输入已经结束，顶层的数字、true/false/null这类值只有在这时候才能确定结束
+     *
+     * @return 可以通过next读取的值的个数
+     */
+    public int endOfInput() {
+        if (eof) {
+            return values.size();
+        }
+        eof = true;
+
+        if (scalar) {
+            scalar = false;
+            complete(count);
+        }
+
+        if (start != -1 || comment == COMMENT_BLOCK || comment == COMMENT_BLOCK_END || comment == COMMENT_START) {
+            throw new JSONException("unterminated json, depth " + depth);
+        }
+
+        buf = null;
+        count = pos = 0;
+        return values.size();
+    }
+
+    public boolean hasNext() {
+        return !values.isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T next() {
+        if (values.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return (T) values.removeFirst();
+    }
+
+    /**
+     * 是否已经调用过endOfInput并且所有值都已经读取
+     */
+    public boolean isFinished() {
+        return eof && values.isEmpty();
+    }
+
+    private void append(byte[] bytes, int off, int len) {
+        if (buf == null) {
+            buf = new byte[len < 1024 * 8 ? 1024 * 8 : len];
+        } else if (start == -1) { // 已经完成的值不再需要
+            count = pos = 0;
+        } else if (start > 0) {
+            int rest = count - start;
+            System.arraycopy(buf, start, buf, 0, rest);
+            count = rest;
+            pos -= start;
+            start = 0;
+        }
+
+        int newCount = count + len;
+        if (newCount > buf.length) {
+            int newCapacity = (buf.length * 3) / 2 + 1;
+            if (newCapacity < newCount) {
+                newCapacity = newCount;
+            }
+            byte[] newBuf = new byte[newCapacity];
+            System.arraycopy(buf, 0, newBuf, 0, count);
+            buf = newBuf;
+        }
+
+        System.arraycopy(bytes, off, buf, count, len);
+        count = newCount;
+    }
+
+    private void scan() {
+        final byte[] buf = this.buf;
+        for (int i = pos; i < count; ++i) {
+            final byte b = buf[i];
+
+            if (quote != 0) {
+                if (escape) {
+                    escape = false;
+                } else if (b == '\\') {
+                    escape = true;
+                } else if (b == quote) {
+                    quote = 0;
+                    if (depth == 0) {
+                        complete(i + 1);
+                    }
+                }
+                continue;
+            }
+
+            if (comment != COMMENT_NONE) {
+                switch (comment) {
+                    case COMMENT_START:
+                        if (b == '/') {
+                            comment = COMMENT_LINE;
+                        } else if (b == '*') {
+                            comment = COMMENT_BLOCK;
+                        } else {
+                            throw new JSONException("illegal comment, pos " + i);
+                        }
+                        break;
+                    case COMMENT_LINE:
+                        if (b == '\n') {
+                            comment = COMMENT_NONE;
+                        }
+                        break;
+                    case COMMENT_BLOCK:
+                        if (b == '*') {
+                            comment = COMMENT_BLOCK_END;
+                        }
+                        break;
+                    default: // COMMENT_BLOCK_END
+                        if (b == '/') {
+                            comment = COMMENT_NONE;
+                        } else if (b != '*') {
+                            comment = COMMENT_BLOCK;
+                        }
+                        break;
+                }
+                continue;
+            }
+
+            if (scalar) {
+                if (!isDelimiter(b)) {
+                    continue;
+                }
+                scalar = false;
+                complete(i);
+            }
+
+            switch (b) {
+                case ' ':
+                case '\t':
+                case '\r':
+                case '\n':
+                case '\f':
+                case '\b':
+                    break;
+                case '/':
+                    comment = COMMENT_START;
+                    break;
+                case '"':
+                case '\'':
+                    quote = b;
+                    if (start == -1) {
+                        start = i;
+                    }
+                    break;
+                case '{':
+                case '[':
+                    if (start == -1) {
+                        start = i;
+                    }
+                    depth++;
+                    break;
+                case '}':
+                case ']':
+                    if (--depth < 0) {
+                        throw new JSONException("illegal json, unexpected '" + (char) b + "', pos " + i);
+                    }
+                    if (depth == 0) {
+                        complete(i + 1);
+                    }
+                    break;
+                default:
+                    if (start == -1) { // 顶层的数字、true/false/null，遇到分隔符或者输入结束时才完整
+                        start = i;
+                        scalar = true;
+                    }
+                    break;
+            }
+        }
+        pos = count;
+    }
+
+    private static boolean isDelimiter(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n' || b == '\f' || b == '\b' //
+               || b == '{' || b == '[' || b == '"' || b == '\'' || b == '/';
+    }
+
+    private void complete(int end) {
+        DefaultJSONParser parser = new DefaultJSONParser(buf, start, end - start, config, features);
+        start = -1;
+        pos = end;
+
+        Object value;
+        if (type == null) {
+            value = parser.parse();
+        } else {
+            value = parser.parseObject(type, null);
+        }
+        parser.handleResovleTask(value);
+        parser.close();
+
+        values.add(value);
+    }
+}
@@ -0,0 +1,301 @@
+package com.alibaba.fastjson;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.alibaba.fastjson.parser.DefaultJSONParser;
+import com.alibaba.fastjson.parser.JSONToken;
+import com.alibaba.fastjson.parser.JSONUTF8StreamScanner;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.util.IOUtils;
+
+/**
+ * 读取UTF-8编码的JSON Lines(NDJSON)，每行一个json值。
+ * <p>
+ * 默认在同一个lexer和parser上依次解析每一行，不会为每行创建新的String和parser；
+ * 指定executor时，按batchSize行切分成批，各批在executor中并行解析，按原来的顺序返回。
+ *
+ * <pre>
+ * JSONLinesReader&lt;Model&gt; reader = new JSONLinesReader&lt;Model&gt;(in, Model.class);
+ * while (reader.hasNext()) {
+ *     Model model = reader.next();
+ * }
+ * reader.close();
+ * </pre>
+ *
+ * @since 1.2.57
+ */
+public class JSONLinesReader<T> implements Iterator<T>, Closeable {
+
+    private final Type                        type;
+    private final ParserConfig                config;
+    private final int                         features;
+
+    private InputStream                       in;
+    private ByteBuffer                        byteBuffer;
+
+    /** 顺序解析时复用的parser */
+    private DefaultJSONParser                 parser;
+
+    private ExecutorService                   executor;
+    private int                               batchSize;
+    private int                               maxPending;
+    private byte[]                            buf;
+    private int                               bufStart;
+    private int                               bufEnd;
+    private boolean                           eof;
+    private final LinkedList<Future<List<T>>> batches = new LinkedList<Future<List<T>>>();
+    private Iterator<T>                       current;
+
+    public JSONLinesReader(InputStream in, Type type){
+        this(in, type, ParserConfig.global, JSON.DEFAULT_PARSER_FEATURE);
+    }
+
+    public JSONLinesReader(InputStream in, Type type, ParserConfig config, int features){
+        this(in, null, type, config, features);
+        this.parser = new DefaultJSONParser(new JSONUTF8StreamScanner(in, features), config);
+    }
+
+    public JSONLinesReader(ByteBuffer buffer, Type type){
+        this(buffer, type, ParserConfig.global, JSON.DEFAULT_PARSER_FEATURE);
+    }
+
+    public JSONLinesReader(ByteBuffer buffer, Type type, ParserConfig config, int features){
+        this(null, buffer, type, config, features);
+        this.parser = new DefaultJSONParser(buffer, config, features);
+    }
+
+    /**
+     * 并行解析
+     *
+     * @param batchSize 每批的行数
+     */
+    public JSONLinesReader(InputStream in, Type type, ParserConfig config, int features, ExecutorService executor, int batchSize){
+        this(in, null, type, config, features);
+        initBatch(executor, batchSize);
+    }
+
+    /**
+     * 并行解析
+     *
+     * @param batchSize 每批的行数
+     */
+    public JSONLinesReader(ByteBuffer buffer, Type type, ParserConfig config, int features, ExecutorService executor, int batchSize){
+        this(null, buffer.duplicate(), type, config, features);
+        initBatch(executor, batchSize);
+    }
+
+    private JSONLinesReader(InputStream in, ByteBuffer byteBuffer, Type type, ParserConfig config, int features){
+        this.in = in;
+        this.byteBuffer = byteBuffer;
+        this.type = type;
+        this.config = config;
+        this.features = features;
+    }
+
+    private void initBatch(ExecutorService executor, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize " + batchSize);
+        }
+
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.maxPending = Runtime.getRuntime().availableProcessors() * 2;
+        this.buf = new byte[1024 * 64];
+    }
+
+    public boolean hasNext() {
+        if (parser != null) {
+            return parser.lexer.token() != JSONToken.EOF;
+        }
+
+        for (;;) {
+            if (current != null && current.hasNext()) {
+                return true;
+            }
+
+            submitBatches();
+            if (batches.isEmpty()) {
+                return false;
+            }
+
+            current = take(batches.removeFirst()).iterator();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        if (parser != null) {
+            return (T) parseValue(parser, type);
+        }
+
+        return current.next();
+    }
+
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    public void close() {
+        if (parser != null) {
+            parser.lexer.close();
+        }
+
+        for (Future<List<T>> batch : batches) {
+            batch.cancel(true);
+        }
+        batches.clear();
+
+        IOUtils.close(in);
+    }
+
+    static Object parseValue(DefaultJSONParser parser, Type type) {
+        parser.resetContext();
+
+        Object value;
+        if (type == null) {
+            value = parser.parse();
+        } else {
+            value = parser.parseObject(type, null);
+        }
+        parser.handleResovleTask(value);
+
+        return value;
+    }
+
+    private List<T> take(Future<List<T>> batch) {
+        try {
+            return batch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JSONException("read json lines interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new JSONException("read json lines error", cause);
+        }
+    }
+
+    private void submitBatches() {
+        while (batches.size() < maxPending) {
+            byte[] lines = readLines();
+            if (lines == null) {
+                break;
+            }
+            batches.add(executor.submit(new BatchTask<T>(lines, type, config, features)));
+        }
+    }
+
+    /**
+     * 读取batchSize行，返回null表示已经读完
+     */
+    private byte[] readLines() {
+        int lines = 0;
+        int pos = bufStart;
+        for (;;) {
+            for (; pos < bufEnd; ++pos) {
+                if (buf[pos] == '\n' && ++lines == batchSize) {
+                    return cut(pos + 1);
+                }
+            }
+
+            if (eof) {
+                return bufEnd > bufStart ? cut(bufEnd) : null;
+            }
+
+            if (bufStart > 0) {
+                System.arraycopy(buf, bufStart, buf, 0, bufEnd - bufStart);
+                pos -= bufStart;
+                bufEnd -= bufStart;
+                bufStart = 0;
+            }
+
+            if (bufEnd == buf.length) {
+                byte[] newBuf = new byte[buf.length * 2];
+                System.arraycopy(buf, 0, newBuf, 0, bufEnd);
+                buf = newBuf;
+            }
+
+            int len = read(buf, bufEnd, buf.length - bufEnd);
+            if (len == -1) {
+                eof = true;
+            } else {
+                bufEnd += len;
+            }
+        }
+    }
+
+    private byte[] cut(int end) {
+        byte[] lines = new byte[end - bufStart];
+        System.arraycopy(buf, bufStart, lines, 0, lines.length);
+        bufStart = end;
+        return lines;
+    }
+
+    private int read(byte[] buf, int off, int len) {
+        if (byteBuffer != null) {
+            int rest = byteBuffer.remaining();
+            if (rest == 0) {
+                return -1;
+            }
+
+            if (len > rest) {
+                len = rest;
+            }
+            byteBuffer.get(buf, off, len);
+            return len;
+        }
+
+        try {
+            return in.read(buf, off, len);
+        } catch (IOException e) {
+            throw new JSONException(e.getMessage(), e);
+        }
+    }
+
+    private static class BatchTask<T> implements Callable<List<T>> {
+
+        private final byte[]       lines;
+        private final Type         type;
+        private final ParserConfig config;
+        private final int          features;
+
+        BatchTask(byte[] lines, Type type, ParserConfig config, int features){
+            this.lines = lines;
+            this.type = type;
+            this.config = config;
+            this.features = features;
+        }
+
+        @SuppressWarnings("unchecked")
+        public List<T> call() throws Exception {
+            List<T> list = new ArrayList<T>();
+
+            DefaultJSONParser parser = new DefaultJSONParser(lines, 0, lines.length, config, features);
+            while (parser.lexer.token() != JSONToken.EOF) {
+                list.add((T) parseValue(parser, type));
+            }
+            parser.lexer.close();
+
+            return list;
+        }
+    }
+}
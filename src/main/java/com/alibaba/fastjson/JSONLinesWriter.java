@@ -0,0 +1,76 @@
+package com.alibaba.fastjson;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.alibaba.fastjson.serializer.JSONSerializer;
+import com.alibaba.fastjson.serializer.SerializeConfig;
+import com.alibaba.fastjson.serializer.SerializeWriter;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import com.alibaba.fastjson.util.IOUtils;
+
+/**
+ * 以JSON Lines(NDJSON)格式写出记录，每条记录一行，UTF-8编码。
+ * <p>
+ * 所有记录复用同一个SerializeWriter，缓冲区超过64K字符时才编码写入OutputStream。
+ * 不要使用PrettyFormat，否则一条记录会跨多行。
+ *
+ * @since 1.2.57
+ */
+public class JSONLinesWriter implements Closeable, Flushable {
+
+    private final static int      FLUSH_THRESHOLD = 1024 * 64;
+
+    private final OutputStream    out;
+    private final SerializeConfig config;
+    private SerializeWriter       writer;
+
+    public JSONLinesWriter(OutputStream out){
+        this(out, SerializeConfig.globalInstance, JSON.DEFAULT_GENERATE_FEATURE);
+    }
+
+    public JSONLinesWriter(OutputStream out, SerializeConfig config, int defaultFeatures, SerializerFeature... features){
+        this.out = out;
+        this.config = config;
+        this.writer = new SerializeWriter(null, defaultFeatures, features);
+    }
+
+    public void write(Object object) throws IOException {
+        // 每条记录使用新的JSONSerializer，循环引用检测不会跨记录
+        JSONSerializer serializer = new JSONSerializer(writer, config);
+        serializer.write(object);
+        writer.write('\n');
+
+        if (writer.size() >= FLUSH_THRESHOLD) {
+            writeBuffer();
+        }
+    }
+
+    public void flush() throws IOException {
+        writeBuffer();
+        out.flush();
+    }
+
+    public void close() throws IOException {
+        if (writer == null) {
+            return;
+        }
+
+        try {
+            flush();
+        } finally {
+            writer.close();
+            writer = null;
+            IOUtils.close(out);
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        if (writer.size() > 0) {
+            writer.writeToEx(out, IOUtils.UTF8);
+            writer.reset();
+        }
+    }
+}
@@ -0,0 +1,407 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * 数字用int[]、long[]或者double[]存放的JSONArray。get返回的类型和解析时一致：int范围内的整数是Integer，
+ * 超出的是Long，小数是Double。加入其他类型的值时自动转换：int[]遇到超出int范围的Long转成long[]，
+ * 其他情况(包括null)转成Object[]，之后和普通的JSONArray一样。
+ *
+ * @since 1.2.57
+ */
+public class JSONNumberArray extends JSONArray {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Numbers     numbers;
+
+    public JSONNumberArray(){
+        this(new Numbers(10));
+    }
+
+    public JSONNumberArray(int initialCapacity){
+        this(new Numbers(initialCapacity));
+    }
+
+    private JSONNumberArray(Numbers numbers){
+        super(numbers);
+        this.numbers = numbers;
+    }
+
+    /**
+     * 加入一个整数，不创建Integer/Long对象
+     */
+    public JSONNumberArray addLong(long value) {
+        numbers.addLong(value);
+        return this;
+    }
+
+    /**
+     * 加入一个Double，不创建Double对象
+     */
+    public JSONNumberArray addDouble(double value) {
+        numbers.addDouble(value);
+        return this;
+    }
+
+    /**
+     * @return int.class、long.class、double.class，已经转成Object[]时返回null
+     */
+    public Class<?> getPrimitiveType() {
+        switch (numbers.mode) {
+            case Numbers.INT:
+                return int.class;
+            case Numbers.LONG:
+                return long.class;
+            case Numbers.DOUBLE:
+                return double.class;
+            default:
+                return null;
+        }
+    }
+
+    public int getIntValue(int index) {
+        switch (numbers.mode) {
+            case Numbers.INT:
+                return numbers.ints[numbers.checkIndex(index)];
+            case Numbers.LONG:
+                return (int) numbers.longs[numbers.checkIndex(index)];
+            case Numbers.DOUBLE:
+                return (int) numbers.doubles[numbers.checkIndex(index)];
+            default:
+                return super.getIntValue(index);
+        }
+    }
+
+    public long getLongValue(int index) {
+        switch (numbers.mode) {
+            case Numbers.INT:
+                return numbers.ints[numbers.checkIndex(index)];
+            case Numbers.LONG:
+                return numbers.longs[numbers.checkIndex(index)];
+            case Numbers.DOUBLE:
+                return (long) numbers.doubles[numbers.checkIndex(index)];
+            default:
+                return super.getLongValue(index);
+        }
+    }
+
+    public double getDoubleValue(int index) {
+        switch (numbers.mode) {
+            case Numbers.INT:
+                return numbers.ints[numbers.checkIndex(index)];
+            case Numbers.LONG:
+                return numbers.longs[numbers.checkIndex(index)];
+            case Numbers.DOUBLE:
+                return numbers.doubles[numbers.checkIndex(index)];
+            default:
+                return super.getDoubleValue(index);
+        }
+    }
+
+    @Override
+    public Object clone() {
+        return new JSONNumberArray(numbers.copy());
+    }
+
+    static final class Numbers extends AbstractList<Object> implements RandomAccess, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        static final int          INT              = 0;
+        static final int          LONG             = 1;
+        static final int          DOUBLE           = 2;
+        static final int          OBJECT           = 3;
+
+        /** 只有mode对应的数组不为null */
+        int                       mode             = INT;
+        int[]                     ints;
+        long[]                    longs;
+        double[]                  doubles;
+        Object[]                  objects;
+        int                       size;
+
+        Numbers(int capacity){
+            if (capacity < 0) {
+                throw new IllegalArgumentException("Illegal Capacity: " + capacity);
+            }
+            ints = new int[capacity];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        int checkIndex(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return index;
+        }
+
+        public Object get(int index) {
+            checkIndex(index);
+            switch (mode) {
+                case INT:
+                    return ints[index];
+                case LONG:
+                    long value = longs[index];
+                    if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                        return (int) value;
+                    }
+                    return value;
+                case DOUBLE:
+                    return doubles[index];
+                default:
+                    return objects[index];
+            }
+        }
+
+        public Object set(int index, Object element) {
+            Object old = get(index);
+            store(index, element);
+            return old;
+        }
+
+        public void add(int index, Object element) {
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+
+            // 先转换再移动，转换只关心已有的size个元素
+            prepare(element);
+            ensureCapacity(size + 1);
+            Object array = array();
+            System.arraycopy(array, index, array, index + 1, size - index);
+            size++;
+            store(index, element);
+            modCount++;
+        }
+
+        public Object remove(int index) {
+            Object old = get(index);
+            Object array = array();
+            System.arraycopy(array, index + 1, array, index, size - index - 1);
+            size--;
+            if (mode == OBJECT) {
+                objects[size] = null;
+            }
+            modCount++;
+            return old;
+        }
+
+        public void clear() {
+            mode = INT;
+            ints = new int[10];
+            longs = null;
+            doubles = null;
+            objects = null;
+            size = 0;
+            modCount++;
+        }
+
+        void addLong(long value) {
+            boolean isInt = value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE;
+            if (mode == INT && isInt) {
+                ensureCapacity(size + 1);
+                ints[size++] = (int) value;
+            } else if (mode == LONG || (mode == INT && toMode(LONG))) {
+                ensureCapacity(size + 1);
+                longs[size++] = value;
+            } else if (isInt) {
+                add((int) value);
+            } else {
+                add(value);
+            }
+            modCount++;
+        }
+
+        void addDouble(double value) {
+            if (mode == DOUBLE || (size == 0 && toMode(DOUBLE))) {
+                ensureCapacity(size + 1);
+                doubles[size++] = value;
+                modCount++;
+            } else {
+                add(value);
+            }
+        }
+
+        /**
+         * 保证element能存放在当前的数组中，否则先转换
+         */
+        private void prepare(Object element) {
+            int target = modeOf(element);
+            if (target == mode || mode == OBJECT) {
+                return;
+            }
+
+            if (size == 0) {
+                toMode(target);
+            } else if (mode == INT && target == LONG) {
+                toMode(LONG);
+            } else if (mode == LONG && target == INT) {
+                // long[]可以存放int
+            } else {
+                toMode(OBJECT);
+            }
+        }
+
+        private void store(int index, Object element) {
+            prepare(element);
+            switch (mode) {
+                case INT:
+                    ints[index] = ((Integer) element).intValue();
+                    break;
+                case LONG:
+                    longs[index] = ((Number) element).longValue();
+                    break;
+                case DOUBLE:
+                    doubles[index] = ((Double) element).doubleValue();
+                    break;
+                default:
+                    objects[index] = element;
+                    break;
+            }
+        }
+
+        /**
+         * Long只有超出int范围时才放进long[]，这样get的时候可以还原出原来的类型
+         */
+        private static int modeOf(Object element) {
+            if (element == null) {
+                return OBJECT;
+            }
+
+            Class<?> clazz = element.getClass();
+            if (clazz == Integer.class) {
+                return INT;
+            }
+            if (clazz == Long.class) {
+                long value = ((Long) element).longValue();
+                return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? OBJECT : LONG;
+            }
+            if (clazz == Double.class) {
+                return DOUBLE;
+            }
+            return OBJECT;
+        }
+
+        private boolean toMode(int target) {
+            int capacity = Math.max(size, length());
+            switch (target) {
+                case LONG: {
+                    long[] longs = new long[capacity];
+                    for (int i = 0; i < size; ++i) {
+                        longs[i] = ints[i];
+                    }
+                    this.longs = longs;
+                    break;
+                }
+                case DOUBLE:
+                    doubles = new double[capacity];
+                    break;
+                case INT:
+                    ints = new int[capacity];
+                    break;
+                default: {
+                    Object[] objects = new Object[capacity];
+                    for (int i = 0; i < size; ++i) {
+                        objects[i] = get(i);
+                    }
+                    this.objects = objects;
+                    break;
+                }
+            }
+
+            if (target != INT) {
+                ints = null;
+            }
+            if (target != LONG) {
+                longs = null;
+            }
+            if (target != DOUBLE) {
+                doubles = null;
+            }
+            mode = target;
+            return true;
+        }
+
+        private Object array() {
+            switch (mode) {
+                case INT:
+                    return ints;
+                case LONG:
+                    return longs;
+                case DOUBLE:
+                    return doubles;
+                default:
+                    return objects;
+            }
+        }
+
+        private int length() {
+            switch (mode) {
+                case INT:
+                    return ints.length;
+                case LONG:
+                    return longs.length;
+                case DOUBLE:
+                    return doubles.length;
+                default:
+                    return objects.length;
+            }
+        }
+
+        private void ensureCapacity(int capacity) {
+            int length = length();
+            if (capacity <= length) {
+                return;
+            }
+
+            int newCapacity = Math.max(capacity, length + (length >> 1));
+            switch (mode) {
+                case INT:
+                    ints = Arrays.copyOf(ints, newCapacity);
+                    break;
+                case LONG:
+                    longs = Arrays.copyOf(longs, newCapacity);
+                    break;
+                case DOUBLE:
+                    doubles = Arrays.copyOf(doubles, newCapacity);
+                    break;
+                default:
+                    objects = Arrays.copyOf(objects, newCapacity);
+                    break;
+            }
+        }
+
+        Numbers copy() {
+            Numbers copy = new Numbers(0);
+            copy.mode = mode;
+            copy.ints = ints == null ? null : Arrays.copyOf(ints, size);
+            copy.longs = longs == null ? null : Arrays.copyOf(longs, size);
+            copy.doubles = doubles == null ? null : Arrays.copyOf(doubles, size);
+            copy.objects = objects == null ? null : Arrays.copyOf(objects, size);
+            copy.size = size;
+            return copy;
+        }
+    }
+}
@@ -36,17 +36,22 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.List;
 
 import com.alibaba.fastjson.annotation.JSONField;
+import com.alibaba.fastjson.parser.CompactJSONMap;
 import com.alibaba.fastjson.parser.Feature;
 import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.parser.StringSlice;
 import com.alibaba.fastjson.util.TypeUtils;
 
 /**
@@ -109,6 +114,10 @@ public class JSONObject extends JSON implements Map<String, Object>, Cloneable,
             val = map.get(key.toString());
         }
 
+        if (val instanceof StringSlice) {
+            return val.toString();
+        }
+
         return val;
     }
 
@@ -379,16 +388,26 @@ public class JSONObject extends JSON implements Map<String, Object>, Cloneable,
         return map.keySet();
     }
 
+    /**
+     * Feature.LazyStringValue时map中的StringSlice会转成String返回，直接访问getInnerMap()才会拿到StringSlice
+     */
     public Collection<Object> values() {
-        return map.values();
+        return new Values();
     }
 
+    /**
+     * Feature.LazyStringValue时entry中的StringSlice会转成String返回，直接访问getInnerMap()才会拿到StringSlice
+     */
     public Set<Map.Entry<String, Object>> entrySet() {
-        return map.entrySet();
+        return new EntrySet();
     }
 
     @Override
     public Object clone() {
+        if (map instanceof CompactJSONMap) {
+            return new JSONObject(((CompactJSONMap) map).clone());
+        }
+
         return new JSONObject(map instanceof LinkedHashMap //
                 ? new LinkedHashMap<String, Object>(map) //
                 : new HashMap<String, Object>(map)
@@ -517,6 +536,121 @@ public class JSONObject extends JSON implements Map<String, Object>, Cloneable,
         }
     }
 
+    final class Values extends AbstractCollection<Object> {
+
+        public Iterator<Object> iterator() {
+            final Iterator<Object> it = map.values().iterator();
+            return new Iterator<Object>() {
+
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                public Object next() {
+                    Object value = it.next();
+                    return value instanceof StringSlice ? value.toString() : value;
+                }
+
+                public void remove() {
+                    it.remove();
+                }
+            };
+        }
+
+        public int size() {
+            return map.size();
+        }
+
+        public void clear() {
+            map.clear();
+        }
+    }
+
+    final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            final Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator();
+            return new Iterator<Map.Entry<String, Object>>() {
+
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                public Map.Entry<String, Object> next() {
+                    Map.Entry<String, Object> entry = it.next();
+                    return entry.getValue() instanceof StringSlice ? new StringEntry(entry) : entry;
+                }
+
+                public void remove() {
+                    it.remove();
+                }
+            };
+        }
+
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            Object key = entry.getKey();
+            if (!map.containsKey(key)) {
+                return false;
+            }
+            Object value = get(key), other = entry.getValue();
+            return value == null ? other == null : value.equals(other);
+        }
+
+        public int size() {
+            return map.size();
+        }
+
+        public void clear() {
+            map.clear();
+        }
+    }
+
+    static final class StringEntry implements Map.Entry<String, Object> {
+
+        private final Map.Entry<String, Object> entry;
+
+        StringEntry(Map.Entry<String, Object> entry){
+            this.entry = entry;
+        }
+
+        public String getKey() {
+            return entry.getKey();
+        }
+
+        public Object getValue() {
+            Object value = entry.getValue();
+            return value instanceof StringSlice ? value.toString() : value;
+        }
+
+        public Object setValue(Object value) {
+            Object old = entry.setValue(value);
+            return old instanceof StringSlice ? old.toString() : old;
+        }
+
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+            Object key = getKey(), value = getValue();
+            return (key == null ? other.getKey() == null : key.equals(other.getKey()))
+                   && (value == null ? other.getValue() == null : value.equals(other.getValue()));
+        }
+
+        public int hashCode() {
+            Object key = getKey(), value = getValue();
+            return (key == null ? 0 : key.hashCode()) ^ (value == null ? 0 : value.hashCode());
+        }
+
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+
     static class SecureObjectInputStream extends ObjectInputStream {
         static Field[] fields;
         static volatile boolean fields_error;
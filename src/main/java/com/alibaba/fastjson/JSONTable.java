@@ -0,0 +1,831 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+
+import com.alibaba.fastjson.util.TypeUtils;
+
+/**
+ * 列式存储的JSONArray，元素是key相同并且顺序相同的对象。每个key一列，整数列使用long[]，Double列使用double[]，
+ * 字符串列使用String[]，其他类型使用Object[]，long[]和double[]的null用位图记录。
+ * <p>
+ * get(int)返回行视图，行视图是一个包装了Map的JSONObject，同一行每次返回同一个对象，读写直接作用在列上，
+ * 写入不匹配的类型时该列转成Object[]。
+ * <p>
+ * 在末尾add相同key的Map时仍然按列存放。其他修改(set、remove、插入、add不同key的对象、行视图增删key)之前先转成
+ * 普通的List，每一行复制到自己的LinkedHashMap中，已经取出的行视图继续有效，之后和普通的JSONArray一样，
+ * isColumnar()返回false，按列读取的方法不能再使用。
+ *
+ * @since 1.2.57
+ */
+public class JSONTable extends JSONArray {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Rows        rows;
+
+    private JSONTable(Rows rows){
+        super(rows);
+        this.rows = rows;
+    }
+
+    /**
+     * 元素都是key相同、顺序相同的Map时转成JSONTable
+     *
+     * @return 不满足条件时返回null
+     */
+    public static JSONTable of(List<?> list) {
+        int size = list.size();
+        if (size == 0 || !(list.get(0) instanceof Map)) {
+            return null;
+        }
+
+        Map<?, ?> first = (Map<?, ?>) list.get(0);
+        String[] keys = new String[first.size()];
+        if (keys.length == 0) {
+            return null;
+        }
+
+        int k = 0;
+        for (Object key : first.keySet()) {
+            if (!(key instanceof String)) {
+                return null;
+            }
+            keys[k++] = (String) key;
+        }
+
+        Object[][] values = new Object[keys.length][size];
+        for (int i = 0; i < size; ++i) {
+            Object item = list.get(i);
+            if (!(item instanceof Map) || ((Map<?, ?>) item).size() != keys.length) {
+                return null;
+            }
+
+            k = 0;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) item).entrySet()) {
+                Object key = entry.getKey();
+                if (key != keys[k] && !keys[k].equals(key)) {
+                    return null;
+                }
+                values[k++][i] = entry.getValue();
+            }
+        }
+
+        Column[] columns = new Column[keys.length];
+        for (int i = 0; i < keys.length; ++i) {
+            columns[i] = Column.of(values[i]);
+        }
+        return new JSONTable(new Rows(keys, columns, size));
+    }
+
+    /**
+     * @return 是否仍然按列存放
+     */
+    public boolean isColumnar() {
+        return rows.list == null;
+    }
+
+    public String[] getKeys() {
+        rows.columns();
+        return rows.keys.clone();
+    }
+
+    /**
+     * @return key对应的列，不存在时返回-1
+     */
+    public int getColumnIndex(String key) {
+        rows.columns();
+        return rows.columnIndex(key);
+    }
+
+    /**
+     * @return long.class、double.class、String.class或者Object.class
+     */
+    public Class<?> getColumnType(int column) {
+        return rows.columns()[column].type();
+    }
+
+    public boolean isNull(int row, int column) {
+        return rows.columns()[column].isNull(rows.checkIndex(row));
+    }
+
+    public long getLongValue(int row, int column) {
+        return rows.columns()[column].longValue(rows.checkIndex(row));
+    }
+
+    public double getDoubleValue(int row, int column) {
+        return rows.columns()[column].doubleValue(rows.checkIndex(row));
+    }
+
+    public Object get(int row, int column) {
+        return rows.columns()[column].get(rows.checkIndex(row));
+    }
+
+    /**
+     * @return 所有的值都是null、String、Number或者Boolean
+     */
+    public boolean isFlat() {
+        for (Column column : rows.columns()) {
+            if (column instanceof ObjectColumn && !((ObjectColumn) column).scalar) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Object clone() {
+        return new JSONTable(rows.copy());
+    }
+
+    static final class Rows extends AbstractList<Object> implements RandomAccess, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        final String[]            keys;
+        Column[]                  columns;
+        int                       size;
+        /** 已经创建的行视图，保证同一行每次返回同一个对象 */
+        transient JSONObject[]    views;
+        /** 不为null时已经转成了普通的List，columns不再使用 */
+        List<Object>              list;
+
+        Rows(String[] keys, Column[] columns, int size){
+            this.keys = keys;
+            this.columns = columns;
+            this.size = size;
+        }
+
+        Rows(String[] keys, List<Object> list){
+            this.keys = keys;
+            this.list = list;
+        }
+
+        public Object get(int index) {
+            if (list != null) {
+                return list.get(index);
+            }
+
+            checkIndex(index);
+            JSONObject[] views = this.views;
+            if (views == null || views.length <= index) {
+                this.views = views = views == null //
+                    ? new JSONObject[size] //
+                    : Arrays.copyOf(views, Math.max(size, views.length * 3 / 2 + 1));
+            }
+
+            JSONObject view = views[index];
+            if (view == null) {
+                views[index] = view = new JSONObject(new Row(this, index));
+            }
+            return view;
+        }
+
+        public int size() {
+            return list != null ? list.size() : size;
+        }
+
+        public boolean add(Object item) {
+            if (list != null || !sameKeys(item)) {
+                toList().add(item);
+                modCount++;
+                return true;
+            }
+
+            Map<?, ?> map = (Map<?, ?>) item;
+            for (int i = 0; i < columns.length; ++i) {
+                columns[i].ensureCapacity(size + 1);
+                set(size, i, map.get(keys[i]));
+            }
+            size++;
+            modCount++;
+            return true;
+        }
+
+        public void add(int index, Object item) {
+            if (list == null && index == size) {
+                add(item);
+                return;
+            }
+            toList().add(index, item);
+            modCount++;
+        }
+
+        public Object set(int index, Object item) {
+            return toList().set(index, item);
+        }
+
+        public Object remove(int index) {
+            Object item = toList().remove(index);
+            modCount++;
+            return item;
+        }
+
+        public void clear() {
+            // 已经取出的行视图继续保留原来的值
+            toList().clear();
+            modCount++;
+        }
+
+        private boolean sameKeys(Object item) {
+            if (!(item instanceof Map) || ((Map<?, ?>) item).size() != keys.length) {
+                return false;
+            }
+
+            Map<?, ?> map = (Map<?, ?>) item;
+            for (int i = 0; i < keys.length; ++i) {
+                if (!map.containsKey(keys[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 转成ArrayList，每一行的数据复制到行视图自己的LinkedHashMap中，已经取出的行视图仍然有效
+         */
+        List<Object> toList() {
+            List<Object> list = this.list;
+            if (list == null) {
+                list = new ArrayList<Object>(Math.max(size, 10));
+                for (int i = 0; i < size; ++i) {
+                    JSONObject view = (JSONObject) get(i);
+                    ((Row) view.getInnerMap()).detach();
+                    list.add(view);
+                }
+                this.list = list;
+                this.columns = null;
+                this.views = null;
+            }
+            return list;
+        }
+
+        Column[] columns() {
+            if (list != null) {
+                throw new IllegalStateException("table is not columnar");
+            }
+            return columns;
+        }
+
+        int checkIndex(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("index " + index + ", size " + size());
+            }
+            return index;
+        }
+
+        int columnIndex(Object key) {
+            // key大多来自SymbolTable，先按引用比较
+            for (int i = 0; i < keys.length; ++i) {
+                if (keys[i] == key) {
+                    return i;
+                }
+            }
+            for (int i = 0; i < keys.length; ++i) {
+                if (keys[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        void set(int row, int column, Object value) {
+            if (!columns[column].set(row, value)) {
+                columns[column] = columns[column].toObjects(size, Math.max(size, row + 1));
+                columns[column].set(row, value);
+            }
+        }
+
+        Rows copy() {
+            if (list != null) {
+                return new Rows(keys, new ArrayList<Object>(list));
+            }
+
+            Column[] copies = new Column[columns.length];
+            for (int i = 0; i < columns.length; ++i) {
+                copies[i] = columns[i].copy(size);
+            }
+            return new Rows(keys, copies, size);
+        }
+    }
+
+    /**
+     * 行视图，table转成List之后数据复制到自己的map中
+     */
+    static final class Row extends AbstractMap<String, Object> implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        final Rows                rows;
+        final int                 index;
+        Map<String, Object>       map;
+
+        Row(Rows rows, int index){
+            this.rows = rows;
+            this.index = index;
+        }
+
+        void detach() {
+            Map<String, Object> map = new LinkedHashMap<String, Object>(rows.keys.length * 4 / 3 + 1);
+            for (int i = 0; i < rows.keys.length; ++i) {
+                map.put(rows.keys[i], rows.columns[i].get(index));
+            }
+            this.map = map;
+        }
+
+        public int size() {
+            return map != null ? map.size() : rows.keys.length;
+        }
+
+        public boolean containsKey(Object key) {
+            return map != null ? map.containsKey(key) : rows.columnIndex(key) != -1;
+        }
+
+        public Object get(Object key) {
+            if (map != null) {
+                return map.get(key);
+            }
+            int i = rows.columnIndex(key);
+            return i == -1 ? null : rows.columns[i].get(index);
+        }
+
+        public Object put(String key, Object value) {
+            if (map == null) {
+                int i = rows.columnIndex(key);
+                if (i != -1) {
+                    Object old = rows.columns[i].get(index);
+                    rows.set(index, i, value);
+                    return old;
+                }
+                rows.toList();
+            }
+            return map.put(key, value);
+        }
+
+        public Object remove(Object key) {
+            if (map == null) {
+                if (rows.columnIndex(key) == -1) {
+                    return null;
+                }
+                rows.toList();
+            }
+            return map.remove(key);
+        }
+
+        public void clear() {
+            if (map == null) {
+                rows.toList();
+            }
+            map.clear();
+        }
+
+        public Set<Entry<String, Object>> entrySet() {
+            if (map != null) {
+                return map.entrySet();
+            }
+
+            return new AbstractSet<Entry<String, Object>>() {
+
+                public int size() {
+                    return Row.this.size();
+                }
+
+                public Iterator<Entry<String, Object>> iterator() {
+                    if (map != null) {
+                        return map.entrySet().iterator();
+                    }
+
+                    return new Iterator<Entry<String, Object>>() {
+
+                        private int next;
+                        private int last = -1;
+
+                        public boolean hasNext() {
+                            return next < rows.keys.length;
+                        }
+
+                        public Entry<String, Object> next() {
+                            if (next >= rows.keys.length) {
+                                throw new NoSuchElementException();
+                            }
+                            last = next;
+                            return new RowEntry(rows.keys[next++]);
+                        }
+
+                        public void remove() {
+                            if (last == -1) {
+                                throw new IllegalStateException();
+                            }
+                            Row.this.remove(rows.keys[last]);
+                            last = -1;
+                        }
+                    };
+                }
+            };
+        }
+
+        final class RowEntry implements Entry<String, Object> {
+
+            private final String key;
+
+            RowEntry(String key){
+                this.key = key;
+            }
+
+            public String getKey() {
+                return key;
+            }
+
+            public Object getValue() {
+                return get(key);
+            }
+
+            public Object setValue(Object value) {
+                return put(key, value);
+            }
+
+            public boolean equals(Object o) {
+                if (!(o instanceof Entry)) {
+                    return false;
+                }
+                Entry<?, ?> e = (Entry<?, ?>) o;
+                Object value = getValue();
+                return key.equals(e.getKey()) && (value == null ? e.getValue() == null : value.equals(e.getValue()));
+            }
+
+            public int hashCode() {
+                Object value = getValue();
+                return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+            }
+
+            public String toString() {
+                return key + "=" + getValue();
+            }
+        }
+    }
+
+    static abstract class Column implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        abstract Object get(int row);
+
+        /**
+         * @return 值的类型不能存放在这一列时返回false
+         */
+        abstract boolean set(int row, Object value);
+
+        abstract void ensureCapacity(int capacity);
+
+        abstract Column copy(int size);
+
+        abstract Class<?> type();
+
+        boolean isNull(int row) {
+            return get(row) == null;
+        }
+
+        long longValue(int row) {
+            Long value = TypeUtils.castToLong(get(row));
+            return value == null ? 0L : value.longValue();
+        }
+
+        double doubleValue(int row) {
+            Double value = TypeUtils.castToDouble(get(row));
+            return value == null ? 0D : value.doubleValue();
+        }
+
+        Column toObjects(int size, int capacity) {
+            Object[] values = new Object[capacity];
+            for (int i = 0; i < size; ++i) {
+                values[i] = get(i);
+            }
+            return new ObjectColumn(values);
+        }
+
+        static Column of(Object[] values) {
+            Class<?> type = null;
+            for (Object value : values) {
+                if (value == null) {
+                    continue;
+                }
+
+                Class<?> clazz = value.getClass();
+                if (clazz == Long.class) {
+                    // 解析出来的Long一定超出int的范围，否则是Integer，这样放进long[]之后可以还原
+                    long longValue = ((Long) value).longValue();
+                    if (longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE) {
+                        return new ObjectColumn(values);
+                    }
+                    clazz = Integer.class;
+                }
+
+                if (type == null) {
+                    type = clazz;
+                } else if (type != clazz) {
+                    return new ObjectColumn(values);
+                }
+            }
+
+            Column column;
+            if (type == Integer.class) {
+                column = new LongColumn(values.length);
+            } else if (type == Double.class) {
+                column = new DoubleColumn(values.length);
+            } else if (type == String.class) {
+                column = new StringColumn(values.length);
+            } else {
+                return new ObjectColumn(values);
+            }
+
+            for (int i = 0; i < values.length; ++i) {
+                column.set(i, values[i]);
+            }
+            return column;
+        }
+    }
+
+    /**
+     * long[]和double[]列，nulls按位记录null
+     */
+    static abstract class PrimitiveColumn extends Column {
+
+        private static final long serialVersionUID = 1L;
+
+        long[]                    nulls;
+
+        PrimitiveColumn(int capacity){
+            nulls = new long[(capacity + 63) >>> 6];
+        }
+
+        boolean isNull(int row) {
+            return (nulls[row >>> 6] & (1L << row)) != 0;
+        }
+
+        void setNull(int row, boolean isNull) {
+            if (isNull) {
+                nulls[row >>> 6] |= 1L << row;
+            } else {
+                nulls[row >>> 6] &= ~(1L << row);
+            }
+        }
+
+        void ensureCapacity(int capacity) {
+            int words = (capacity + 63) >>> 6;
+            if (words > nulls.length) {
+                nulls = Arrays.copyOf(nulls, Math.max(words, nulls.length * 3 / 2 + 1));
+            }
+        }
+
+        static int newCapacity(int length, int capacity) {
+            return Math.max(capacity, length * 3 / 2 + 1);
+        }
+    }
+
+    static final class LongColumn extends PrimitiveColumn {
+
+        private static final long serialVersionUID = 1L;
+
+        long[]                    values;
+
+        LongColumn(int capacity){
+            super(capacity);
+            values = new long[capacity];
+        }
+
+        Object get(int row) {
+            if (isNull(row)) {
+                return null;
+            }
+
+            long value = values[row];
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                return (int) value;
+            }
+            return value;
+        }
+
+        boolean set(int row, Object value) {
+            if (value == null) {
+                setNull(row, true);
+                values[row] = 0;
+                return true;
+            }
+
+            long longValue;
+            if (value.getClass() == Integer.class) {
+                longValue = ((Integer) value).intValue();
+            } else if (value.getClass() == Long.class) {
+                longValue = ((Long) value).longValue();
+                if (longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+
+            setNull(row, false);
+            values[row] = longValue;
+            return true;
+        }
+
+        void ensureCapacity(int capacity) {
+            super.ensureCapacity(capacity);
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, newCapacity(values.length, capacity));
+            }
+        }
+
+        Column copy(int size) {
+            LongColumn copy = new LongColumn(0);
+            copy.values = Arrays.copyOf(values, size);
+            copy.nulls = Arrays.copyOf(nulls, (size + 63) >>> 6);
+            return copy;
+        }
+
+        Class<?> type() {
+            return long.class;
+        }
+
+        long longValue(int row) {
+            return values[row];
+        }
+
+        double doubleValue(int row) {
+            return values[row];
+        }
+    }
+
+    static final class DoubleColumn extends PrimitiveColumn {
+
+        private static final long serialVersionUID = 1L;
+
+        double[]                  values;
+
+        DoubleColumn(int capacity){
+            super(capacity);
+            values = new double[capacity];
+        }
+
+        Object get(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        boolean set(int row, Object value) {
+            if (value == null) {
+                setNull(row, true);
+                values[row] = 0;
+                return true;
+            }
+
+            if (value.getClass() != Double.class) {
+                return false;
+            }
+
+            setNull(row, false);
+            values[row] = ((Double) value).doubleValue();
+            return true;
+        }
+
+        void ensureCapacity(int capacity) {
+            super.ensureCapacity(capacity);
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, newCapacity(values.length, capacity));
+            }
+        }
+
+        Column copy(int size) {
+            DoubleColumn copy = new DoubleColumn(0);
+            copy.values = Arrays.copyOf(values, size);
+            copy.nulls = Arrays.copyOf(nulls, (size + 63) >>> 6);
+            return copy;
+        }
+
+        Class<?> type() {
+            return double.class;
+        }
+
+        long longValue(int row) {
+            return (long) values[row];
+        }
+
+        double doubleValue(int row) {
+            return values[row];
+        }
+    }
+
+    static final class StringColumn extends Column {
+
+        private static final long serialVersionUID = 1L;
+
+        String[]                  values;
+
+        StringColumn(int capacity){
+            values = new String[capacity];
+        }
+
+        Object get(int row) {
+            return values[row];
+        }
+
+        boolean set(int row, Object value) {
+            if (value != null && value.getClass() != String.class) {
+                return false;
+            }
+            values[row] = (String) value;
+            return true;
+        }
+
+        void ensureCapacity(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, PrimitiveColumn.newCapacity(values.length, capacity));
+            }
+        }
+
+        Column copy(int size) {
+            StringColumn copy = new StringColumn(0);
+            copy.values = Arrays.copyOf(values, size);
+            return copy;
+        }
+
+        Class<?> type() {
+            return String.class;
+        }
+    }
+
+    static final class ObjectColumn extends Column {
+
+        private static final long serialVersionUID = 1L;
+
+        Object[]                  values;
+        /** 只有null、String、Number和Boolean，序列化时不需要处理引用 */
+        boolean                   scalar;
+
+        ObjectColumn(Object[] values){
+            this.values = values;
+            this.scalar = true;
+            for (Object value : values) {
+                if (!isScalar(value)) {
+                    scalar = false;
+                    break;
+                }
+            }
+        }
+
+        Object get(int row) {
+            return values[row];
+        }
+
+        boolean set(int row, Object value) {
+            if (scalar && !isScalar(value)) {
+                scalar = false;
+            }
+            values[row] = value;
+            return true;
+        }
+
+        void ensureCapacity(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, PrimitiveColumn.newCapacity(values.length, capacity));
+            }
+        }
+
+        Column copy(int size) {
+            return new ObjectColumn(Arrays.copyOf(values, size));
+        }
+
+        Class<?> type() {
+            return Object.class;
+        }
+
+        static boolean isScalar(Object value) {
+            return value == null || value instanceof String || value instanceof Number || value instanceof Boolean;
+        }
+    }
+}
@@ -0,0 +1,406 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson.parser;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Feature.UseCompactMap时JSONObject使用的map。按相同顺序加入相同key的对象共享同一个Shape(key数组和hash索引)，
+ * 每个对象只保存一个value数组，没有Entry对象和hash表。保持插入顺序。
+ * <p>
+ * Shape只会追加key，删除key、null key或者Shape数量超出上限时转成LinkedHashMap。
+ *
+ * @since 1.2.57
+ */
+public class CompactJSONMap extends AbstractMap<String, Object> implements Cloneable, Serializable {
+
+    private static final long          serialVersionUID = 1L;
+
+    /** 一个Shape最多的key */
+    private final static int           MAX_KEYS         = 64;
+    /** 一个Shape最多的分支 */
+    private final static int           MAX_CHILDREN     = 32;
+    /** 全局最多创建的Shape，超出后新的key顺序使用LinkedHashMap */
+    private final static int           MAX_SHAPES       = 1 << 14;
+
+    private final static AtomicInteger shapeCount       = new AtomicInteger();
+    private final static Shape         ROOT             = new Shape(null, null);
+    private final static Object[]      EMPTY            = new Object[0];
+
+    private transient Shape            shape            = ROOT;
+    private transient Object[]         values           = EMPTY;
+    /** 不为null时已经转成了LinkedHashMap，shape和values不再使用 */
+    private transient Map<String, Object> map;
+
+    public CompactJSONMap(){
+    }
+
+    public int size() {
+        return map != null ? map.size() : shape.size;
+    }
+
+    public boolean containsKey(Object key) {
+        if (map != null) {
+            return map.containsKey(key);
+        }
+        return key instanceof String && shape.indexOf((String) key) != -1;
+    }
+
+    public Object get(Object key) {
+        if (map != null) {
+            return map.get(key);
+        }
+
+        if (!(key instanceof String)) {
+            return null;
+        }
+        int i = shape.indexOf((String) key);
+        return i == -1 ? null : values[i];
+    }
+
+    public Object put(String key, Object value) {
+        if (map != null) {
+            return map.put(key, value);
+        }
+
+        if (key != null) {
+            final Shape shape = this.shape;
+            int i = shape.indexOf(key);
+            if (i != -1) {
+                Object old = values[i];
+                values[i] = value;
+                return old;
+            }
+
+            Shape child = shape.child(key);
+            if (child != null) {
+                if (values.length <= shape.size) {
+                    Object[] newValues = new Object[child.expectedSize()];
+                    System.arraycopy(values, 0, newValues, 0, shape.size);
+                    values = newValues;
+                }
+                values[shape.size] = value;
+                this.shape = child;
+                return null;
+            }
+        }
+
+        return toMap().put(key, value);
+    }
+
+    public Object remove(Object key) {
+        if (map == null) {
+            if (!containsKey(key)) {
+                return null;
+            }
+            toMap();
+        }
+        return map.remove(key);
+    }
+
+    public void clear() {
+        map = null;
+        shape = ROOT;
+        values = EMPTY;
+    }
+
+    public Set<Entry<String, Object>> entrySet() {
+        if (map != null) {
+            return map.entrySet();
+        }
+        return new EntrySet();
+    }
+
+    public CompactJSONMap clone() {
+        CompactJSONMap clone = new CompactJSONMap();
+        if (map != null) {
+            clone.map = new LinkedHashMap<String, Object>(map);
+        } else {
+            clone.shape = shape;
+            clone.values = values.clone();
+        }
+        return clone;
+    }
+
+    private Map<String, Object> toMap() {
+        if (map == null) {
+            Map<String, Object> map = new LinkedHashMap<String, Object>(shape.size * 4 / 3 + 2);
+            for (int i = 0; i < shape.size; ++i) {
+                map.put(shape.keys[i], values[i]);
+            }
+            this.map = map;
+            this.shape = null;
+            this.values = null;
+        }
+        return map;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size());
+        for (Entry<String, Object> entry : entrySet()) {
+            out.writeObject(entry.getKey());
+            out.writeObject(entry.getValue());
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        shape = ROOT;
+        values = EMPTY;
+        for (int i = 0, size = in.readInt(); i < size; ++i) {
+            put((String) in.readObject(), in.readObject());
+        }
+    }
+
+    /**
+     * 按顺序加入的key，不可变，所有线程共享
+     */
+    final static class Shape {
+
+        final String[]                      keys;
+        final int                           size;
+
+        /** size大于8时按hash查找，值是key的下标+1 */
+        private volatile int[]              index;
+        private volatile Shape              lastChild;
+        private volatile Map<String, Shape> children;
+
+        Shape(Shape parent, String key){
+            if (parent == null) {
+                keys = new String[0];
+            } else {
+                keys = new String[parent.size + 1];
+                System.arraycopy(parent.keys, 0, keys, 0, parent.size);
+                keys[parent.size] = key;
+            }
+            size = keys.length;
+        }
+
+        int indexOf(String key) {
+            final String[] keys = this.keys;
+            if (size <= 8) {
+                // 解析出来的key来自SymbolTable，大多数时候按引用就能找到
+                for (int i = 0; i < size; ++i) {
+                    if (keys[i] == key) {
+                        return i;
+                    }
+                }
+                for (int i = 0; i < size; ++i) {
+                    if (keys[i].equals(key)) {
+                        return i;
+                    }
+                }
+                return -1;
+            }
+
+            int[] index = this.index;
+            if (index == null) {
+                index = buildIndex();
+            }
+
+            final int mask = index.length - 1;
+            for (int slot = key.hashCode() & mask;; slot = (slot + 1) & mask) {
+                int entry = index[slot];
+                if (entry == 0) {
+                    return -1;
+                }
+                String k = keys[entry - 1];
+                if (k == key || k.equals(key)) {
+                    return entry - 1;
+                }
+            }
+        }
+
+        private int[] buildIndex() {
+            int capacity = 16;
+            while (capacity < size * 2) {
+                capacity <<= 1;
+            }
+
+            int[] index = new int[capacity];
+            final int mask = capacity - 1;
+            for (int i = 0; i < size; ++i) {
+                int slot = keys[i].hashCode() & mask;
+                while (index[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                index[slot] = i + 1;
+            }
+            return this.index = index;
+        }
+
+        /**
+         * @return 加入key之后的Shape，超出上限时返回null
+         */
+        Shape child(String key) {
+            Shape child = lastChild;
+            if (child != null && key.equals(child.keys[size])) {
+                return child;
+            }
+
+            Map<String, Shape> children = this.children;
+            if (children != null && (child = children.get(key)) != null) {
+                lastChild = child;
+                return child;
+            }
+
+            if (size >= MAX_KEYS) {
+                return null;
+            }
+
+            synchronized (this) {
+                children = this.children;
+                if (children == null) {
+                    this.children = children = new ConcurrentHashMap<String, Shape>(4);
+                }
+
+                child = children.get(key);
+                if (child == null) {
+                    if (children.size() >= MAX_CHILDREN || shapeCount.get() >= MAX_SHAPES) {
+                        return null;
+                    }
+                    shapeCount.incrementAndGet();
+                    child = new Shape(this, key);
+                    children.put(key, child);
+                }
+            }
+
+            lastChild = child;
+            return child;
+        }
+
+        /**
+         * 按最近一次走过的路径预测对象最终的key数量，values数组一次分配到位
+         */
+        int expectedSize() {
+            int expected = size;
+            for (Shape child = lastChild; child != null && expected < MAX_KEYS; child = child.lastChild) {
+                expected = child.size;
+            }
+            return expected;
+        }
+    }
+
+    final class EntrySet extends AbstractSet<Entry<String, Object>> {
+
+        public int size() {
+            return CompactJSONMap.this.size();
+        }
+
+        public Iterator<Entry<String, Object>> iterator() {
+            if (map != null) {
+                return map.entrySet().iterator();
+            }
+            return new EntryIterator();
+        }
+    }
+
+    final class EntryIterator implements Iterator<Entry<String, Object>> {
+
+        private final Shape    shape  = CompactJSONMap.this.shape;
+        private final Object[] values = CompactJSONMap.this.values;
+        private int            next;
+        private boolean        removed;
+        /** 通过remove()转成LinkedHashMap之后，继续遍历原来的数组 */
+        private boolean        detached;
+
+        public boolean hasNext() {
+            return next < shape.size;
+        }
+
+        public Entry<String, Object> next() {
+            if (!detached && CompactJSONMap.this.shape != shape) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= shape.size) {
+                throw new NoSuchElementException();
+            }
+            removed = false;
+            return new ShapeEntry(shape.keys[next], next++, values);
+        }
+
+        public void remove() {
+            if (next == 0 || removed) {
+                throw new IllegalStateException();
+            }
+            CompactJSONMap.this.remove(shape.keys[next - 1]);
+            removed = true;
+            detached = true;
+        }
+    }
+
+    final class ShapeEntry implements Entry<String, Object> {
+
+        private final String   key;
+        private final int      index;
+        private final Object[] values;
+
+        ShapeEntry(String key, int index, Object[] values){
+            this.key = key;
+            this.index = index;
+            this.values = values;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public Object getValue() {
+            return CompactJSONMap.this.values == values ? values[index] : CompactJSONMap.this.get(key);
+        }
+
+        public Object setValue(Object value) {
+            if (CompactJSONMap.this.values == values) {
+                Object old = values[index];
+                values[index] = value;
+                return old;
+            }
+            return CompactJSONMap.this.put(key, value);
+        }
+
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            Object value = getValue();
+            return key.equals(e.getKey()) && (value == null ? e.getValue() == null : value.equals(e.getValue()));
+        }
+
+        public int hashCode() {
+            Object value = getValue();
+            return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+        }
+
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+}
@@ -25,6 +25,7 @@ import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.*;
@@ -32,6 +33,7 @@ import java.util.*;
 import com.alibaba.fastjson.*;
 import com.alibaba.fastjson.parser.deserializer.*;
 import com.alibaba.fastjson.serializer.*;
+import com.alibaba.fastjson.util.IOUtils;
 import com.alibaba.fastjson.util.TypeUtils;
 
 /**
@@ -39,7 +41,7 @@ import com.alibaba.fastjson.util.TypeUtils;
  */
 public class DefaultJSONParser implements Closeable {
 
-    public final Object                input;
+    public Object                      input;
     public final SymbolTable           symbolTable;
     protected ParserConfig             config;
 
@@ -54,6 +56,9 @@ public class DefaultJSONParser implements Closeable {
 
     private ParseContext[]             contextArray;
     private int                        contextArrayIndex  = 0;
+    /** contextArray按路径hash的开放寻址索引，值是下标+1，第一次按路径查找$ref时才创建 */
+    private int[]                      contextIndex;
+    private int                        contextIndexSize;
 
     private List<ResolveTask>          resolveTaskList;
 
@@ -69,12 +74,17 @@ public class DefaultJSONParser implements Closeable {
     private List<ExtraProcessor>       extraProcessors    = null;
     //对象类型解析器 适用类型 map  https://github.com/alibaba/fastjson/wiki/FieldTypeResolver
     protected FieldTypeResolver        fieldTypeResolver  = null;
+    //只解析指定的属性，其余的值直接跳过
+    protected PropertyProjection       projection         = null;
 
     private boolean                    autoTypeEnable;
     private String[]                   autoTypeAccept     = null;
 
     protected transient BeanContext    lastBeanContext;
 
+    /** 为true时嵌套的JavaBean和集合写入到目标对象中已有的实例，见JSON.parseObjectInto */
+    private boolean                    reuseFieldValues;
+
     static {
         Class<?>[] classes = new Class[] {
                 boolean.class,
@@ -140,6 +150,25 @@ public class DefaultJSONParser implements Closeable {
         this(input, new JSONScanner(input, length, features), config);
     }
 
+    /**
+     * utf-8 bytes, scanned directly without decoding to String
+     * @since 1.2.57
+     */
+    public DefaultJSONParser(final byte[] input, int offset, int length, final ParserConfig config, int features){
+        this(input, new JSONUTF8Scanner(input, offset, length, features), config);
+    }
+
+    /**
+     * heap buffer直接按字节扫描，direct和memory-mapped buffer按窗口读取
+     *
+     * @since 1.2.57
+     */
+    public DefaultJSONParser(final ByteBuffer input, final ParserConfig config, int features){
+        this(null, input.hasArray() //
+            ? new JSONUTF8Scanner(input.array(), input.arrayOffset() + input.position(), input.remaining(), features) //
+            : new JSONUTF8StreamScanner(input, features), config);
+    }
+
     public DefaultJSONParser(final JSONLexer lexer){
         this(lexer, ParserConfig.getGlobalInstance());
     }
@@ -154,6 +183,14 @@ public class DefaultJSONParser implements Closeable {
         this.config = config;
         this.symbolTable = config.symbolTable;
 
+        if (lexer instanceof JSONLexerBase) {
+            ((JSONLexerBase) lexer).stringValueCache = config.getStringValueCache();
+        }
+
+        primeToken();
+    }
+
+    private void primeToken() {
         int ch = lexer.getCurrent();
         if (ch == '{') {
             lexer.next();
@@ -166,6 +203,74 @@ public class DefaultJSONParser implements Closeable {
         }
     }
 
+    /**
+     * 复用这个parser和它的lexer解析新的字符串，避免每次解析都创建DefaultJSONParser、JSONScanner和context数组。
+     * <p>
+     * parser不是线程安全的，只能在一个线程中使用，比如保存在ThreadLocal中。
+     * 设置的ExtraProcessor、FieldTypeResolver、projection和日期格式在reset之后继续有效。
+     * 解析出来的对象和parser没有关联，reset之后仍然可以使用。
+     * <pre>
+     * parser.reset(text);
+     * Model model = parser.parseObject(Model.class);
+     * parser.handleResovleTask(model);
+     * </pre>
+     *
+     * @since 1.2.57
+     */
+    public void reset(String input) {
+        reset(input, lexer.getFeatures());
+    }
+
+    /**
+     * @see #reset(String)
+     * @since 1.2.57
+     */
+    public void reset(String input, int features) {
+        if (!(lexer instanceof JSONScanner)) {
+            throw new JSONException("reset(String) not support, lexer " + lexer.getClass().getName());
+        }
+
+        ((JSONScanner) lexer).reset(input, features);
+        this.input = input;
+        resetState();
+    }
+
+    /**
+     * 复用这个parser解析新的UTF-8字节数组，parser需要是用byte[]创建的
+     *
+     * @see #reset(String)
+     * @since 1.2.57
+     */
+    public void reset(byte[] input, int offset, int length, int features) {
+        if (!(lexer instanceof JSONUTF8Scanner)) {
+            throw new JSONException("reset(byte[]) not support, lexer " + lexer.getClass().getName());
+        }
+
+        ((JSONUTF8Scanner) lexer).reset(input, offset, length, features);
+        this.input = input;
+        resetState();
+    }
+
+    private void resetState() {
+        resetContext();
+        lastBeanContext = null;
+        primeToken();
+    }
+
+    /**
+     * @since 1.2.57
+     */
+    public boolean isReuseFieldValues() {
+        return reuseFieldValues;
+    }
+
+    /**
+     * @since 1.2.57
+     */
+    public void setReuseFieldValues(boolean reuseFieldValues) {
+        this.reuseFieldValues = reuseFieldValues;
+    }
+
     public SymbolTable getSymbolTable() {
         return symbolTable;
     }
@@ -174,6 +279,9 @@ public class DefaultJSONParser implements Closeable {
         if (input instanceof char[]) {
             return new String((char[]) input);
         }
+        if (input instanceof byte[]) {
+            return new String((byte[]) input, IOUtils.UTF8);
+        }
         return input.toString();
     }
 
@@ -201,6 +309,7 @@ public class DefaultJSONParser implements Closeable {
         }
 
        ParseContext context = this.context;
+        final PropertyProjection projection = this.projection;
         try {
             Map map = object instanceof JSONObject ? ((JSONObject) object).getInnerMap() : object;
 
@@ -463,6 +572,28 @@ public class DefaultJSONParser implements Closeable {
                     }
                 }
 
+                if (projection != null) {
+                    PropertyProjection child = projection.get(key);
+                    if (child == null) {
+                        if (lexer instanceof JSONLexerBase) {
+                            ((JSONLexerBase) lexer).skipValue();
+                        } else {
+                            lexer.nextToken();
+                            skipValue();
+                        }
+
+                        if (lexer.token() == JSONToken.RBRACE) {
+                            lexer.nextToken();
+                            return object;
+                        } else if (lexer.token() == JSONToken.COMMA) {
+                            continue;
+                        } else {
+                            throw new JSONException("syntax error, position at " + lexer.pos() + ", name " + key);
+                        }
+                    }
+                    this.projection = child.isLeaf() ? null : child;
+                }
+
                 if (object.getClass() == JSONObject.class) {
                     if (key == null) {
                         key = "null";
@@ -472,15 +603,22 @@ public class DefaultJSONParser implements Closeable {
                 Object value;
                 if (ch == '"') {
                     lexer.scanString();
-                    String strValue = lexer.stringVal();
-                    value = strValue;
+                    if (object instanceof JSONObject
+                            && lexer instanceof JSONScanner
+                            && lexer.isEnabled(Feature.LazyStringValue)
+                            && !lexer.isEnabled(Feature.AllowISO8601DateFormat)) {
+                        value = ((JSONScanner) lexer).stringSlice();
+                    } else {
+                        String strValue = lexer.stringVal();
+                        value = strValue;
 
-                    if (lexer.isEnabled(Feature.AllowISO8601DateFormat)) {
-                        JSONScanner iso8601Lexer = new JSONScanner(strValue);
-                        if (iso8601Lexer.scanISO8601DateIfMatch()) {
-                            value = iso8601Lexer.getCalendar().getTime();
+                        if (lexer.isEnabled(Feature.AllowISO8601DateFormat)) {
+                            JSONScanner iso8601Lexer = new JSONScanner(strValue);
+                            if (iso8601Lexer.scanISO8601DateIfMatch()) {
+                                value = iso8601Lexer.getCalendar().getTime();
+                            }
+                            iso8601Lexer.close();
                         }
-                        iso8601Lexer.close();
                     }
 
                     map.put(key, value);
@@ -496,7 +634,7 @@ public class DefaultJSONParser implements Closeable {
                 } else if (ch == '[') { // 减少嵌套，兼容android
                     lexer.nextToken();
 
-                    JSONArray list = new JSONArray();
+                    JSONArray list = createJSONArray();
 
                     final boolean parentIsArray = fieldName != null && fieldName.getClass() == Integer.class;
 //                    if (!parentIsArray) {
@@ -506,12 +644,13 @@ public class DefaultJSONParser implements Closeable {
                         this.setContext(context);
                     }
 
+                    int contextStart = contextArrayIndex, resolveStart = resolveTaskCount();
                     this.parseArray(list, key);
 
                     if (lexer.isEnabled(Feature.UseObjectArray)) {
                         value = list.toArray();
                     } else {
-                        value = list;
+                        value = toTable(list, contextStart, resolveStart);
                     }
                     map.put(key, value);
 
@@ -537,7 +676,7 @@ public class DefaultJSONParser implements Closeable {
                                 ? mapDeserializer.createMap(Map.class, lexer.getFeatures())
                                 : mapDeserializer.createMap(Map.class);
                     } else {
-                        input = new JSONObject(lexer.isEnabled(Feature.OrderedField));
+                        input = createJSONObject();
                     }
                     ParseContext ctxLocal = null;
 
@@ -627,6 +766,7 @@ public class DefaultJSONParser implements Closeable {
             }
         } finally {
             this.setContext(context);
+            this.projection = projection;
         }
 
     }
@@ -941,8 +1081,7 @@ public class DefaultJSONParser implements Closeable {
                     throw new JSONException("setter not found, class " + clazz.getName() + ", property " + key);
                 }
 
-                lexer.nextTokenWithColon();
-                parse(); // skip
+                skipFieldValue();
 
                 if (lexer.token() == JSONToken.RBRACE) {
                     lexer.nextToken();
@@ -1083,13 +1222,79 @@ public class DefaultJSONParser implements Closeable {
     }
 
     public Object getObject(String path) {
+        ParseContext context = findContext(path);
+        return context == null ? null : context.object;
+    }
+
+    /**
+     * 按路径查找最早加入的context，通过contextIndex按hash定位，不需要拼接每个context的路径
+     */
+    private ParseContext findContext(String path) {
+        if (contextArrayIndex == 0) {
+            return null;
+        }
+
+        if (contextIndex == null) {
+            rebuildContextIndex();
+        }
+
+        final int[] table = contextIndex;
+        final int mask = table.length - 1;
+        final int hash = path.hashCode();
+
+        ParseContext found = null;
+        int foundIndex = contextArrayIndex;
+        for (int slot = (hash ^ (hash >>> 16)) & mask;; slot = (slot + 1) & mask) {
+            int entry = table[slot];
+            if (entry == 0) {
+                break;
+            }
+
+            // popContext之后下标会被复用，旧的entry在这里按hash和路径过滤掉
+            int i = entry - 1;
+            if (i < foundIndex) {
+                ParseContext context = contextArray[i];
+                if (context != null && context.pathHash() == hash && context.pathEquals(path)) {
+                    found = context;
+                    foundIndex = i;
+                }
+            }
+        }
+        return found;
+    }
+
+    private void rebuildContextIndex() {
+        int capacity = 16;
+        while (capacity < contextArrayIndex * 4) {
+            capacity <<= 1;
+        }
+
+        contextIndex = new int[capacity];
+        contextIndexSize = 0;
         for (int i = 0; i < contextArrayIndex; ++i) {
-            if (path.equals(contextArray[i].toString())) {
-                return contextArray[i].object;
+            if (contextArray[i] != null) {
+                indexContext(i);
             }
         }
+    }
 
-        return null;
+    private void indexContext(int i) {
+        if ((contextIndexSize + 1) * 2 > contextIndex.length) {
+            rebuildContextIndex();
+            if (i < contextArrayIndex) {
+                return;
+            }
+        }
+
+        final int[] table = contextIndex;
+        final int mask = table.length - 1;
+        final int hash = contextArray[i].pathHash();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = i + 1;
+        contextIndexSize++;
     }
 
     @SuppressWarnings("rawtypes")
@@ -1127,8 +1332,28 @@ public class DefaultJSONParser implements Closeable {
         return parseObject(object, null);
     }
 
+    /**
+     * @since 1.2.57
+     */
+    protected JSONObject createJSONObject() {
+        if (lexer.isEnabled(Feature.UseCompactMap)) {
+            return new JSONObject(new CompactJSONMap());
+        }
+        return new JSONObject(lexer.isEnabled(Feature.OrderedField));
+    }
+
+    /**
+     * @since 1.2.57
+     */
+    protected JSONArray createJSONArray() {
+        if (lexer.isEnabled(Feature.UseNumberArray)) {
+            return new JSONNumberArray();
+        }
+        return new JSONArray();
+    }
+
     public JSONObject parseObject() {
-        JSONObject object = new JSONObject(lexer.isEnabled(Feature.OrderedField));
+        JSONObject object = createJSONObject();
         Object parsedObject = parseObject(object);
 
         if (parsedObject instanceof JSONObject) {
@@ -1162,6 +1387,9 @@ public class DefaultJSONParser implements Closeable {
 
         lexer.nextToken(JSONToken.LITERAL_STRING);
 
+        // 数字直接放进JSONNumberArray的数组，不创建Integer/Long/Double对象
+        final JSONNumberArray numbers = array instanceof JSONNumberArray ? (JSONNumberArray) array : null;
+
         ParseContext context = this.context;
         this.setContext(array, fieldName);
         try {
@@ -1174,14 +1402,25 @@ public class DefaultJSONParser implements Closeable {
                 }
 
                 Object value;
+                boolean added = false;
                 switch (lexer.token()) {
                     case LITERAL_INT:
-                        value = lexer.integerValue();
+                        if (numbers != null && isPlainNumber(lexer)) {
+                            numbers.addLong(lexer.longValue());
+                            added = true;
+                            value = null;
+                        } else {
+                            value = lexer.integerValue();
+                        }
                         lexer.nextToken(JSONToken.COMMA);
                         break;
                     case LITERAL_FLOAT:
                         if (lexer.isEnabled(Feature.UseBigDecimal)) {
                             value = lexer.decimalValue(true);
+                        } else if (numbers != null && isPlainNumber(lexer)) {
+                            numbers.addDouble(doubleValue(lexer));
+                            added = true;
+                            value = null;
                         } else {
                             value = lexer.decimalValue(false);
                         }
@@ -1213,16 +1452,17 @@ public class DefaultJSONParser implements Closeable {
                         lexer.nextToken(JSONToken.COMMA);
                         break;
                     case LBRACE:
-                        JSONObject object = new JSONObject(lexer.isEnabled(Feature.OrderedField));
+                        JSONObject object = createJSONObject();
                         value = parseObject(object, i);
                         break;
                     case LBRACKET:
-                        Collection items = new JSONArray();
+                        JSONArray items = createJSONArray();
+                        int contextStart = contextArrayIndex, resolveStart = resolveTaskCount();
                         parseArray(items, i);
                         if (lexer.isEnabled(Feature.UseObjectArray)) {
                             value = items.toArray();
                         } else {
-                            value = items;
+                            value = toTable(items, contextStart, resolveStart);
                         }
                         break;
                     case NULL:
@@ -1243,8 +1483,10 @@ public class DefaultJSONParser implements Closeable {
                         break;
                 }
 
-                array.add(value);
-                checkListResolve(array);
+                if (!added) {
+                    array.add(value);
+                    checkListResolve(array);
+                }
 
                 if (lexer.token() == JSONToken.COMMA) {
                     lexer.nextToken(JSONToken.LITERAL_STRING);
@@ -1256,6 +1498,70 @@ public class DefaultJSONParser implements Closeable {
         }
     }
 
+    /**
+     * 只有JSONLexerBase能判断数字有没有类型后缀，其他lexer的整数按integerValue()处理
+     */
+    private static boolean isPlainNumber(JSONLexer lexer) {
+        return lexer instanceof JSONLexerBase && ((JSONLexerBase) lexer).isPlainNumber();
+    }
+
+    private static double doubleValue(JSONLexer lexer) {
+        if (lexer instanceof JSONLexerBase) {
+            return ((JSONLexerBase) lexer).doubleValue();
+        }
+        return lexer.decimalValue(false).doubleValue();
+    }
+
+    private int resolveTaskCount() {
+        return resolveTaskList == null ? 0 : resolveTaskList.size();
+    }
+
+    /**
+     * Feature.UseJSONTable时把刚解析完的对象数组转成JSONTable，元素的context改为指向行视图。
+     * 数组中有待处理的引用或者元素不是在这个数组中新建的对象时不转换。
+     */
+    private JSONArray toTable(JSONArray array, int contextStart, int resolveStart) {
+        if (!lexer.isEnabled(Feature.UseJSONTable) || array.size() < 2 || resolveTaskCount() != resolveStart) {
+            return array;
+        }
+
+        JSONTable table = JSONTable.of(array);
+        if (table == null) {
+            return array;
+        }
+
+        if (contextStart < contextArrayIndex) {
+            ParseContext arrayContext = contextArray[contextStart];
+            if (arrayContext.object != array) {
+                return array;
+            }
+
+            int rows = 0;
+            for (int i = contextStart + 1; i < contextArrayIndex; ++i) {
+                ParseContext context = contextArray[i];
+                if (context.parent == arrayContext) {
+                    if (context.object != array.get((Integer) context.fieldName)) {
+                        return array;
+                    }
+                    rows++;
+                }
+            }
+            if (rows != array.size()) {
+                return array;
+            }
+
+            for (int i = contextStart + 1; i < contextArrayIndex; ++i) {
+                ParseContext context = contextArray[i];
+                if (context.parent == arrayContext) {
+                    context.object = table.get((Integer) context.fieldName);
+                }
+            }
+            arrayContext.object = table;
+        }
+
+        return table;
+    }
+
     public ParseContext getContext() {
         return context;
     }
@@ -1300,6 +1606,76 @@ public class DefaultJSONParser implements Closeable {
         this.fieldTypeResolver = fieldTypeResolver;
     }
 
+    /**
+     * @since 1.2.57
+     */
+    public PropertyProjection getProjection() {
+        return projection;
+    }
+
+    /**
+     * @since 1.2.57
+     */
+    public void setProjection(PropertyProjection projection) {
+        if (projection != null) {
+            // asm生成的反序列化器按顺序快速匹配，不经过projection，关闭之后走JavaBeanDeserializer
+            lexer.config(Feature.SortFeidFastMatch, false);
+        }
+        this.projection = projection;
+    }
+
+    /**
+     * 跳过字段的值，当前位置在':'之前，跳过之后token是值后面的第一个token。
+     * lexer是JSONLexerBase时直接按字符跳过，不会经过nextToken。
+     *
+     * @since 1.2.57
+     */
+    public void skipFieldValue() {
+        if (lexer instanceof JSONLexerBase) {
+            ((JSONLexerBase) lexer).skipValueWithColon();
+        } else {
+            lexer.nextTokenWithColon();
+            skipValue();
+        }
+    }
+
+    /**
+     * 跳过当前token开始的一个值，跳过之后token是值后面的第一个token。
+     * 只做括号匹配，字符串、数字不会生成对象。
+     *
+     * @since 1.2.57
+     */
+    public void skipValue() {
+        final JSONLexer lexer = this.lexer;
+
+        int depth = 0;
+        for (;;) {
+            switch (lexer.token()) {
+                case LBRACE:
+                case LBRACKET:
+                    depth++;
+                    break;
+                case RBRACE:
+                case RBRACKET:
+                    if (--depth < 0) {
+                        throw new JSONException("syntax error, " + lexer.info());
+                    }
+                    break;
+                case EOF:
+                case ERROR:
+                    throw new JSONException("syntax error, " + lexer.info());
+                default:
+                    break;
+            }
+
+            lexer.nextToken();
+
+            if (depth == 0) {
+                return;
+            }
+        }
+    }
+
     public void setContext(ParseContext context) {
         if (lexer.isEnabled(Feature.DisableCircularReferenceDetect)) {
             return;
@@ -1322,6 +1698,27 @@ public class DefaultJSONParser implements Closeable {
         contextArray[contextArrayIndex] = null;
     }
 
+    /**
+     * 清除上一个顶层值留下的context和引用解析任务，用于在同一个parser上连续解析多个顶层值
+     *
+     * @since 1.2.57
+     */
+    public void resetContext() {
+        this.context = null;
+        if (contextArray != null) {
+            for (int i = 0; i < contextArrayIndex; ++i) {
+                contextArray[i] = null;
+            }
+        }
+        contextArrayIndex = 0;
+        contextIndex = null;
+
+        if (resolveTaskList != null) {
+            resolveTaskList.clear();
+        }
+        resolveStatus = NONE;
+    }
+
     public ParseContext setContext(Object object, Object fieldName) {
         if (lexer.isEnabled(Feature.DisableCircularReferenceDetect)) {
             return null;
@@ -1352,6 +1749,10 @@ public class DefaultJSONParser implements Closeable {
             contextArray = newArray;
         }
         contextArray[i] = context;
+
+        if (contextIndex != null) {
+            indexContext(i);
+        }
     }
 
     public Object parse() {
@@ -1381,14 +1782,15 @@ public class DefaultJSONParser implements Closeable {
                 parseArray(treeSet, fieldName);
                 return treeSet;
             case LBRACKET:
-                JSONArray array = new JSONArray();
+                JSONArray array = createJSONArray();
+                int contextStart = contextArrayIndex, resolveStart = resolveTaskCount();
                 parseArray(array, fieldName);
                 if (lexer.isEnabled(Feature.UseObjectArray)) {
                     return array.toArray();
                 }
-                return array;
+                return toTable(array, contextStart, resolveStart);
             case LBRACE:
-                JSONObject object = new JSONObject(lexer.isEnabled(Feature.OrderedField));
+                JSONObject object = createJSONObject();
                 return parseObject(object, fieldName);
 //            case LBRACE: {
 //                Map<String, Object> map = lexer.isEnabled(Feature.OrderedField)
@@ -1524,16 +1926,8 @@ public class DefaultJSONParser implements Closeable {
     }
 
     public Object resolveReference(String ref) {
-        if(contextArray == null) {
-            return null;
-        }
-        for (int i = 0; i < contextArray.length && i < contextArrayIndex; i++) {
-            ParseContext context = contextArray[i];
-            if (context.toString().equals(ref)) {
-                return context.object;
-            }
-        }
-        return null;
+        ParseContext context = findContext(ref);
+        return context == null ? null : context.object;
     }
 
     public void handleResovleTask(Object value) {
@@ -1596,6 +1990,14 @@ public class DefaultJSONParser implements Closeable {
 
     public void parseExtra(Object object, String key) {
         final JSONLexer lexer = this.lexer; // xxx
+        if ((extraTypeProviders == null || extraTypeProviders.isEmpty())
+                && (extraProcessors == null || extraProcessors.isEmpty())
+                && !(object instanceof ExtraProcessable)) {
+            // 没有人需要这个值，直接跳过
+            skipFieldValue();
+            return;
+        }
+
         lexer.nextTokenWithColon();
         Type type = null;
 
@@ -140,7 +140,42 @@ public enum Feature {
     /**
      * @since 1.2.55
      */
-    ErrorOnEnumNotMatch
+    ErrorOnEnumNotMatch,
+
+    /**
+     * @since 1.2.57
+     *
+     * JSONObject使用CompactJSONMap，相同key顺序的对象共享key数组，减少内存占用
+     */
+    UseCompactMap,
+
+    /**
+     * @since 1.2.57
+     *
+     * 元素都是key相同的对象的数组解析成列式存储的JSONTable
+     */
+    UseJSONTable,
+
+    /**
+     * @since 1.2.57
+     *
+     * 数组解析成JSONNumberArray，数字存放在int[]、long[]或者double[]中
+     */
+    UseNumberArray,
+
+    /**
+     * @since 1.2.57
+     *
+     * JSONObject中的字符串值使用StringSlice，第一次访问时才解码，只支持String输入
+     */
+    LazyStringValue,
+
+    /**
+     * @since 1.2.57
+     *
+     * JavaBean反序列化时学习输入的字段顺序，按学习到的顺序快速匹配，没有打开时总是按排序后的顺序匹配
+     */
+    AdaptiveFieldOrder
     ;
 
     Feature(){
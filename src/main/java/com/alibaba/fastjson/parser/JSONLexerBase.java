@@ -22,6 +22,7 @@ import java.util.*;
 
 import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.util.EiselLemire;
 import com.alibaba.fastjson.util.IOUtils;
 
 import static com.alibaba.fastjson.parser.JSONToken.*;
@@ -65,12 +66,20 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
 
     protected boolean                        hasSpecial;
 
+    /** 不为null时stringVal()返回的短字符串先查这个缓存 */
+    protected StringValueCache               stringValueCache;
+
     protected Calendar                       calendar           = null;
     protected TimeZone                       timeZone           = JSON.defaultTimeZone;
     protected Locale                         locale             = JSON.defaultLocale;
 
     public int                               matchStat          = UNKNOWN;
 
+    /** scanFieldHash读到的字段名的位置、长度和String.hashCode */
+    protected int                            fieldKeyOffset;
+    protected int                            fieldKeyLength;
+    protected int                            fieldKeyHashCode;
+
     private final static ThreadLocal<char[]> SBUF_LOCAL         = new ThreadLocal<char[]>();
 
     protected String                         stringDefaultValue = null;
@@ -89,6 +98,36 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
         }
     }
 
+    /**
+     * 复用lexer解析新的输入前重置扫描状态，close之后sbuf重新从线程缓存中获取
+     *
+     * @since 1.2.57
+     */
+    protected final void reset(int features) {
+        this.features = features;
+        this.stringDefaultValue = (features & Feature.InitStringFieldAsEmpty.mask) != 0 ? "" : null;
+
+        token = 0;
+        pos = 0;
+        ch = 0;
+        bp = -1;
+        eofPos = 0;
+        sp = 0;
+        np = 0;
+        hasSpecial = false;
+        matchStat = UNKNOWN;
+        fieldKeyOffset = 0;
+        fieldKeyLength = 0;
+        fieldKeyHashCode = 0;
+
+        if (sbuf == null) {
+            sbuf = SBUF_LOCAL.get();
+            if (sbuf == null) {
+                sbuf = new char[512];
+            }
+        }
+    }
+
     public final int matchStat() {
         return matchStat;
     }
@@ -425,7 +464,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
         return JSONToken.name(token);
     }
 
-    public final int pos() {
+    public int pos() {
         return pos;
     }
 
@@ -527,6 +566,12 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
     }
 
     public float floatValue() {
+        int offset = np == -1 ? 0 : np;
+        double value = decimalToDouble(offset, numberLength(offset), true);
+        if (value == value) {
+            return (float) value;
+        }
+
         String strVal = numberString();
         float floatValue = Float.parseFloat(strVal);
         if (floatValue == 0 || floatValue == Float.POSITIVE_INFINITY) {
@@ -539,9 +584,209 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
     }
 
     public double doubleValue() {
+        int offset = np == -1 ? 0 : np;
+        double value = decimalToDouble(offset, numberLength(offset), false);
+        if (value == value) {
+            return value;
+        }
         return Double.parseDouble(numberString());
     }
 
+    /**
+     * 当前数字token没有类型后缀，整数不超过18个字符，可以直接用longValue()或者doubleValue()读取
+     *
+     * @since 1.2.57
+     */
+    public final boolean isPlainNumber() {
+        int offset = np == -1 ? 0 : np;
+        char last = charAt(offset + sp - 1);
+        return last >= '0' && last <= '9' && (token != JSONToken.LITERAL_INT || sp <= 18);
+    }
+
+    /**
+     * 当前数字token去掉类型后缀(L/S/B/F/D)之后的长度
+     */
+    private int numberLength(int offset) {
+        char chLocal = charAt(offset + sp - 1);
+        if (chLocal == 'L' || chLocal == 'S' || chLocal == 'B' || chLocal == 'F' || chLocal == 'D') {
+            return sp - 1;
+        }
+        return sp;
+    }
+
+    /**
+     * 直接从缓冲区中读取[offset, offset + count)之间的数字计算double，不创建String
+     *
+     * @since 1.2.57
+     */
+    protected final double parseDouble(int offset, int count) {
+        double value = decimalToDouble(offset, count, false);
+        if (value == value) {
+            return value;
+        }
+        return Double.parseDouble(subString(offset, count));
+    }
+
+    /**
+     * @since 1.2.57
+     */
+    protected final float parseFloat(int offset, int count) {
+        double value = decimalToDouble(offset, count, true);
+        if (value == value) {
+            return (float) value;
+        }
+        return Float.parseFloat(subString(offset, count));
+    }
+
+    /**
+     * 直接从缓冲区中读取[offset, offset + count)之间的数字，18位以内的数字使用BigDecimal.valueOf(unscaledVal, scale)创建，
+     * 不需要复制成char[]。其他情况返回null，由调用方按原来的方式创建
+     *
+     * @since 1.2.57
+     */
+    protected final BigDecimal parseDecimal(int offset, int count) {
+        final int end = offset + count;
+        int i = offset;
+        if (count <= 0 || count > 24) {
+            return null;
+        }
+
+        char chLocal = charAt(i);
+        boolean negative = chLocal == '-';
+        if (negative || chLocal == '+') {
+            i++;
+        }
+
+        long unscaled = 0;
+        int digits = 0, scale = 0;
+        boolean small = false;
+        for (; i < end; ++i) {
+            chLocal = charAt(i);
+            if (chLocal == '.' && !small) {
+                small = true;
+                continue;
+            }
+            if (chLocal < '0' || chLocal > '9') {
+                break;
+            }
+
+            if (++digits > 18) {
+                return null;
+            }
+            unscaled = unscaled * 10 + (chLocal - '0');
+            if (small) {
+                scale++;
+            }
+        }
+        if (digits == 0) {
+            return null;
+        }
+
+        if (i < end && (chLocal == 'e' || chLocal == 'E')) {
+            chLocal = ++i < end ? charAt(i) : EOI;
+            boolean expNegative = chLocal == '-';
+            if (expNegative || chLocal == '+') {
+                i++;
+            }
+
+            int exp = 0, expStart = i;
+            for (; i < end && i - expStart < 9; ++i) {
+                chLocal = charAt(i);
+                if (chLocal < '0' || chLocal > '9') {
+                    break;
+                }
+                exp = exp * 10 + (chLocal - '0');
+            }
+            if (i == expStart) {
+                return null;
+            }
+            scale += expNegative ? exp : -exp;
+        }
+
+        if (i != end) {
+            return null;
+        }
+
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+    }
+
+    /**
+     * 解析出有效数字和指数之后使用EiselLemire计算，格式不对、超过19位有效数字或者不能确定舍入结果时返回NaN
+     */
+    private double decimalToDouble(int offset, int count, boolean isFloat) {
+        final int end = offset + count;
+        int i = offset;
+        if (count <= 0) {
+            return Double.NaN;
+        }
+
+        char chLocal = charAt(i);
+        boolean negative = chLocal == '-';
+        if (negative || chLocal == '+') {
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0, exp10 = 0;
+        boolean small = false, hasDigit = false;
+        for (; i < end; ++i) {
+            chLocal = charAt(i);
+            if (chLocal == '.' && !small) {
+                small = true;
+                continue;
+            }
+            if (chLocal < '0' || chLocal > '9') {
+                break;
+            }
+
+            hasDigit = true;
+            if (digits == 19) {
+                return Double.NaN;
+            }
+            mantissa = mantissa * 10 + (chLocal - '0');
+            if (mantissa != 0) {
+                digits++;
+            }
+            if (small) {
+                exp10--;
+            }
+        }
+        if (!hasDigit) {
+            return Double.NaN;
+        }
+
+        if (i < end && (chLocal == 'e' || chLocal == 'E')) {
+            chLocal = ++i < end ? charAt(i) : EOI;
+            boolean expNegative = chLocal == '-';
+            if (expNegative || chLocal == '+') {
+                i++;
+            }
+
+            int exp = 0, expStart = i;
+            for (; i < end; ++i) {
+                chLocal = charAt(i);
+                if (chLocal < '0' || chLocal > '9') {
+                    break;
+                }
+                if (exp < 100000) {
+                    exp = exp * 10 + (chLocal - '0');
+                }
+            }
+            if (i == expStart) {
+                return Double.NaN;
+            }
+            exp10 += expNegative ? -exp : exp;
+        }
+
+        if (i != end) {
+            return Double.NaN;
+        }
+
+        return isFloat //
+            ? EiselLemire.toFloat(mantissa, exp10, negative) //
+            : EiselLemire.toDouble(mantissa, exp10, negative);
+    }
+
     public void config(Feature feature, boolean state) {
         features = Feature.config(features, feature, state);
 
@@ -822,7 +1067,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
             }
             value = addSymbol(offset, sp, hash, symbolTable);
         } else {
-            value = symbolTable.addSymbol(sbuf, 0, sp, hash);
+            value = addSymbol(sbuf, 0, sp, hash, symbolTable);
         }
 
         sp = 0;
@@ -895,9 +1140,27 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
 
     protected abstract void copyTo(int offset, int count, char[] dest);
 
+    /**
+     * 从index开始连续的、不是'"'和'\\'的字符个数，scanString用来一次跳过这些字符。
+     * 没有随机访问缓冲区的lexer返回0，按字符扫描
+     *
+     * @since 1.2.57
+     */
+    protected int stringRunLength(int index) {
+        return 0;
+    }
+
     public final void scanString() {
         np = bp;
         hasSpecial = false;
+
+        // 一次跳过开头不需要转义处理的字符
+        int run = stringRunLength(bp + 1);
+        if (run > 0) {
+            bp += run;
+            sp += run;
+        }
+
         char ch;
         for (;;) {
             ch = next();
@@ -1241,10 +1504,311 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * 跳过':'以及后面的一个值，跳过之后token是值后面的第一个token。
+     *
+     * @since 1.2.57
+     */
+    public final void skipValueWithColon() {
+        for (;;) {
+            if (ch == ':') {
+                next();
+                break;
+            }
+
+            if (ch == ' ' || ch == '\n' || ch == '\r' || ch == '\t' || ch == '\f' || ch == '\b') {
+                next();
+                continue;
+            }
+
+            throw new JSONException("not match : - " + ch + ", info : " + this.info());
+        }
+
+        skipValue();
+    }
+
+    /**
+     * 跳过当前位置开始的一个值，跳过之后token是值后面的第一个token。
+     * <p>
+     * 字符串不解码转义字符，数字不转换，也不创建任何对象，用于丢弃不需要的字段。结构和普通解析一样做检查：
+     * 字段名之后必须是':'，值之后必须是','或者所在object/array的结尾，true、null、数字这些值按nextToken的规则校验。
+     *
+     * @since 1.2.57
+     */
+    public void skipValue() {
+        int depth = 0;
+        long objects = 0; // 前64层是否是object
+        BitSet deepObjects = null;
+        for (;;) {
+            // 当前位置是一个值的开始
+            skipWhitespace();
+            final char c = ch;
+            if (c == '{' || c == '[') {
+                final boolean object = c == '{';
+                if (depth < 64) {
+                    long mask = 1L << depth;
+                    objects = object ? objects | mask : objects & ~mask;
+                } else {
+                    if (deepObjects == null) {
+                        deepObjects = new BitSet();
+                    }
+                    deepObjects.set(depth - 64, object);
+                }
+                depth++;
+
+                next();
+                skipCommas();
+                if (ch != (object ? '}' : ']')) {
+                    if (object) {
+                        skipFieldName();
+                    }
+                    continue;
+                }
+                next();
+                depth--;
+            } else if (c == '"' || c == '\'') {
+                skipQuoted(c);
+            } else {
+                skipScalar();
+                if (token == JSONToken.SET || token == JSONToken.TREE_SET) {
+                    skipWhitespace();
+                    if (ch != '[') {
+                        throw new JSONException("syntax error, expect [, " + info());
+                    }
+                    continue;
+                }
+            }
+
+            // 一个值结束，后面只能是','或者所在object/array的结尾
+            for (;;) {
+                if (depth == 0) {
+                    nextToken();
+                    if (token != JSONToken.COMMA
+                            && token != JSONToken.RBRACE
+                            && token != JSONToken.RBRACKET
+                            && token != JSONToken.EOF) {
+                        throw new JSONException("syntax error, " + info());
+                    }
+                    return;
+                }
+
+                final boolean object = depth <= 64
+                        ? ((objects >>> (depth - 1)) & 1) == 1
+                        : deepObjects.get(depth - 65);
+                final char close = object ? '}' : ']';
+
+                skipWhitespace();
+                if (ch == ',') {
+                    next();
+                    skipCommas();
+                    if (ch != close) { // 和parse()一样允许结尾的','
+                        if (object) {
+                            skipFieldName();
+                        }
+                        break;
+                    }
+                } else if (ch != close) {
+                    if (ch < ' ' && isEOF()) { // 输入为空时JSONReaderScanner的ch是0
+                        throw new JSONException("unclosed json, " + info());
+                    }
+                    throw new JSONException("syntax error, expect , or " + close + ", actual " + ch + ", " + info());
+                }
+
+                next();
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * 跳过空白，AllowArbitraryCommas时同时跳过多余的','
+     */
+    private void skipCommas() {
+        skipWhitespace();
+        if (ch == ',' && isEnabled(Feature.AllowArbitraryCommas)) {
+            do {
+                next();
+                skipWhitespace();
+            } while (ch == ',');
+        }
+    }
+
+    /**
+     * 跳过object中的字段名以及后面的':'
+     */
+    private void skipFieldName() {
+        final char c = ch;
+        if (c == '"' || c == '\'') {
+            skipQuoted(c);
+        } else if ((c >= '0' && c <= '9') || c == '-') {
+            scanNumber();
+        } else if (isEnabled(Feature.AllowUnQuotedFieldNames)
+                   && (c >= IOUtils.firstIdentifierFlags.length || IOUtils.firstIdentifierFlags[c])) {
+            final boolean[] identifierFlags = IOUtils.identifierFlags;
+            for (;;) {
+                char chLocal = next();
+                if (chLocal < identifierFlags.length && !identifierFlags[chLocal]) {
+                    break;
+                }
+            }
+        } else {
+            throw new JSONException("syntax error, illegal field name, " + info());
+        }
+
+        skipWhitespace();
+        if (ch != ':') {
+            throw new JSONException("syntax error, expect :, actual " + ch + ", " + info());
+        }
+        next();
+    }
+
+    /**
+     * 用nextToken读取一个不是字符串、object、array的值，检查规则和parse()一致
+     */
+    private void skipScalar() {
+        final boolean minus = ch == '-';
+        nextToken();
+        switch (token) {
+            case JSONToken.LITERAL_INT:
+            case JSONToken.LITERAL_FLOAT:
+                // scanNumber只读到'-'时也会返回数字
+                if (minus && sp == 1) {
+                    break;
+                }
+                return;
+            case JSONToken.TRUE:
+            case JSONToken.FALSE:
+            case JSONToken.NULL:
+            case JSONToken.UNDEFINED:
+            case JSONToken.HEX:
+            case JSONToken.SET:
+            case JSONToken.TREE_SET:
+                return;
+            case JSONToken.IDENTIFIER:
+                if ("NaN".equals(stringVal())) {
+                    return;
+                }
+                break;
+            case JSONToken.NEW: // new Date(time)
+                nextToken(JSONToken.IDENTIFIER);
+                if (token == JSONToken.IDENTIFIER) {
+                    nextToken(JSONToken.LPAREN);
+                    if (token == JSONToken.LPAREN) {
+                        nextToken(JSONToken.LITERAL_INT);
+                        if (token == JSONToken.LITERAL_INT) {
+                            skipWhitespace();
+                            if (ch == ')') {
+                                next();
+                                return;
+                            }
+                        }
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+
+        throw new JSONException("syntax error, " + info());
+    }
+
+    /**
+     * 跳过当前位置开始的一个字符串，不解码转义字符，跳过之后ch是结束的引号后面的字符
+     *
+     * @since 1.2.57
+     */
+    protected void skipQuoted(char quote) {
+        for (;;) {
+            next();
+            if (ch == '\\') {
+                next();
+                if (!isEscape(ch)) {
+                    throw new JSONException("illegal escape character \\" + ch + ", " + info());
+                }
+            } else if (ch == quote) {
+                break;
+            } else if (ch < ' ' && isEOF()) {
+                throw new JSONException("unclosed str, " + info());
+            }
+        }
+        next();
+    }
+
+    /**
+     * scanString支持的'\\'之后的字符，跳过字符串时只检查这个字符，不检查\\x和\\u后面的数字
+     */
+    static boolean isEscape(char ch) {
+        switch (ch) {
+            case '0':
+            case '1':
+            case '2':
+            case '3':
+            case '4':
+            case '5':
+            case '6':
+            case '7':
+            case 'b':
+            case 't':
+            case 'n':
+            case 'v':
+            case 'f':
+            case 'F':
+            case 'r':
+            case '"':
+            case '\'':
+            case '/':
+            case '\\':
+            case 'x':
+            case 'u':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 扫描一个双引号的字段名，同时计算fnv1a_64 hash，不创建String。成功时matchStat是VALUE，
+     * 位置停在字段名之后，和scanSymbol一致；字段名包含转义字符、或者lexer不支持时matchStat是NOT_MATCH，
+     * 位置不变，需要用scanSymbol读取。
+     *
+     * @since 1.2.57
+     */
+    public long scanFieldHash() {
+        matchStat = NOT_MATCH;
+        return 0;
+    }
+
+    /**
+     * scanFieldHash读到的字段名，通过SymbolTable获取，只有需要字段名的时候才调用
+     *
+     * @since 1.2.57
+     */
+    public final String fieldHashKey(SymbolTable symbolTable) {
+        return addSymbol(fieldKeyOffset, fieldKeyLength, fieldKeyHashCode, symbolTable);
+    }
+
     public abstract int indexOf(char ch, int startIndex);
 
     public abstract String addSymbol(int offset, int len, int hash, final SymbolTable symbolTable);
 
+    /**
+     * stringVal()创建字符串，设置了StringValueCache时相同内容的短字符串返回同一个对象
+     */
+    protected final String newString(char[] chars, int offset, int count) {
+        StringValueCache cache = stringValueCache;
+        if (cache != null && count <= cache.getMaxLength()) {
+            return cache.get(chars, offset, count);
+        }
+        return new String(chars, offset, count);
+    }
+
+    /**
+     * add a symbol which contained escaped chars, already unescaped into buffer
+     */
+    protected String addSymbol(char[] buffer, int offset, int len, int hash, final SymbolTable symbolTable) {
+        return symbolTable.addSymbol(buffer, offset, len, hash);
+    }
+
     public String scanFieldString(char[] fieldName) {
         matchStat = UNKNOWN;
 
@@ -1291,9 +1855,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                 }
 
                 int chars_len = endIndex - (bp + fieldName.length + 1);
-                char[] chars = sub_chars( bp + fieldName.length + 1, chars_len);
-
-                stringVal = readString(chars, chars_len);
+                stringVal = readString(bp + fieldName.length + 1, chars_len);
             }
 
             offset += (endIndex - (bp + fieldName.length + 1) + 1);
@@ -1392,9 +1954,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                     }
 
                     int chars_len = endIndex - startIndex;
-                    char[] chars = sub_chars(bp + 1, chars_len);
-
-                    stringVal = readString(chars, chars_len);
+                    stringVal = readString(bp + 1, chars_len);
                 }
 
                 offset += (endIndex - startIndex + 1);
@@ -1730,9 +2290,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                     }
 
                     int chars_len = endIndex - (bp + offset);
-                    char[] chars = sub_chars(bp + offset, chars_len);
-
-                    stringVal = readString(chars, chars_len);
+                    stringVal = readString(bp + offset, chars_len);
                 }
 
                 offset += (endIndex - (bp + offset) + 1);
@@ -1869,9 +2427,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                     }
 
                     int chars_len = endIndex - startIndex;
-                    char[] chars = sub_chars(bp + offset, chars_len);
-
-                    stringVal = readString(chars, chars_len);
+                    stringVal = readString(bp + offset, chars_len);
                 }
 
                 offset += (endIndex - (bp + offset) + 1);
@@ -2602,8 +3158,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                     value = -value;
                 }
             } else {
-                String text = this.subString(start, count);
-                value = Float.parseFloat(text);
+                value = parseFloat(start, count);
             }
         } else if (chLocal == 'n' && charAt(bp + offset) == 'u' && charAt(bp + offset + 1) == 'l' && charAt(bp + offset + 2) == 'l') {
             matchStat = VALUE_NULL;
@@ -2782,8 +3337,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                     value = -value;
                 }
             } else {
-                String text = this.subString(start, count);
-                value = Float.parseFloat(text);
+                value = parseFloat(start, count);
             }
         } else if (chLocal == 'n' && charAt(bp + offset) == 'u' && charAt(bp + offset + 1) == 'l' && charAt(bp + offset + 2) == 'l') {
             matchStat = VALUE_NULL;
@@ -2920,8 +3474,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                     value = -value;
                 }
             } else {
-                String text = this.subString(start, count);
-                value = Double.parseDouble(text);
+                value = parseDouble(start, count);
             }
         } else if (chLocal == 'n' && charAt(bp + offset) == 'u' && charAt(bp + offset + 1) == 'l' && charAt(bp + offset + 2) == 'l') {
             matchStat = VALUE_NULL;
@@ -3045,8 +3598,11 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                 count = bp + offset - start - 1;
             }
 
-            char[] chars = this.sub_chars(start, count);
-            value = new BigDecimal(chars);
+            value = parseDecimal(start, count);
+            if (value == null) {
+                char[] chars = this.sub_chars(start, count);
+                value = new BigDecimal(chars);
+            }
         } else if (chLocal == 'n' && charAt(bp + offset) == 'u' && charAt(bp + offset + 1) == 'l' && charAt(bp + offset + 2) == 'l') {
             matchStat = VALUE_NULL;
             value = null;
@@ -3209,8 +3765,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                         value = -value;
                     }
                 } else {
-                    String text = this.subString(start, count);
-                    value = Float.parseFloat(text);
+                    value = parseFloat(start, count);
                 }
 
                 if (arrayIndex >= array.length) {
@@ -3372,8 +3927,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                                 value = -value;
                             }
                         } else {
-                            String text = this.subString(start, count);
-                            value = Float.parseFloat(text);
+                            value = parseFloat(start, count);
                         }
 
                         if (arrayIndex >= array.length) {
@@ -3559,8 +4113,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                     value = -value;
                 }
             } else {
-                String text = this.subString(start, count);
-                value = Double.parseDouble(text);
+                value = parseDouble(start, count);
             }
         } else if (chLocal == 'n' &&
                    charAt(bp + offset) == 'u' &&
@@ -3719,8 +4272,11 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                 count = bp + offset - start - 1;
             }
 
-            char[] chars = this.sub_chars(start, count);
-            value = new BigDecimal(chars);
+            value = parseDecimal(start, count);
+            if (value == null) {
+                char[] chars = this.sub_chars(start, count);
+                value = new BigDecimal(chars);
+            }
         } else if (chLocal == 'n' &&
                    charAt(bp + offset) == 'u' &&
                    charAt(bp + offset + 1) == 'l' &&
@@ -3974,9 +4530,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                 }
 
                 int chars_len = endIndex - (bp + fieldName.length + 1);
-                char[] chars = sub_chars( bp + fieldName.length + 1, chars_len);
-
-                stringVal = readString(chars, chars_len);
+                stringVal = readString(bp + fieldName.length + 1, chars_len);
             }
 
             offset += (endIndex - (bp + fieldName.length + 1) + 1);
@@ -4101,9 +4655,7 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
                 }
 
                 int chars_len = endIndex - (bp + 1);
-                char[] chars = sub_chars( bp + 1, chars_len);
-
-                stringVal = readString(chars, chars_len);
+                stringVal = readString(bp + 1, chars_len);
             }
 
             offset += (endIndex - (bp + 1) + 1);
@@ -4807,6 +5359,14 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
 
     protected abstract char[] sub_chars(int offset, int count);
 
+    /**
+     * read the string value at [offset, offset + count), which contains escaped chars
+     */
+    protected String readString(int offset, int count) {
+        char[] chars = sub_chars(offset, count);
+        return readString(chars, count);
+    }
+
     public static String readString(char[] chars, int chars_len) {
         char[] sbuf = new char[chars_len];
         int len = 0;
@@ -5078,19 +5638,12 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
         np = bp;
         next();
 
-        if (ch == '\'') {
-            next();
-            token = JSONToken.HEX;
-            return;
-        }
-
-        for (int i = 0;;++i) {
-            char ch = next();
+        // sp始终等于已经读到的十六进制字符数，流式的lexer切换窗口时按sp保留token
+        for (;;) {
             if ((ch >= '0' && ch <= '9') || (ch >= 'A' && ch <= 'F')) {
                 sp++;
-                continue;
+                next();
             } else if (ch == '\'') {
-                sp++;
                 next();
                 break;
             } else {
@@ -5242,11 +5795,11 @@ public abstract class JSONLexerBase implements JSONLexer, Closeable {
         char chLocal = charAt(np + sp - 1);
         try {
             if (chLocal == 'F') {
-                return Float.parseFloat(numberString());
+                return parseFloat(np, sp - 1);
             }
 
             if (chLocal == 'D') {
-                return Double.parseDouble(numberString());
+                return parseDouble(np, sp - 1);
             }
 
             if (decimal) {
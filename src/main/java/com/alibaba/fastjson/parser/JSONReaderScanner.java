@@ -240,10 +240,10 @@ public final class JSONReaderScanner extends JSONLexerBase {
             if (offset > buf.length - sp) {
                 throw new IllegalStateException();
             }
-            return new String(buf, offset, sp);
+            return newString(buf, offset, sp);
             // return text.substring(np + 1, np + 1 + sp);
         } else {
-            return new String(sbuf, 0, sp);
+            return newString(sbuf, 0, sp);
         }
     }
 
@@ -296,6 +296,11 @@ public final class JSONReaderScanner extends JSONLexerBase {
             sp--;
         }
 
+        BigDecimal value = parseDecimal(offset, sp);
+        if (value != null) {
+            return value;
+        }
+
         return new BigDecimal(buf, offset, sp);
     }
 
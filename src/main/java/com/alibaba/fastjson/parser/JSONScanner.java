@@ -30,8 +30,12 @@ import java.util.*;
  */
 public final class JSONScanner extends JSONLexerBase {
 
-    private final String text;
-    private final int    len;
+    private String       text;
+    private int          len;
+
+    /** text中从escapeFrom开始第一个'\\'的位置，没有的时候是len，用来避免每个字符串都重新查找 */
+    private int          escapeFrom  = -1;
+    private int          escapeIndex = -1;
 
     public JSONScanner(String input){
         this(input, JSON.DEFAULT_PARSER_FEATURE);
@@ -50,6 +54,25 @@ public final class JSONScanner extends JSONLexerBase {
         }
     }
 
+    /**
+     * 复用这个scanner扫描新的字符串
+     *
+     * @since 1.2.57
+     */
+    public void reset(String input, int features) {
+        reset(features);
+
+        text = input;
+        len = text.length();
+        escapeFrom = -1;
+        escapeIndex = -1;
+
+        next();
+        if (ch == 65279) { // utf-8 bom
+            next();
+        }
+    }
+
     public final char charAt(int index) {
         if (index >= len) {
             return EOI;
@@ -77,6 +100,26 @@ public final class JSONScanner extends JSONLexerBase {
         text.getChars(offset, offset + count, dest, 0);
     }
 
+    /**
+     * String不能按long读取，使用JDK中经过向量化的indexOf查找结束的引号和转义符
+     */
+    protected final int stringRunLength(int index) {
+        int quoteIndex = text.indexOf('"', index);
+        if (quoteIndex == -1) {
+            return 0;
+        }
+
+        if (index < escapeFrom || index > escapeIndex) {
+            escapeIndex = text.indexOf('\\', index);
+            if (escapeIndex == -1) {
+                escapeIndex = len;
+            }
+            escapeFrom = index;
+        }
+
+        return (escapeIndex < quoteIndex ? escapeIndex : quoteIndex) - index;
+    }
+
     static boolean charArrayCompare(String src, int offset, char[] dest) {
         final int destLen = dest.length;
         if (destLen + offset > src.length()) {
@@ -127,14 +170,27 @@ public final class JSONScanner extends JSONLexerBase {
         return IOUtils.decodeBase64(text, np + 1, sp);
     }
 
+    /**
+     * scanString之后调用，返回当前字符串在text中的位置，不创建String
+     *
+     * @since 1.2.57
+     */
+    public final StringSlice stringSlice() {
+        return new StringSlice(text, np + 1, bp - 1, hasSpecial);
+    }
+
     /**
      * The value of a literal token, recorded as a string. For integers, leading 0x and 'l' suffixes are suppressed.
      */
     public final String stringVal() {
         if (!hasSpecial) {
+            StringValueCache cache = stringValueCache;
+            if (cache != null && sp <= cache.getMaxLength()) {
+                return cache.get(text, np + 1, sp);
+            }
             return this.subString(np + 1, sp);
         } else {
-            return new String(sbuf, 0, sp);
+            return newString(sbuf, 0, sp);
         }
     }
 
@@ -184,6 +240,11 @@ public final class JSONScanner extends JSONLexerBase {
         }
 
         int offset = np, count = sp;
+        BigDecimal value = parseDecimal(offset, count);
+        if (value != null) {
+            return value;
+        }
+
         if (count < sbuf.length) {
             text.getChars(offset, offset + count, sbuf, 0);
             return new BigDecimal(sbuf, 0, count);
@@ -1831,8 +1892,7 @@ public final class JSONScanner extends JSONLexerBase {
                     value = -value;
                 }
             } else {
-                String text = this.subString(start, count);
-                value = Double.parseDouble(text);
+                value = parseDouble(start, count);
             }
         } else if (chLocal == 'n'
                 && charAt(offset++) == 'u'
@@ -2284,7 +2344,6 @@ public final class JSONScanner extends JSONLexerBase {
     }
 
     public final void skipObject(boolean valid) {
-        boolean quote = false;
         int braceCnt = 0;
         int i = bp;
         for (; i < text.length(); ++i) {
@@ -2299,18 +2358,11 @@ public final class JSONScanner extends JSONLexerBase {
                     throw new JSONException("illegal str, " + info());
                 }
             } else if (ch == '"') {
-                quote = !quote;
+                i = skipString(i, '"') - 1;
             } else if (ch == '{') {
-                if (quote) {
-                    continue;
-                }
                 braceCnt++;
             } else if (ch == '}') {
-                if (quote) {
-                    continue;
-                } else {
-                    braceCnt--;
-                }
+                braceCnt--;
                 if (braceCnt == -1) {
                     this.bp = i + 1;
                     if (this.bp == text.length()) {
@@ -2352,7 +2404,6 @@ public final class JSONScanner extends JSONLexerBase {
     }
 
     public final void skipArray(boolean valid) {
-        boolean quote = false;
         int bracketCnt = 0;
         int i = bp;
         for (; i < text.length(); ++i) {
@@ -2367,11 +2418,8 @@ public final class JSONScanner extends JSONLexerBase {
                     throw new JSONException("illegal str, " + info());
                 }
             } else if (ch == '"') {
-                quote = !quote;
+                i = skipString(i, '"') - 1;
             } else if (ch == '[') {
-                if (quote) {
-                    continue;
-                }
                 bracketCnt++;
             } else if (ch == '{' && valid) {
                 {
@@ -2383,11 +2431,7 @@ public final class JSONScanner extends JSONLexerBase {
 
                 skipObject(valid);
             } else if (ch == ']') {
-                if (quote) {
-                    continue;
-                } else {
-                    bracketCnt--;
-                }
+                bracketCnt--;
                 if (bracketCnt == -1) {
                     this.bp = i + 1;
                     if (this.bp == text.length()) {
@@ -2407,6 +2451,82 @@ public final class JSONScanner extends JSONLexerBase {
         }
     }
 
+    public final long scanFieldHash() {
+        skipWhitespace();
+        if (ch != '"') {
+            matchStat = NOT_MATCH;
+            return 0;
+        }
+
+        final String text = this.text;
+        long hash = 0xcbf29ce484222325L;
+        int hashCode = 0;
+        for (int i = bp + 1; i < len; ++i) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                fieldKeyOffset = bp + 1;
+                fieldKeyLength = i - bp - 1;
+                fieldKeyHashCode = hashCode;
+
+                np = bp;
+                sp = 0;
+                token = JSONToken.LITERAL_STRING;
+                bp = i + 1;
+                ch = bp >= len ? EOI : text.charAt(bp);
+                matchStat = VALUE;
+                return hash;
+            }
+
+            if (c == '\\') {
+                break;
+            }
+
+            hash ^= c;
+            hash *= 0x100000001b3L;
+            hashCode = 31 * hashCode + c;
+        }
+
+        matchStat = NOT_MATCH;
+        return 0;
+    }
+
+    protected final void skipQuoted(char quote) {
+        bp = skipString(bp, quote);
+        ch = bp >= len ? EOI : text.charAt(bp);
+    }
+
+    /**
+     * @param i 开始的引号的位置
+     * @return 结束的引号之后的位置
+     */
+    private int skipString(int i, char quote) {
+        int end = -1;
+        for (int p = i + 1;;) {
+            if (end < p) {
+                end = text.indexOf(quote, p);
+                if (end == -1) {
+                    throw new JSONException("unclosed str, " + info());
+                }
+            }
+
+            // 引号之前没有'\\'时字符串到此结束，否则检查转义字符，跳过被转义的字符
+            while (p < end && text.charAt(p) != '\\') {
+                p++;
+            }
+            if (p == end) {
+                return end + 1;
+            }
+            if (p + 1 >= len) {
+                throw new JSONException("unclosed str, " + info());
+            }
+            char c = text.charAt(p + 1);
+            if (!isEscape(c)) {
+                throw new JSONException("illegal escape character \\" + c + ", " + info());
+            }
+            p += 2;
+        }
+    }
+
     public final void skipString() {
         if (ch == '"') {
             for (int i = bp + 1; i < text.length(); ++i) {
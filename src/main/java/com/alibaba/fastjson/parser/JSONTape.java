@@ -0,0 +1,829 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson.parser;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.util.IOUtils;
+
+/**
+ * 两阶段解析UTF-8编码的json，结果是一条long[]或者堆外ByteBuffer中的tape，不创建Java对象树：
+ * <ol>
+ * <li>第一阶段扫描整个输入，记录所有结构字符({}[]:,)、字符串的开始和结束引号、以及其他值的开始位置；</li>
+ * <li>第二阶段按顺序检查这些位置的语法，把每个值写成tape中的记录，数字在这一阶段转成long或者double。</li>
+ * </ol>
+ * tape中每个值用一个int表示它在tape中的位置，通过type/size/get/next等方法遍历，除了stringValue/value等
+ * 需要返回对象的方法以外都不会创建对象。object的成员按key、value的顺序排列，key是STRING类型的记录。
+ * <pre>
+ * JSONTape tape = JSONTape.parse(bytes);
+ * int items = tape.get(tape.root(), "items");
+ * for (int p = tape.first(items), end = tape.next(items); p &lt; end; p = tape.next(p)) {
+ *     long id = tape.longValue(tape.get(p, "id"));
+ * }
+ * </pre>
+ * 只支持标准json，不支持注释、单引号和不带引号的key，也不处理$ref引用。tape引用原始的输入，输入在tape使用期间不能修改。
+ *
+ * @since 1.2.57
+ */
+public final class JSONTape {
+
+    public final static byte    OBJECT       = '{';
+    public final static byte    ARRAY        = '[';
+    public final static byte    STRING       = '"';
+    /** 可以用long表示的整数 */
+    public final static byte    LONG         = 'l';
+    /** 带小数或者指数的数字，tape中保存的是double */
+    public final static byte    DOUBLE       = 'd';
+    /** 超出long范围的整数 */
+    public final static byte    BIG_INTEGER  = 'N';
+    public final static byte    TRUE         = 't';
+    public final static byte    FALSE        = 'f';
+    public final static byte    NULL         = 'n';
+
+    /*
+     * tape的记录格式，第一个long的高8位是类型：
+     * object/array占1个long：类型 | 成员个数(24位，超出时为0xFFFFFF) | 结束之后下一个值的位置(32位)
+     * 其他值占2个long，第一个long：类型 | 在输入中的开始位置；第二个long：
+     *   string：结束引号的位置，包含转义字符时第32位是1
+     *   long/double：值，double是doubleToRawLongBits
+     *   big integer/true/false/null：结束位置
+     */
+    private final static int    TYPE_SHIFT   = 56;
+    private final static int    COUNT_SHIFT  = 32;
+    private final static long   COUNT_MAX    = 0xFFFFFFL;
+    private final static long   OFFSET_MASK  = 0xFFFFFFFFL;
+    private final static long   ESCAPED      = 1L << 32;
+    /** 第一阶段中字符串结束引号位置的标记，表示字符串中有转义字符 */
+    private final static int    ESCAPED_MARK = 0x80000000;
+
+    private final static byte   C_OTHER      = 0;
+    private final static byte   C_STRUCTURAL = 1;
+    private final static byte   C_WHITESPACE = 2;
+    private final static byte   C_QUOTE      = 3;
+    private final static byte[] classes      = new byte[256];
+    static {
+        classes['{'] = C_STRUCTURAL;
+        classes['}'] = C_STRUCTURAL;
+        classes['['] = C_STRUCTURAL;
+        classes[']'] = C_STRUCTURAL;
+        classes[':'] = C_STRUCTURAL;
+        classes[','] = C_STRUCTURAL;
+        classes[' '] = C_WHITESPACE;
+        classes['\t'] = C_WHITESPACE;
+        classes['\n'] = C_WHITESPACE;
+        classes['\r'] = C_WHITESPACE;
+        classes['"'] = C_QUOTE;
+    }
+
+    private final static double[] POW10 = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+            1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+    // 输入，堆内的输入直接读数组
+    private final byte[]        array;
+    private final ByteBuffer    buffer;
+    private final int           base;
+    private final int           len;
+
+    // tape，off-heap的时候使用tapeBuffer
+    private long[]              tape;
+    private ByteBuffer          tapeBuffer;
+    private int                 size;
+
+    private JSONTape(byte[] array, ByteBuffer buffer, int base, int len){
+        this.array = array;
+        this.buffer = buffer;
+        this.base = base;
+        this.len = len;
+    }
+
+    public static JSONTape parse(byte[] input) {
+        return parse(input, 0, input.length);
+    }
+
+    public static JSONTape parse(byte[] input, int off, int len) {
+        JSONTape tape = new JSONTape(input, null, off, len);
+        tape.parse();
+        return tape;
+    }
+
+    /**
+     * 解析position到limit之间的内容，不会修改input的position
+     *
+     * @param offHeapTape 为true时tape写到direct ByteBuffer中，不占用java堆
+     */
+    public static JSONTape parse(ByteBuffer input, boolean offHeapTape) {
+        JSONTape tape;
+        if (input.hasArray()) {
+            tape = new JSONTape(input.array(), null, input.arrayOffset() + input.position(), input.remaining());
+        } else {
+            tape = new JSONTape(null, input.duplicate(), input.position(), input.remaining());
+        }
+        tape.parse();
+
+        if (offHeapTape) {
+            ByteBuffer tapeBuffer = ByteBuffer.allocateDirect(tape.size << 3).order(ByteOrder.nativeOrder());
+            tapeBuffer.asLongBuffer().put(tape.tape, 0, tape.size);
+            tape.tapeBuffer = tapeBuffer;
+            tape.tape = null;
+        }
+        return tape;
+    }
+
+    private void parse() {
+        int i = 0;
+        if (len >= 3 && at(0) == (byte) 0xEF && at(1) == (byte) 0xBB && at(2) == (byte) 0xBF) { // utf-8 bom
+            i = 3;
+        }
+
+        int[] index = new int[(len >> 3) + 16];
+        int count = 0;
+
+        // 第一阶段：记录结构字符和值的开始位置
+        boolean inValue = false;
+        while (i < len) {
+            byte b = at(i);
+            byte c = classes[b & 0xFF];
+            if (c == C_OTHER) {
+                if (!inValue) {
+                    if (count == index.length) {
+                        index = grow(index);
+                    }
+                    index[count++] = i;
+                    inValue = true;
+                }
+                ++i;
+                continue;
+            }
+
+            inValue = false;
+            if (c == C_WHITESPACE) {
+                ++i;
+                continue;
+            }
+
+            if (count + 2 > index.length) {
+                index = grow(index);
+            }
+            index[count++] = i;
+            if (c == C_QUOTE) {
+                int end = skipString(i + 1);
+                if (end < 0) {
+                    end = ~end;
+                    index[count++] = end | ESCAPED_MARK;
+                } else {
+                    index[count++] = end;
+                }
+                i = end;
+            }
+            ++i;
+        }
+
+        if (count == 0) {
+            throw new JSONException("empty json");
+        }
+
+        this.tape = new long[count + (count >> 1) + 4];
+        stage2(index, count);
+    }
+
+    /**
+     * @return 结束引号的位置，字符串中包含转义字符时返回位置取反
+     */
+    private int skipString(int i) {
+        boolean escaped = false;
+        for (; i < len; ++i) {
+            byte b = at(i);
+            if (b == '"') {
+                return escaped ? ~i : i;
+            }
+            if (b == '\\') {
+                escaped = true;
+                ++i;
+            }
+        }
+        throw new JSONException("unclosed string");
+    }
+
+    private void stage2(int[] index, int count) {
+        int[] stack = new int[16];
+        int depth = 0;
+        int k = 0;
+        for (;;) {
+            if (k >= count) {
+                throw new JSONException("unclosed json");
+            }
+
+            // 读取一个值
+            int pos = index[k++];
+            byte b = at(pos);
+            if (b == '{' || b == '[') {
+                if (depth == stack.length) {
+                    int[] newStack = new int[stack.length * 2];
+                    System.arraycopy(stack, 0, newStack, 0, depth);
+                    stack = newStack;
+                }
+                int p = add((long) b << TYPE_SHIFT);
+                stack[depth++] = p;
+
+                byte close = b == '{' ? (byte) '}' : (byte) ']';
+                if (k < count && at(index[k]) == close) {
+                    k++;
+                    tape[p] |= size;
+                    depth--;
+                } else {
+                    if (b == '{') {
+                        k = key(index, count, k);
+                    }
+                    continue;
+                }
+            } else if (b == '"') {
+                string(pos, index[k++]);
+            } else if (classes[b & 0xFF] == C_OTHER) {
+                literal(pos);
+            } else {
+                throw new JSONException("syntax error, pos " + pos + ", char " + (char) b);
+            }
+
+            // 值的后面是','或者结束的括号
+            for (;;) {
+                if (depth == 0) {
+                    if (k != count) {
+                        throw new JSONException("syntax error, pos " + (index[k] & ~ESCAPED_MARK));
+                    }
+                    return;
+                }
+
+                int p = stack[depth - 1];
+                long word = tape[p];
+                if (((word >>> COUNT_SHIFT) & COUNT_MAX) != COUNT_MAX) {
+                    tape[p] = word + (1L << COUNT_SHIFT);
+                }
+
+                if (k >= count) {
+                    throw new JSONException("unclosed json");
+                }
+                pos = index[k++];
+                b = at(pos);
+                boolean isObject = (word >>> TYPE_SHIFT) == OBJECT;
+                if (b == ',') {
+                    if (isObject) {
+                        k = key(index, count, k);
+                    }
+                    break;
+                }
+
+                if (b == (isObject ? '}' : ']')) {
+                    tape[p] |= size;
+                    depth--;
+                    continue;
+                }
+
+                throw new JSONException("syntax error, pos " + pos + ", char " + (char) b);
+            }
+        }
+    }
+
+    /**
+     * 读取key和后面的':'
+     */
+    private int key(int[] index, int count, int k) {
+        if (k + 3 > count || at(index[k]) != '"') {
+            throw new JSONException("syntax error, expect key, pos " + (k < count ? index[k] : len));
+        }
+        string(index[k], index[k + 1]);
+
+        int pos = index[k + 2];
+        if (at(pos) != ':') {
+            throw new JSONException("expect ':' at " + pos);
+        }
+        return k + 3;
+    }
+
+    private void string(int start, int end) {
+        int p = add(((long) STRING << TYPE_SHIFT) | (start + 1));
+        tape[p + 1] = (end & ESCAPED_MARK) != 0 ? (end & ~ESCAPED_MARK) | ESCAPED : end;
+    }
+
+    private void literal(int start) {
+        int end = start;
+        while (end < len && classes[at(end) & 0xFF] == C_OTHER) {
+            end++;
+        }
+
+        byte b = at(start);
+        int type;
+        long value = end;
+        if (b == 't' && matches(start, end, "true")) {
+            type = TRUE;
+        } else if (b == 'f' && matches(start, end, "false")) {
+            type = FALSE;
+        } else if (b == 'n' && matches(start, end, "null")) {
+            type = NULL;
+        } else {
+            int i = start;
+            boolean negative = b == '-';
+            if (negative) {
+                i++;
+            }
+
+            // 整数部分
+            int intStart = i;
+            long mantissa = 0;
+            int digits = 0; // mantissa中的有效数字个数
+            int dropped = 0; // 超出19位没有计入mantissa的数字个数
+            for (; i < end; ++i) {
+                b = at(i);
+                if (b < '0' || b > '9') {
+                    break;
+                }
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    if (mantissa != 0) {
+                        digits++;
+                    }
+                } else {
+                    dropped++;
+                }
+            }
+            if (i == intStart || (at(intStart) == '0' && i - intStart > 1)) {
+                throw new JSONException("illegal number, pos " + start);
+            }
+
+            if (i == end) {
+                if (dropped == 0) {
+                    type = LONG;
+                    value = negative ? -mantissa : mantissa;
+                } else {
+                    type = bigInteger(start, end);
+                    if (type == LONG) {
+                        value = Long.parseLong(text(start, end));
+                    }
+                }
+            } else {
+                int exp = dropped;
+                if (at(i) == '.') {
+                    int fracStart = ++i;
+                    for (; i < end; ++i) {
+                        b = at(i);
+                        if (b < '0' || b > '9') {
+                            break;
+                        }
+                        if (digits < 18) {
+                            mantissa = mantissa * 10 + (b - '0');
+                            if (mantissa != 0) {
+                                digits++;
+                            }
+                            exp--;
+                        }
+                    }
+                    if (i == fracStart) {
+                        throw new JSONException("illegal number, pos " + start);
+                    }
+                }
+
+                if (i < end && (at(i) == 'e' || at(i) == 'E')) {
+                    ++i;
+                    boolean expNegative = false;
+                    if (i < end && (at(i) == '+' || at(i) == '-')) {
+                        expNegative = at(i) == '-';
+                        ++i;
+                    }
+                    int expStart = i, expValue = 0;
+                    for (; i < end; ++i) {
+                        b = at(i);
+                        if (b < '0' || b > '9') {
+                            break;
+                        }
+                        if (expValue < 100000) {
+                            expValue = expValue * 10 + (b - '0');
+                        }
+                    }
+                    if (i == expStart) {
+                        throw new JSONException("illegal number, pos " + start);
+                    }
+                    exp += expNegative ? -expValue : expValue;
+                }
+
+                if (i != end) {
+                    throw new JSONException("illegal number, pos " + start);
+                }
+
+                double doubleValue;
+                if (digits <= 15 && dropped == 0 && exp >= -22 && exp <= 22) {
+                    // mantissa和10的幂都能精确表示，一次乘除的结果是正确舍入的
+                    doubleValue = exp < 0 ? mantissa / POW10[-exp] : mantissa * POW10[exp];
+                } else {
+                    doubleValue = Double.parseDouble(text(start, end));
+                }
+                if (negative) {
+                    doubleValue = -doubleValue;
+                }
+                type = DOUBLE;
+                value = Double.doubleToRawLongBits(doubleValue);
+            }
+        }
+
+        int p = add(((long) type << TYPE_SHIFT) | start);
+        tape[p + 1] = value;
+    }
+
+    private int bigInteger(int start, int end) {
+        int digits = end - start - (at(start) == '-' ? 1 : 0);
+        if (digits > 19) {
+            return BIG_INTEGER;
+        }
+        // 19位的整数可能在long范围内
+        try {
+            Long.parseLong(text(start, end));
+            return LONG;
+        } catch (NumberFormatException ex) {
+            return BIG_INTEGER;
+        }
+    }
+
+    private boolean matches(int start, int end, String literal) {
+        if (end - start != literal.length()) {
+            throw new JSONException("syntax error, pos " + start);
+        }
+        for (int i = 0; i < literal.length(); ++i) {
+            if (at(start + i) != literal.charAt(i)) {
+                throw new JSONException("syntax error, pos " + start);
+            }
+        }
+        return true;
+    }
+
+    private int add(long word) {
+        int p = size;
+        if (p + 2 > tape.length) {
+            long[] newTape = new long[tape.length * 2];
+            System.arraycopy(tape, 0, newTape, 0, p);
+            tape = newTape;
+        }
+        tape[p] = word;
+        int type = (int) (word >>> TYPE_SHIFT);
+        size = p + (type == OBJECT || type == ARRAY ? 1 : 2);
+        return p;
+    }
+
+    private static int[] grow(int[] index) {
+        int[] newIndex = new int[index.length * 2];
+        System.arraycopy(index, 0, newIndex, 0, index.length);
+        return newIndex;
+    }
+
+    private byte at(int i) {
+        return array != null ? array[base + i] : buffer.get(base + i);
+    }
+
+    private long word(int p) {
+        return tape != null ? tape[p] : tapeBuffer.getLong(p << 3);
+    }
+
+    private String text(int start, int end) {
+        int len = end - start;
+        if (array != null) {
+            return new String(array, base + start, len, IOUtils.UTF8);
+        }
+
+        byte[] bytes = new byte[len];
+        for (int i = 0; i < len; ++i) {
+            bytes[i] = buffer.get(base + start + i);
+        }
+        return new String(bytes, IOUtils.UTF8);
+    }
+
+    private int start(int p) {
+        return (int) (word(p) & OFFSET_MASK);
+    }
+
+    private int end(int p) {
+        return (int) (word(p + 1) & OFFSET_MASK);
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * @return tape中long的个数
+     */
+    public int getTapeLength() {
+        return size;
+    }
+
+    public boolean isOffHeap() {
+        return tape == null;
+    }
+
+    public int root() {
+        return 0;
+    }
+
+    public byte type(int p) {
+        return (byte) (word(p) >>> TYPE_SHIFT);
+    }
+
+    /**
+     * @return 下一个值的位置，object/array会跳过所有成员
+     */
+    public int next(int p) {
+        long word = word(p);
+        int type = (int) (word >>> TYPE_SHIFT);
+        return type == OBJECT || type == ARRAY ? (int) (word & OFFSET_MASK) : p + 2;
+    }
+
+    /**
+     * @return object/array的第一个成员的位置，object的成员从key开始
+     */
+    public int first(int p) {
+        return p + 1;
+    }
+
+    /**
+     * @return object/array的成员个数
+     */
+    public int size(int p) {
+        long word = word(p);
+        int type = (int) (word >>> TYPE_SHIFT);
+        if (type != OBJECT && type != ARRAY) {
+            throw new JSONException("not object or array, type " + (char) type);
+        }
+
+        long count = (word >>> COUNT_SHIFT) & COUNT_MAX;
+        if (count != COUNT_MAX) {
+            return (int) count;
+        }
+
+        int n = 0;
+        for (int i = p + 1, end = (int) (word & OFFSET_MASK); i < end; i = next(i)) {
+            if (type == OBJECT) {
+                i = next(i);
+            }
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * @return array中第index个元素的位置，不存在时返回-1
+     */
+    public int get(int array, int index) {
+        long word = word(array);
+        if ((word >>> TYPE_SHIFT) != ARRAY) {
+            throw new JSONException("not array, type " + (char) (word >>> TYPE_SHIFT));
+        }
+
+        int end = (int) (word & OFFSET_MASK);
+        int p = array + 1;
+        for (int i = 0; i < index && p < end; ++i) {
+            p = next(p);
+        }
+        return index >= 0 && p < end ? p : -1;
+    }
+
+    /**
+     * @return object中key对应的值的位置，不存在时返回-1。重复的key以最后一个为准
+     */
+    public int get(int object, String key) {
+        long word = word(object);
+        if ((word >>> TYPE_SHIFT) != OBJECT) {
+            throw new JSONException("not object, type " + (char) (word >>> TYPE_SHIFT));
+        }
+
+        int value = -1;
+        for (int p = object + 1, end = (int) (word & OFFSET_MASK); p < end; p = next(p + 2)) {
+            if (keyEquals(p, key)) {
+                value = p + 2;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 比较字符串的值，不包含转义字符时直接按UTF-8比较，不创建对象
+     */
+    public boolean keyEquals(int p, String key) {
+        if (type(p) != STRING) {
+            return false;
+        }
+
+        long endWord = word(p + 1);
+        if ((endWord & ESCAPED) != 0) {
+            return key.equals(stringValue(p));
+        }
+
+        int i = start(p), end = (int) (endWord & OFFSET_MASK);
+        for (int j = 0, keyLen = key.length(); j < keyLen; ++j) {
+            int c = key.charAt(j);
+            if (c < 0x80) {
+                if (i >= end || at(i++) != c) {
+                    return false;
+                }
+                continue;
+            }
+
+            if (Character.isHighSurrogate((char) c) && j + 1 < keyLen) {
+                c = Character.toCodePoint((char) c, key.charAt(++j));
+            }
+
+            int bytes = c < 0x800 ? 2 : c < 0x10000 ? 3 : 4;
+            if (i + bytes > end) {
+                return false;
+            }
+            int lead = bytes == 2 ? 0xC0 : bytes == 3 ? 0xE0 : 0xF0;
+            if ((at(i++) & 0xFF) != (lead | (c >> (6 * (bytes - 1))))) {
+                return false;
+            }
+            for (int shift = 6 * (bytes - 2); shift >= 0; shift -= 6) {
+                if ((at(i++) & 0xFF) != (0x80 | ((c >> shift) & 0x3F))) {
+                    return false;
+                }
+            }
+        }
+        return i == end;
+    }
+
+    public boolean isNull(int p) {
+        return type(p) == NULL;
+    }
+
+    public boolean booleanValue(int p) {
+        byte type = type(p);
+        if (type == TRUE) {
+            return true;
+        }
+        if (type == FALSE) {
+            return false;
+        }
+        throw new JSONException("not boolean, type " + (char) type);
+    }
+
+    public long longValue(int p) {
+        byte type = type(p);
+        if (type == LONG) {
+            return word(p + 1);
+        }
+        if (type == DOUBLE) {
+            return (long) Double.longBitsToDouble(word(p + 1));
+        }
+        if (type == BIG_INTEGER) {
+            return new BigInteger(text(start(p), end(p))).longValue();
+        }
+        throw new JSONException("not number, type " + (char) type);
+    }
+
+    public double doubleValue(int p) {
+        byte type = type(p);
+        if (type == DOUBLE) {
+            return Double.longBitsToDouble(word(p + 1));
+        }
+        if (type == LONG) {
+            return word(p + 1);
+        }
+        if (type == BIG_INTEGER) {
+            return Double.parseDouble(text(start(p), end(p)));
+        }
+        throw new JSONException("not number, type " + (char) type);
+    }
+
+    /**
+     * 按原始文本创建BigDecimal，没有double的精度损失
+     */
+    public BigDecimal decimalValue(int p) {
+        byte type = type(p);
+        if (type == LONG) {
+            return BigDecimal.valueOf(word(p + 1));
+        }
+        if (type == DOUBLE || type == BIG_INTEGER) {
+            int start = start(p), end = start;
+            while (end < len && classes[at(end) & 0xFF] == C_OTHER) {
+                end++;
+            }
+            return new BigDecimal(text(start, end));
+        }
+        throw new JSONException("not number, type " + (char) type);
+    }
+
+    public String stringValue(int p) {
+        byte type = type(p);
+        if (type == NULL) {
+            return null;
+        }
+        if (type != STRING) {
+            throw new JSONException("not string, type " + (char) type);
+        }
+
+        long endWord = word(p + 1);
+        String text = text(start(p), (int) (endWord & OFFSET_MASK));
+        if ((endWord & ESCAPED) == 0) {
+            return text;
+        }
+
+        StringBuilder buf = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); ++i) {
+            char c = text.charAt(i);
+            if (c != '\\') {
+                buf.append(c);
+                continue;
+            }
+
+            c = ++i < text.length() ? text.charAt(i) : '\0';
+            switch (c) {
+                case '"':
+                case '\\':
+                case '/':
+                    buf.append(c);
+                    break;
+                case 'b':
+                    buf.append('\b');
+                    break;
+                case 'f':
+                    buf.append('\f');
+                    break;
+                case 'n':
+                    buf.append('\n');
+                    break;
+                case 'r':
+                    buf.append('\r');
+                    break;
+                case 't':
+                    buf.append('\t');
+                    break;
+                case 'u':
+                    if (i + 4 >= text.length()) {
+                        throw new JSONException("illegal escape, pos " + start(p));
+                    }
+                    try {
+                        buf.append((char) Integer.parseInt(text.substring(i + 1, i + 5), 16));
+                    } catch (NumberFormatException ex) {
+                        throw new JSONException("illegal escape, pos " + start(p));
+                    }
+                    i += 4;
+                    break;
+                default:
+                    throw new JSONException("illegal escape, pos " + start(p));
+            }
+        }
+        return buf.toString();
+    }
+
+    /**
+     * 把p位置的值创建成和JSON.parse相同的对象：JSONObject、JSONArray、String、Integer/Long/BigInteger、BigDecimal、Boolean
+     */
+    public Object value(int p) {
+        switch (type(p)) {
+            case OBJECT: {
+                int size = size(p);
+                JSONObject object = new JSONObject(size <= 12 ? 16 : size * 4 / 3 + 1);
+                for (int i = p + 1, end = next(p); i < end; i = next(i + 2)) {
+                    object.put(stringValue(i), value(i + 2));
+                }
+                return object;
+            }
+            case ARRAY: {
+                JSONArray array = new JSONArray(size(p));
+                for (int i = p + 1, end = next(p); i < end; i = next(i)) {
+                    array.add(value(i));
+                }
+                return array;
+            }
+            case STRING:
+                return stringValue(p);
+            case LONG: {
+                long value = word(p + 1);
+                if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                    return (int) value;
+                }
+                return value;
+            }
+            case DOUBLE:
+                return decimalValue(p);
+            case BIG_INTEGER:
+                return new BigInteger(text(start(p), end(p)));
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,2705 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson.parser;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.*;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.util.IOUtils;
+
+//这个类，为了性能优化做了很多特别处理，一切都是为了性能！！！
+
+/**
+ * 直接扫描UTF-8字节的词法分析器，不需要先把byte[]解码成String。
+ * <p>
+ * 位置(bp/np/sp)都是字节偏移。ASCII字节按原值作为char返回，非ASCII字节(0x80~0xFF)映射为
+ * \uDC80~\uDCFF，这些值不会是任何结构字符，只有真正物化成String的值才做UTF-8解码。
+ *
+ * @author wenshao[szujobs@hotmail.com]
+ * @since 1.2.57
+ */
+public final class JSONUTF8Scanner extends JSONLexerBase {
+
+    private final static long SWAR_ONES  = 0x0101010101010101L;
+    private final static long SWAR_HIGHS = 0x8080808080808080L;
+
+    private byte[]       buf;
+    private int          offset;
+    private int          len;
+
+    /** 解码用的缓冲区 */
+    private char[]       chars;
+
+    /** buf按little-endian读取long的视图，JDK 9以上getLong是一次内存读取，JDK 6~8按字节拼接，结果相同 */
+    private ByteBuffer   words;
+
+    public JSONUTF8Scanner(byte[] input){
+        this(input, 0, input.length, JSON.DEFAULT_PARSER_FEATURE);
+    }
+
+    public JSONUTF8Scanner(byte[] input, int features){
+        this(input, 0, input.length, features);
+    }
+
+    public JSONUTF8Scanner(byte[] input, int offset, int len, int features){
+        super(features);
+        init(input, offset, len);
+    }
+
+    /**
+     * 复用这个scanner扫描新的输入，解码缓冲区会继续使用
+     *
+     * @since 1.2.57
+     */
+    public void reset(byte[] input, int offset, int len, int features) {
+        reset(features);
+        if (input != buf) {
+            words = null;
+        }
+        init(input, offset, len);
+    }
+
+    private void init(byte[] input, int offset, int len) {
+        this.buf = input;
+        this.offset = offset;
+        this.len = len;
+        bp = -1;
+
+        if (len >= 3 //
+            && input[offset] == (byte) 0xEF //
+            && input[offset + 1] == (byte) 0xBB //
+            && input[offset + 2] == (byte) 0xBF) { // utf-8 bom
+            bp = 2;
+        }
+
+        next();
+    }
+
+    public final char charAt(int index) {
+        if (index >= len) {
+            return EOI;
+        }
+
+        byte b = buf[offset + index];
+        return b >= 0 ? (char) b : (char) (0xDC00 | (b & 0xFF));
+    }
+
+    public final char next() {
+        int index = ++bp;
+        if (index >= len) {
+            return ch = EOI;
+        }
+
+        byte b = buf[offset + index];
+        return ch = b >= 0 ? (char) b : (char) (0xDC00 | (b & 0xFF));
+    }
+
+    protected final void copyTo(int offset, int count, char[] dest) {
+        arrayCopy(offset, dest, 0, count);
+    }
+
+    protected final void arrayCopy(int srcPos, char[] dest, int destPos, int length) {
+        final byte[] buf = this.buf;
+        for (int i = 0, start = offset + srcPos; i < length; ++i) {
+            byte b = buf[start + i];
+            dest[destPos + i] = b >= 0 ? (char) b : (char) (0xDC00 | (b & 0xFF));
+        }
+    }
+
+    public final boolean charArrayCompare(char[] chars) {
+        final int destLen = chars.length;
+        if (bp + destLen > len) {
+            return false;
+        }
+
+        // 非ASCII的字段名不会和映射后的字节相等，自然走慢速路径
+        for (int i = 0, start = offset + bp; i < destLen; ++i) {
+            if (chars[i] != buf[start + i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public final int indexOf(char ch, int startIndex) {
+        if (ch < 0x80) {
+            final byte b = (byte) ch;
+            final int end = offset + len;
+            for (int i = swarScan(offset + startIndex, end, b, b); i < end; ++i) {
+                if (buf[i] == b) {
+                    return i - offset;
+                }
+            }
+            return -1;
+        }
+
+        for (int i = startIndex; i < len; ++i) {
+            if (charAt(i) == ch) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public final String addSymbol(int offset, int len, int hash, final SymbolTable symbolTable) {
+        char[] chars = chars(len);
+        int charsLen = decodeUTF8(offset, len, chars);
+        if (charsLen != len) { // contains non-ascii, the hash is computed on raw bytes
+            hash = SymbolTable.hash(chars, 0, charsLen);
+        }
+        return symbolTable.addSymbol(chars, 0, charsLen, hash);
+    }
+
+    protected final String addSymbol(char[] buffer, int offset, int len, int hash, final SymbolTable symbolTable) {
+        char[] chars = chars(len);
+        int charsLen = decodeChars(buffer, offset, len, chars);
+        if (charsLen != len) {
+            hash = SymbolTable.hash(chars, 0, charsLen);
+        }
+        return symbolTable.addSymbol(chars, 0, charsLen, hash);
+    }
+
+    public byte[] bytesValue() {
+        if (token == JSONToken.HEX) {
+            int start = np + 1, len = sp;
+            if (len % 2 != 0) {
+                throw new JSONException("illegal state. " + len);
+            }
+
+            byte[] bytes = new byte[len / 2];
+            for (int i = 0; i < bytes.length; ++i) {
+                char c0 = charAt(start + i * 2);
+                char c1 = charAt(start + i * 2 + 1);
+
+                int b0 = c0 - (c0 <= 57 ? 48 : 55);
+                int b1 = c1 - (c1 <= 57 ? 48 : 55);
+                bytes[i] = (byte) ((b0 << 4) | b1);
+            }
+
+            return bytes;
+        }
+
+        if (!hasSpecial) {
+            char[] chars = chars(sp);
+            arrayCopy(np + 1, chars, 0, sp);
+            return IOUtils.decodeBase64(chars, 0, sp);
+        } else {
+            return IOUtils.decodeBase64(sbuf, 0, sp);
+        }
+    }
+
+    /**
+     * The value of a literal token, recorded as a string. For integers, leading 0x and 'l' suffixes are suppressed.
+     */
+    public final String stringVal() {
+        char[] chars = chars(sp);
+        int charsLen;
+        if (!hasSpecial) {
+            charsLen = decodeUTF8(np + 1, sp, chars);
+        } else {
+            charsLen = decodeChars(sbuf, 0, sp, chars);
+        }
+        return newString(chars, 0, charsLen);
+    }
+
+    public final String subString(int offset, int count) {
+        char[] chars = chars(count);
+        int charsLen = decodeUTF8(offset, count, chars);
+        return new String(chars, 0, charsLen);
+    }
+
+    public final char[] sub_chars(int offset, int count) {
+        char[] chars = new char[count];
+        arrayCopy(offset, chars, 0, count);
+        return chars;
+    }
+
+    protected final String readString(int offset, int count) {
+        char[] chars = new char[count];
+        int charsLen = decodeUTF8(offset, count, chars);
+        return readString(chars, charsLen);
+    }
+
+    public final String numberString() {
+        char chLocal = charAt(np + sp - 1);
+
+        int sp = this.sp;
+        if (chLocal == 'L' || chLocal == 'S' || chLocal == 'B' || chLocal == 'F' || chLocal == 'D') {
+            sp--;
+        }
+
+        char[] chars = chars(sp);
+        arrayCopy(np, chars, 0, sp);
+        return new String(chars, 0, sp);
+    }
+
+    public final BigDecimal decimalValue() {
+        char chLocal = charAt(np + sp - 1);
+
+        int sp = this.sp;
+        if (chLocal == 'L' || chLocal == 'S' || chLocal == 'B' || chLocal == 'F' || chLocal == 'D') {
+            sp--;
+        }
+
+        BigDecimal value = parseDecimal(np, sp);
+        if (value != null) {
+            return value;
+        }
+
+        char[] chars = chars(sp);
+        arrayCopy(np, chars, 0, sp);
+        return new BigDecimal(chars, 0, sp);
+    }
+
+    public long scanEnumSymbol(char[] fieldName) {
+        if (isNonAsciiFieldValue(fieldName)) {
+            matchStat = NOT_MATCH;
+            return 0;
+        }
+
+        return super.scanEnumSymbol(fieldName);
+    }
+
+    /**
+     * 字段值的hash是按字节计算的，非ASCII的值要走慢速路径
+     */
+    private boolean isNonAsciiFieldValue(char[] fieldName) {
+        if (!charArrayCompare(fieldName)) {
+            return false;
+        }
+
+        int index = bp + fieldName.length;
+        if (charAt(index) != '"') {
+            return false;
+        }
+
+        for (int i = offset + index + 1, end = offset + len; i < end; ++i) {
+            byte b = buf[i];
+            if (b == '"' || b == '\\') {
+                return false;
+            }
+            if (b < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int scanFieldInt(char[] fieldName) {
+        matchStat = UNKNOWN;
+        int startPos = this.bp;
+        char startChar = this.ch;
+
+        if (!charArrayCompare(fieldName)) {
+            matchStat = NOT_MATCH_NAME;
+            return 0;
+        }
+
+        int index = bp + fieldName.length;
+
+        char ch = charAt(index++);
+
+        final boolean quote = ch == '"';
+
+        if (quote) {
+            ch = charAt(index++);
+        }
+
+        final boolean negative = ch == '-';
+        if (negative) {
+            ch = charAt(index++);
+        }
+
+        int value;
+        if (ch >= '0' && ch <= '9') {
+            value = ch - '0';
+            for (;;) {
+                ch = charAt(index++);
+                if (ch >= '0' && ch <= '9') {
+                    int value_10 = value * 10;
+                    if (value_10 < value) {
+                        matchStat = NOT_MATCH;
+                        return 0;
+                    }
+
+                    value = value_10 + (ch - '0');
+                } else if (ch == '.') {
+                    matchStat = NOT_MATCH;
+                    return 0;
+                } else {
+                    break;
+                }
+            }
+
+            if (value < 0) {
+                matchStat = NOT_MATCH;
+                return 0;
+            }
+
+            if (quote) {
+                if (ch != '"') {
+                    matchStat = NOT_MATCH;
+                    return 0;
+                } else {
+                    ch = charAt(index++);
+                }
+            }
+
+            for (;;) {
+                if (ch == ',' || ch == '}') {
+                    bp = index - 1;
+                    break;
+                } else if(isWhitespace(ch)) {
+                    ch = charAt(index++);
+                    continue;
+                } else {
+                    matchStat = NOT_MATCH;
+                    return 0;
+                }
+            }
+        } else {
+            matchStat = NOT_MATCH;
+            return 0;
+        }
+
+        if (ch == ',') {
+            this.ch = charAt(++bp);
+            matchStat = VALUE;
+            token = JSONToken.COMMA;
+            return negative ? -value : value;
+        }
+
+        if (ch == '}') {
+            bp = index - 1;
+            ch = charAt(++bp);
+            for (; ; ) {
+                if (ch == ',') {
+                    token = JSONToken.COMMA;
+                    this.ch = charAt(++bp);
+                    break;
+                } else if (ch == ']') {
+                    token = JSONToken.RBRACKET;
+                    this.ch = charAt(++bp);
+                    break;
+                } else if (ch == '}') {
+                    token = JSONToken.RBRACE;
+                    this.ch = charAt(++bp);
+                    break;
+                } else if (ch == EOI) {
+                    token = JSONToken.EOF;
+                    break;
+                } else if (isWhitespace(ch)) {
+                    ch = charAt(++bp);
+                    continue;
+                } else {
+                    this.bp = startPos;
+                    this.ch = startChar;
+                    matchStat = NOT_MATCH;
+                    return 0;
+                }
+            }
+            matchStat = END;
+        }
+
+        return negative ? -value : value;
+    }
+
+    public String scanFieldString(char[] fieldName) {
+        matchStat = UNKNOWN;
+        int startPos = this.bp;
+        char startChar = this.ch;
+
+        for (;;) {
+            if (!charArrayCompare(fieldName)) {
+                if (isWhitespace(ch)) {
+                    next();
+                    continue;
+                }
+                matchStat = NOT_MATCH_NAME;
+                return stringDefaultValue();
+            } else {
+                break;
+            }
+        }
+
+        int index = bp + fieldName.length;
+
+        char ch = charAt(index++);
+        if (ch != '"') {
+            matchStat = NOT_MATCH;
+
+            return stringDefaultValue();
+        }
+
+        final String strVal;
+        {
+            int startIndex = index;
+            int endIndex = indexOf('"', startIndex);
+            if (endIndex == -1) {
+                throw new JSONException("unclosed str");
+            }
+
+            String stringVal = subString(startIndex, endIndex - startIndex);
+            if (stringVal.indexOf('\\') != -1) {
+                for (;;) {
+                    int slashCount = 0;
+                    for (int i = endIndex - 1; i >= 0; --i) {
+                        if (charAt(i) == '\\') {
+                            slashCount++;
+                        } else {
+                            break;
+                        }
+                    }
+                    if (slashCount % 2 == 0) {
+                        break;
+                    }
+                    endIndex = indexOf('"', endIndex + 1);
+                }
+
+                int chars_len = endIndex - (bp + fieldName.length + 1);
+                stringVal = readString(bp + fieldName.length + 1, chars_len);
+            }
+
+            ch = charAt(endIndex + 1);
+
+            for (;;) {
+                if (ch == ',' || ch == '}') {
+                    bp = endIndex + 1;
+                    this.ch = ch;
+                    strVal = stringVal;
+                    break;
+                } else if (isWhitespace(ch)) {
+                    endIndex++;
+                    ch = charAt(endIndex + 1);
+                } else {
+                    matchStat = NOT_MATCH;
+
+                    return stringDefaultValue();
+                }
+            }
+        }
+
+        if (ch == ',') {
+            this.ch = charAt(++bp);
+            matchStat = VALUE;
+            return strVal;
+        } else {
+            //condition ch == '}' is always 'true'
+            ch = charAt(++bp);
+            if (ch == ',') {
+                token = JSONToken.COMMA;
+                this.ch = charAt(++bp);
+            } else if (ch == ']') {
+                token = JSONToken.RBRACKET;
+                this.ch = charAt(++bp);
+            } else if (ch == '}') {
+                token = JSONToken.RBRACE;
+                this.ch = charAt(++bp);
+            } else if (ch == EOI) {
+                token = JSONToken.EOF;
+            } else {
+                this.bp = startPos;
+                this.ch = startChar;
+                matchStat = NOT_MATCH;
+                return stringDefaultValue();
+            }
+            matchStat = END;
+        }
+        return strVal;
+    }
+
+    public java.util.Date scanFieldDate(char[] fieldName) {
+        matchStat = UNKNOWN;
+        int startPos = this.bp;
+        char startChar = this.ch;
+
+        if (!charArrayCompare(fieldName)) {
+            matchStat = NOT_MATCH_NAME;
+            return null;
+        }
+
+        int index = bp + fieldName.length;
+
+        char ch = charAt(index++);
+
+        final java.util.Date dateVal;
+        if (ch == '"') {
+            int startIndex = index;
+            int endIndex = indexOf('"', startIndex);
+            if (endIndex == -1) {
+                throw new JSONException("unclosed str");
+            }
+
+            int rest = endIndex - startIndex;
+            bp = index;
+            if (scanISO8601DateIfMatch(false, rest)) {
+                dateVal = calendar.getTime();
+            } else {
+                bp = startPos;
+                matchStat = NOT_MATCH;
+                return null;
+            }
+            ch = charAt(endIndex + 1);
+            bp = startPos;
+
+            for (; ; ) {
+                if (ch == ',' || ch == '}') {
+                    bp = endIndex + 1;
+                    this.ch = ch;
+                    break;
+                } else if (isWhitespace(ch)) {
+                    endIndex++;
+                    ch = charAt(endIndex + 1);
+                } else {
+                    matchStat = NOT_MATCH;
+
+                    return null;
+                }
+            }
+        } else if (ch == '-' || (ch >= '0' && ch <= '9')) {
+            long millis = 0;
+
+            boolean negative = false;
+            if (ch == '-') {
+                ch = charAt(index++);
+                negative = true;
+            }
+
+            if (ch >= '0' && ch <= '9') {
+                millis = ch - '0';
+                for (; ; ) {
+                    ch = charAt(index++);
+                    if (ch >= '0' && ch <= '9') {
+                        millis = millis * 10 + (ch - '0');
+                    } else {
+                        if (ch == ',' || ch == '}') {
+                            bp = index - 1;
+                        }
+                        break;
+                    }
+                }
+            }
+
+            if (millis < 0) {
+                matchStat = NOT_MATCH;
+                return null;
+            }
+
+            if (negative) {
+                millis = -millis;
+            }
+
+            dateVal = new java.util.Date(millis);
+        } else {
+            matchStat = NOT_MATCH;
+
+            return null;
+        }
+
+        if (ch == ',') {
+            this.ch = charAt(++bp);
+            matchStat = VALUE;
+            token = JSONToken.COMMA;
+            return dateVal;
+        } else {
+            //condition ch == '}' is always 'true'
+            ch = charAt(++bp);
+            if (ch == ',') {
+                token = JSONToken.COMMA;
+                this.ch = charAt(++bp);
+            } else if (ch == ']') {
+                token = JSONToken.RBRACKET;
+                this.ch = charAt(++bp);
+            } else if (ch == '}') {
+                token = JSONToken.RBRACE;
+                this.ch = charAt(++bp);
+            } else if (ch == EOI) {
+                token = JSONToken.EOF;
+            } else {
+                this.bp = startPos;
+                this.ch = startChar;
+                matchStat = NOT_MATCH;
+                return null;
+            }
+            matchStat = END;
+        }
+        return dateVal;
+    }
+
+    public long scanFieldSymbol(char[] fieldName) {
+        if (isNonAsciiFieldValue(fieldName)) {
+            matchStat = NOT_MATCH;
+            return 0;
+        }
+
+        matchStat = UNKNOWN;
+
+        if (!charArrayCompare(fieldName)) {
+            matchStat = NOT_MATCH_NAME;
+            return 0;
+        }
+
+        int index = bp + fieldName.length;
+
+        char ch = charAt(index++);
+        if (ch != '"') {
+            matchStat = NOT_MATCH;
+            return 0;
+        }
+
+        long hash = 0xcbf29ce484222325L;
+        for (;;) {
+            ch = charAt(index++);
+            if (ch == '\"') {
+                bp = index;
+                this.ch = ch = charAt(bp);
+                break;
+            } else if (index > len) {
+                matchStat = NOT_MATCH;
+                return 0;
+            }
+
+            hash ^= ch;
+            hash *= 0x100000001b3L;
+        }
+
+        for (;;) {
+            if (ch == ',') {
+                this.ch = charAt(++bp);
+                matchStat = VALUE;
+                return hash;
+            } else if (ch == '}') {
+                next();
+                skipWhitespace();
+                ch = getCurrent();
+                if (ch == ',') {
+                    token = JSONToken.COMMA;
+                    this.ch = charAt(++bp);
+                } else if (ch == ']') {
+                    token = JSONToken.RBRACKET;
+                    this.ch = charAt(++bp);
+                } else if (ch == '}') {
+                    token = JSONToken.RBRACE;
+                    this.ch = charAt(++bp);
+                } else if (ch == EOI) {
+                    token = JSONToken.EOF;
+                } else {
+                    matchStat = NOT_MATCH;
+                    return 0;
+                }
+                matchStat = END;
+                break;
+            } else if (isWhitespace(ch)) {
+                ch = charAt(++bp);
+                continue;
+            } else {
+                matchStat = NOT_MATCH;
+                return 0;
+            }
+        }
+
+        return hash;
+    }
+
+    public Collection<String> newCollectionByType(Class<?> type){
+        if (type.isAssignableFrom(HashSet.class)) {
+            HashSet<String> list = new HashSet<String>();
+            return list;
+        } else if (type.isAssignableFrom(ArrayList.class)) {
+            ArrayList<String> list2 = new ArrayList<String>();
+            return list2;
+        } else {
+            try {
+                @SuppressWarnings("unchecked")
+                Collection<String> list = (Collection<String>) type.newInstance();
+                return list;
+            } catch (Exception e) {
+                throw new JSONException(e.getMessage(), e);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public Collection<String> scanFieldStringArray(char[] fieldName, Class<?> type) {
+        matchStat = UNKNOWN;
+
+        while (ch == '\n' || ch == ' ') {
+            int index = ++bp;
+            ch = (index >= this.len ? //
+                    EOI //
+                    : charAt(index));
+        }
+
+        if (!charArrayCompare(fieldName)) {
+            matchStat = NOT_MATCH_NAME;
+            return null;
+        }
+
+        Collection<String> list = newCollectionByType(type);
+
+//        if (type.isAssignableFrom(HashSet.class)) {
+//            list = new HashSet<String>();
+//        } else if (type.isAssignableFrom(ArrayList.class)) {
+//            list = new ArrayList<String>();
+//        } else {
+//            try {
+//                list = (Collection<String>) type.newInstance();
+//            } catch (Exception e) {
+//                throw new JSONException(e.getMessage(), e);
+//            }
+//        }
+
+        int startPos = this.bp;
+        char startChar = this.ch;
+
+        int index = bp + fieldName.length;
+
+        char ch = charAt(index++);
+
+        if (ch == '[') {
+            ch = charAt(index++);
+
+            for (;;) {
+                if (ch == '"') {
+                    int startIndex = index;
+                    int endIndex = indexOf('"', startIndex);
+                    if (endIndex == -1) {
+                        throw new JSONException("unclosed str");
+                    }
+
+                    String stringVal = subString(startIndex, endIndex - startIndex);
+                    if (stringVal.indexOf('\\') != -1) {
+                        for (;;) {
+                            int slashCount = 0;
+                            for (int i = endIndex - 1; i >= 0; --i) {
+                                if (charAt(i) == '\\') {
+                                    slashCount++;
+                                } else {
+                                    break;
+                                }
+                            }
+                            if (slashCount % 2 == 0) {
+                                break;
+                            }
+                            endIndex = indexOf('"', endIndex + 1);
+                        }
+
+                        int chars_len = endIndex - startIndex;
+                        stringVal = readString(startIndex, chars_len);
+                    }
+
+                    index = endIndex + 1;
+                    ch = charAt(index++);
+
+                    list.add(stringVal);
+                } else if (ch == 'n' && startsWith("ull", index)) {
+                    index += 3;
+                    ch = charAt(index++);
+                    list.add(null);
+                } else if (ch == ']' && list.size() == 0) {
+                    ch = charAt(index++);
+                    break;
+                } else {
+                    matchStat = NOT_MATCH;
+                    return null;
+                }
+
+                if (ch == ',') {
+                    ch = charAt(index++);
+                    continue;
+                }
+
+                if (ch == ']') {
+                    ch = charAt(index++);
+                    while (isWhitespace(ch)) {
+                        ch = charAt(index++);
+                    }
+                    break;
+                }
+
+                matchStat = NOT_MATCH;
+                return null;
+            }
+        } else if (startsWith("ull", index)) {
+            index += 3;
+            ch = charAt(index++);
+            list = null;
+        } else {
+            matchStat = NOT_MATCH;
+            return null;
+        }
+
+        bp = index;
+        if (ch == ',') {
+            this.ch = charAt(bp);
+            matchStat = VALUE;
+            return list;
+        } else if (ch == '}') {
+            ch = charAt(bp);
+            for (;;) {
+                if (ch == ',') {
+                    token = JSONToken.COMMA;
+                    this.ch = charAt(++bp);
+                    break;
+                } else if (ch == ']') {
+                    token = JSONToken.RBRACKET;
+                    this.ch = charAt(++bp);
+                    break;
+                } else if (ch == '}') {
+                    token = JSONToken.RBRACE;
+                    this.ch = charAt(++bp);
+                    break;
+                } else if (ch == EOI) {
+                    token = JSONToken.EOF;
+                    this.ch = ch;
+                    break;
+                } else {
+                    boolean space = false;
+                    while (isWhitespace(ch)) {
+                        ch = charAt(index++);
+                        bp = index;
+                        space = true;
+                    }
+                    if (space) {
+                        continue;
+                    }
+
+                    matchStat = NOT_MATCH;
+                    return null;
+                }
+            }
+
+            matchStat = END;
+        } else {
+            this.ch = startChar;
+            bp = startPos;
+            matchStat = NOT_MATCH;
+            return null;
+        }
+
+        return list;
+    }
+
+    public long scanFieldLong(char[] fieldName) {
+        matchStat = UNKNOWN;
+        int startPos = this.bp;
+        char startChar = this.ch;
+
+        if (!charArrayCompare(fieldName)) {
+            matchStat = NOT_MATCH_NAME;
+            return 0;
+        }
+
+        int index = bp + fieldName.length;
+
+        char ch = charAt(index++);
+
+        final boolean quote = ch == '"';
+        if (quote) {
+            ch = charAt(index++);
+        }
+
+        boolean negative = false;
+        if (ch == '-') {
+            ch = charAt(index++);
+            negative = true;
+        }
+
+        long value;
+        if (ch >= '0' && ch <= '9') {
+            value = ch - '0';
+            for (;;) {
+                ch = charAt(index++);
+                if (ch >= '0' && ch <= '9') {
+                    value = value * 10 + (ch - '0');
+                } else if (ch == '.') {
+                    matchStat = NOT_MATCH;
+                    return 0;
+                } else {
+                    if (quote) {
+                        if (ch != '"') {
+                            matchStat = NOT_MATCH;
+                            return 0;
+                        } else {
+                            ch = charAt(index++);
+                        }
+                    }
+
+                    if (ch == ',' || ch == '}') {
+                        bp = index - 1;
+                    }
+                    break;
+                }
+            }
+
+            boolean valid = value >= 0 || (value == -9223372036854775808L && negative);
+            if (!valid) {
+                this.bp = startPos;
+                this.ch = startChar;
+                matchStat = NOT_MATCH;
+                return 0;
+            }
+        } else {
+            this.bp = startPos;
+            this.ch = startChar;
+            matchStat = NOT_MATCH;
+            return 0;
+        }
+
+        for (;;) {
+            if (ch == ',') {
+                this.ch = charAt(++bp);
+                matchStat = VALUE;
+                token = JSONToken.COMMA;
+                return negative ? -value : value;
+            } else if (ch == '}') {
+                ch = charAt(++bp);
+                for (;;) {
+                    if (ch == ',') {
+                        token = JSONToken.COMMA;
+                        this.ch = charAt(++bp);
+                        break;
+                    } else if (ch == ']') {
+                        token = JSONToken.RBRACKET;
+                        this.ch = charAt(++bp);
+                        break;
+                    } else if (ch == '}') {
+                        token = JSONToken.RBRACE;
+                        this.ch = charAt(++bp);
+                        break;
+                    } else if (ch == EOI) {
+                        token = JSONToken.EOF;
+                        break;
+                    } else if (isWhitespace(ch)) {
+                        ch = charAt(++bp);
+                    } else {
+                        this.bp = startPos;
+                        this.ch = startChar;
+                        matchStat = NOT_MATCH;
+                        return 0;
+                    }
+                }
+                matchStat = END;
+                break;
+            } else if (isWhitespace(ch)) {
+                bp = index;
+                ch = charAt(index++);
+                continue;
+            } else {
+                matchStat = NOT_MATCH;
+                return 0;
+            }
+        }
+
+        return negative ? -value : value;
+    }
+
+    public boolean scanFieldBoolean(char[] fieldName) {
+        matchStat = UNKNOWN;
+
+        if (!charArrayCompare(fieldName)) {
+            matchStat = NOT_MATCH_NAME;
+            return false;
+        }
+
+        int startPos = bp;
+        int index = bp + fieldName.length;
+
+        char ch = charAt(index++);
+
+        final boolean quote = ch == '"';
+        if (quote) {
+            ch = charAt(index++);
+        }
+
+        boolean value;
+        if (ch == 't') {
+            if (charAt(index++) != 'r') {
+                matchStat = NOT_MATCH;
+                return false;
+            }
+            if (charAt(index++) != 'u') {
+                matchStat = NOT_MATCH;
+                return false;
+            }
+            if (charAt(index++) != 'e') {
+                matchStat = NOT_MATCH;
+                return false;
+            }
+
+            if (quote && charAt(index++) != '"') {
+                matchStat = NOT_MATCH;
+                return false;
+            }
+
+            bp = index;
+            ch = charAt(bp);
+            value = true;
+        } else if (ch == 'f') {
+            if (charAt(index++) != 'a') {
+                matchStat = NOT_MATCH;
+                return false;
+            }
+            if (charAt(index++) != 'l') {
+                matchStat = NOT_MATCH;
+                return false;
+            }
+            if (charAt(index++) != 's') {
+                matchStat = NOT_MATCH;
+                return false;
+            }
+            if (charAt(index++) != 'e') {
+                matchStat = NOT_MATCH;
+                return false;
+            }
+
+            if (quote && charAt(index++) != '"') {
+                matchStat = NOT_MATCH;
+                return false;
+            }
+
+            bp = index;
+            ch = charAt(bp);
+            value = false;
+        } else if (ch == '1') {
+            if (quote && charAt(index++) != '"') {
+                matchStat = NOT_MATCH;
+                return false;
+            }
+
+            bp = index;
+            ch = charAt(bp);
+            value = true;
+        } else if (ch == '0') {
+            if (quote && charAt(index++) != '"') {
+                matchStat = NOT_MATCH;
+                return false;
+            }
+
+            bp = index;
+            ch = charAt(bp);
+            value = false;
+        } else {
+            matchStat = NOT_MATCH;
+            return false;
+        }
+
+        for (;;) {
+            if (ch == ',') {
+                this.ch = charAt(++bp);
+                matchStat = VALUE;
+                token = JSONToken.COMMA;
+                break;
+            } else if (ch == '}') {
+                ch = charAt(++bp);
+                for (;;) {
+                    if (ch == ',') {
+                        token = JSONToken.COMMA;
+                        this.ch = charAt(++bp);
+                    } else if (ch == ']') {
+                        token = JSONToken.RBRACKET;
+                        this.ch = charAt(++bp);
+                    } else if (ch == '}') {
+                        token = JSONToken.RBRACE;
+                        this.ch = charAt(++bp);
+                    } else if (ch == EOI) {
+                        token = JSONToken.EOF;
+                    } else if (isWhitespace(ch)) {
+                        ch = charAt(++bp);
+                        continue;
+                    } else {
+                        matchStat = NOT_MATCH;
+                        return false;
+                    }
+                    break;
+                }
+                matchStat = END;
+                break;
+            } else if (isWhitespace(ch)) {
+                ch = charAt(++bp);
+            } else {
+                bp = startPos;
+                ch = charAt(bp);
+                matchStat = NOT_MATCH;
+                return false;
+            }
+        }
+
+        return value;
+    }
+
+    public final int scanInt(char expectNext) {
+        matchStat = UNKNOWN;
+
+        final int mark = bp;
+        int offset = bp;
+        char chLocal = charAt(offset++);
+
+        while (isWhitespace(chLocal)) {
+            chLocal = charAt(offset++);
+        }
+
+        final boolean quote = chLocal == '"';
+
+        if (quote) {
+            chLocal = charAt(offset++);
+        }
+
+        final boolean negative = chLocal == '-';
+        if (negative) {
+            chLocal = charAt(offset++);
+        }
+
+        int value;
+        if (chLocal >= '0' && chLocal <= '9') {
+            value = chLocal - '0';
+            for (;;) {
+                chLocal = charAt(offset++);
+                if (chLocal >= '0' && chLocal <= '9') {
+                    int value_10 = value * 10;
+                    if (value_10 < value) {
+                        throw new JSONException("parseInt error : "
+                                + subString(mark, offset - 1));
+                    }
+                    value = value_10 + (chLocal - '0');
+                } else if (chLocal == '.') {
+                    matchStat = NOT_MATCH;
+                    return 0;
+                } else {
+                    if (quote) {
+                        if (chLocal != '"') {
+                            matchStat = NOT_MATCH;
+                            return 0;
+                        } else {
+                            chLocal = charAt(offset++);
+                        }
+                    }
+                    break;
+                }
+            }
+            if (value < 0) {
+                matchStat = NOT_MATCH;
+                return 0;
+            }
+        } else if (chLocal == 'n'
+                && charAt(offset++) == 'u'
+                && charAt(offset++) == 'l'
+                && charAt(offset++) == 'l') {
+            matchStat = VALUE_NULL;
+            value = 0;
+            chLocal = charAt(offset++);
+
+            if (quote && chLocal == '"') {
+                chLocal = charAt(offset++);
+            }
+
+            for (;;) {
+                if (chLocal == ',') {
+                    bp = offset;
+                    this.ch = charAt(bp);
+                    matchStat = VALUE_NULL;
+                    token = JSONToken.COMMA;
+                    return value;
+                } else if (chLocal == ']') {
+                    bp = offset;
+                    this.ch = charAt(bp);
+                    matchStat = VALUE_NULL;
+                    token = JSONToken.RBRACKET;
+                    return value;
+                } else if (isWhitespace(chLocal)) {
+                    chLocal = charAt(offset++);
+                    continue;
+                }
+                break;
+            }
+            matchStat = NOT_MATCH;
+            return 0;
+        } else {
+            matchStat = NOT_MATCH;
+            return 0;
+        }
+
+        for (;;) {
+            if (chLocal == expectNext) {
+                bp = offset;
+                this.ch = charAt(bp);
+                matchStat = VALUE;
+                token = JSONToken.COMMA;
+                return negative ? -value : value;
+            } else {
+                if (isWhitespace(chLocal)) {
+                    chLocal = charAt(offset++);
+                    continue;
+                }
+                matchStat = NOT_MATCH;
+                return negative ? -value : value;
+            }
+        }
+    }
+
+    public  double scanDouble(char seperator) {
+        matchStat = UNKNOWN;
+
+        int offset = bp;
+        char chLocal = charAt(offset++);
+        final boolean quote = chLocal == '"';
+        if (quote) {
+            chLocal = charAt(offset++);
+        }
+
+        boolean negative = chLocal == '-';
+        if (negative) {
+            chLocal = charAt(offset++);
+        }
+
+        double value;
+        if (chLocal >= '0' && chLocal <= '9') {
+            long intVal = chLocal - '0';
+            for (; ; ) {
+                chLocal = charAt(offset++);
+                if (chLocal >= '0' && chLocal <= '9') {
+                    intVal = intVal * 10 + (chLocal - '0');
+                    continue;
+                } else {
+                    break;
+                }
+            }
+
+            long power = 1;
+            boolean small = (chLocal == '.');
+            if (small) {
+                chLocal = charAt(offset++);
+                if (chLocal >= '0' && chLocal <= '9') {
+                    intVal = intVal * 10 + (chLocal - '0');
+                    power = 10;
+                    for (; ; ) {
+                        chLocal = charAt(offset++);
+                        if (chLocal >= '0' && chLocal <= '9') {
+                            intVal = intVal * 10 + (chLocal - '0');
+                            power *= 10;
+                            continue;
+                        } else {
+                            break;
+                        }
+                    }
+                } else {
+                    matchStat = NOT_MATCH;
+                    return 0;
+                }
+            }
+
+            boolean exp = chLocal == 'e' || chLocal == 'E';
+            if (exp) {
+                chLocal = charAt(offset++);
+                if (chLocal == '+' || chLocal == '-') {
+                    chLocal = charAt(offset++);
+                }
+                for (; ; ) {
+                    if (chLocal >= '0' && chLocal <= '9') {
+                        chLocal = charAt(offset++);
+                    } else {
+                        break;
+                    }
+                }
+            }
+
+            int start, count;
+            if (quote) {
+                if (chLocal != '"') {
+                    matchStat = NOT_MATCH;
+                    return 0;
+                } else {
+                    chLocal = charAt(offset++);
+                }
+                start = bp + 1;
+                count = offset - start - 2;
+            } else {
+                start = bp;
+                count = offset - start - 1;
+            }
+
+            if (!exp && count < 18) {
+                value = ((double) intVal) / power;
+                if (negative) {
+                    value = -value;
+                }
+            } else {
+                value = parseDouble(start, count);
+            }
+        } else if (chLocal == 'n'
+                && charAt(offset++) == 'u'
+                && charAt(offset++) == 'l'
+                && charAt(offset++) == 'l') {
+            matchStat = VALUE_NULL;
+            value = 0;
+            chLocal = charAt(offset++);
+
+            if (quote && chLocal == '"') {
+                chLocal = charAt(offset++);
+            }
+
+            for (;;) {
+                if (chLocal == ',') {
+                    bp = offset;
+                    this.ch = charAt(bp);
+                    matchStat = VALUE_NULL;
+                    token = JSONToken.COMMA;
+                    return value;
+                } else if (chLocal == ']') {
+                    bp = offset;
+                    this.ch = charAt(bp);
+                    matchStat = VALUE_NULL;
+                    token = JSONToken.RBRACKET;
+                    return value;
+                } else if (isWhitespace(chLocal)) {
+                    chLocal = charAt(offset++);
+                    continue;
+                }
+                break;
+            }
+            matchStat = NOT_MATCH;
+            return 0;
+        } else {
+            matchStat = NOT_MATCH;
+            return 0;
+        }
+
+        if (chLocal == seperator) {
+            bp = offset;
+            this.ch = this.charAt(bp);
+            matchStat = VALUE;
+            token = JSONToken.COMMA;
+            return value;
+        } else {
+            matchStat = NOT_MATCH;
+            return value;
+        }
+    }
+
+    public long scanLong(char seperator) {
+        matchStat = UNKNOWN;
+
+        int offset = bp;
+        char chLocal = charAt(offset++);
+        final boolean quote = chLocal == '"';
+
+        if (quote) {
+            chLocal = charAt(offset++);
+        }
+
+        final boolean negative = chLocal == '-';
+        if (negative) {
+            chLocal = charAt(offset++);
+        }
+
+        long value;
+        if (chLocal >= '0' && chLocal <= '9') {
+            value = chLocal - '0';
+            for (;;) {
+                chLocal = charAt(offset++);
+                if (chLocal >= '0' && chLocal <= '9') {
+                    value = value * 10 + (chLocal - '0');
+                } else if (chLocal == '.') {
+                    matchStat = NOT_MATCH;
+                    return 0;
+                } else {
+                    if (quote) {
+                        if (chLocal != '"') {
+                            matchStat = NOT_MATCH;
+                            return 0;
+                        } else {
+                            chLocal = charAt(offset++);
+                        }
+                    }
+                    break;
+                }
+            }
+
+            boolean valid = value >= 0 || (value == -9223372036854775808L && negative);
+            if (!valid) {
+                matchStat = NOT_MATCH;
+                return 0;
+            }
+        } else if (chLocal == 'n'
+                && charAt(offset++) == 'u'
+                && charAt(offset++) == 'l'
+                && charAt(offset++) == 'l') {
+            matchStat = VALUE_NULL;
+            value = 0;
+            chLocal = charAt(offset++);
+
+            if (quote && chLocal == '"') {
+                chLocal = charAt(offset++);
+            }
+
+            for (;;) {
+                if (chLocal == ',') {
+                    bp = offset;
+                    this.ch = charAt(bp);
+                    matchStat = VALUE_NULL;
+                    token = JSONToken.COMMA;
+                    return value;
+                } else if (chLocal == ']') {
+                    bp = offset;
+                    this.ch = charAt(bp);
+                    matchStat = VALUE_NULL;
+                    token = JSONToken.RBRACKET;
+                    return value;
+                } else if (isWhitespace(chLocal)) {
+                    chLocal = charAt(offset++);
+                    continue;
+                }
+                break;
+            }
+            matchStat = NOT_MATCH;
+            return 0;
+        } else {
+            matchStat = NOT_MATCH;
+            return 0;
+        }
+
+        for (;;) {
+            if (chLocal == seperator) {
+                bp = offset;
+                this.ch = charAt(bp);
+                matchStat = VALUE;
+                token = JSONToken.COMMA;
+                return negative ? -value : value;
+            } else {
+                if (isWhitespace(chLocal)) {
+                    chLocal = charAt(offset++);
+                    continue;
+                }
+
+                matchStat = NOT_MATCH;
+                return value;
+            }
+        }
+    }
+
+    public java.util.Date scanDate(char seperator) {
+        matchStat = UNKNOWN;
+        int startPos = this.bp;
+        char startChar = this.ch;
+
+        int index = bp;
+
+        char ch = charAt(index++);
+
+        final java.util.Date dateVal;
+        if (ch == '"') {
+            int startIndex = index;
+            int endIndex = indexOf('"', startIndex);
+            if (endIndex == -1) {
+                throw new JSONException("unclosed str");
+            }
+
+            int rest = endIndex - startIndex;
+            bp = index;
+            if (scanISO8601DateIfMatch(false, rest)) {
+                dateVal = calendar.getTime();
+            } else {
+                bp = startPos;
+                this.ch = startChar;
+                matchStat = NOT_MATCH;
+                return null;
+            }
+            ch = charAt(endIndex + 1);
+            bp = startPos;
+
+            for (; ; ) {
+                if (ch == ',' || ch == ']') {
+                    bp = endIndex + 1;
+                    this.ch = ch;
+                    break;
+                } else if (isWhitespace(ch)) {
+                    endIndex++;
+                    ch = charAt(endIndex + 1);
+                } else {
+                    this.bp = startPos;
+                    this.ch = startChar;
+                    matchStat = NOT_MATCH;
+
+                    return null;
+                }
+            }
+        } else if (ch == '-' || (ch >= '0' && ch <= '9')) {
+            long millis = 0;
+
+            boolean negative = false;
+            if (ch == '-') {
+                ch = charAt(index++);
+                negative = true;
+            }
+
+            if (ch >= '0' && ch <= '9') {
+                millis = ch - '0';
+                for (; ; ) {
+                    ch = charAt(index++);
+                    if (ch >= '0' && ch <= '9') {
+                        millis = millis * 10 + (ch - '0');
+                    } else {
+                        if (ch == ',' || ch == ']') {
+                            bp = index - 1;
+                        }
+                        break;
+                    }
+                }
+            }
+
+            if (millis < 0) {
+                this.bp = startPos;
+                this.ch = startChar;
+                matchStat = NOT_MATCH;
+                return null;
+            }
+
+            if (negative) {
+                millis = -millis;
+            }
+
+            dateVal = new java.util.Date(millis);
+        } else if (ch == 'n'
+                && charAt(index++) == 'u'
+                && charAt(index++) == 'l'
+                && charAt(index++) == 'l') {
+            dateVal = null;
+            ch = charAt(index);
+            bp = index;
+        } else {
+            this.bp = startPos;
+            this.ch = startChar;
+            matchStat = NOT_MATCH;
+
+            return null;
+        }
+
+        if (ch == ',') {
+            this.ch = charAt(++bp);
+            matchStat = VALUE;
+            return dateVal;
+        } else {
+            //condition ch == '}' is always 'true'
+            ch = charAt(++bp);
+            if (ch == ',') {
+                token = JSONToken.COMMA;
+                this.ch = charAt(++bp);
+            } else if (ch == ']') {
+                token = JSONToken.RBRACKET;
+                this.ch = charAt(++bp);
+            } else if (ch == '}') {
+                token = JSONToken.RBRACE;
+                this.ch = charAt(++bp);
+            } else if (ch == EOI) {
+                this.ch = EOI;
+                token = JSONToken.EOF;
+            } else {
+                this.bp = startPos;
+                this.ch = startChar;
+                matchStat = NOT_MATCH;
+                return null;
+            }
+            matchStat = END;
+        }
+        return dateVal;
+    }
+    public String[] scanFieldStringArray(char[] fieldName, int argTypesCount, SymbolTable typeSymbolTable) {
+        int startPos = bp;
+        char starChar = ch;
+
+        while (isWhitespace(ch)) {
+            next();
+        }
+
+        int offset;
+        char ch;
+        if (fieldName != null) {
+            matchStat = UNKNOWN;
+            if (!charArrayCompare(fieldName)) {
+                matchStat = NOT_MATCH_NAME;
+                return null;
+            }
+
+            offset = bp + fieldName.length;
+            ch = charAt(offset++);
+            while (isWhitespace(ch)) {
+                ch = charAt(offset++);
+            }
+
+            if (ch == ':') {
+                ch = charAt(offset++);
+            } else {
+                matchStat = NOT_MATCH;
+                return null;
+            }
+
+            while (isWhitespace(ch)) {
+                ch = charAt(offset++);
+            }
+        } else {
+            offset = bp + 1;
+            ch = this.ch;
+        }
+
+        if (ch == '[') {
+            bp = offset;
+            this.ch = charAt(bp);
+        } else if (ch == 'n' && startsWith("ull", bp + 1)) {
+            bp += 4;
+            this.ch = charAt(bp);
+            return null;
+        } else {
+            matchStat = NOT_MATCH;
+            return null;
+        }
+
+        String[] types = argTypesCount >= 0 ? new String[argTypesCount] : new String[4];
+        int typeIndex = 0;
+        for (;;) {
+            while (isWhitespace(this.ch)) {
+                next();
+            }
+
+            if (this.ch != '\"') {
+                this.bp = startPos;
+                this.ch = starChar;
+                matchStat = NOT_MATCH;
+                return null;
+            }
+
+            String type = scanSymbol(typeSymbolTable, '"');
+            if (typeIndex == types.length) {
+                int newCapacity = types.length + (types.length >> 1) + 1;
+                String[] array = new String[newCapacity];
+                System.arraycopy(types, 0, array, 0, types.length);
+                types = array;
+            }
+            types[typeIndex++] = type;
+            while (isWhitespace(this.ch)) {
+                next();
+            }
+            if (this.ch == ',') {
+                next();
+                continue;
+            }
+            break;
+        }
+        if (types.length != typeIndex) {
+            String[] array = new String[typeIndex];
+            System.arraycopy(types, 0, array, 0, typeIndex);
+            types = array;
+        }
+
+        while (isWhitespace(this.ch)) {
+            next();
+        }
+
+        if (this.ch == ']') {
+            next();
+        } else {
+            this.bp = startPos;
+            this.ch = starChar;
+            matchStat = NOT_MATCH;
+            return null;
+        }
+
+        return types;
+    }
+
+    public boolean matchField2(char[] fieldName) {
+        while (isWhitespace(ch)) {
+            next();
+        }
+
+        if (!charArrayCompare(fieldName)) {
+            matchStat = NOT_MATCH_NAME;
+            return false;
+        }
+
+        int offset = bp + fieldName.length;
+        char ch = charAt(offset++);
+        while (isWhitespace(ch)) {
+            ch = charAt(offset++);
+        }
+
+        if (ch == ':') {
+            this.bp = offset;
+            this.ch = charAt(bp);
+            return true;
+        } else {
+            matchStat = NOT_MATCH_NAME;
+            return false;
+        }
+    }
+
+    public final void skipObject() {
+        skipObject(false);
+    }
+
+    public final void skipObject(boolean valid) {
+        int braceCnt = 0;
+        int i = bp;
+        for (; i < len; ++i) {
+            final char ch = charAt(i);
+            if (ch == '\\') {
+                if (i < len - 1) {
+                    ++i;
+                    continue;
+                } else {
+                    this.ch = ch;
+                    this.bp = i;
+                    throw new JSONException("illegal str, " + info());
+                }
+            } else if (ch == '"') {
+                i = skipString(i, (byte) '"') - 1;
+            } else if (ch == '{') {
+                braceCnt++;
+            } else if (ch == '}') {
+                braceCnt--;
+                if (braceCnt == -1) {
+                    this.bp = i + 1;
+                    if (this.bp == len) {
+                        this.ch = EOI;
+                        this.token = JSONToken.EOF;
+                        return;
+                    }
+                    this.ch = charAt(this.bp);
+                    if (this.ch == ',') {
+                        token = JSONToken.COMMA;
+                        int index = ++bp;
+                        this.ch = (index >= len //
+                                ? EOI //
+                                : charAt(index));
+                        return;
+                    } else if (this.ch == '}') {
+                        token = JSONToken.RBRACE;
+                        next();
+                        return;
+                    } else if (this.ch == ']') {
+                        token = JSONToken.RBRACKET;
+                        next();
+                        return;
+                    } else {
+                        nextToken(JSONToken.COMMA);
+                    }
+                    return;
+                }
+            }
+        }
+
+        if (i == len) {
+            throw new JSONException("illegal str, " + info());
+        }
+    }
+
+    public final void skipArray() {
+        skipArray(false);
+    }
+
+    public final void skipArray(boolean valid) {
+        int bracketCnt = 0;
+        int i = bp;
+        for (; i < len; ++i) {
+            char ch = charAt(i);
+            if (ch == '\\') {
+                if (i < len - 1) {
+                    ++i;
+                    continue;
+                } else {
+                    this.ch = ch;
+                    this.bp = i;
+                    throw new JSONException("illegal str, " + info());
+                }
+            } else if (ch == '"') {
+                i = skipString(i, (byte) '"') - 1;
+            } else if (ch == '[') {
+                bracketCnt++;
+            } else if (ch == '{' && valid) {
+                {
+                    int index = ++bp;
+                    this.ch = (index >= len //
+                            ? EOI //
+                            : charAt(index));
+                }
+
+                skipObject(valid);
+            } else if (ch == ']') {
+                bracketCnt--;
+                if (bracketCnt == -1) {
+                    this.bp = i + 1;
+                    if (this.bp == len) {
+                        this.ch = EOI;
+                        token = JSONToken.EOF;
+                        return;
+                    }
+                    this.ch = charAt(this.bp);
+                    nextToken(JSONToken.COMMA);
+                    return;
+                }
+            }
+        }
+
+        if (i == len) {
+            throw new JSONException("illegal str, " + info());
+        }
+    }
+
+    public final long scanFieldHash() {
+        skipWhitespace();
+        if (ch != '"') {
+            matchStat = NOT_MATCH;
+            return 0;
+        }
+
+        // 只处理ASCII的字段名，hash和String上计算的一致
+        final byte[] buf = this.buf;
+        long hash = 0xcbf29ce484222325L;
+        int hashCode = 0;
+        for (int i = bp + 1; i < len; ++i) {
+            byte b = buf[offset + i];
+            if (b == '"') {
+                fieldKeyOffset = bp + 1;
+                fieldKeyLength = i - bp - 1;
+                fieldKeyHashCode = hashCode;
+
+                np = bp;
+                sp = 0;
+                token = JSONToken.LITERAL_STRING;
+                bp = i + 1;
+                ch = charAt(bp);
+                matchStat = VALUE;
+                return hash;
+            }
+
+            if (b == '\\' || b < 0) {
+                break;
+            }
+
+            hash ^= b;
+            hash *= 0x100000001b3L;
+            hashCode = 31 * hashCode + b;
+        }
+
+        matchStat = NOT_MATCH;
+        return 0;
+    }
+
+    protected final void skipQuoted(char quote) {
+        bp = skipString(bp, (byte) quote);
+        ch = charAt(bp);
+    }
+
+    /**
+     * 一次检查8个字节，都不是引号和转义符时整体跳过
+     *
+     * @param i 开始的引号的位置
+     * @return 结束的引号之后的位置
+     */
+    private int skipString(int i, byte quote) {
+        final byte[] buf = this.buf;
+        final int end = offset + len;
+
+        int p = offset + i + 1;
+        for (;;) {
+            p = swarScan(p, end, quote, (byte) '\\');
+            while (p < end && buf[p] != quote && buf[p] != '\\') {
+                p++;
+            }
+
+            if (p >= end) {
+                throw new JSONException("unclosed str, " + info());
+            }
+
+            if (buf[p] == quote) {
+                return p + 1 - offset;
+            }
+            if (p + 1 >= end) {
+                throw new JSONException("unclosed str, " + info());
+            }
+            if (!isEscape((char) buf[p + 1])) {
+                throw new JSONException("illegal escape character \\" + (char) buf[p + 1] + ", " + info());
+            }
+            p += 2;
+        }
+    }
+
+    protected final int stringRunLength(int index) {
+        final byte[] buf = this.buf;
+        final int end = offset + len;
+
+        int p = swarScan(offset + index, end, (byte) '"', (byte) '\\');
+        while (p < end && buf[p] != '"' && buf[p] != '\\') {
+            p++;
+        }
+        return p - offset - index;
+    }
+
+    /**
+     * SWAR：每次读取8个字节，同时和stop0、stop1比较，找到其中一个时返回它在buf中的位置。
+     * 剩余不足8个字节时返回第一个没有检查的位置，由调用方逐个字节检查
+     */
+    private int swarScan(int p, int end, byte stop0, byte stop1) {
+        if (p + 8 > end) {
+            return p;
+        }
+
+        ByteBuffer words = this.words;
+        if (words == null) {
+            this.words = words = ByteBuffer.wrap(buf).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        final long pattern0 = (stop0 & 0xFFL) * SWAR_ONES;
+        final long pattern1 = (stop1 & 0xFFL) * SWAR_ONES;
+        for (; p + 8 <= end; p += 8) {
+            long word = words.getLong(p);
+            long x0 = word ^ pattern0, x1 = word ^ pattern1;
+            // 等于0的字节的最高位是1，最低的一个是准确的
+            long found = (((x0 - SWAR_ONES) & ~x0) | ((x1 - SWAR_ONES) & ~x1)) & SWAR_HIGHS;
+            if (found != 0) {
+                return p + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+        }
+        return p;
+    }
+
+    public final void skipString() {
+        if (ch == '"') {
+            for (int i = bp + 1; i < len; ++i) {
+                char c = charAt(i);
+                if (c == '\\') {
+                    if (i < len - 1) {
+                        ++i;
+                        continue;
+                    }
+                } else if (c == '"') {
+                    this.ch = charAt(bp = i + 1);
+                    return;
+                }
+            }
+            throw new JSONException("unclosed str");
+        } else {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    public boolean seekArrayToItem(int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("index must > 0, but " + index);
+        }
+
+        if (token == JSONToken.EOF) {
+            return false;
+        }
+
+        if (token != JSONToken.LBRACKET) {
+            throw new UnsupportedOperationException();
+        }
+//        nextToken();
+
+        for (int i = 0; i < index; ++i) {
+            skipWhitespace();
+            if (ch == '"' || ch == '\'') {
+                skipString();
+                if (ch == ',') {
+                    next();
+                    continue;
+                } else if (ch == ']') {
+                    next();
+                    nextToken(JSONToken.COMMA);
+                    return false;
+                } else {
+                    throw new JSONException("illegal json.");
+                }
+            } else if (ch == '{') {
+                next();
+                token = JSONToken.LBRACE;
+                skipObject(false);
+            } else if (ch == '[') {
+                next();
+                token = JSONToken.LBRACKET;
+                skipArray(false);
+            } else {
+                boolean match = false;
+                for (int j = bp + 1; j < len; ++j) {
+                    char c = charAt(j);
+                    if (c == ',') {
+                        match = true;
+                        bp = j + 1;
+                        ch = charAt(bp);
+                        break;
+                    } else if (c == ']') {
+                        bp = j + 1;
+                        ch = charAt(bp);
+                        nextToken();
+                        return false;
+                    }
+                }
+
+                if (!match) {
+                    throw new JSONException("illegal json.");
+                }
+
+                continue;
+            }
+
+            if (token == JSONToken.COMMA) {
+                continue;
+            } else if (token == JSONToken.RBRACKET) {
+                return false;
+            } else {
+                throw new UnsupportedOperationException();
+            }
+
+        }
+
+        nextToken();
+        return true;
+    }
+
+    public int seekObjectToField(long fieldNameHash, boolean deepScan) {
+        if (token == JSONToken.EOF) {
+            return JSONLexer.NOT_MATCH;
+        }
+
+        if (token == JSONToken.RBRACE || token == JSONToken.RBRACKET) {
+            nextToken();
+            return JSONLexer.NOT_MATCH;
+        }
+
+        if (token != JSONToken.LBRACE && token != JSONToken.COMMA) {
+            throw new UnsupportedOperationException(JSONToken.name(token));
+        }
+
+        for (;;) {
+            if (ch == '}') {
+                next();
+                nextToken();
+                return JSONLexer.NOT_MATCH;
+            }
+            if (ch == EOI) {
+                return JSONLexer.NOT_MATCH;
+            }
+
+            if (ch != '"') {
+                skipWhitespace();
+            }
+
+            long hash;
+            if (ch == '"') {
+                hash = 0xcbf29ce484222325L;
+
+                for (int i = bp + 1; i < len; ++i) {
+                    char c = charAt(i);
+                    if (c == '\\') {
+                        ++i;
+                        if (i == len) {
+                            throw new JSONException("unclosed str, " + info());
+                        }
+                        c = charAt(i);
+                    }
+
+                    if (c == '"') {
+                        bp = i + 1;
+                        ch = (bp >= len //
+                                ? EOI //
+                                : charAt(bp));
+                        break;
+                    }
+
+                    hash ^= c;
+                    hash *= 0x100000001b3L;
+                }
+            } else {
+                throw new UnsupportedOperationException();
+            }
+
+            if (hash == fieldNameHash) {
+                if (ch != ':') {
+                    skipWhitespace();
+                }
+                if (ch == ':') {
+                    {
+                        int index = ++bp;
+                        ch = (index >= len //
+                                ? EOI //
+                                : charAt(index));
+                    }
+                    if (ch == ',') {
+                        {
+                            int index = ++bp;
+                            ch = (index >= len //
+                                    ? EOI //
+                                    : charAt(index));
+                        }
+                        token = JSONToken.COMMA;
+                    } else if (ch == ']') {
+                        {
+                            int index = ++bp;
+                            ch = (index >= len //
+                                    ? EOI //
+                                    : charAt(index));
+                        }
+                        token = JSONToken.RBRACKET;
+                    } else if (ch == '}') {
+                        {
+                            int index = ++bp;
+                            ch = (index >= len //
+                                    ? EOI //
+                                    : charAt(index));
+                        }
+                        token = JSONToken.RBRACE;
+                    } else if (ch >= '0' && ch <= '9') {
+                        sp = 0;
+                        pos = bp;
+                        scanNumber();
+                    } else {
+                        nextToken(JSONToken.LITERAL_INT);
+                    }
+                }
+                return VALUE;
+            }
+
+            if (ch != ':') {
+                skipWhitespace();
+            }
+
+            if (ch == ':') {
+                int index = ++bp;
+                ch = (index >= len //
+                        ? EOI //
+                        : charAt(index));
+            } else {
+                throw new JSONException("illegal json, " + info());
+            }
+
+            if (ch != '"'
+                    && ch != '\''
+                    && ch != '{'
+                    && ch != '['
+                    && ch != '0'
+                    && ch != '1'
+                    && ch != '2'
+                    && ch != '3'
+                    && ch != '4'
+                    && ch != '5'
+                    && ch != '6'
+                    && ch != '7'
+                    && ch != '8'
+                    && ch != '9'
+                    && ch != '+'
+                    && ch != '-') {
+                skipWhitespace();
+            }
+
+            // skip fieldValues
+            if (ch == '-' || ch == '+' || (ch >= '0' && ch <= '9')) {
+                next();
+                while (ch >= '0' && ch <= '9') {
+                    next();
+                }
+
+                // scale
+                if (ch == '.') {
+                    next();
+                    while (ch >= '0' && ch <= '9') {
+                        next();
+                    }
+                }
+
+                // exp
+                if (ch == 'E' || ch == 'e') {
+                    next();
+                    if (ch == '-' || ch == '+') {
+                        next();
+                    }
+                    while (ch >= '0' && ch <= '9') {
+                        next();
+                    }
+                }
+
+                if (ch != ',') {
+                    skipWhitespace();
+                }
+                if (ch == ',') {
+                    next();
+                }
+            } else if (ch == '"') {
+                skipString();
+
+                if (ch != ',' && ch != '}') {
+                    skipWhitespace();
+                }
+
+                if (ch == ',') {
+                    next();
+                }
+            } else if (ch == 't') {
+                next();
+                if (ch == 'r') {
+                    next();
+                    if (ch == 'u') {
+                        next();
+                        if (ch == 'e') {
+                            next();
+                        }
+                    }
+                }
+
+                if (ch != ',' && ch != '}') {
+                    skipWhitespace();
+                }
+
+                if (ch == ',') {
+                    next();
+                }
+            } else if (ch == 'n') {
+                next();
+                if (ch == 'u') {
+                    next();
+                    if (ch == 'l') {
+                        next();
+                        if (ch == 'l') {
+                            next();
+                        }
+                    }
+                }
+
+                if (ch != ',' && ch != '}') {
+                    skipWhitespace();
+                }
+
+                if (ch == ',') {
+                    next();
+                }
+            } else if (ch == 'f') {
+                next();
+                if (ch == 'a') {
+                    next();
+                    if (ch == 'l') {
+                        next();
+                        if (ch == 's') {
+                            next();
+                            if (ch == 'e') {
+                                next();
+                            }
+                        }
+                    }
+                }
+
+                if (ch != ',' && ch != '}') {
+                    skipWhitespace();
+                }
+
+                if (ch == ',') {
+                    next();
+                }
+            } else if (ch == '{') {
+                {
+                    int index = ++bp;
+                    ch = (index >= len //
+                            ? EOI //
+                            : charAt(index));
+                }
+                if (deepScan) {
+                    token = JSONToken.LBRACE;
+                    return OBJECT;
+                }
+
+                skipObject(false);
+                if (token == JSONToken.RBRACE) {
+                    return JSONLexer.NOT_MATCH;
+                }
+            } else if (ch == '[') {
+                next();
+                if (deepScan) {
+                    token = JSONToken.LBRACKET;
+                    return ARRAY;
+                }
+                skipArray(false);
+                if (token == JSONToken.RBRACE) {
+                    return JSONLexer.NOT_MATCH;
+                }
+            } else {
+                throw new UnsupportedOperationException();
+            }
+        }
+    }
+
+    public int seekObjectToField(long[] fieldNameHash) {
+        if (token != JSONToken.LBRACE && token != JSONToken.COMMA) {
+            throw new UnsupportedOperationException();
+        }
+
+        for (;;) {
+            if (ch == '}') {
+                next();
+                nextToken();
+                this.matchStat = JSONLexer.NOT_MATCH;
+                return -1;
+            }
+            if (ch == EOI) {
+                this.matchStat = JSONLexer.NOT_MATCH;
+                return -1;
+            }
+
+            if (ch != '"') {
+                skipWhitespace();
+            }
+
+            long hash;
+            if (ch == '"') {
+                hash = 0xcbf29ce484222325L;
+
+                for (int i = bp + 1; i < len; ++i) {
+                    char c = charAt(i);
+                    if (c == '\\') {
+                        ++i;
+                        if (i == len) {
+                            throw new JSONException("unclosed str, " + info());
+                        }
+                        c = charAt(i);
+                    }
+
+                    if (c == '"') {
+                        bp = i + 1;
+                        ch = (bp >= len //
+                                ? EOI //
+                                : charAt(bp));
+                        break;
+                    }
+
+                    hash ^= c;
+                    hash *= 0x100000001b3L;
+                }
+            } else {
+                throw new UnsupportedOperationException();
+            }
+
+            int matchIndex = -1;
+            for (int i = 0; i < fieldNameHash.length; i++) {
+                if (hash == fieldNameHash[i]) {
+                    matchIndex = i;
+                    break;
+                }
+            }
+
+            if (matchIndex != -1) {
+                if (ch != ':') {
+                    skipWhitespace();
+                }
+                if (ch == ':') {
+                    {
+                        int index = ++bp;
+                        ch = (index >= len //
+                                ? EOI //
+                                : charAt(index));
+                    }
+                    if (ch == ',') {
+                        {
+                            int index = ++bp;
+                            ch = (index >= len //
+                                    ? EOI //
+                                    : charAt(index));
+                        }
+                        token = JSONToken.COMMA;
+                    } else if (ch == ']') {
+                        {
+                            int index = ++bp;
+                            ch = (index >= len //
+                                    ? EOI //
+                                    : charAt(index));
+                        }
+                        token = JSONToken.RBRACKET;
+                    } else if (ch == '}') {
+                        {
+                            int index = ++bp;
+                            ch = (index >= len //
+                                    ? EOI //
+                                    : charAt(index));
+                        }
+                        token = JSONToken.RBRACE;
+                    } else if (ch >= '0' && ch <= '9') {
+                        sp = 0;
+                        pos = bp;
+                        scanNumber();
+                    } else {
+                        nextToken(JSONToken.LITERAL_INT);
+                    }
+                }
+
+                matchStat = VALUE;
+                return matchIndex;
+            }
+
+            if (ch != ':') {
+                skipWhitespace();
+            }
+
+            if (ch == ':') {
+                int index = ++bp;
+                ch = (index >= len //
+                        ? EOI //
+                        : charAt(index));
+            } else {
+                throw new JSONException("illegal json, " + info());
+            }
+
+            if (ch != '"'
+                    && ch != '\''
+                    && ch != '{'
+                    && ch != '['
+                    && ch != '0'
+                    && ch != '1'
+                    && ch != '2'
+                    && ch != '3'
+                    && ch != '4'
+                    && ch != '5'
+                    && ch != '6'
+                    && ch != '7'
+                    && ch != '8'
+                    && ch != '9'
+                    && ch != '+'
+                    && ch != '-') {
+                skipWhitespace();
+            }
+
+            // skip fieldValues
+            if (ch == '-' || ch == '+' || (ch >= '0' && ch <= '9')) {
+                next();
+                while (ch >= '0' && ch <= '9') {
+                    next();
+                }
+
+                // scale
+                if (ch == '.') {
+                    next();
+                    while (ch >= '0' && ch <= '9') {
+                        next();
+                    }
+                }
+
+                // exp
+                if (ch == 'E' || ch == 'e') {
+                    next();
+                    if (ch == '-' || ch == '+') {
+                        next();
+                    }
+                    while (ch >= '0' && ch <= '9') {
+                        next();
+                    }
+                }
+
+                if (ch != ',') {
+                    skipWhitespace();
+                }
+                if (ch == ',') {
+                    next();
+                }
+            } else if (ch == '"') {
+                skipString();
+
+                if (ch != ',' && ch != '}') {
+                    skipWhitespace();
+                }
+
+                if (ch == ',') {
+                    next();
+                }
+            } else if (ch == '{') {
+                {
+                    int index = ++bp;
+                    ch = (index >= len //
+                            ? EOI //
+                            : charAt(index));
+                }
+
+                skipObject(false);
+            } else if (ch == '[') {
+                next();
+
+                skipArray(false);
+            } else {
+                throw new UnsupportedOperationException();
+            }
+        }
+    }
+
+    public String info() {
+        StringBuilder buf = new StringBuilder();
+
+        int line = 1;
+        int column = 1;
+        for (int i = 0; i < bp && i < len; ++i, column++) {
+            if (this.buf[offset + i] == '\n') {
+                column = 1;
+                line++;
+            }
+        }
+
+        buf.append("pos ").append(bp)
+                .append(", line ").append(line)
+                .append(", column ").append(column);
+
+        buf.append(new String(this.buf, offset, len < 65535 ? len : 65535, IOUtils.UTF8));
+
+        return buf.toString();
+    }
+
+    @Override
+    public boolean isEOF() {
+        return bp == len || ch == EOI && bp + 1 >= len;
+    }
+
+    private boolean scanISO8601DateIfMatch(boolean strict, int rest) {
+        JSONScanner dateLexer = new JSONScanner(subString(bp, rest));
+        dateLexer.setTimeZone(timeZone);
+        dateLexer.setLocale(locale);
+        try {
+            if (dateLexer.scanISO8601DateIfMatch(strict)) {
+                calendar = dateLexer.getCalendar();
+                return true;
+            }
+            return false;
+        } finally {
+            dateLexer.close();
+        }
+    }
+
+    private boolean startsWith(String prefix, int index) {
+        final int prefixLen = prefix.length();
+        if (index < 0 || index + prefixLen > len) {
+            return false;
+        }
+
+        for (int i = 0; i < prefixLen; ++i) {
+            if (prefix.charAt(i) != buf[offset + index + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private char[] chars(int len) {
+        char[] chars = this.chars;
+        if (chars == null || chars.length < len) {
+            chars = new char[len < 64 ? 64 : len];
+            if (len <= 1024 * 64) {
+                this.chars = chars;
+            }
+        }
+        return chars;
+    }
+
+    /**
+     * 解码[offset, offset + count)之间的UTF-8字节，返回解码后的char数量
+     */
+    private int decodeUTF8(int offset, int count, char[] dest) {
+        return decodeUTF8(buf, this.offset + offset, count, dest, this.offset);
+    }
+
+    /**
+     * 解码buf中[sp, sp + count)之间的UTF-8字节，base用于计算错误信息中的位置
+     */
+    static int decodeUTF8(byte[] buf, int sp, int count, char[] dest, int base) {
+        int dp = 0;
+
+        // ASCII only optimized loop
+        while (dp < count && buf[sp] >= 0) {
+            dest[dp++] = (char) buf[sp++];
+        }
+
+        if (dp == count) {
+            return dp;
+        }
+
+        int charsLen = IOUtils.decodeUTF8(buf, sp, count - dp, dest, dp);
+        if (charsLen < 0) {
+            throw new JSONException("illegal utf-8 bytes, pos " + (sp - base));
+        }
+        return charsLen;
+    }
+
+    /**
+     * sbuf中\uDC80~\uDCFF是原始的字节，其余是转义之后的字符，把其中合法的UTF-8字节序列解码
+     */
+    static int decodeChars(char[] src, int offset, int len, char[] dest) {
+        final int end = offset + len;
+        int dp = 0;
+        for (int i = offset; i < end;) {
+            char c = src[i];
+            if ((c & 0xFF80) != 0xDC80) {
+                dest[dp++] = c;
+                i++;
+                continue;
+            }
+
+            int b1 = c & 0xFF;
+            int n, uc;
+            if ((b1 >> 5) == 0x6 && (b1 & 0x1e) != 0) {
+                n = 1;
+                uc = b1 & 0x1F;
+            } else if ((b1 >> 4) == 0xE) {
+                n = 2;
+                uc = b1 & 0x0F;
+            } else if ((b1 >> 3) == 0x1E) {
+                n = 3;
+                uc = b1 & 0x07;
+            } else {
+                n = -1;
+                uc = 0;
+            }
+
+            if (n > 0 && i + n < end) {
+                for (int j = 1; j <= n; ++j) {
+                    char cc = src[i + j];
+                    if ((cc & 0xFFC0) != 0xDC80) { // not a continuation byte
+                        n = -1;
+                        break;
+                    }
+                    uc = (uc << 6) | (cc & 0x3F);
+                }
+            } else {
+                n = -1;
+            }
+
+            if (n == 2 && (uc < 0x800 || (uc >= 0xD800 && uc <= 0xDFFF))) {
+                n = -1;
+            } else if (n == 3 && (uc < 0x10000 || uc > 0x10FFFF)) {
+                n = -1;
+            }
+
+            if (n < 0) { // not a valid sequence, keep it as it is
+                dest[dp++] = c;
+                i++;
+                continue;
+            }
+
+            if (n == 3) {
+                dest[dp++] = (char) ((uc >>> 10) + ('\uD800' - (0x010000 >>> 10)));
+                dest[dp++] = (char) ((uc & 0x3ff) + '\uDC00');
+            } else {
+                dest[dp++] = (char) uc;
+            }
+            i += n + 1;
+        }
+        return dp;
+    }
+}
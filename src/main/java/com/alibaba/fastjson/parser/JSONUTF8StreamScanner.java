@@ -0,0 +1,462 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.util.IOUtils;
+
+//这个类，为了性能优化做了很多特别处理，一切都是为了性能！！！
+
+/**
+ * 边读边扫描UTF-8字节流的词法分析器，只持有一个固定大小的窗口，不需要把整个输入读到内存中。
+ * <p>
+ * 窗口的滑动方式和{@link JSONReaderScanner}一致，只有单个token比窗口还大时才会扩容；字符映射方式和
+ * {@link JSONUTF8Scanner}一致，非ASCII字节映射为\uDC80~\uDCFF，物化成String时再做UTF-8解码。
+ * <p>
+ * 也可以读取direct或者memory-mapped的{@link ByteBuffer}，每次只把窗口大小的字节复制到堆上，
+ * 不会修改ByteBuffer的position。
+ * <p>
+ * close时不会关闭输入流，由调用者负责。
+ *
+ * @author wenshao[szujobs@hotmail.com]
+ * @since 1.2.57
+ */
+public final class JSONUTF8StreamScanner extends JSONLexerBase {
+
+    private final static ThreadLocal<byte[]> BUF_LOCAL = new ThreadLocal<byte[]>();
+
+    private InputStream                      in;
+    private ByteBuffer                       byteBuffer;
+    private byte[]                           buf;
+    private int                              bufLength;
+
+    /** 读到流末尾时窗口中的有效长度，bufLength变成-1之后isBlankInput使用 */
+    private int                              eofLength;
+
+    /** 窗口之前已经滑出的字节数，加上bp或者pos是在整个流中的位置 */
+    private long                             consumed;
+
+    /** 解码用的缓冲区 */
+    private char[]                           chars;
+
+    public JSONUTF8StreamScanner(InputStream in){
+        this(in, JSON.DEFAULT_PARSER_FEATURE);
+    }
+
+    public JSONUTF8StreamScanner(InputStream in, int features){
+        this(in, null, features);
+    }
+
+    public JSONUTF8StreamScanner(ByteBuffer byteBuffer){
+        this(byteBuffer, JSON.DEFAULT_PARSER_FEATURE);
+    }
+
+    public JSONUTF8StreamScanner(ByteBuffer byteBuffer, int features){
+        this(null, byteBuffer.duplicate(), features);
+    }
+
+    private JSONUTF8StreamScanner(InputStream in, ByteBuffer byteBuffer, int features){
+        super(features);
+        this.in = in;
+        this.byteBuffer = byteBuffer;
+
+        buf = BUF_LOCAL.get();
+        if (buf != null) {
+            BUF_LOCAL.set(null);
+        }
+
+        if (buf == null) {
+            buf = new byte[1024 * 16];
+        }
+
+        // 至少读够3个字节用来判断bom
+        bufLength = 0;
+        for (;;) {
+            int len = read(buf, bufLength, buf.length - bufLength);
+            if (len == -1) {
+                if (bufLength == 0) {
+                    bufLength = -1;
+                }
+                break;
+            }
+            bufLength += len;
+            if (bufLength >= 3) {
+                break;
+            }
+        }
+
+        bp = -1;
+
+        if (bufLength >= 3 //
+            && buf[0] == (byte) 0xEF //
+            && buf[1] == (byte) 0xBB //
+            && buf[2] == (byte) 0xBF) { // utf-8 bom
+            bp = 2;
+        }
+
+        next();
+    }
+
+    public final char charAt(int index) {
+        if (index >= bufLength) {
+            if (bufLength == -1) {
+                if (index < sp) {
+                    return toChar(buf[index]);
+                }
+                return EOI;
+            }
+
+            if (bp > 0) {
+                int rest = bufLength - bp;
+                if (rest > 0) {
+                    System.arraycopy(buf, bp, buf, 0, rest);
+                }
+                consumed += bp;
+                bufLength = rest;
+                index -= bp;
+                np -= bp;
+                pos -= bp;
+                bp = 0;
+            }
+
+            // 流可能每次只返回很少的字节，读到index为止
+            while (index >= bufLength) {
+                if (bufLength == buf.length) {
+                    byte[] buf = new byte[(this.buf.length * 3) / 2];
+                    System.arraycopy(this.buf, 0, buf, 0, bufLength);
+                    this.buf = buf;
+                }
+
+                int len = read(buf, bufLength, buf.length - bufLength);
+                if (len == 0) {
+                    throw new JSONException("illegal state, textLength is zero");
+                }
+
+                if (len == -1) {
+                    return EOI;
+                }
+                bufLength += len;
+            }
+        }
+
+        return toChar(buf[index]);
+    }
+
+    public final int indexOf(char ch, int startIndex) {
+        int offset = startIndex - bp;
+        for (;; ++offset) {
+            final int index = bp + offset;
+            char chLoal = charAt(index);
+            if (ch == chLoal) {
+                return offset + bp;
+            }
+            if (chLoal == EOI) {
+                return -1;
+            }
+        }
+    }
+
+    public final String addSymbol(int offset, int len, int hash, final SymbolTable symbolTable) {
+        char[] chars = chars(len);
+        int charsLen = JSONUTF8Scanner.decodeUTF8(buf, offset, len, chars, 0);
+        if (charsLen != len) { // contains non-ascii, the hash is computed on raw bytes
+            hash = SymbolTable.hash(chars, 0, charsLen);
+        }
+        return symbolTable.addSymbol(chars, 0, charsLen, hash);
+    }
+
+    protected final String addSymbol(char[] buffer, int offset, int len, int hash, final SymbolTable symbolTable) {
+        char[] chars = chars(len);
+        int charsLen = JSONUTF8Scanner.decodeChars(buffer, offset, len, chars);
+        if (charsLen != len) {
+            hash = SymbolTable.hash(chars, 0, charsLen);
+        }
+        return symbolTable.addSymbol(chars, 0, charsLen, hash);
+    }
+
+    public final char next() {
+        int index = ++bp;
+
+        if (index >= bufLength) {
+            if (bufLength == -1) {
+                return ch = EOI;
+            }
+
+            if (sp > 0) {
+                int offset;
+                offset = bufLength - sp;
+                if (ch == '"' && offset > 0) {
+                    offset--;
+                }
+                System.arraycopy(buf, offset, buf, 0, sp);
+            }
+            np = -1;
+            // 新读入的字节从sp开始，对应原来窗口的末尾
+            int shift = bufLength - sp;
+            consumed += shift;
+            pos -= shift;
+
+            index = bp = sp;
+
+            int startPos = bp;
+            int readLength = buf.length - startPos;
+            if (readLength == 0) {
+                byte[] newBuf = new byte[buf.length * 2];
+                System.arraycopy(buf, 0, newBuf, 0, buf.length);
+                buf = newBuf;
+                readLength = buf.length - startPos;
+            }
+            int length = bufLength;
+            bufLength = read(buf, bp, readLength);
+
+            if (bufLength == 0) {
+                throw new JSONException("illegal stat, textLength is zero");
+            }
+
+            if (bufLength == -1) {
+                eofLength = sp > 0 ? sp : length;
+                return ch = EOI;
+            }
+
+            bufLength += bp;
+        }
+
+        return ch = toChar(buf[index]);
+    }
+
+    protected final void copyTo(int offset, int count, char[] dest) {
+        arrayCopy(offset, dest, 0, count);
+    }
+
+    protected final void arrayCopy(int srcPos, char[] dest, int destPos, int length) {
+        final byte[] buf = this.buf;
+        for (int i = 0; i < length; ++i) {
+            dest[destPos + i] = toChar(buf[srcPos + i]);
+        }
+    }
+
+    public final boolean charArrayCompare(char[] chars) {
+        for (int i = 0; i < chars.length; ++i) {
+            if (charAt(bp + i) != chars[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public byte[] bytesValue() {
+        if (token == JSONToken.HEX) {
+            int start = np + 1, len = sp;
+            if (len % 2 != 0) {
+                throw new JSONException("illegal state. " + len);
+            }
+
+            // scanHex之后十六进制字符仍然在窗口中，都是ASCII，直接读取字节
+            byte[] bytes = new byte[len / 2];
+            for (int i = 0; i < bytes.length; ++i) {
+                int c0 = buf[start + i * 2];
+                int c1 = buf[start + i * 2 + 1];
+
+                int b0 = c0 - (c0 <= 57 ? 48 : 55);
+                int b1 = c1 - (c1 <= 57 ? 48 : 55);
+                bytes[i] = (byte) ((b0 << 4) | b1);
+            }
+
+            return bytes;
+        }
+
+        if (!hasSpecial) {
+            char[] chars = chars(sp);
+            arrayCopy(np + 1, chars, 0, sp);
+            return IOUtils.decodeBase64(chars, 0, sp);
+        } else {
+            return IOUtils.decodeBase64(sbuf, 0, sp);
+        }
+    }
+
+    /**
+     * The value of a literal token, recorded as a string. For integers, leading 0x and 'l' suffixes are suppressed.
+     */
+    public final String stringVal() {
+        if (!hasSpecial) {
+            int offset = np + 1;
+            if (offset < 0) {
+                throw new IllegalStateException();
+            }
+            if (offset > buf.length - sp) {
+                throw new IllegalStateException();
+            }
+            char[] chars = chars(sp);
+            int charsLen = JSONUTF8Scanner.decodeUTF8(buf, offset, sp, chars, 0);
+            return newString(chars, 0, charsLen);
+        } else {
+            char[] chars = chars(sp);
+            int charsLen = JSONUTF8Scanner.decodeChars(sbuf, 0, sp, chars);
+            return newString(chars, 0, charsLen);
+        }
+    }
+
+    public final String subString(int offset, int count) {
+        if (count < 0) {
+            throw new StringIndexOutOfBoundsException(count);
+        }
+        char[] chars = chars(count);
+        int charsLen = JSONUTF8Scanner.decodeUTF8(buf, offset, count, chars, 0);
+        return new String(chars, 0, charsLen);
+    }
+
+    public final char[] sub_chars(int offset, int count) {
+        if (count < 0) {
+            throw new StringIndexOutOfBoundsException(count);
+        }
+
+        char[] chars = new char[count];
+        arrayCopy(offset, chars, 0, count);
+        return chars;
+    }
+
+    protected final String readString(int offset, int count) {
+        char[] chars = new char[count];
+        int charsLen = JSONUTF8Scanner.decodeUTF8(buf, offset, count, chars, 0);
+        return readString(chars, charsLen);
+    }
+
+    public final String numberString() {
+        int offset = np;
+        if (offset == -1) {
+            offset = 0;
+        }
+        char chLocal = charAt(offset + sp - 1);
+
+        int sp = this.sp;
+        if (chLocal == 'L' || chLocal == 'S' || chLocal == 'B' || chLocal == 'F' || chLocal == 'D') {
+            sp--;
+        }
+
+        char[] chars = chars(sp);
+        arrayCopy(offset, chars, 0, sp);
+        return new String(chars, 0, sp);
+    }
+
+    public final BigDecimal decimalValue() {
+        int offset = np;
+        if (offset == -1) {
+            offset = 0;
+        }
+        char chLocal = charAt(offset + sp - 1);
+
+        int sp = this.sp;
+        if (chLocal == 'L' || chLocal == 'S' || chLocal == 'B' || chLocal == 'F' || chLocal == 'D') {
+            sp--;
+        }
+
+        BigDecimal value = parseDecimal(offset, sp);
+        if (value != null) {
+            return value;
+        }
+
+        char[] chars = chars(sp);
+        arrayCopy(offset, chars, 0, sp);
+        return new BigDecimal(chars, 0, sp);
+    }
+
+    public void close() {
+        super.close();
+
+        if (buf.length <= 1024 * 64) {
+            BUF_LOCAL.set(buf);
+        }
+        this.buf = null;
+        this.in = null;
+        this.byteBuffer = null;
+    }
+
+    /**
+     * 当前token在整个流中的位置
+     */
+    public int pos() {
+        return (int) (consumed + pos);
+    }
+
+    public String info() {
+        return "pos " + (consumed + bp);
+    }
+
+    @Override
+    public boolean isEOF() {
+        return bufLength == -1 || bp == buf.length || ch == EOI && bp + 1 == buf.length;
+    }
+
+    public final boolean isBlankInput() {
+        int length = bufLength == -1 ? eofLength : bufLength;
+        for (int i = 0; i < length; ++i) {
+            char chLocal = toChar(buf[i]);
+            if (chLocal == EOI) {
+                break;
+            }
+
+            if (!isWhitespace(chLocal)) {
+                return false;
+            }
+        }
+
+        token = JSONToken.EOF;
+        return true;
+    }
+
+    private int read(byte[] buf, int off, int len) {
+        if (byteBuffer != null) {
+            int rest = byteBuffer.remaining();
+            if (rest == 0) {
+                return -1;
+            }
+
+            if (len > rest) {
+                len = rest;
+            }
+            byteBuffer.get(buf, off, len);
+            return len;
+        }
+
+        try {
+            return in.read(buf, off, len);
+        } catch (IOException e) {
+            throw new JSONException(e.getMessage(), e);
+        }
+    }
+
+    private char[] chars(int len) {
+        char[] chars = this.chars;
+        if (chars == null || chars.length < len) {
+            chars = new char[len < 64 ? 64 : len];
+            if (len <= 1024 * 64) {
+                this.chars = chars;
+            }
+        }
+        return chars;
+    }
+
+    private static char toChar(byte b) {
+        return b >= 0 ? (char) b : (char) (0xDC00 | (b & 0xFF));
+    }
+}
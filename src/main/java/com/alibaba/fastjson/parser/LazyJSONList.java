@@ -0,0 +1,126 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson.parser;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * LazyJSONParser中的array，元素在第一次get的时候才创建。修改时展开成ArrayList。
+ *
+ * @since 1.2.57
+ */
+final class LazyJSONList extends AbstractList<Object> implements RandomAccess, Serializable {
+
+    private static final long          serialVersionUID = 1L;
+
+    private final static Object        NOT_LOADED       = new Object();
+
+    private final transient LazyJSONParser doc;
+    private final transient int        pos;
+
+    /** 每个元素在索引中的位置 */
+    private transient int[]            elements;
+    private transient Object[]         values;
+
+    /** 修改之后展开的list */
+    private transient List<Object>     list;
+
+    LazyJSONList(LazyJSONParser doc, int pos){
+        this.doc = doc;
+        this.pos = pos;
+    }
+
+    public Object get(int index) {
+        if (list != null) {
+            return list.get(index);
+        }
+
+        int[] elements = elements();
+        if (index < 0 || index >= elements.length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elements.length);
+        }
+
+        Object value = values[index];
+        if (value == NOT_LOADED) {
+            value = doc.value(elements[index]);
+            values[index] = value;
+        }
+        return value;
+    }
+
+    public int size() {
+        if (list != null) {
+            return list.size();
+        }
+
+        return doc.count(pos);
+    }
+
+    public Object set(int index, Object element) {
+        return inflate().set(index, element);
+    }
+
+    public void add(int index, Object element) {
+        inflate().add(index, element);
+        modCount++;
+    }
+
+    public Object remove(int index) {
+        Object value = inflate().remove(index);
+        modCount++;
+        return value;
+    }
+
+    private int[] elements() {
+        if (elements == null) {
+            int count = doc.count(pos);
+            int[] elements = new int[count];
+            for (int i = 0, p = pos + 3; i < count; ++i) {
+                elements[i] = p;
+                p = doc.next(p);
+            }
+
+            values = new Object[count];
+            Arrays.fill(values, NOT_LOADED);
+            this.elements = elements;
+        }
+        return elements;
+    }
+
+    private List<Object> inflate() {
+        if (list == null) {
+            int size = size();
+            List<Object> list = new ArrayList<Object>(size);
+            for (int i = 0; i < size; ++i) {
+                list.add(get(i));
+            }
+            this.list = list;
+
+            this.elements = null;
+            this.values = null;
+        }
+        return list;
+    }
+
+    private Object writeReplace() {
+        return new ArrayList<Object>(inflate());
+    }
+}
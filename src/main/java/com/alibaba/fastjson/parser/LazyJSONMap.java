@@ -0,0 +1,176 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson.parser;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * LazyJSONParser中的object，值在第一次get的时候才创建。遍历和修改时展开成LinkedHashMap。
+ *
+ * @since 1.2.57
+ */
+final class LazyJSONMap extends AbstractMap<String, Object> implements Serializable {
+
+    private static final long          serialVersionUID = 1L;
+
+    /** 成员少的object按顺序比较key，不需要创建key的String */
+    private final static int           SCAN_THRESHOLD   = 8;
+    private final static Object        NOT_LOADED       = new Object();
+
+    private final transient LazyJSONParser doc;
+    private final transient int        pos;
+
+    /** 每个成员的key在索引中的位置 */
+    private transient int[]            members;
+    private transient Object[]         values;
+    private transient Map<String, Integer> keyIndex;
+
+    /** 遍历或者修改之后展开的map */
+    private transient Map<String, Object> map;
+
+    LazyJSONMap(LazyJSONParser doc, int pos){
+        this.doc = doc;
+        this.pos = pos;
+    }
+
+    public Object get(Object key) {
+        if (map != null) {
+            return map.get(key);
+        }
+
+        int index = indexOf(key);
+        return index == -1 ? null : valueAt(index);
+    }
+
+    public boolean containsKey(Object key) {
+        if (map != null) {
+            return map.containsKey(key);
+        }
+
+        return indexOf(key) != -1;
+    }
+
+    public int size() {
+        if (map != null) {
+            return map.size();
+        }
+
+        return keyIndex().size();
+    }
+
+    public boolean isEmpty() {
+        if (map != null) {
+            return map.isEmpty();
+        }
+
+        return doc.count(pos) == 0;
+    }
+
+    public Object put(String key, Object value) {
+        return inflate().put(key, value);
+    }
+
+    public Object remove(Object key) {
+        return inflate().remove(key);
+    }
+
+    public Set<Map.Entry<String, Object>> entrySet() {
+        return inflate().entrySet();
+    }
+
+    private int[] members() {
+        if (members == null) {
+            int count = doc.count(pos);
+            int[] members = new int[count];
+            for (int i = 0, p = pos + 3; i < count; ++i) {
+                members[i] = p;
+                p = doc.next(p + 3);
+            }
+
+            values = new Object[count];
+            Arrays.fill(values, NOT_LOADED);
+            this.members = members;
+        }
+        return members;
+    }
+
+    private int indexOf(Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+
+        int[] members = members();
+        if (keyIndex == null && members.length <= SCAN_THRESHOLD) {
+            // 重复的key以最后一个为准
+            for (int i = members.length - 1; i >= 0; --i) {
+                if (doc.keyEquals(members[i], (String) key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        Integer index = keyIndex().get(key);
+        return index == null ? -1 : index.intValue();
+    }
+
+    private Map<String, Integer> keyIndex() {
+        if (keyIndex == null) {
+            int[] members = members();
+            Map<String, Integer> keyIndex = new HashMap<String, Integer>(members.length * 4 / 3 + 1);
+            for (int i = 0; i < members.length; ++i) {
+                keyIndex.put(doc.key(members[i]), i);
+            }
+            this.keyIndex = keyIndex;
+        }
+        return keyIndex;
+    }
+
+    private Object valueAt(int index) {
+        Object value = values[index];
+        if (value == NOT_LOADED) {
+            value = doc.value(members[index] + 3);
+            values[index] = value;
+        }
+        return value;
+    }
+
+    private Map<String, Object> inflate() {
+        if (map == null) {
+            int[] members = members();
+            Map<String, Object> map = new LinkedHashMap<String, Object>(members.length * 4 / 3 + 1);
+            for (int i = 0; i < members.length; ++i) {
+                map.put(doc.key(members[i]), valueAt(i));
+            }
+            this.map = map;
+
+            this.members = null;
+            this.values = null;
+            this.keyIndex = null;
+        }
+        return map;
+    }
+
+    private Object writeReplace() {
+        return new LinkedHashMap<String, Object>(inflate());
+    }
+}
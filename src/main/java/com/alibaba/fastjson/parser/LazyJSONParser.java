@@ -0,0 +1,340 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson.parser;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONObject;
+
+/**
+ * 延迟解析：先对整个json文本做一遍结构扫描，把每个值在文本中的位置记录到int[]索引中，
+ * JSONObject/JSONArray中的值在第一次访问的时候才创建。适合很大的json只读取其中少数几个值的场景。
+ * <p>
+ * 索引中每个值占3个int：类型(低4位，object/array的高位是成员个数)、开始位置、
+ * 结束位置(object/array是下一个值在索引中的位置)；object的每个成员在值之前还有一个key。
+ * <p>
+ * 返回的JSONObject/JSONArray引用原始的json文本，修改时先把这一层展开成普通的Map/List。
+ * 不处理$ref引用，也不是线程安全的。
+ *
+ * @since 1.2.57
+ */
+public final class LazyJSONParser {
+
+    final static int     OBJECT      = 1;
+    final static int     ARRAY       = 2;
+    final static int     STRING      = 3;
+    final static int     LITERAL     = 4;
+    final static int     KEY         = 5;
+    /** 字符串或者key中包含转义字符 */
+    final static int     ESCAPED     = 8;
+    final static int     TYPE_MASK   = 7;
+    final static int     COUNT_SHIFT = 4;
+
+    final String         text;
+    final ParserConfig   config;
+    final int            features;
+
+    private int[]        tape        = new int[48];
+    private int          size;
+
+    private LazyJSONParser(String text, ParserConfig config, int features){
+        this.text = text;
+        this.config = config;
+        this.features = features;
+    }
+
+    public static Object parse(String text, ParserConfig config, int features) {
+        if (text == null) {
+            return null;
+        }
+
+        LazyJSONParser parser = new LazyJSONParser(text, config, features);
+        if (!parser.index()) {
+            return null;
+        }
+        return parser.value(0);
+    }
+
+    /**
+     * @return 空白的输入返回false
+     */
+    private boolean index() {
+        final String text = this.text;
+        final int len = text.length();
+
+        int i = skipWhitespace(0);
+        if (i < len && text.charAt(i) == 65279) { // utf-8 bom
+            i = skipWhitespace(i + 1);
+        }
+        if (i == len) {
+            return false;
+        }
+
+        int[] stack = new int[16];
+        int depth = 0;
+        for (;;) {
+            if (i >= len) {
+                throw new JSONException("unclosed json, pos " + i);
+            }
+
+            // 读取一个值
+            char c = text.charAt(i);
+            if (c == '{' || c == '[') {
+                if (depth == stack.length) {
+                    int[] newStack = new int[stack.length * 2];
+                    System.arraycopy(stack, 0, newStack, 0, depth);
+                    stack = newStack;
+                }
+                int p = add(c == '{' ? OBJECT : ARRAY, i, 0);
+                stack[depth++] = p;
+
+                i = skipWhitespace(i + 1);
+                char close = c == '{' ? '}' : ']';
+                if (i < len && text.charAt(i) == close) {
+                    tape[p + 2] = size;
+                    depth--;
+                    i++;
+                } else {
+                    if (c == '{') {
+                        i = scanKey(i);
+                    }
+                    continue;
+                }
+            } else if (c == '"' || c == '\'') {
+                i = string(STRING, i, c);
+            } else {
+                int end = i;
+                while (end < len && !isDelimiter(text.charAt(end))) {
+                    end++;
+                }
+                if (end == i) {
+                    throw new JSONException("syntax error, pos " + i + ", char " + c);
+                }
+                add(LITERAL, i, end);
+                i = end;
+            }
+
+            // 值的后面是','或者结束的括号
+            for (;;) {
+                i = skipWhitespace(i);
+                if (depth == 0) {
+                    if (i != len) {
+                        throw new JSONException("syntax error, pos " + i + ", char " + text.charAt(i));
+                    }
+                    return true;
+                }
+
+                int p = stack[depth - 1];
+                tape[p] += 1 << COUNT_SHIFT;
+
+                boolean isObject = (tape[p] & TYPE_MASK) == OBJECT;
+                c = i < len ? text.charAt(i) : JSONLexer.EOI;
+                if (c == ',') {
+                    i = skipWhitespace(i + 1);
+                    if (isObject) {
+                        i = scanKey(i);
+                    }
+                    break;
+                }
+
+                if (c == (isObject ? '}' : ']')) {
+                    tape[p + 2] = size;
+                    depth--;
+                    i++;
+                    continue;
+                }
+
+                throw new JSONException("syntax error, pos " + i + ", char " + c);
+            }
+        }
+    }
+
+    /**
+     * 读取key和后面的':'
+     */
+    private int scanKey(int i) {
+        char c = i < text.length() ? text.charAt(i) : JSONLexer.EOI;
+        if (c != '"' && c != '\'') {
+            throw new JSONException("syntax error, expect key, pos " + i + ", char " + c);
+        }
+
+        i = skipWhitespace(string(KEY, i, c));
+        if (i >= text.length() || text.charAt(i) != ':') {
+            throw new JSONException("expect ':' at " + i);
+        }
+        return skipWhitespace(i + 1);
+    }
+
+    /**
+     * @return 结束的引号之后的位置
+     */
+    private int string(int type, int start, char quote) {
+        final String text = this.text;
+        for (int i = start + 1, len = text.length(); i < len; ++i) {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                type |= ESCAPED;
+                ++i;
+            } else if (c == quote) {
+                if ((type & TYPE_MASK) == KEY) {
+                    add(type, start + 1, i);
+                } else {
+                    add(type, start, i + 1);
+                }
+                return i + 1;
+            }
+        }
+        throw new JSONException("unclosed str, pos " + start);
+    }
+
+    private int add(int type, int start, int end) {
+        int p = size;
+        if (p + 3 > tape.length) {
+            int[] newTape = new int[tape.length * 2];
+            System.arraycopy(tape, 0, newTape, 0, p);
+            tape = newTape;
+        }
+        tape[p] = type;
+        tape[p + 1] = start;
+        tape[p + 2] = end;
+        size = p + 3;
+        return p;
+    }
+
+    private int skipWhitespace(int i) {
+        final String text = this.text;
+        final int len = text.length();
+        while (i < len) {
+            char c = text.charAt(i);
+            if (c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\f' || c == '\b') {
+                i++;
+            } else if (c == '/' && i + 1 < len && text.charAt(i + 1) == '/') {
+                int end = text.indexOf('\n', i + 2);
+                i = end == -1 ? len : end + 1;
+            } else if (c == '/' && i + 1 < len && text.charAt(i + 1) == '*') {
+                int end = text.indexOf("*/", i + 2);
+                if (end == -1) {
+                    throw new JSONException("unclosed comment, pos " + i);
+                }
+                i = end + 2;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static boolean isDelimiter(char c) {
+        return c == ',' || c == '}' || c == ']' || c == ':' || c == '/' //
+               || c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\f' || c == '\b';
+    }
+
+    final int count(int p) {
+        return tape[p] >>> COUNT_SHIFT;
+    }
+
+    /**
+     * @return 索引中下一个值的位置
+     */
+    final int next(int p) {
+        int type = tape[p] & TYPE_MASK;
+        return type == OBJECT || type == ARRAY ? tape[p + 2] : p + 3;
+    }
+
+    final String key(int p) {
+        int start = tape[p + 1], end = tape[p + 2];
+        if ((tape[p] & ESCAPED) == 0) {
+            return text.substring(start, end);
+        }
+        return (String) parseValue(start - 1, end + 1);
+    }
+
+    final boolean keyEquals(int p, String key) {
+        int start = tape[p + 1], end = tape[p + 2];
+        if ((tape[p] & ESCAPED) != 0) {
+            return key.equals(key(p));
+        }
+        return end - start == key.length() && text.regionMatches(start, key, 0, end - start);
+    }
+
+    final Object value(int p) {
+        final int start = tape[p + 1], end = tape[p + 2];
+        switch (tape[p] & TYPE_MASK) {
+            case OBJECT:
+                return new JSONObject(new LazyJSONMap(this, p));
+            case ARRAY:
+                return new JSONArray(new LazyJSONList(this, p));
+            case STRING:
+                if ((tape[p] & ESCAPED) == 0 && (features & Feature.AllowISO8601DateFormat.mask) == 0) {
+                    return text.substring(start + 1, end - 1);
+                }
+                return parseValue(start, end);
+            default:
+                return literal(start, end);
+        }
+    }
+
+    private Object literal(int start, int end) {
+        final String text = this.text;
+        int len = end - start;
+        if (len == 4 && text.startsWith("null", start)) {
+            return null;
+        }
+        if (len == 4 && text.startsWith("true", start)) {
+            return Boolean.TRUE;
+        }
+        if (len == 5 && text.startsWith("false", start)) {
+            return Boolean.FALSE;
+        }
+
+        // 18位以内的整数直接计算，和lexer一样返回Integer或者Long
+        int i = start;
+        boolean negative = text.charAt(i) == '-';
+        if (negative) {
+            i++;
+        }
+        if (i < end && end - i <= 18) {
+            long value = 0;
+            for (; i < end; ++i) {
+                char c = text.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                value = value * 10 + (c - '0');
+            }
+            if (i == end) {
+                if (negative) {
+                    value = -value;
+                }
+                if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                    return (int) value;
+                }
+                return value;
+            }
+        }
+
+        return parseValue(start, end);
+    }
+
+    private Object parseValue(int start, int end) {
+        DefaultJSONParser parser = new DefaultJSONParser(text.substring(start, end), config, features);
+        try {
+            return parser.parse();
+        } finally {
+            parser.close();
+        }
+    }
+}
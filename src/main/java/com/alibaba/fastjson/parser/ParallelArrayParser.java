@@ -0,0 +1,244 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson.parser;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.alibaba.fastjson.JSONException;
+
+/**
+ * 并行解析顶层的大数组：先做一遍结构扫描找到顶层元素的边界，按元素切分成若干段，
+ * 每段用独立的DefaultJSONParser在executor中反序列化，最后按原来的顺序合并。
+ * <p>
+ * 包含$ref、注释，或者元素太少的输入按原来的方式顺序解析。
+ *
+ * @since 1.2.57
+ */
+public final class ParallelArrayParser {
+
+    /** 每段最少的元素个数，太小的段调度开销比解析还大 */
+    private final static int MIN_ELEMENTS_PER_TASK = 512;
+
+    private ParallelArrayParser(){
+    }
+
+    public static <T> List<T> parseArray(String text, //
+                                         Type itemType, //
+                                         ParserConfig config, //
+                                         int features, //
+                                         ExecutorService executor) {
+        if (text == null) {
+            return null;
+        }
+
+        int[] commas = executor == null || text.indexOf("$ref") != -1 //
+            ? null //
+            : scanTopLevelCommas(text);
+
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        int elements = commas == null ? 0 : commas[0] + 1;
+        int tasks = Math.min(parallelism * 4, elements / MIN_ELEMENTS_PER_TASK);
+
+        if (tasks <= 1) {
+            return parseRange(text, itemType, config, features);
+        }
+
+        int start = text.indexOf('[') + 1;
+        int end = commas[elements];
+
+        List<Future<List<T>>> futures = new ArrayList<Future<List<T>>>(tasks);
+        int from = start;
+        for (int i = 1; i <= tasks; ++i) {
+            int to;
+            if (i == tasks) {
+                to = end;
+            } else {
+                to = commas[(int) ((long) commas[0] * i / tasks)];
+            }
+
+            final String range = text.substring(from, to);
+            futures.add(executor.submit(new RangeTask<T>(range, itemType, config, features)));
+            from = to + 1;
+        }
+
+        List<T> list = new ArrayList<T>(elements);
+        try {
+            for (Future<List<T>> future : futures) {
+                list.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JSONException("parse array interrupted", e);
+        } catch (ExecutionException e) {
+            for (Future<List<T>> future : futures) {
+                future.cancel(true);
+            }
+
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new JSONException("parse array error", cause);
+        }
+
+        return list;
+    }
+
+    private static <T> List<T> parseRange(String text, Type itemType, ParserConfig config, int features) {
+        List<T> list;
+
+        DefaultJSONParser parser = new DefaultJSONParser(text, config, features);
+        JSONLexer lexer = parser.lexer;
+        int token = lexer.token();
+        if (token == JSONToken.NULL) {
+            lexer.nextToken();
+            list = null;
+        } else if (token == JSONToken.EOF && lexer.isBlankInput()) {
+            list = null;
+        } else {
+            list = new ArrayList<T>();
+            parser.parseArray(itemType, list);
+
+            parser.handleResovleTask(list);
+        }
+
+        parser.close();
+
+        return list;
+    }
+
+    /**
+     * 扫描顶层数组中逗号的位置。返回的数组中，第0个元素是逗号的个数n，
+     * [1, n]是逗号的位置，n + 1是结尾']'的位置。
+     *
+     * @return 不是数组、包含注释或者数组之后还有其他内容时返回null
+     */
+    static int[] scanTopLevelCommas(String text) {
+        final int len = text.length();
+
+        int i = 0;
+        for (; i < len; ++i) {
+            char ch = text.charAt(i);
+            if (ch != ' ' && ch != '\t' && ch != '\r' && ch != '\n' && ch != '\f' && ch != '\b' && ch != 65279) {
+                break;
+            }
+        }
+
+        if (i == len || text.charAt(i) != '[') {
+            return null;
+        }
+
+        int[] commas = new int[256];
+        int count = 0;
+        int depth = 0;
+        for (; i < len; ++i) {
+            char ch = text.charAt(i);
+            switch (ch) {
+                case '"':
+                case '\'':
+                    // 跳过字符串
+                    for (++i; i < len; ++i) {
+                        char c = text.charAt(i);
+                        if (c == '\\') {
+                            ++i;
+                        } else if (c == ch) {
+                            break;
+                        }
+                    }
+                    break;
+                case '{':
+                case '[':
+                    depth++;
+                    break;
+                case '}':
+                case ']':
+                    if (--depth == 0) {
+                        for (int j = i + 1; j < len; ++j) {
+                            char c = text.charAt(j);
+                            if (c != ' ' && c != '\t' && c != '\r' && c != '\n' && c != '\f' && c != '\b') {
+                                return null;
+                            }
+                        }
+
+                        commas[0] = count;
+                        commas[count + 1] = i;
+                        return commas;
+                    }
+                    break;
+                case ',':
+                    if (depth == 1) {
+                        if (++count + 1 == commas.length) {
+                            int[] newCommas = new int[commas.length * 2];
+                            System.arraycopy(commas, 0, newCommas, 0, commas.length);
+                            commas = newCommas;
+                        }
+                        commas[count] = i;
+                    }
+                    break;
+                case '/':
+                    return null;
+                default:
+                    break;
+            }
+        }
+
+        return null;
+    }
+
+    private static class RangeTask<T> implements Callable<List<T>> {
+
+        private final String       range;
+        private final Type         itemType;
+        private final ParserConfig config;
+        private final int          features;
+
+        RangeTask(String range, Type itemType, ParserConfig config, int features){
+            this.range = range;
+            this.itemType = itemType;
+            this.config = config;
+            this.features = features;
+        }
+
+        public List<T> call() throws Exception {
+            List<T> list = new ArrayList<T>();
+
+            DefaultJSONParser parser = new DefaultJSONParser(range, config, features);
+            JSONLexer lexer = parser.lexer;
+            for (;;) {
+                @SuppressWarnings("unchecked")
+                T item = (T) parser.parseObject(itemType, null);
+                list.add(item);
+
+                if (lexer.token() == JSONToken.COMMA) {
+                    lexer.nextToken();
+                    if (lexer.token() != JSONToken.EOF) {
+                        continue;
+                    }
+                }
+                break;
+            }
+
+            parser.close();
+            return list;
+        }
+    }
+}
@@ -9,6 +9,9 @@ public class ParseContext {
     public final Object       fieldName;
     public Type               type;
     private transient String  path;
+    /** path的String.hashCode和长度，不创建path字符串计算，pathLength为0表示还没有计算 */
+    private transient int     pathHash;
+    private transient int     pathLength;
 
     public ParseContext(ParseContext parent, Object object, Object fieldName){
         this.parent = parent;
@@ -31,4 +34,105 @@ public class ParseContext {
 
         return path;
     }
+
+    /**
+     * 和toString().hashCode()相同，但是不创建路径字符串
+     *
+     * @since 1.2.57
+     */
+    public int pathHash() {
+        if (pathLength == 0) {
+            if (parent == null) {
+                pathHash = '$';
+                pathLength = 1;
+            } else {
+                int hash = parent.pathHash(), length = parent.pathLength;
+                if (fieldName instanceof Integer && (Integer) fieldName >= 0) {
+                    int index = (Integer) fieldName;
+                    int digits = 1;
+                    for (int i = index; i >= 10; i /= 10) {
+                        digits *= 10;
+                    }
+
+                    hash = 31 * hash + '[';
+                    length++;
+                    for (; digits > 0; digits /= 10) {
+                        hash = 31 * hash + ('0' + (index / digits) % 10);
+                        length++;
+                    }
+                    hash = 31 * hash + ']';
+                    length++;
+                } else {
+                    String name = fieldName instanceof String //
+                        ? (String) fieldName //
+                        : fieldName instanceof Integer ? "[" + fieldName + "]" : "." + fieldName;
+                    if (name == fieldName) {
+                        hash = 31 * hash + '.';
+                        length++;
+                    }
+                    for (int i = 0; i < name.length(); ++i) {
+                        hash = 31 * hash + name.charAt(i);
+                    }
+                    length += name.length();
+                }
+                pathHash = hash;
+                pathLength = length;
+            }
+        }
+        return pathHash;
+    }
+
+    /**
+     * 和toString().equals(path)相同，从后往前逐段比较，不创建路径字符串
+     *
+     * @since 1.2.57
+     */
+    public boolean pathEquals(String path) {
+        if (this.path != null) {
+            return this.path.equals(path);
+        }
+        pathHash();
+        return pathLength == path.length() && matches(path, path.length());
+    }
+
+    private boolean matches(String path, int end) {
+        if (parent == null) {
+            return end == 1 && path.charAt(0) == '$';
+        }
+
+        if (fieldName instanceof Integer && (Integer) fieldName >= 0) {
+            int index = (Integer) fieldName;
+            int p = end - 1;
+            if (p < 0 || path.charAt(p--) != ']') {
+                return false;
+            }
+            do {
+                if (p < 0 || path.charAt(p--) != '0' + index % 10) {
+                    return false;
+                }
+                index /= 10;
+            } while (index != 0);
+            if (p < 0 || path.charAt(p) != '[') {
+                return false;
+            }
+            return parent.matches(path, p);
+        }
+
+        if (fieldName instanceof String) {
+            String name = (String) fieldName;
+            int start = end - name.length() - 1;
+            return start >= 0 //
+                   && path.charAt(start) == '.' //
+                   && path.regionMatches(start + 1, name, 0, name.length()) //
+                   && parent.matches(path, start);
+        }
+
+        String name = fieldName instanceof Integer //
+            ? "[" + fieldName + "]" //
+            : "." + fieldName;
+        int start = end - name.length();
+        return start >= 0 //
+               && path.regionMatches(start, name, 0, name.length()) //
+               && parent.matches(path, start);
+    }
 }
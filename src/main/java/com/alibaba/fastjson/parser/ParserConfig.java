@@ -97,6 +97,8 @@ public class ParserConfig {
     private boolean                                         asmEnable             = !ASMUtils.IS_ANDROID;
 
     public final SymbolTable                                symbolTable           = new SymbolTable(4096);
+
+    private StringValueCache                                stringValueCache;
     
     public PropertyNamingStrategy                           propertyNamingStrategy;
 
@@ -373,6 +375,24 @@ public class ParserConfig {
         this.asmEnable = asmEnable;
     }
 
+    /**
+     * @return 解析时使用的字符串值缓存，默认为null
+     * @since 1.2.57
+     */
+    public StringValueCache getStringValueCache() {
+        return stringValueCache;
+    }
+
+    /**
+     * 设置之后，使用这个config解析时长度不超过maxLength的字符串值会去重，重复的值返回同一个String对象。
+     * 缓存可以被多个config和线程共享
+     *
+     * @since 1.2.57
+     */
+    public void setStringValueCache(StringValueCache stringValueCache) {
+        this.stringValueCache = stringValueCache;
+    }
+
     /**
      * @deprecated
      */
@@ -0,0 +1,149 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson.parser;
+
+import java.io.IOException;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.lang.reflect.Type;
+
+import com.alibaba.fastjson.serializer.JSONSerializable;
+import com.alibaba.fastjson.serializer.JSONSerializer;
+import com.alibaba.fastjson.serializer.SerializeWriter;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+
+/**
+ * Feature.LazyStringValue时JSONObject中的字符串值，只记录在原始文本中的位置，第一次访问时才解码成String。
+ * JSONObject.get/getString返回解码后的String，直接访问内部的map会拿到StringSlice。
+ * <p>
+ * 序列化时没有转义字符并且不需要转义的字符串直接从原始文本复制。未解码的StringSlice会引用整个原始文本。
+ *
+ * @since 1.2.57
+ */
+public final class StringSlice implements CharSequence, JSONSerializable, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 这些特性会对普通字符做转义，不能直接复制 */
+    private static final int  NON_RAW_FEATURES = SerializerFeature.of(new SerializerFeature[] {
+            SerializerFeature.UseSingleQuotes,
+            SerializerFeature.BrowserCompatible,
+            SerializerFeature.BrowserSecure,
+            SerializerFeature.WriteSlashAsSpecial });
+
+    private final String      text;
+    private final int         start;
+    private final int         end;
+    /** 原始文本中有'\\'转义 */
+    private final boolean     escaped;
+    private String            value;
+
+    /**
+     * @param start 开头引号之后的位置
+     * @param end 结尾引号的位置
+     */
+    public StringSlice(String text, int start, int end, boolean escaped){
+        this.text = text;
+        this.start = start;
+        this.end = end;
+        this.escaped = escaped;
+    }
+
+    public boolean isEscaped() {
+        return escaped;
+    }
+
+    public boolean isDecoded() {
+        return value != null;
+    }
+
+    public int length() {
+        return escaped ? toString().length() : end - start;
+    }
+
+    public char charAt(int index) {
+        if (escaped || value != null) {
+            return toString().charAt(index);
+        }
+        if (index < 0 || index >= end - start) {
+            throw new StringIndexOutOfBoundsException(index);
+        }
+        return text.charAt(start + index);
+    }
+
+    public CharSequence subSequence(int start, int end) {
+        return toString().subSequence(start, end);
+    }
+
+    public String toString() {
+        String value = this.value;
+        if (value == null) {
+            if (escaped) {
+                JSONScanner lexer = new JSONScanner(text.substring(start - 1, end + 1));
+                try {
+                    lexer.nextToken();
+                    value = lexer.stringVal();
+                } finally {
+                    lexer.close();
+                }
+            } else {
+                value = text.substring(start, end);
+            }
+            this.value = value;
+        }
+        return value;
+    }
+
+    public boolean equals(Object o) {
+        if (o instanceof StringSlice || o instanceof String) {
+            return toString().equals(o.toString());
+        }
+        return false;
+    }
+
+    public int hashCode() {
+        return toString().hashCode();
+    }
+
+    public void write(JSONSerializer serializer, Object fieldName, Type fieldType, int features) throws IOException {
+        SerializeWriter out = serializer.out;
+        if (value != null || escaped || out.isEnabled(NON_RAW_FEATURES) || !isRaw()) {
+            out.writeString(toString());
+            return;
+        }
+
+        out.write('"');
+        out.write(text, start, end - start);
+        out.write('"');
+    }
+
+    /**
+     * SerializeWriter默认转义的字符：控制字符、0x7F到0x9F、U+2028和U+2029
+     */
+    private boolean isRaw() {
+        for (int i = start; i < end; ++i) {
+            char ch = text.charAt(i);
+            if (ch < 0x20 || (ch >= 0x7F && (ch < 0xA0 || ch == '\u2028' || ch == '\u2029'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Object writeReplace() throws ObjectStreamException {
+        return toString();
+    }
+}
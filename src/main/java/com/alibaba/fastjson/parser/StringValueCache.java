@@ -0,0 +1,188 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson.parser;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 解析时字符串值的去重缓存，通过ParserConfig.setStringValueCache开启，lexer的stringVal()对长度不超过maxLength的值先查缓存，
+ * 相同内容的值返回同一个String对象。
+ * <p>
+ * 按hash直接映射到固定大小的数组，冲突时新值替换旧值，所以内存是有上限的。多线程无锁读写，不调用String.intern。
+ *
+ * @since 1.2.57
+ */
+public class StringValueCache {
+
+    private final static int                   HIT  = 0;
+    private final static int                   MISS = 1;
+
+    private final AtomicReferenceArray<String> values;
+    private final int                          maxLength;
+
+    /** 命中和没有命中的次数，默认为null，不统计，命中时不写任何共享的字段 */
+    private volatile AtomicLongArray           statistics;
+
+    /**
+     * @param capacity 缓存的字符串个数，会向上取整到2的幂
+     * @param maxLength 只缓存长度不超过maxLength的字符串
+     */
+    public StringValueCache(int capacity, int maxLength){
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("illegal capacity " + capacity);
+        }
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("illegal maxLength " + maxLength);
+        }
+
+        int n = 1;
+        while (n < capacity && n < (1 << 30)) {
+            n <<= 1;
+        }
+        this.values = new AtomicReferenceArray<String>(n);
+        this.maxLength = maxLength;
+    }
+
+    public String get(char[] chars, int offset, int len) {
+        if (len > maxLength) {
+            return new String(chars, offset, len);
+        }
+
+        int hash = 0;
+        for (int i = 0; i < len; ++i) {
+            hash = 31 * hash + chars[offset + i];
+        }
+
+        final int index = slot(hash);
+        String value = values.get(index);
+        if (value != null && value.length() == len && value.hashCode() == hash) {
+            boolean eq = true;
+            for (int i = 0; i < len; ++i) {
+                if (chars[offset + i] != value.charAt(i)) {
+                    eq = false;
+                    break;
+                }
+            }
+
+            if (eq) {
+                count(HIT);
+                return value;
+            }
+        }
+
+        count(MISS);
+        value = new String(chars, offset, len);
+        values.set(index, value);
+        return value;
+    }
+
+    public String get(String text, int offset, int len) {
+        if (len > maxLength) {
+            return text.substring(offset, offset + len);
+        }
+
+        int hash = 0;
+        for (int i = 0; i < len; ++i) {
+            hash = 31 * hash + text.charAt(offset + i);
+        }
+
+        final int index = slot(hash);
+        String value = values.get(index);
+        if (value != null //
+                && value.length() == len //
+                && value.hashCode() == hash //
+                && text.startsWith(value, offset)) {
+            count(HIT);
+            return value;
+        }
+
+        count(MISS);
+        value = text.substring(offset, offset + len);
+        values.set(index, value);
+        return value;
+    }
+
+    private void count(int index) {
+        AtomicLongArray statistics = this.statistics;
+        if (statistics != null) {
+            statistics.incrementAndGet(index);
+        }
+    }
+
+    private int slot(int hash) {
+        return (hash ^ (hash >>> 16)) & (values.length() - 1);
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    public int getCapacity() {
+        return values.length();
+    }
+
+    /**
+     * 开启或者关闭命中次数的统计，默认关闭。开启时计数从0开始；开启后每次查询都会更新多个线程共享的计数器
+     */
+    public void setStatisticsEnabled(boolean enabled) {
+        this.statistics = enabled ? new AtomicLongArray(2) : null;
+    }
+
+    public boolean isStatisticsEnabled() {
+        return statistics != null;
+    }
+
+    /**
+     * @return 命中的次数，没有开启统计时是0
+     */
+    public long getHitCount() {
+        AtomicLongArray statistics = this.statistics;
+        return statistics == null ? 0 : statistics.get(HIT);
+    }
+
+    /**
+     * @return 没有命中、创建了新字符串的次数，没有开启统计时是0
+     */
+    public long getMissCount() {
+        AtomicLongArray statistics = this.statistics;
+        return statistics == null ? 0 : statistics.get(MISS);
+    }
+
+    /**
+     * @return 命中率，没有开启统计或者没有查询过时返回0
+     */
+    public double getHitRate() {
+        AtomicLongArray statistics = this.statistics;
+        if (statistics == null) {
+            return 0D;
+        }
+        long hits = statistics.get(HIT), total = hits + statistics.get(MISS);
+        return total == 0 ? 0D : (double) hits / total;
+    }
+
+    /**
+     * 清空缓存和统计信息
+     */
+    public void clear() {
+        for (int i = 0; i < values.length(); ++i) {
+            values.set(i, null);
+        }
+        if (statistics != null) {
+            statistics = new AtomicLongArray(2);
+        }
+    }
+}
@@ -15,22 +15,55 @@
  */
 package com.alibaba.fastjson.parser;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 import com.alibaba.fastjson.JSON;
 
 /**
+ * 开放寻址(线性探测)的symbol表，多线程无锁读写。超过3/4时容量翻倍，最大不超过maxCapacity，
+ * 探测MAX_PROBES个槽都没有找到时不再缓存，所以内存是有上限的。不调用String.intern。
+ * <p>
+ * 只有"$ref"和JSON.DEFAULT_TYPE_KEY保证返回同一个对象(字符串常量)，可以按引用比较。其他symbol不是intern的字符串，
+ * 表满之后每次都可能返回新的String，不要用==比较。
+ *
  * @author wenshao[szujobs@hotmail.com]
  */
 public class SymbolTable {
 
-    private final String[] symbols;
-    private final int      indexMask;
-    
+    /** 每个symbol最多探测的槽数 */
+    private final static int                       MAX_PROBES = 8;
+
+    private final static int                       HIT        = 0;
+    private final static int                       MISS       = 1;
+
+    private volatile AtomicReferenceArray<String> symbols;
+    private final int                             maxCapacity;
+    private final AtomicInteger                   size       = new AtomicInteger();
+    private final AtomicBoolean                   resizing   = new AtomicBoolean();
+
+    /** 命中和没有命中的次数，默认为null，不统计，命中时不写任何共享的字段 */
+    private volatile AtomicLongArray              statistics;
+
     public SymbolTable(int tableSize){
-        this.indexMask = tableSize - 1;
-        this.symbols = new String[tableSize];
-        
-        this.addSymbol("$ref", 0, 4, "$ref".hashCode());
-        this.addSymbol(JSON.DEFAULT_TYPE_KEY, 0, JSON.DEFAULT_TYPE_KEY.length(), JSON.DEFAULT_TYPE_KEY.hashCode());
+        this(tableSize, tableSize << 2);
+    }
+
+    /**
+     * @param initialCapacity 初始容量，会向上取整到2的幂
+     * @param maxCapacity 扩容的上限
+     * @since 1.2.57
+     */
+    public SymbolTable(int initialCapacity, int maxCapacity){
+        int capacity = tableSizeFor(initialCapacity);
+        this.maxCapacity = Math.max(capacity, tableSizeFor(maxCapacity));
+        this.symbols = new AtomicReferenceArray<String>(capacity);
+
+        // 解析时按引用比较这两个key，要保证返回的是同一个对象
+        put(symbols, "$ref");
+        put(symbols, JSON.DEFAULT_TYPE_KEY);
     }
 
     public String addSymbol(char[] buffer, int offset, int len) {
@@ -43,73 +76,255 @@ public class SymbolTable {
      * Adds the specified symbol to the symbol table and returns a reference to the unique symbol. If the symbol already
      * exists, the previous symbol reference is returned instead, in order guarantee that symbol references remain
      * unique.
-     * 
+     *
      * @param buffer The buffer containing the new symbol.
      * @param offset The offset into the buffer of the new symbol.
      * @param len The length of the new symbol in the buffer.
      */
     public String addSymbol(char[] buffer, int offset, int len, int hash) {
-        final int bucket = hash & indexMask;
-        
-        String symbol = symbols[bucket];
-        if (symbol != null) {
-            boolean eq = true;
-            if (hash == symbol.hashCode() // 
+        final AtomicReferenceArray<String> symbols = this.symbols;
+        final int mask = symbols.length() - 1;
+
+        for (int i = 0; i < MAX_PROBES; ++i) {
+            final int index = (hash + i) & mask;
+            String symbol = symbols.get(index);
+            if (symbol == null) {
+                count(MISS);
+                return insert(symbols, index, new String(buffer, offset, len));
+            }
+
+            if (hash == symbol.hashCode() //
                     && len == symbol.length()) {
-                for (int i = 0; i < len; i++) {
-                    if (buffer[offset + i] != symbol.charAt(i)) {
+                boolean eq = true;
+                for (int j = 0; j < len; j++) {
+                    if (buffer[offset + j] != symbol.charAt(j)) {
                         eq = false;
                         break;
                     }
                 }
-            } else {
-                eq = false;
-            }
-            
-            if (eq) {
-                return symbol;
-            } else {
-                return new String(buffer, offset, len);    
+
+                if (eq) {
+                    count(HIT);
+                    return symbol;
+                }
             }
         }
-        
-        symbol = new String(buffer, offset, len).intern();
-        symbols[bucket] = symbol;
-        return symbol;
+
+        count(MISS);
+        return new String(buffer, offset, len);
     }
 
     public String addSymbol(String buffer, int offset, int len, int hash) {
         return addSymbol(buffer, offset, len, hash, false);
     }
 
+    /**
+     * @param replace 为true时用这次的字符串替换表中相同的symbol
+     */
     public String addSymbol(String buffer, int offset, int len, int hash, boolean replace) {
-        final int bucket = hash & indexMask;
+        final AtomicReferenceArray<String> symbols = this.symbols;
+        final int mask = symbols.length() - 1;
 
-        String symbol = symbols[bucket];
-        if (symbol != null) {
-            if (hash == symbol.hashCode() // 
+        for (int i = 0; i < MAX_PROBES; ++i) {
+            final int index = (hash + i) & mask;
+            String symbol = symbols.get(index);
+            if (symbol == null) {
+                count(MISS);
+                symbol = len == buffer.length() //
+                    ? buffer //
+                    : subString(buffer, offset, len);
+                return insert(symbols, index, symbol);
+            }
+
+            if (hash == symbol.hashCode() //
                     && len == symbol.length() //
                     && buffer.startsWith(symbol, offset)) {
+                if (replace && !isPinned(symbol)) {
+                    symbol = len == buffer.length() //
+                        ? buffer //
+                        : subString(buffer, offset, len);
+                    symbols.set(index, symbol);
+                    return symbol;
+                }
+
+                count(HIT);
                 return symbol;
             }
+        }
 
-            String str = subString(buffer, offset, len);
-
-            if (replace) {
-                symbols[bucket] = str;
+        count(MISS);
+        String str = subString(buffer, offset, len);
+        if (replace) {
+            final int index = hash & mask;
+            String old = symbols.get(index);
+            if (!isPinned(old)) {
+                symbols.compareAndSet(index, old, str);
             }
+        }
+        return str;
+    }
+
+    /**
+     * 解析时按引用比较的key，不能被替换
+     */
+    private static boolean isPinned(String symbol) {
+        return symbol == "$ref" || symbol == JSON.DEFAULT_TYPE_KEY;
+    }
+
+    private void count(int index) {
+        AtomicLongArray statistics = this.statistics;
+        if (statistics != null) {
+            statistics.incrementAndGet(index);
+        }
+    }
 
-            return str;
+    private String insert(AtomicReferenceArray<String> symbols, int index, String symbol) {
+        if (!symbols.compareAndSet(index, null, symbol)) {
+            // 其他线程同时写入了这个槽，是同一个symbol时返回先写入的
+            String other = symbols.get(index);
+            return symbol.equals(other) ? other : symbol;
+        }
+
+        int capacity = symbols.length();
+        if (size.incrementAndGet() > (capacity >> 1) + (capacity >> 2)) {
+            resize(symbols);
         }
-        
-        symbol = len == buffer.length() //
-            ? buffer //
-            : subString(buffer, offset, len);
-        symbol = symbol.intern();
-        symbols[bucket] = symbol;
         return symbol;
     }
-    
+
+    /**
+     * 只有一个线程扩容，其他线程在扩容期间继续使用原来的表，期间写入原来的表的symbol可能会丢失，之后重新加入
+     */
+    private void resize(AtomicReferenceArray<String> symbols) {
+        final int capacity = symbols.length();
+        if (capacity >= maxCapacity || !resizing.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            if (this.symbols != symbols) {
+                return;
+            }
+
+            AtomicReferenceArray<String> newSymbols = new AtomicReferenceArray<String>(capacity << 1);
+            int count = 0;
+
+            // 先放入按引用比较的key，保证它们不会因为探测次数超出而丢失
+            String[] pinned = new String[] { "$ref", JSON.DEFAULT_TYPE_KEY };
+            for (String key : pinned) {
+                String symbol = get(symbols, key);
+                if (symbol != null && put(newSymbols, symbol)) {
+                    count++;
+                }
+            }
+
+            for (int i = 0; i < capacity; ++i) {
+                String symbol = symbols.get(i);
+                if (symbol != null && put(newSymbols, symbol)) {
+                    count++;
+                }
+            }
+
+            size.set(count);
+            this.symbols = newSymbols;
+        } finally {
+            resizing.set(false);
+        }
+    }
+
+    private static String get(AtomicReferenceArray<String> symbols, String key) {
+        final int mask = symbols.length() - 1, hash = key.hashCode();
+        for (int i = 0; i < MAX_PROBES; ++i) {
+            String symbol = symbols.get((hash + i) & mask);
+            if (symbol == null) {
+                return null;
+            }
+            if (symbol.equals(key)) {
+                return symbol;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return 是否放入了新的槽
+     */
+    private boolean put(AtomicReferenceArray<String> symbols, String symbol) {
+        final int mask = symbols.length() - 1, hash = symbol.hashCode();
+        for (int i = 0; i < MAX_PROBES; ++i) {
+            final int index = (hash + i) & mask;
+            String other = symbols.get(index);
+            if (other == null) {
+                symbols.set(index, symbol);
+                if (symbols == this.symbols) {
+                    size.incrementAndGet();
+                }
+                return true;
+            }
+            if (other == symbol) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 开启或者关闭命中次数的统计，默认关闭。开启时计数从0开始；开启后每次addSymbol都会更新多个线程共享的计数器，
+     * ParserConfig.global的SymbolTable只建议在排查问题时开启
+     *
+     * @since 1.2.57
+     */
+    public void setStatisticsEnabled(boolean enabled) {
+        this.statistics = enabled ? new AtomicLongArray(2) : null;
+    }
+
+    /**
+     * @since 1.2.57
+     */
+    public boolean isStatisticsEnabled() {
+        return statistics != null;
+    }
+
+    /**
+     * @return 命中的次数，没有开启统计时是0
+     * @since 1.2.57
+     */
+    public long getHitCount() {
+        AtomicLongArray statistics = this.statistics;
+        return statistics == null ? 0 : statistics.get(HIT);
+    }
+
+    /**
+     * @return 没有命中、创建了新字符串的次数，没有开启统计时是0
+     * @since 1.2.57
+     */
+    public long getMissCount() {
+        AtomicLongArray statistics = this.statistics;
+        return statistics == null ? 0 : statistics.get(MISS);
+    }
+
+    /**
+     * @since 1.2.57
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * @since 1.2.57
+     */
+    public int getCapacity() {
+        return symbols.length();
+    }
+
+    private static int tableSizeFor(int size) {
+        int capacity = 16;
+        while (capacity < size && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
     private static String subString(String src, int offset, int len) {
         char[] chars = new char[len];
         src.getChars(offset, offset + len, chars, 0);
@@ -125,4 +340,4 @@ public class SymbolTable {
         }
         return h;
     }
-}
\ No newline at end of file
+}
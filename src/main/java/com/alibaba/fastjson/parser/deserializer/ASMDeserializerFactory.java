@@ -629,17 +629,26 @@ public class ASMDeserializerFactory implements Opcodes {
         mw.visitLdcInsn(com.alibaba.fastjson.parser.JSONLexerBase.NOT_MATCH);
         mw.visitJumpInsn(IF_ICMPEQ, super_);
 
-        mw.visitVarInsn(ALOAD, 1); // parser
-        mw.visitMethodInsn(INVOKEVIRTUAL, DefaultJSONParser, "getContext", "()" + desc(ParseContext.class));
-        mw.visitVarInsn(ASTORE, context.var("mark_context"));
-
-        // ParseContext context = parser.getContext();
         mw.visitInsn(ICONST_0);
         mw.visitVarInsn(ISTORE, context.var("matchedCount"));
 
         _createInstance(context, mw);
 
         {
+            // 关闭循环引用检测时不读取和设置context，childContext为null
+            Label track_ = new Label(), tracked_ = new Label();
+            mw.visitVarInsn(ALOAD, context.var("lexer"));
+            mw.visitLdcInsn(Feature.DisableCircularReferenceDetect.mask);
+            mw.visitMethodInsn(INVOKEVIRTUAL, JSONLexerBase, "isEnabled", "(I)Z");
+            mw.visitJumpInsn(IFEQ, track_);
+
+            mw.visitInsn(ACONST_NULL);
+            mw.visitVarInsn(ASTORE, context.var("context"));
+            mw.visitInsn(ACONST_NULL);
+            mw.visitVarInsn(ASTORE, context.var("childContext"));
+            mw.visitJumpInsn(GOTO, tracked_);
+
+            mw.visitLabel(track_);
             mw.visitVarInsn(ALOAD, 1); // parser
             mw.visitMethodInsn(INVOKEVIRTUAL, DefaultJSONParser, "getContext", "()" + desc(ParseContext.class));
             mw.visitVarInsn(ASTORE, context.var("context"));
@@ -652,6 +661,7 @@ public class ASMDeserializerFactory implements Opcodes {
                                "(" + desc(ParseContext.class) + "Ljava/lang/Object;Ljava/lang/Object;)"
                                                                                + desc(ParseContext.class));
             mw.visitVarInsn(ASTORE, context.var("childContext"));
+            mw.visitLabel(tracked_);
         }
 
         mw.visitVarInsn(ALOAD, context.var("lexer"));
@@ -1240,14 +1250,15 @@ public class ASMDeserializerFactory implements Opcodes {
     }
 
     private void _setContext(Context context, MethodVisitor mw) {
-        mw.visitVarInsn(ALOAD, 1); // parser
-        mw.visitVarInsn(ALOAD, context.var("context"));
-        mw.visitMethodInsn(INVOKEVIRTUAL, DefaultJSONParser, "setContext", "(" + desc(ParseContext.class) + ")V");
-
+        // 开启循环引用检测时childContext不会是null
         Label endIf_ = new Label();
         mw.visitVarInsn(ALOAD, context.var("childContext"));
         mw.visitJumpInsn(IFNULL, endIf_);
 
+        mw.visitVarInsn(ALOAD, 1); // parser
+        mw.visitVarInsn(ALOAD, context.var("context"));
+        mw.visitMethodInsn(INVOKEVIRTUAL, DefaultJSONParser, "setContext", "(" + desc(ParseContext.class) + ")V");
+
         mw.visitVarInsn(ALOAD, context.var("childContext"));
         mw.visitVarInsn(ALOAD, context.var("instance"));
         mw.visitFieldInsn(PUTFIELD, type(ParseContext.class), "object", "Ljava/lang/Object;");
@@ -1371,12 +1382,17 @@ public class ASMDeserializerFactory implements Opcodes {
             mw.visitMethodInsn(INVOKEVIRTUAL, DefaultJSONParser, "getContext", "()" + desc(ParseContext.class));
             mw.visitVarInsn(ASTORE, context.var("listContext"));
 
+            Label tracked_ = new Label();
+            mw.visitVarInsn(ALOAD, context.var("childContext"));
+            mw.visitJumpInsn(IFNULL, tracked_);
+
             mw.visitVarInsn(ALOAD, 1); // parser
             mw.visitVarInsn(ALOAD, context.var(fieldInfo.name + "_asm"));
             mw.visitLdcInsn(fieldInfo.name);
             mw.visitMethodInsn(INVOKEVIRTUAL, DefaultJSONParser, "setContext",
                                "(Ljava/lang/Object;Ljava/lang/Object;)" + desc(ParseContext.class));
             mw.visitInsn(POP);
+            mw.visitLabel(tracked_);
         }
 
         Label loop_ = new Label();
@@ -57,7 +57,19 @@ public class ArrayListTypeFieldDeserializer extends FieldDeserializer {
             return;
         }
 
-        ArrayList list = new ArrayList();
+        // JSON.parseObjectInto时写入到object中已有的集合
+        Collection list = null;
+        if (object != null && parser.isReuseFieldValues()) {
+            Object current = getValue(object);
+            if (current instanceof Collection) {
+                list = (Collection) current;
+                list.clear();
+            }
+        }
+        final boolean reused = list != null;
+        if (!reused) {
+            list = new ArrayList();
+        }
 
         ParseContext context = parser.getContext();
 
@@ -67,7 +79,7 @@ public class ArrayListTypeFieldDeserializer extends FieldDeserializer {
 
         if (object == null) {
             fieldValues.put(fieldInfo.name, list);
-        } else {
+        } else if (!reused) {
             setValue(object, list);
         }
     }
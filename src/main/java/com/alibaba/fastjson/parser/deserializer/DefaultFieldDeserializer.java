@@ -5,6 +5,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Collection;
 import java.util.Map;
 import java.util.zip.GZIPInputStream;
 
@@ -16,6 +17,7 @@ import com.alibaba.fastjson.parser.JSONToken;
 import com.alibaba.fastjson.parser.ParseContext;
 import com.alibaba.fastjson.parser.ParserConfig;
 import com.alibaba.fastjson.util.FieldInfo;
+import com.alibaba.fastjson.util.TypeUtils;
 
 public class DefaultFieldDeserializer extends FieldDeserializer {
 
@@ -68,6 +70,10 @@ public class DefaultFieldDeserializer extends FieldDeserializer {
             }
         }
 
+        if (object != null && parser.isReuseFieldValues() && reuseFieldValue(parser, object, fieldType, fieldValueDeserilizer)) {
+            return;
+        }
+
         // ContextObjectDeserializer
         Object value;
         if (fieldValueDeserilizer instanceof JavaBeanDeserializer && fieldInfo.parserFeatures != 0) {
@@ -111,6 +117,10 @@ public class DefaultFieldDeserializer extends FieldDeserializer {
             }
         }
 
+        setFieldValue(parser, object, fieldValues, value);
+    }
+
+    private void setFieldValue(DefaultJSONParser parser, Object object, Map<String, Object> fieldValues, Object value) {
         if (parser.getResolveStatus() == DefaultJSONParser.NeedToResolve) {
             ResolveTask task = parser.getLastResolveTask();
             task.fieldDeserializer = this;
@@ -125,6 +135,44 @@ public class DefaultFieldDeserializer extends FieldDeserializer {
         }
     }
 
+    /**
+     * object中已经有这个属性的JavaBean或者集合时，直接写入到已有的对象中
+     */
+    @SuppressWarnings("rawtypes")
+    private boolean reuseFieldValue(DefaultJSONParser parser, Object object, Type fieldType, ObjectDeserializer fieldValueDeserilizer) {
+        if (customDeserilizer) {
+            return false;
+        }
+
+        Object current = getValue(object);
+        if (current == null) {
+            return false;
+        }
+
+        int token = parser.lexer.token();
+        if (token == JSONToken.LBRACE && fieldValueDeserilizer instanceof JavaBeanDeserializer) {
+            JavaBeanDeserializer beanDeser = (JavaBeanDeserializer) fieldValueDeserilizer;
+            if (current.getClass() != beanDeser.clazz) {
+                return false;
+            }
+            Object value = beanDeser.fillInstance(parser, fieldType, fieldInfo.name, current);
+            if (value != current || parser.getResolveStatus() == DefaultJSONParser.NeedToResolve) {
+                // {"$ref":...}或者@type返回的不是current，和普通解析一样设置返回的对象
+                setFieldValue(parser, object, null, value);
+            }
+            return true;
+        }
+
+        if (token == JSONToken.LBRACKET && current instanceof Collection) {
+            Collection collection = (Collection) current;
+            collection.clear();
+            parser.parseArray(TypeUtils.getCollectionItemType(fieldType), collection, fieldInfo.name);
+            return true;
+        }
+
+        return false;
+    }
+
     public int getFastMatchToken() {
         if (fieldValueDeserilizer != null) {
             return fieldValueDeserilizer.getFastMatchToken();
@@ -35,6 +35,26 @@ public abstract class FieldDeserializer {
         return 0;
     }
 
+    /**
+     * 读取object中这个属性当前的值，只有setter、没有可读的field时返回null
+     *
+     * @since 1.2.57
+     */
+    public Object getValue(Object object) {
+        try {
+            if (fieldInfo.method != null && fieldInfo.getOnly) {
+                return fieldInfo.method.invoke(object);
+            }
+
+            if (fieldInfo.field != null) {
+                return fieldInfo.field.get(object);
+            }
+        } catch (Exception e) {
+            throw new JSONException("get property error, " + clazz.getName() + "#" + fieldInfo.name, e);
+        }
+        return null;
+    }
+
     public void setValue(Object object, boolean value) {
         setValue(object, Boolean.valueOf(value));
     }
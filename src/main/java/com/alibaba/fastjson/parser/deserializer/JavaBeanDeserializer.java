@@ -6,6 +6,7 @@ import java.math.BigInteger;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONException;
@@ -38,6 +39,16 @@ public class JavaBeanDeserializer implements ObjectDeserializer {
 
     private transient long[] hashArray;
     private transient short[] hashArrayMapping;
+
+    /** 连续多少个对象的字段顺序和预测的不一致时重新学习 */
+    private final static int ADAPT_THRESHOLD = 2;
+
+    /**
+     * 观察到的输入字段顺序，元素是sortedFieldDeserializers的下标，和排序后的顺序一致时为null。
+     * 只在打开Feature.AdaptiveFieldOrder时使用和更新
+     */
+    private volatile int[] fieldOrder;
+    private final AtomicInteger orderMisses = new AtomicInteger();
     
     public JavaBeanDeserializer(ParserConfig config, Class<?> clazz) {
         this(config, clazz, clazz);
@@ -118,6 +129,14 @@ public class JavaBeanDeserializer implements ObjectDeserializer {
     }
 
     public FieldDeserializer getFieldDeserializer(long hash) {
+        int index = getFieldIndex(hash);
+        return index == -1 ? null : sortedFieldDeserializers[index];
+    }
+
+    /**
+     * @return 按fnv1a_64 hash查找字段在sortedFieldDeserializers中的位置，找不到时返回-1
+     */
+    private int getFieldIndex(long hash) {
         if (this.hashArray == null) {
             long[] hashArray = new long[sortedFieldDeserializers.length];
             for (int i = 0; i < sortedFieldDeserializers.length; i++) {
@@ -129,7 +148,7 @@ public class JavaBeanDeserializer implements ObjectDeserializer {
 
         int pos = Arrays.binarySearch(hashArray, hash);
         if (pos < 0) {
-            return null;
+            return -1;
         }
 
         if (hashArrayMapping == null) {
@@ -145,12 +164,7 @@ public class JavaBeanDeserializer implements ObjectDeserializer {
             hashArrayMapping = mapping;
         }
 
-        int setterIndex = hashArrayMapping[pos];
-        if (setterIndex != -1) {
-            return sortedFieldDeserializers[setterIndex];
-        }
-
-        return null; // key not found.
+        return hashArrayMapping[pos];
     }
 
     static boolean isSetFlag(int i, int[] setFlags) {
@@ -273,6 +287,80 @@ public class JavaBeanDeserializer implements ObjectDeserializer {
         return deserialze(parser, type, fieldName, null, features, null);
     }
 
+    /**
+     * 把当前位置的json对象写入到已经存在的instance中，用于对象池复用对象。
+     * 先用{@link #resetInstance(ParserConfig, Object)}重置instance，json中没有的属性保持默认值；
+     * parser的reuseFieldValues为true时，嵌套的JavaBean和集合继续使用instance中已有的对象。
+     *
+     * @since 1.2.57
+     */
+    public <T> T deserialzeInto(DefaultJSONParser parser, Object fieldName, T instance) {
+        resetInstance(parser.getConfig(), instance);
+        return fillInstance(parser, clazz, fieldName, instance);
+    }
+
+    <T> T fillInstance(DefaultJSONParser parser, Type type, Object fieldName, T instance) {
+        // 和ASM代码调用parseRest时一样，先为instance设置context，deserialze结束时恢复成当前的context
+        parser.setContext(parser.getContext(), instance, fieldName);
+        return deserialze(parser, type, fieldName, instance, 0, null);
+    }
+
+    /**
+     * 把instance的属性重置为默认值：基本类型为0/false，集合和Map清空，嵌套的JavaBean递归重置，其他属性设为null。
+     * instance的对象图不能有循环引用
+     *
+     * @since 1.2.57
+     */
+    @SuppressWarnings("rawtypes")
+    public void resetInstance(ParserConfig config, Object instance) {
+        for (FieldDeserializer fieldDeser : sortedFieldDeserializers) {
+            FieldInfo fieldInfo = fieldDeser.fieldInfo;
+            Class<?> fieldClass = fieldInfo.fieldClass;
+            if (fieldClass.isPrimitive()) {
+                fieldDeser.setValue(instance, defaultValue(fieldClass));
+                continue;
+            }
+
+            Object value = fieldDeser.getValue(instance);
+            if (value == null) {
+                continue;
+            }
+
+            if (value instanceof Collection) {
+                ((Collection) value).clear();
+            } else if (value instanceof Map) {
+                ((Map) value).clear();
+            } else {
+                ObjectDeserializer deserializer = config.getDeserializer(value.getClass());
+                if (deserializer instanceof JavaBeanDeserializer) {
+                    ((JavaBeanDeserializer) deserializer).resetInstance(config, value);
+                } else if (!fieldInfo.getOnly) {
+                    fieldDeser.setValue(instance, (Object) null);
+                }
+            }
+        }
+    }
+
+    private static Object defaultValue(Class<?> fieldClass) {
+        if (fieldClass == boolean.class) {
+            return Boolean.FALSE;
+        } else if (fieldClass == char.class) {
+            return Character.valueOf('\0');
+        } else if (fieldClass == byte.class) {
+            return Byte.valueOf((byte) 0);
+        } else if (fieldClass == short.class) {
+            return Short.valueOf((short) 0);
+        } else if (fieldClass == int.class) {
+            return Integer.valueOf(0);
+        } else if (fieldClass == long.class) {
+            return Long.valueOf(0L);
+        } else if (fieldClass == float.class) {
+            return Float.valueOf(0F);
+        } else {
+            return Double.valueOf(0D);
+        }
+    }
+
     @SuppressWarnings({ "unchecked" })
     public <T> T deserialzeArrayMapping(DefaultJSONParser parser, Type type, Object fieldName, Object object) {
         final JSONLexer lexer = parser.lexer; // xxx
@@ -479,6 +567,19 @@ public class JavaBeanDeserializer implements ObjectDeserializer {
             }
 
             String typeKey = beanInfo.typeKey;
+            // 指定了projection时不做按顺序的快速匹配，每个属性都经过parseField判断是否需要跳过
+            final int fastMatchCount = parser.getProjection() == null ? sortedFieldDeserializers.length : 0;
+
+            // 按照学习到的字段顺序快速匹配，顺序不一致时记录这次的顺序，连续不一致时替换fieldOrder
+            final boolean adaptOrder = fastMatchCount > 0 && lexer.isEnabled(Feature.AdaptiveFieldOrder);
+            final int[] fieldOrder = adaptOrder ? this.fieldOrder : null;
+            final boolean learnOrder = adaptOrder && fastMatchCount <= 64
+                    && orderMisses.get() >= ADAPT_THRESHOLD - 1;
+            boolean orderMissed = false;
+            long fastMatched = 0; // 第一次不一致之前快速匹配上的fieldIndex
+            int[] observed = null;
+            int observedCount = 0;
+
             for (int fieldIndex = 0;; fieldIndex++) {
                 String key = null;
                 FieldDeserializer fieldDeser = null;
@@ -486,8 +587,10 @@ public class JavaBeanDeserializer implements ObjectDeserializer {
                 Class<?> fieldClass = null;
                 JSONField feildAnnotation = null;
                 boolean customDeserilizer = false;
-                if (fieldIndex < sortedFieldDeserializers.length) {
-                    fieldDeser = sortedFieldDeserializers[fieldIndex];
+                int sortedIndex = -1;
+                if (fieldIndex < fastMatchCount) {
+                    sortedIndex = fieldOrder == null ? fieldIndex : fieldOrder[fieldIndex];
+                    fieldDeser = sortedFieldDeserializers[sortedIndex];
                     fieldInfo = fieldDeser.fieldInfo;
                     fieldClass = fieldInfo.fieldClass;
                     feildAnnotation = fieldInfo.getAnnotation();
@@ -660,8 +763,38 @@ public class JavaBeanDeserializer implements ObjectDeserializer {
                     }
                 }
                 
+                FieldDeserializer hashMatchedDeser = null;
                 if (!matchField) {
-                    key = lexer.scanSymbol(parser.symbolTable);
+                    // 先按hash直接匹配字段，匹配不上时才需要字段名
+                    long keyHash = lexer.scanFieldHash();
+                    if (lexer.matchStat == JSONLexer.VALUE) {
+                        int hashIndex = getFieldIndex(keyHash);
+                        if (hashIndex != -1 && !isSetFlag(hashIndex, setFlags)) {
+                            hashMatchedDeser = sortedFieldDeserializers[hashIndex];
+                        }
+
+                        if (hashIndex != -1 && fastMatchCount > 0) {
+                            if (hashIndex != sortedIndex && !orderMissed) {
+                                orderMissed = true;
+                                if (learnOrder) {
+                                    observed = new int[fastMatchCount];
+                                    for (int i = 0; i < 64 && fastMatched != 0; ++i, fastMatched >>>= 1) {
+                                        if ((fastMatched & 1) != 0) {
+                                            observed[observedCount++] = fieldOrder == null ? i : fieldOrder[i];
+                                        }
+                                    }
+                                }
+                            }
+                            if (observed != null && observedCount < observed.length) {
+                                observed[observedCount++] = hashIndex;
+                            }
+                        }
+                        key = hashMatchedDeser != null
+                                ? hashMatchedDeser.fieldInfo.name
+                                : lexer.fieldHashKey(parser.symbolTable);
+                    } else {
+                        key = lexer.scanSymbol(parser.symbolTable);
+                    }
 
                     if (key == null) {
                         token = lexer.token();
@@ -790,6 +923,14 @@ public class JavaBeanDeserializer implements ObjectDeserializer {
                 }
 
                 if (matchField) {
+                    if (observed != null) {
+                        if (observedCount < observed.length) {
+                            observed[observedCount++] = sortedIndex;
+                        }
+                    } else if (!orderMissed && fieldIndex < 64) {
+                        fastMatched |= 1L << fieldIndex;
+                    }
+
                     if (!valueParsed) {
                         fieldDeser.parseField(parser, object, type, fieldValues);
                     } else {
@@ -809,9 +950,9 @@ public class JavaBeanDeserializer implements ObjectDeserializer {
                         }
 
                         if (setFlags != null) {
-                            int flagIndex = fieldIndex / 32;
-                            int bitIndex = fieldIndex % 32;
-                            setFlags[flagIndex] |= (1 >> bitIndex);
+                            int flagIndex = sortedIndex / 32;
+                            int bitIndex = sortedIndex % 32;
+                            setFlags[flagIndex] |= (1 << bitIndex);
                         }
 
                         if (lexer.matchStat == JSONLexer.END) {
@@ -819,7 +960,9 @@ public class JavaBeanDeserializer implements ObjectDeserializer {
                         }
                     }
                 } else {
-                    boolean match = parseField(parser, key, object, type, fieldValues, setFlags);
+                    boolean match = hashMatchedDeser != null
+                            ? parseField(parser, key, hashMatchedDeser, object, type, fieldValues, setFlags)
+                            : parseField(parser, key, object, type, fieldValues, setFlags);
                     if (!match) {
                         if (lexer.token() == JSONToken.RBRACE) {
                             lexer.nextToken();
@@ -846,6 +989,19 @@ public class JavaBeanDeserializer implements ObjectDeserializer {
                 }
             }
 
+            if (adaptOrder) {
+                if (!orderMissed) {
+                    if (orderMisses.get() != 0) {
+                        orderMisses.set(0);
+                    }
+                } else if (observed == null) {
+                    orderMisses.incrementAndGet();
+                } else {
+                    orderMisses.set(0);
+                    adaptFieldOrder(fieldOrder, observed, observedCount);
+                }
+            }
+
             if (object == null) {
                 if (fieldValues == null) {
                     object = createInstance(parser, type);
@@ -1050,14 +1206,47 @@ public class JavaBeanDeserializer implements ObjectDeserializer {
     
     public boolean parseField(DefaultJSONParser parser, String key, Object object, Type objectType,
                               Map<String, Object> fieldValues, int[] setFlags) {
+        return parseField(parser, key, null, object, objectType, fieldValues, setFlags);
+    }
+
+    /**
+     * @param fieldDeserializer 已经按字段名hash匹配到的字段，为null时按key查找
+     */
+    private boolean parseField(DefaultJSONParser parser, String key, FieldDeserializer fieldDeserializer,
+                               Object object, Type objectType, Map<String, Object> fieldValues, int[] setFlags) {
         JSONLexer lexer = parser.lexer; // xxx
 
         final int disableFieldSmartMatchMask = Feature.DisableFieldSmartMatch.mask;
-        FieldDeserializer fieldDeserializer;
-        if (lexer.isEnabled(disableFieldSmartMatchMask) || (this.beanInfo.parserFeatures & disableFieldSmartMatchMask) != 0) {
-            fieldDeserializer = getFieldDeserializer(key);
-        } else {
-            fieldDeserializer = smartMatch(key, setFlags);
+        if (fieldDeserializer == null) {
+            if (lexer.isEnabled(disableFieldSmartMatchMask) || (this.beanInfo.parserFeatures & disableFieldSmartMatchMask) != 0) {
+                fieldDeserializer = getFieldDeserializer(key);
+            } else {
+                fieldDeserializer = smartMatch(key, setFlags);
+            }
+        }
+
+        final PropertyProjection projection = parser.getProjection();
+        if (projection != null) {
+            PropertyProjection child = projection.get(key);
+            if (child == null && fieldDeserializer != null) {
+                child = projection.get(fieldDeserializer.fieldInfo.name);
+            }
+
+            if (child == null) {
+                parser.skipFieldValue();
+                return false;
+            }
+
+            if (fieldDeserializer != null) {
+                lexer.nextTokenWithColon(fieldDeserializer.getFastMatchToken());
+                parser.setProjection(child.isLeaf() ? null : child);
+                try {
+                    fieldDeserializer.parseField(parser, object, objectType, fieldValues);
+                } finally {
+                    parser.setProjection(projection);
+                }
+                return true;
+            }
         }
 
         final int mask = Feature.SupportNonPublicField.mask;
@@ -1408,6 +1597,43 @@ public class JavaBeanDeserializer implements ObjectDeserializer {
         return object;
     }
     
+    /**
+     * 观察到的字段排在前面，其余的字段保持原来的相对顺序
+     */
+    private void adaptFieldOrder(int[] current, int[] observed, int observedCount) {
+        final int size = sortedFieldDeserializers.length;
+        int[] order = new int[size];
+        boolean[] used = new boolean[size];
+        int count = 0;
+        for (int i = 0; i < observedCount; ++i) {
+            int index = observed[i];
+            if (!used[index]) {
+                used[index] = true;
+                order[count++] = index;
+            }
+        }
+        for (int i = 0; i < size; ++i) {
+            int index = current == null ? i : current[i];
+            if (!used[index]) {
+                order[count++] = index;
+            }
+        }
+
+        boolean sorted = true;
+        for (int i = 0; i < size; ++i) {
+            if (order[i] != i) {
+                sorted = false;
+                break;
+            }
+        }
+
+        if (sorted) {
+            this.fieldOrder = null;
+        } else if (current == null || !Arrays.equals(current, order)) {
+            this.fieldOrder = order;
+        }
+    }
+
     public Type getFieldType(int ordinal) {
         return sortedFieldDeserializers[ordinal].fieldInfo.fieldType;
     }
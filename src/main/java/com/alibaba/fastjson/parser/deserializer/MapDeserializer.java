@@ -100,6 +100,7 @@ public class MapDeserializer implements ObjectDeserializer {
         }
 
         ParseContext context = parser.getContext();
+        final PropertyProjection projection = parser.getProjection();
         try {
             for (int i = 0;;++i) {
                 lexer.skipWhitespace();
@@ -183,6 +184,26 @@ public class MapDeserializer implements ObjectDeserializer {
                     return (Map) deserializer.deserialze(parser, clazz, fieldName);
                 }
 
+                if (projection != null) {
+                    PropertyProjection child = projection.get(key);
+                    if (child == null) {
+                        if (lexer instanceof JSONLexerBase) {
+                            ((JSONLexerBase) lexer).skipValue();
+                        } else {
+                            lexer.nextToken();
+                            parser.skipValue();
+                        }
+
+                        final int tok = lexer.token();
+                        if (tok == JSONToken.RBRACE) {
+                            lexer.nextToken();
+                            return map;
+                        }
+                        continue;
+                    }
+                    parser.setProjection(child.isLeaf() ? null : child);
+                }
+
                 Object value;
                 lexer.nextToken();
 
@@ -215,6 +236,7 @@ public class MapDeserializer implements ObjectDeserializer {
             }
         } finally {
             parser.setContext(context);
+            parser.setProjection(projection);
         }
 
     }
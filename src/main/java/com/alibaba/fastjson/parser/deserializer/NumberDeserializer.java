@@ -6,6 +6,7 @@ import java.math.BigDecimal;
 import com.alibaba.fastjson.JSONException;
 import com.alibaba.fastjson.parser.DefaultJSONParser;
 import com.alibaba.fastjson.parser.JSONLexer;
+import com.alibaba.fastjson.parser.JSONLexerBase;
 import com.alibaba.fastjson.parser.JSONToken;
 import com.alibaba.fastjson.util.TypeUtils;
 
@@ -18,9 +19,9 @@ public class NumberDeserializer implements ObjectDeserializer {
         final JSONLexer lexer = parser.lexer;
         if (lexer.token() == JSONToken.LITERAL_INT) {
             if (clazz == double.class || clazz  == Double.class) {
-                String val = lexer.numberString();
+                double val = doubleValue(lexer);
                 lexer.nextToken(JSONToken.COMMA);
-                return (T) Double.valueOf(Double.parseDouble(val));
+                return (T) Double.valueOf(val);
             }
             
             long val = lexer.longValue();
@@ -49,9 +50,9 @@ public class NumberDeserializer implements ObjectDeserializer {
 
         if (lexer.token() == JSONToken.LITERAL_FLOAT) {
             if (clazz == double.class || clazz == Double.class) {
-                String val = lexer.numberString();
+                double val = doubleValue(lexer);
                 lexer.nextToken(JSONToken.COMMA);
-                return (T) Double.valueOf(Double.parseDouble(val));
+                return (T) Double.valueOf(val);
             }
 
             if (clazz == short.class || clazz == Short.class) {
@@ -120,6 +121,13 @@ public class NumberDeserializer implements ObjectDeserializer {
         return (T) TypeUtils.castToBigDecimal(value);
     }
 
+    private static double doubleValue(JSONLexer lexer) {
+        if (lexer instanceof JSONLexerBase) {
+            return ((JSONLexerBase) lexer).doubleValue();
+        }
+        return Double.parseDouble(lexer.numberString());
+    }
+
     public int getFastMatchToken() {
         return JSONToken.LITERAL_INT;
     }
@@ -0,0 +1,70 @@
+package com.alibaba.fastjson.parser.deserializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 只反序列化指定的属性，其余属性的值在lexer中直接跳过，不会创建String、Number和JSONObject。
+ * <p>
+ * 路径用'.'分隔，对应json中的key，JavaBean的属性也可以用java属性名匹配；数组的元素沿用数组所在的路径。
+ * 路径的最后一级包含整个子树。
+ *
+ * <pre>
+ * PropertyProjection projection = new PropertyProjection("id", "user.name", "items.price");
+ * Event event = JSON.parseObject(text, Event.class, projection);
+ * </pre>
+ *
+ * @since 1.2.57
+ */
+public class PropertyProjection implements ParseProcess {
+
+    private final Map<String, PropertyProjection> children = new HashMap<String, PropertyProjection>();
+
+    public PropertyProjection(String... paths){
+        for (String path : paths) {
+            add(path);
+        }
+    }
+
+    private PropertyProjection(){
+    }
+
+    private void add(String path) {
+        PropertyProjection node = this;
+        int start = 0;
+        for (;;) {
+            int end = path.indexOf('.', start);
+            String name = end == -1 ? path.substring(start) : path.substring(start, end);
+
+            PropertyProjection child = node.children.get(name);
+            if (child == null) {
+                child = new PropertyProjection();
+                node.children.put(name, child);
+            } else if (child.children.isEmpty()) {
+                return; // 已经包含了整个子树
+            }
+
+            if (end == -1) {
+                child.children.clear();
+                return;
+            }
+
+            node = child;
+            start = end + 1;
+        }
+    }
+
+    /**
+     * @return 不包含这个属性时返回null
+     */
+    public PropertyProjection get(Object key) {
+        return key == null ? null : children.get(key.toString());
+    }
+
+    /**
+     * 叶子节点包含整个子树，子树不需要再做投影
+     */
+    public boolean isLeaf() {
+        return children.isEmpty();
+    }
+}
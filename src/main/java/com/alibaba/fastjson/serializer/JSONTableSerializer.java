@@ -0,0 +1,121 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson.serializer;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.JSONTable;
+
+/**
+ * 按行输出JSONTable，结果和同样内容的JSONArray一致。只有null、String、Number和Boolean的值时直接从列中读取，
+ * 其他情况交给ListSerializer按行视图输出。
+ *
+ * @since 1.2.57
+ */
+public class JSONTableSerializer implements ObjectSerializer {
+
+    public static final JSONTableSerializer instance = new JSONTableSerializer();
+
+    private static final int NON_DIRECT_FEATURES = SerializerFeature.of(
+            new SerializerFeature[] {
+                    SerializerFeature.PrettyFormat,
+                    SerializerFeature.MapSortField,
+                    SerializerFeature.WriteClassName,
+                    SerializerFeature.WriteNonStringValueAsString,
+                    SerializerFeature.BrowserCompatible});
+
+    public void write(JSONSerializer serializer, Object object, Object fieldName, Type fieldType, int features)
+                                                                                                throws IOException {
+        SerializeWriter out = serializer.out;
+        JSONTable table = (JSONTable) object;
+
+        if (table.size() == 0 || !writeDirect(serializer, table, features)) {
+            ListSerializer.instance.write(serializer, object, fieldName, fieldType, features);
+            return;
+        }
+
+        String[] keys = table.getKeys();
+        Class<?>[] types = new Class<?>[keys.length];
+        for (int i = 0; i < keys.length; ++i) {
+            types[i] = table.getColumnType(i);
+        }
+        final boolean writeMapNullValue = out.isEnabled(SerializerFeature.WriteMapNullValue);
+
+        SerialContext parent = serializer.context;
+        serializer.setContext(parent, object, fieldName, 0);
+        try {
+            out.write('[');
+            for (int row = 0, size = table.size(); row < size; ++row) {
+                if (row != 0) {
+                    out.write(',');
+                }
+                out.write('{');
+
+                boolean first = true;
+                for (int column = 0; column < keys.length; ++column) {
+                    boolean isNull = table.isNull(row, column);
+                    if (isNull && !writeMapNullValue) {
+                        continue;
+                    }
+
+                    if (!first) {
+                        out.write(',');
+                    }
+                    first = false;
+                    out.writeFieldName(keys[column], true);
+
+                    Class<?> type = types[column];
+                    if (isNull) {
+                        out.writeNull();
+                    } else if (type == long.class) {
+                        out.writeLong(table.getLongValue(row, column));
+                    } else if (type == double.class) {
+                        out.writeDouble(table.getDoubleValue(row, column), false);
+                    } else if (type == String.class) {
+                        out.writeString((String) table.get(row, column));
+                    } else {
+                        Object value = table.get(row, column);
+                        serializer.getObjectWriter(value.getClass()).write(serializer, value, keys[column], null, 0);
+                    }
+                }
+
+                out.write('}');
+            }
+            out.write(']');
+        } finally {
+            serializer.context = parent;
+        }
+    }
+
+    /**
+     * 有filter、自定义的序列化器或者需要特殊处理的SerializerFeature时不能直接输出
+     */
+    private static boolean writeDirect(JSONSerializer serializer, JSONTable table, int features) {
+        return serializer.writeDirect //
+               && (serializer.out.features & NON_DIRECT_FEATURES) == 0 //
+               && (features & SerializerFeature.WriteClassName.mask) == 0 //
+               && serializer.getObjectWriter(JSONObject.class) == MapSerializer.instance //
+               && MapSerializer.instance.writeDirect //
+               && serializer.getObjectWriter(Integer.class) == IntegerCodec.instance //
+               && serializer.getObjectWriter(Long.class) == LongCodec.instance //
+               && serializer.getObjectWriter(Double.class) == DoubleSerializer.instance //
+               && serializer.getObjectWriter(String.class) == StringCodec.instance //
+               && table.isColumnar() //
+               && table.isFlat();
+    }
+}
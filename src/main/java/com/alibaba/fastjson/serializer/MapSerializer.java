@@ -22,6 +22,7 @@ import java.util.*;
 
 import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.parser.StringSlice;
 
 /**
  * @author wenshao[szujobs@hotmail.com]
@@ -110,8 +111,18 @@ public class MapSerializer extends SerializeFilterable implements ObjectSerializ
                 }
             }
 
-            for (Map.Entry entry : map.entrySet()) {
+            /** 没有过滤器时遍历JSONObject内部的map，StringSlice可以从原始文本复制；有过滤器时转成String再交给过滤器 */
+            final boolean filtered = !(this.writeDirect && serializer.writeDirect);
+            Map<?, ?> entries = map;
+            if (map instanceof JSONObject && !filtered) {
+                entries = ((JSONObject) map).getInnerMap();
+            }
+
+            for (Map.Entry entry : entries.entrySet()) {
                 Object value = entry.getValue();
+                if (filtered && value instanceof StringSlice) {
+                    value = value.toString();
+                }
 
                 Object entryKey = entry.getKey();
 
@@ -323,6 +323,7 @@ public class SerializeConfig {
         put(boolean[].class, PrimitiveArraySerializer.instance);
         put(char[].class, PrimitiveArraySerializer.instance);
         put(Object[].class, ObjectArrayCodec.instance);
+        put(JSONTable.class, JSONTableSerializer.instance);
         put(Class.class, MiscCodec.instance);
 
         put(SimpleDateFormat.class, MiscCodec.instance);
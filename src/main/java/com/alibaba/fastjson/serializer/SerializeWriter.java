@@ -526,6 +526,15 @@ public final class SerializeWriter extends Writer {
         return count;
     }
 
+    /**
+     * 清空已经写入的内容，复用缓冲区
+     *
+     * @since 1.2.57
+     */
+    public void reset() {
+        count = 0;
+    }
+
     public String toString() {
         return new String(buf, 0, count);
     }
@@ -0,0 +1,174 @@
+/*
+ * Copyright 1999-2017 Alibaba Group.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.fastjson.util;
+
+import java.math.BigInteger;
+
+/**
+ * 把十进制的 mantissa * 10^exp10 转换成正确舍入的double/float，不需要先创建String。
+ * <p>
+ * mantissa和10的幂都能精确表示为double时直接乘除(Clinger)，否则使用Eisel-Lemire算法：
+ * 用10^exp10的128位近似值和mantissa相乘，结果足够确定舍入方向时直接得到double。
+ * 少数不能确定的情况、次正规数和溢出返回NaN，调用方需要回退到Double.parseDouble/Float.parseFloat。
+ *
+ * @since 1.2.57
+ */
+public final class EiselLemire {
+
+    private final static int      MIN_EXP10 = -348;
+    private final static int      MAX_EXP10 = 347;
+
+    /** 10^e的128位近似值(向下取整，最高位是1)的高64位和低64位，下标是e - MIN_EXP10 */
+    private final static long[]   POW10_HI  = new long[MAX_EXP10 - MIN_EXP10 + 1];
+    private final static long[]   POW10_LO  = new long[MAX_EXP10 - MIN_EXP10 + 1];
+
+    private final static double[] POW10     = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+    static {
+        BigInteger pow = BigInteger.ONE;
+        for (int e = 0; e <= MAX_EXP10; ++e) {
+            int bits = pow.bitLength();
+            setPow10(e, bits > 128 ? pow.shiftRight(bits - 128) : pow.shiftLeft(128 - bits));
+            pow = pow.multiply(BigInteger.TEN);
+        }
+
+        pow = BigInteger.TEN;
+        for (int e = -1; e >= MIN_EXP10; --e) {
+            // 2^(127 + bits) / 10^-e 在[2^127, 2^128)之间
+            setPow10(e, BigInteger.ONE.shiftLeft(127 + pow.bitLength()).divide(pow));
+            pow = pow.multiply(BigInteger.TEN);
+        }
+    }
+
+    private static void setPow10(int e, BigInteger value) {
+        POW10_HI[e - MIN_EXP10] = value.shiftRight(64).longValue();
+        POW10_LO[e - MIN_EXP10] = value.longValue();
+    }
+
+    private EiselLemire(){
+    }
+
+    /**
+     * @param mantissa 无符号的十进制有效数字，最多19位
+     * @return 正确舍入的double，不能确定时返回NaN
+     */
+    public static double toDouble(long mantissa, int exp10, boolean negative) {
+        if (mantissa == 0) {
+            return negative ? -0D : 0D;
+        }
+
+        if (mantissa > 0 && mantissa <= (1L << 53) && exp10 >= -22 && exp10 <= 22) {
+            double value = mantissa;
+            value = exp10 < 0 ? value / POW10[-exp10] : value * POW10[exp10];
+            return negative ? -value : value;
+        }
+
+        if (exp10 < MIN_EXP10 || exp10 > MAX_EXP10) {
+            return Double.NaN;
+        }
+
+        // 规格化，mantissa的最高位是1
+        int clz = Long.numberOfLeadingZeros(mantissa);
+        mantissa <<= clz;
+        long exp2 = ((217706 * exp10) >> 16) + 64 + 1023 - clz;
+
+        int index = exp10 - MIN_EXP10;
+        long hi = multiplyHigh(mantissa, POW10_HI[index]);
+        long lo = mantissa * POW10_HI[index];
+
+        // 低位可能进位的时候，再乘上近似值的低64位
+        if ((hi & 0x1FF) == 0x1FF && unsignedLess(lo + mantissa, mantissa)) {
+            long yHi = multiplyHigh(mantissa, POW10_LO[index]);
+            long yLo = mantissa * POW10_LO[index];
+            long mergedHi = hi, mergedLo = lo + yHi;
+            if (unsignedLess(mergedLo, lo)) {
+                mergedHi++;
+            }
+            if ((mergedHi & 0x1FF) == 0x1FF && mergedLo + 1 == 0 && unsignedLess(yLo + mantissa, mantissa)) {
+                return Double.NaN;
+            }
+            hi = mergedHi;
+            lo = mergedLo;
+        }
+
+        // 取54位，再舍入到53位
+        long msb = hi >>> 63;
+        long value = hi >>> (msb + 9);
+        exp2 -= 1 ^ msb;
+
+        if (lo == 0 && (hi & 0x1FF) == 0 && (value & 3) == 1) { // 正好在两个double中间
+            return Double.NaN;
+        }
+
+        value += value & 1;
+        value >>>= 1;
+        if ((value >>> 53) > 0) {
+            value >>>= 1;
+            exp2++;
+        }
+
+        if (exp2 <= 0 || exp2 >= 0x7FF) { // 次正规数或者溢出
+            return Double.NaN;
+        }
+
+        long bits = exp2 << 52 | (value & 0x000FFFFFFFFFFFFFL);
+        if (negative) {
+            bits |= 0x8000000000000000L;
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    /**
+     * @return 正确舍入的float(以double返回)，不能确定时返回NaN
+     */
+    public static double toFloat(long mantissa, int exp10, boolean negative) {
+        double value = toDouble(mantissa, exp10, negative);
+        if (value != value || value == 0) {
+            return value;
+        }
+
+        // double已经正确舍入，只要它不在两个float的正中间，再转成float的结果也是正确舍入的
+        float floatValue = (float) value;
+        if (floatValue == 0 || Float.isInfinite(floatValue)) {
+            return Double.NaN;
+        }
+        if (floatValue != value) {
+            float other = value > floatValue //
+                ? Math.nextUp(floatValue) //
+                : Math.nextAfter(floatValue, Double.NEGATIVE_INFINITY);
+            if (value - floatValue == other - value) {
+                return Double.NaN;
+            }
+        }
+        return floatValue;
+    }
+
+    /**
+     * 无符号64位乘法结果的高64位
+     */
+    static long multiplyHigh(long x, long y) {
+        long x0 = x & 0xFFFFFFFFL, x1 = x >>> 32;
+        long y0 = y & 0xFFFFFFFFL, y1 = y >>> 32;
+        long p01 = x0 * y1;
+        long middle = x1 * y0 + ((x0 * y0) >>> 32) + (p01 & 0xFFFFFFFFL);
+        return x1 * y1 + (middle >>> 32) + (p01 >>> 32);
+    }
+
+    private static boolean unsignedLess(long x, long y) {
+        return (x ^ Long.MIN_VALUE) < (y ^ Long.MIN_VALUE);
+    }
+}
@@ -647,9 +647,16 @@ public class IOUtils {
      * @deprecated
      */
     public static int decodeUTF8(byte[] sa, int sp, int len, char[] da) {
+        return decodeUTF8(sa, sp, len, da, 0);
+    }
+
+    /**
+     * @return the end position in da, -1 if malformed
+     * @since 1.2.57
+     */
+    public static int decodeUTF8(byte[] sa, int sp, int len, char[] da, int dp) {
         final int sl = sp + len;
-        int dp = 0;
-        int dlASCII = Math.min(len, da.length);
+        int dlASCII = dp + Math.min(len, da.length - dp);
 
         // ASCII only optimized loop
         while (dp < dlASCII && sa[sp] >= 0)
@@ -25,6 +25,7 @@ import com.alibaba.fastjson.parser.DefaultJSONParser;
 import com.alibaba.fastjson.parser.Feature;
 import com.alibaba.fastjson.parser.JSONScanner;
 import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.parser.StringSlice;
 import com.alibaba.fastjson.parser.deserializer.EnumDeserializer;
 import com.alibaba.fastjson.parser.deserializer.JavaBeanDeserializer;
 import com.alibaba.fastjson.parser.deserializer.ObjectDeserializer;
@@ -247,8 +248,8 @@ public class TypeUtils{
             return ((Number) value).byteValue();
         }
 
-        if(value instanceof String){
-            String strVal = (String) value;
+        if(value instanceof CharSequence){
+            String strVal = value.toString();
             if(strVal.length() == 0 //
                     || "null".equals(strVal) //
                     || "NULL".equals(strVal)){
@@ -266,8 +267,8 @@ public class TypeUtils{
         if(value instanceof Character){
             return (Character) value;
         }
-        if(value instanceof String){
-            String strVal = (String) value;
+        if(value instanceof CharSequence){
+            String strVal = value.toString();
             if(strVal.length() == 0){
                 return null;
             }
@@ -292,8 +293,8 @@ public class TypeUtils{
             return ((Number) value).shortValue();
         }
 
-        if(value instanceof String){
-            String strVal = (String) value;
+        if(value instanceof CharSequence){
+            String strVal = value.toString();
             if(strVal.length() == 0 //
                     || "null".equals(strVal) //
                     || "NULL".equals(strVal)){
@@ -358,7 +359,7 @@ public class TypeUtils{
         if(value instanceof Number){
             return ((Number) value).floatValue();
         }
-        if(value instanceof String){
+        if(value instanceof CharSequence){
             String strVal = value.toString();
             if(strVal.length() == 0 //
                     || "null".equals(strVal) //
@@ -380,7 +381,7 @@ public class TypeUtils{
         if(value instanceof Number){
             return ((Number) value).doubleValue();
         }
-        if(value instanceof String){
+        if(value instanceof CharSequence){
             String strVal = value.toString();
             if(strVal.length() == 0 //
                     || "null".equals(strVal) //
@@ -424,8 +425,8 @@ public class TypeUtils{
             return new Date(longValue);
         }
 
-        if(value instanceof String){
-            String strVal = (String) value;
+        if(value instanceof CharSequence){
+            String strVal = value.toString();
             JSONScanner dateLexer = new JSONScanner(strVal);
             try{
                 if(dateLexer.scanISO8601DateIfMatch(false)){
@@ -538,8 +539,8 @@ public class TypeUtils{
             longValue = ((Number) value).longValue();
         }
 
-        if(value instanceof String){
-            String strVal = (String) value;
+        if(value instanceof CharSequence){
+            String strVal = value.toString();
             if(strVal.length() == 0 //
                     || "null".equals(strVal) //
                     || "NULL".equals(strVal)){
@@ -591,8 +592,8 @@ public class TypeUtils{
             longValue = ((Number) value).longValue();
         }
 
-        if(value instanceof String){
-            String strVal = (String) value;
+        if(value instanceof CharSequence){
+            String strVal = value.toString();
             if(strVal.length() == 0 //
                     || "null".equalsIgnoreCase(strVal)){
                 return null;
@@ -633,8 +634,8 @@ public class TypeUtils{
         } else if(value instanceof Number){
             longValue = ((Number) value).longValue();
         }
-        if(value instanceof String){
-            String strVal = (String) value;
+        if(value instanceof CharSequence){
+            String strVal = value.toString();
             if(strVal.length() == 0 //
                     || "null".equals(strVal) //
                     || "NULL".equals(strVal)){
@@ -689,8 +690,8 @@ public class TypeUtils{
             return ((Number) value).longValue();
         }
 
-        if(value instanceof String){
-            String strVal = (String) value;
+        if(value instanceof CharSequence){
+            String strVal = value.toString();
             if(strVal.length() == 0 //
                     || "null".equals(strVal) //
                     || "NULL".equals(strVal)){
@@ -799,8 +800,8 @@ public class TypeUtils{
             return ((Number) value).intValue();
         }
 
-        if(value instanceof String){
-            String strVal = (String) value;
+        if(value instanceof CharSequence){
+            String strVal = value.toString();
             if(strVal.length() == 0 //
                     || "null".equals(strVal) //
                     || "NULL".equals(strVal)){
@@ -833,8 +834,8 @@ public class TypeUtils{
         if(value instanceof byte[]){
             return (byte[]) value;
         }
-        if(value instanceof String){
-            return IOUtils.decodeBase64((String) value);
+        if(value instanceof CharSequence){
+            return IOUtils.decodeBase64(value.toString());
         }
         throw new JSONException("can not cast to int, value : " + value);
     }
@@ -855,8 +856,8 @@ public class TypeUtils{
             return ((Number) value).intValue() == 1;
         }
 
-        if(value instanceof String){
-            String strVal = (String) value;
+        if(value instanceof CharSequence){
+            String strVal = value.toString();
             if(strVal.length() == 0 //
                     || "null".equals(strVal) //
                     || "NULL".equals(strVal)){
@@ -911,6 +912,10 @@ public class TypeUtils{
             throw new IllegalArgumentException("clazz is null");
         }
 
+        if(obj instanceof StringSlice){
+            obj = obj.toString();
+        }
+
         if(clazz == obj.getClass()){
             return (T) obj;
         }
@@ -1125,6 +1130,9 @@ public class TypeUtils{
         if(obj == null){
             return null;
         }
+        if(obj instanceof StringSlice){
+            obj = obj.toString();
+        }
         if(type instanceof Class){
             return (T) cast(obj, (Class<T>) type, mapping);
         }
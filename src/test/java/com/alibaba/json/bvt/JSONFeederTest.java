@@ -0,0 +1,94 @@
+package com.alibaba.json.bvt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONFeeder;
+import com.alibaba.fastjson.JSONObject;
+
+import junit.framework.TestCase;
+
+public class JSONFeederTest extends TestCase {
+
+    public void test_chunks() throws Exception {
+        byte[] bytes = "{\"id\":1,\"name\":\"中}文\\\"]\"}".getBytes("UTF-8");
+
+        JSONFeeder feeder = new JSONFeeder(Model.class);
+        for (int i = 0; i < bytes.length - 1; ++i) {
+            Assert.assertEquals(JSONFeeder.NEED_MORE_INPUT, feeder.feed(bytes, i, 1));
+        }
+        Assert.assertEquals(1, feeder.feed(bytes, bytes.length - 1, 1));
+
+        Model model = feeder.next();
+        Assert.assertEquals(1, model.id);
+        Assert.assertEquals("中}文\"]", model.name);
+        Assert.assertFalse(feeder.hasNext());
+
+        Assert.assertEquals(0, feeder.endOfInput());
+        Assert.assertTrue(feeder.isFinished());
+    }
+
+    public void test_multi_values() throws Exception {
+        byte[] bytes = ("{\"a\":[1,{\"b\":'x]'}]} /* {[ */ [1,2]\n// {\n\"str\" 123 true null {}")
+            .getBytes("UTF-8");
+
+        JSONFeeder feeder = new JSONFeeder();
+        List<Object> values = new ArrayList<Object>();
+        for (int i = 0; i < bytes.length; i += 3) {
+            feeder.feed(bytes, i, Math.min(3, bytes.length - i));
+            while (feeder.hasNext()) {
+                values.add(feeder.next());
+            }
+        }
+        feeder.endOfInput();
+        while (feeder.hasNext()) {
+            values.add(feeder.next());
+        }
+
+        Assert.assertEquals(7, values.size());
+        Assert.assertEquals("x]", ((JSONObject) values.get(0)).getJSONArray("a").getJSONObject(1).get("b"));
+        Assert.assertEquals(2, ((JSONArray) values.get(1)).size());
+        Assert.assertEquals("str", values.get(2));
+        Assert.assertEquals(123, values.get(3));
+        Assert.assertEquals(Boolean.TRUE, values.get(4));
+        Assert.assertNull(values.get(5));
+        Assert.assertEquals(0, ((JSONObject) values.get(6)).size());
+    }
+
+    public void test_unterminated() throws Exception {
+        byte[] bytes = "{\"id\":1".getBytes("UTF-8");
+
+        JSONFeeder feeder = new JSONFeeder(Model.class);
+        feeder.feed(bytes, 0, bytes.length);
+
+        Exception error = null;
+        try {
+            feeder.endOfInput();
+        } catch (JSONException ex) {
+            error = ex;
+        }
+        Assert.assertNotNull(error);
+    }
+
+    public void test_feed_after_end() throws Exception {
+        JSONFeeder feeder = new JSONFeeder();
+        feeder.endOfInput();
+
+        Exception error = null;
+        try {
+            feeder.feed(new byte[] {'1'}, 0, 1);
+        } catch (JSONException ex) {
+            error = ex;
+        }
+        Assert.assertNotNull(error);
+    }
+
+    public static class Model {
+        public int    id;
+        public String name;
+    }
+}
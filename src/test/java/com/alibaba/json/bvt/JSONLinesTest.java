@@ -0,0 +1,123 @@
+package com.alibaba.json.bvt;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONLinesReader;
+import com.alibaba.fastjson.JSONLinesWriter;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.parser.ParserConfig;
+
+import junit.framework.TestCase;
+
+public class JSONLinesTest extends TestCase {
+
+    public void test_write_read() throws Exception {
+        byte[] bytes = write(5000);
+
+        JSONLinesReader<Model> reader = new JSONLinesReader<Model>(new ByteArrayInputStream(bytes), Model.class);
+        assertModels(reader, 5000);
+        reader.close();
+    }
+
+    public void test_byte_buffer() throws Exception {
+        byte[] bytes = write(100);
+
+        JSONLinesReader<Model> reader = new JSONLinesReader<Model>(ByteBuffer.wrap(bytes), Model.class);
+        assertModels(reader, 100);
+        reader.close();
+    }
+
+    public void test_parallel() throws Exception {
+        byte[] bytes = write(5000);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            JSONLinesReader<Model> reader = new JSONLinesReader<Model>(new ByteArrayInputStream(bytes),
+                                                                       Model.class,
+                                                                       ParserConfig.global,
+                                                                       JSON.DEFAULT_PARSER_FEATURE,
+                                                                       executor,
+                                                                       128);
+            assertModels(reader, 5000);
+            reader.close();
+
+            ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+            direct.put(bytes);
+            direct.flip();
+            reader = new JSONLinesReader<Model>(direct, Model.class, ParserConfig.global, JSON.DEFAULT_PARSER_FEATURE,
+                                                executor, 1000);
+            assertModels(reader, 5000);
+            reader.close();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void test_untyped() throws Exception {
+        byte[] bytes = "{\"a\":1}\n\n[1,2]\r\n\"x\"\n{\"b\":{\"$ref\":\"$\"}}\n".getBytes("UTF-8");
+
+        JSONLinesReader<Object> reader = new JSONLinesReader<Object>(new ByteArrayInputStream(bytes), null);
+        List<Object> values = new ArrayList<Object>();
+        while (reader.hasNext()) {
+            values.add(reader.next());
+        }
+        reader.close();
+
+        Assert.assertEquals(4, values.size());
+        Assert.assertEquals(1, ((JSONObject) values.get(0)).get("a"));
+        Assert.assertEquals("x", values.get(2));
+        JSONObject last = (JSONObject) values.get(3);
+        Assert.assertSame(last, last.get("b"));
+    }
+
+    public void test_shared_reference() throws Exception {
+        Model shared = new Model();
+        shared.id = 1;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JSONLinesWriter writer = new JSONLinesWriter(out);
+        writer.write(shared);
+        writer.write(shared);
+        writer.close();
+
+        Assert.assertEquals("{\"id\":1}\n{\"id\":1}\n", new String(out.toByteArray(), "UTF-8"));
+    }
+
+    private static byte[] write(int count) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JSONLinesWriter writer = new JSONLinesWriter(out);
+        for (int i = 0; i < count; ++i) {
+            Model model = new Model();
+            model.id = i;
+            model.name = "名字\n" + i;
+            writer.write(model);
+        }
+        writer.close();
+        return out.toByteArray();
+    }
+
+    private static void assertModels(JSONLinesReader<Model> reader, int count) {
+        int i = 0;
+        while (reader.hasNext()) {
+            Model model = reader.next();
+            Assert.assertEquals(i, model.id);
+            Assert.assertEquals("名字\n" + i, model.name);
+            i++;
+        }
+        Assert.assertEquals(count, i);
+    }
+
+    public static class Model {
+        public int    id;
+        public String name;
+    }
+}
@@ -0,0 +1,123 @@
+package com.alibaba.json.bvt;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONNumberArray;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.parser.DefaultJSONParser;
+import com.alibaba.fastjson.parser.Feature;
+import com.alibaba.fastjson.parser.JSONLexer;
+import com.alibaba.fastjson.parser.JSONScanner;
+import com.alibaba.fastjson.parser.ParserConfig;
+
+import junit.framework.TestCase;
+
+public class JSONNumberArrayTest extends TestCase {
+
+    private final static int FEATURES = (JSON.DEFAULT_PARSER_FEATURE & ~Feature.UseBigDecimal.mask)
+                                        | Feature.UseNumberArray.mask;
+
+    public void test_parse() throws Exception {
+        String text = "{\"ints\":[1,-2,3],\"longs\":[1,8589934592,-3],\"doubles\":[1.5,-2.25,1e3],"
+                      + "\"mixed\":[1,2.5,\"x\"],\"typed\":[1L,2S],\"big\":[123456789012345678901]}";
+        JSONObject object = (JSONObject) JSON.parse(text, FEATURES);
+        Object expected = JSON.parse(text, FEATURES & ~Feature.UseNumberArray.mask);
+        Assert.assertEquals(expected, object);
+        Assert.assertEquals(JSON.toJSONString(expected), object.toJSONString());
+
+        JSONNumberArray ints = (JSONNumberArray) object.getJSONArray("ints");
+        Assert.assertEquals(int.class, ints.getPrimitiveType());
+        Assert.assertEquals(-2, ints.getIntValue(1));
+        Assert.assertEquals(Integer.valueOf(3), ints.get(2));
+
+        JSONNumberArray longs = (JSONNumberArray) object.getJSONArray("longs");
+        Assert.assertEquals(long.class, longs.getPrimitiveType());
+        Assert.assertEquals(8589934592L, longs.getLongValue(1));
+        Assert.assertEquals(Integer.valueOf(1), longs.get(0));
+        Assert.assertEquals(Long.valueOf(8589934592L), longs.get(1));
+
+        JSONNumberArray doubles = (JSONNumberArray) object.getJSONArray("doubles");
+        Assert.assertEquals(double.class, doubles.getPrimitiveType());
+        Assert.assertEquals(1000D, doubles.getDoubleValue(2), 0D);
+        Assert.assertEquals(Double.valueOf(-2.25D), doubles.get(1));
+
+        Assert.assertNull(((JSONNumberArray) object.getJSONArray("mixed")).getPrimitiveType());
+        Assert.assertEquals(Long.valueOf(1), object.getJSONArray("typed").get(0));
+        Assert.assertNull(((JSONNumberArray) object.getJSONArray("big")).getPrimitiveType());
+    }
+
+    public void test_custom_lexer() throws Exception {
+        // 开头的空格让DefaultJSONParser通过nextToken()读取第一个token
+        String text = " [1,2.5,8589934592,1.5F]";
+        final JSONScanner scanner = new JSONScanner(text, FEATURES);
+        // 不是JSONLexerBase的lexer
+        JSONLexer lexer = (JSONLexer) Proxy.newProxyInstance(JSONLexer.class.getClassLoader(),
+                                                             new Class<?>[] { JSONLexer.class },
+                                                             new InvocationHandler() {
+
+                                                                 public Object invoke(Object proxy, Method method,
+                                                                                      Object[] args) throws Throwable {
+                                                                     try {
+                                                                         return method.invoke(scanner, args);
+                                                                     } catch (InvocationTargetException ex) {
+                                                                         throw ex.getCause();
+                                                                     }
+                                                                 }
+                                                             });
+        DefaultJSONParser parser = new DefaultJSONParser(lexer, ParserConfig.getGlobalInstance());
+        Object array = parser.parse();
+        parser.close();
+
+        Assert.assertTrue(array instanceof JSONNumberArray);
+        Assert.assertEquals(JSON.parse(text, FEATURES & ~Feature.UseNumberArray.mask), array);
+    }
+
+    public void test_big_decimal() throws Exception {
+        JSONArray array = (JSONArray) JSON.parse("[1.5,2]", JSON.DEFAULT_PARSER_FEATURE | Feature.UseNumberArray.mask);
+        Assert.assertEquals(new BigDecimal("1.5"), array.get(0));
+        Assert.assertEquals(2, array.getIntValue(1));
+    }
+
+    public void test_promote() throws Exception {
+        JSONNumberArray array = new JSONNumberArray();
+        array.addLong(1).addLong(2);
+        array.add(3);
+        Assert.assertEquals(int.class, array.getPrimitiveType());
+
+        array.add(1, 8589934592L);
+        Assert.assertEquals(long.class, array.getPrimitiveType());
+        Assert.assertEquals("[1,8589934592,2,3]", array.toJSONString());
+
+        array.remove(0);
+        array.set(0, 4);
+        Assert.assertEquals(long.class, array.getPrimitiveType());
+        Assert.assertEquals("[4,2,3]", array.toJSONString());
+
+        JSONNumberArray clone = (JSONNumberArray) array.clone();
+
+        array.add(null);
+        Assert.assertNull(array.getPrimitiveType());
+        Assert.assertEquals("[4,2,3,null]", array.toJSONString());
+        Assert.assertEquals(2, array.getIntValue(1));
+        Assert.assertEquals(0, array.getIntValue(3));
+
+        Assert.assertEquals(3, clone.size());
+        Assert.assertEquals(long.class, clone.getPrimitiveType());
+
+        array.clear();
+        array.addDouble(0.5D);
+        Assert.assertEquals(double.class, array.getPrimitiveType());
+        array.add(Long.valueOf(1));
+        Assert.assertNull(array.getPrimitiveType());
+        Assert.assertEquals(Long.valueOf(1), array.get(1));
+        Assert.assertEquals(Double.valueOf(0.5D), array.get(0));
+    }
+}
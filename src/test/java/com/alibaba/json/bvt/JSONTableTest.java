@@ -0,0 +1,212 @@
+package com.alibaba.json.bvt;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.JSONTable;
+import com.alibaba.fastjson.parser.Feature;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+
+import junit.framework.TestCase;
+
+public class JSONTableTest extends TestCase {
+
+    private final static String TEXT     = "{\"rows\":[{\"id\":1,\"name\":\"a\",\"price\":1.5,\"ok\":true},"
+                                           + "{\"id\":8589934592,\"name\":null,\"price\":null,\"ok\":false},"
+                                           + "{\"id\":3,\"name\":\"c\",\"price\":2.0,\"ok\":null}],"
+                                           + "\"mixed\":[{\"a\":1},{\"b\":2}]}";
+
+    private final static int    FEATURES = (JSON.DEFAULT_PARSER_FEATURE & ~Feature.UseBigDecimal.mask)
+                                           | Feature.UseJSONTable.mask;
+
+    public void test_parse() throws Exception {
+        JSONObject object = (JSONObject) JSON.parse(TEXT, FEATURES);
+        JSONObject expected = (JSONObject) JSON.parse(TEXT, FEATURES & ~Feature.UseJSONTable.mask);
+        Assert.assertEquals(expected, object);
+        Assert.assertEquals(object, expected);
+
+        JSONTable table = (JSONTable) object.getJSONArray("rows");
+        Assert.assertFalse(object.getJSONArray("mixed") instanceof JSONTable);
+
+        int id = table.getColumnIndex("id");
+        int name = table.getColumnIndex("name");
+        int price = table.getColumnIndex("price");
+        Assert.assertEquals(-1, table.getColumnIndex("x"));
+        Assert.assertEquals(long.class, table.getColumnType(id));
+        Assert.assertEquals(String.class, table.getColumnType(name));
+        Assert.assertEquals(double.class, table.getColumnType(price));
+        Assert.assertEquals(Object.class, table.getColumnType(table.getColumnIndex("ok")));
+
+        Assert.assertEquals(8589934592L, table.getLongValue(1, id));
+        Assert.assertEquals(2.0D, table.getDoubleValue(2, price), 0D);
+        Assert.assertTrue(table.isNull(1, price));
+        Assert.assertFalse(table.isNull(1, id));
+
+        // 行视图还原出和解析时相同的类型
+        JSONObject row = table.getJSONObject(0);
+        Assert.assertEquals(Integer.valueOf(1), row.get("id"));
+        Assert.assertEquals(Long.valueOf(8589934592L), table.getJSONObject(1).get("id"));
+        Assert.assertEquals(Double.valueOf(1.5D), row.get("price"));
+        Assert.assertNull(table.getJSONObject(1).get("price"));
+        Assert.assertEquals(Arrays.asList(table.getKeys()), new ArrayList<String>(row.keySet()));
+    }
+
+    public void test_write() throws Exception {
+        Object table = JSON.parse(TEXT, FEATURES);
+        Object expected = JSON.parse(TEXT, FEATURES & ~Feature.UseJSONTable.mask);
+
+        Assert.assertEquals(JSON.toJSONString(expected), JSON.toJSONString(table));
+        Assert.assertEquals(JSON.toJSONString(expected, SerializerFeature.WriteMapNullValue),
+                            JSON.toJSONString(table, SerializerFeature.WriteMapNullValue));
+        Assert.assertEquals(JSON.toJSONString(expected, SerializerFeature.PrettyFormat),
+                            JSON.toJSONString(table, SerializerFeature.PrettyFormat));
+        Assert.assertEquals(JSON.toJSONString(expected, SerializerFeature.BrowserCompatible),
+                            JSON.toJSONString(table, SerializerFeature.BrowserCompatible));
+
+        String nested = "[{\"id\":1,\"tags\":[\"x\"]},{\"id\":2,\"tags\":[]}]";
+        JSONArray array = (JSONArray) JSON.parse(nested, FEATURES);
+        Assert.assertTrue(array instanceof JSONTable);
+        Assert.assertEquals(nested, array.toJSONString());
+    }
+
+    public void test_update() throws Exception {
+        JSONTable table = (JSONTable) JSON.parse("[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"}]", FEATURES);
+        JSONTable clone = (JSONTable) table.clone();
+
+        int id = table.getColumnIndex("id");
+        JSONObject row = table.getJSONObject(1);
+        row.put("id", 5);
+        Assert.assertEquals(5, table.getLongValue(1, id));
+
+        // 类型不匹配时转成Object列
+        row.put("id", "x");
+        Assert.assertEquals(Object.class, table.getColumnType(id));
+        Assert.assertEquals("x", table.getJSONObject(1).get("id"));
+        Assert.assertEquals(1, table.getJSONObject(0).get("id"));
+
+        Map<String, Object> added = new HashMap<String, Object>();
+        added.put("name", "c");
+        added.put("id", 3);
+        table.add(added);
+        Assert.assertEquals(3, table.size());
+        Assert.assertEquals(added, table.getJSONObject(2));
+
+        Assert.assertTrue(table.isColumnar());
+        Assert.assertSame(row, table.get(1));
+
+        // 行视图加入新的key时转成普通的List
+        row.put("other", 1);
+        Assert.assertFalse(table.isColumnar());
+        Assert.assertSame(row, table.get(1));
+        Assert.assertEquals(1, row.get("other"));
+        Assert.assertEquals("x", row.get("id"));
+        Assert.assertEquals(JSON.parse(table.toJSONString(), FEATURES & ~Feature.UseJSONTable.mask), table);
+        Assert.assertTrue(table.toJSONString().contains("\"other\":1"));
+
+        Exception error = null;
+        try {
+            table.getLongValue(0, id);
+        } catch (IllegalStateException ex) {
+            error = ex;
+        }
+        Assert.assertNotNull(error);
+
+        Assert.assertEquals(2, clone.size());
+        Assert.assertEquals(2, clone.getLongValue(1, id));
+    }
+
+    public void test_mutation() throws Exception {
+        String text = "[{\"id\":3,\"name\":\"c\"},{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"}]";
+
+        JSONTable table = (JSONTable) JSON.parse(text, FEATURES);
+        JSONObject first = table.getJSONObject(0);
+        Assert.assertSame(first, table.get(0));
+        Assert.assertEquals(first, table.remove(0));
+        Assert.assertFalse(table.isColumnar());
+        Assert.assertEquals(2, table.size());
+        Assert.assertEquals(3, first.get("id"));
+        Assert.assertEquals(1, table.getJSONObject(0).get("id"));
+
+        table = (JSONTable) JSON.parse(text, FEATURES);
+        JSONObject replaced = table.getJSONObject(1);
+        table.set(1, new JSONObject().fluentPut("x", 1));
+        Assert.assertEquals("a", replaced.get("name"));
+        Assert.assertEquals("{\"x\":1}", table.getJSONObject(1).toJSONString());
+
+        table = (JSONTable) JSON.parse(text, FEATURES);
+        java.util.Collections.sort(table, new java.util.Comparator<Object>() {
+
+            public int compare(Object a, Object b) {
+                return ((JSONObject) a).getIntValue("id") - ((JSONObject) b).getIntValue("id");
+            }
+        });
+        Assert.assertEquals(JSON.parseArray("[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"},{\"id\":3,\"name\":\"c\"}]"),
+                            table);
+        Assert.assertEquals(table, JSON.parseArray(table.toJSONString()));
+
+        // 相同的key追加时仍然按列存放，不同的key转成List
+        table = (JSONTable) JSON.parse(text, FEATURES);
+        table.add(new JSONObject(true).fluentPut("id", 4).fluentPut("name", "d"));
+        Assert.assertTrue(table.isColumnar());
+        table.add(new JSONObject().fluentPut("other", 5));
+        Assert.assertFalse(table.isColumnar());
+        table.add(0, "s");
+        Assert.assertEquals(6, table.size());
+        Assert.assertEquals("s", table.get(0));
+        Assert.assertEquals(5, table.getJSONObject(5).get("other"));
+        Assert.assertEquals(4, table.getJSONObject(4).get("id"));
+
+        JSONTable clone = (JSONTable) table.clone();
+        Assert.assertEquals(table, clone);
+        clone.remove(0);
+        Assert.assertEquals(6, table.size());
+
+        table = (JSONTable) JSON.parse(text, FEATURES);
+        JSONObject row = table.getJSONObject(2);
+        row.remove("name");
+        Assert.assertFalse(table.isColumnar());
+        Assert.assertEquals("{\"id\":2}", table.getJSONObject(2).toJSONString());
+        table.clear();
+        Assert.assertTrue(table.isEmpty());
+        Assert.assertEquals("{\"id\":2}", row.toJSONString());
+    }
+
+    public void test_ref() throws Exception {
+        String text = "{\"items\":[{\"id\":1},{\"id\":2}],\"first\":{\"$ref\":\"$.items[0]\"}}";
+        JSONObject object = (JSONObject) JSON.parse(text, FEATURES);
+        JSONTable items = (JSONTable) object.getJSONArray("items");
+        Assert.assertSame(items.get(0), object.get("first"));
+
+        object.getJSONObject("first").put("id", 10);
+        Assert.assertEquals(10, items.getLongValue(0, items.getColumnIndex("id")));
+
+        // 数组中有待处理的引用时不转换
+        text = "{\"items\":[{\"id\":1,\"next\":{\"$ref\":\"$.last\"}},{\"id\":2,\"next\":null}],\"last\":{}}";
+        object = (JSONObject) JSON.parse(text, FEATURES);
+        Assert.assertFalse(object.get("items") instanceof JSONTable);
+        Assert.assertSame(object.get("last"), object.getJSONArray("items").getJSONObject(0).get("next"));
+    }
+
+    public void test_serialize() throws Exception {
+        JSONTable table = JSONTable.of(JSON.parseArray("[{\"id\":1},{\"id\":null}]"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(table);
+        out.close();
+        Object copy = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+        Assert.assertEquals(table, copy);
+        Assert.assertTrue(copy instanceof JSONTable);
+    }
+}
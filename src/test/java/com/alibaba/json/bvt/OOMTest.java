@@ -1,7 +1,5 @@
 package com.alibaba.json.bvt;
 
-import java.lang.reflect.Field;
-
 import org.junit.Assert;
 
 import com.alibaba.fastjson.JSON;
@@ -18,9 +16,7 @@ public class OOMTest extends TestCase {
             JSON.parse(text);
         }
         
-        Field field = SymbolTable.class.getDeclaredField("symbols");
-        field.setAccessible(true);
-        Object[] symbols = (Object[]) field.get(ParserConfig.getGlobalInstance().symbolTable);
-        Assert.assertEquals(4096, symbols.length);
+        SymbolTable symbolTable = ParserConfig.getGlobalInstance().symbolTable;
+        Assert.assertEquals(4096 << 2, symbolTable.getCapacity());
     }
 }
@@ -37,7 +37,8 @@ public class SymbolTableTest extends TestCase {
         }
 
         String symbol = "name";
-        table.addSymbol(symbol.toCharArray(), 0, symbol.length());
+        // 不调用String.intern，第一次加入时返回的是表中的对象，不是字符串常量
+        symbol = table.addSymbol(symbol.toCharArray(), 0, symbol.length());
         table.addSymbol(symbol.toCharArray(), 0, symbol.length());
 
         Assert.assertTrue(symbol == table.addSymbol("name".toCharArray(), 0, 4));
@@ -0,0 +1,106 @@
+package com.alibaba.json.bvt.parser;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.TypeReference;
+
+import junit.framework.TestCase;
+
+public class ByteBufferParseTest extends TestCase {
+
+    public void test_heap() throws Exception {
+        byte[] bytes = "xx{\"id\":1001,\"name\":\"温少\"}yy".getBytes("UTF-8");
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.position(2);
+        buffer.limit(bytes.length - 2);
+
+        Model model = JSON.parseObject(buffer, Model.class);
+        Assert.assertEquals(1001, model.id);
+        Assert.assertEquals("温少", model.name);
+        Assert.assertEquals(2, buffer.position());
+    }
+
+    public void test_heap_slice() throws Exception {
+        byte[] bytes = "xx{\"id\":1001,\"name\":\"温少\"}".getBytes("UTF-8");
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 2, bytes.length - 2).slice();
+
+        JSONObject object = (JSONObject) JSON.parse(buffer);
+        Assert.assertEquals(1001, object.get("id"));
+        Assert.assertEquals("温少", object.get("name"));
+    }
+
+    public void test_readonly() throws Exception {
+        ByteBuffer buffer = ByteBuffer.wrap("{\"id\":3,\"name\":\"中文\"}".getBytes("UTF-8")).asReadOnlyBuffer();
+
+        Model model = JSON.parseObject(buffer, Model.class);
+        Assert.assertEquals(3, model.id);
+        Assert.assertEquals("中文", model.name);
+    }
+
+    public void test_direct() throws Exception {
+        byte[] bytes = "[{\"id\":1,\"name\":\"a\\\"中\"},{\"id\":2}]".getBytes("UTF-8");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        buffer.flip();
+
+        List<Model> list = JSON.parseObject(buffer, new TypeReference<List<Model>>() {}.getType());
+        Assert.assertEquals(2, list.size());
+        Assert.assertEquals("a\"中", list.get(0).name);
+        Assert.assertEquals(2, list.get(1).id);
+        Assert.assertEquals(0, buffer.position());
+    }
+
+    public void test_mmap() throws Exception {
+        List<Model> list = new ArrayList<Model>();
+        for (int i = 0; i < 5000; ++i) {
+            Model model = new Model();
+            model.id = i;
+            model.name = "名字_" + i;
+            list.add(model);
+        }
+
+        File file = File.createTempFile("fastjson", ".json");
+        try {
+            FileOutputStream out = new FileOutputStream(file);
+            try {
+                JSON.writeJSONString(out, list);
+            } finally {
+                out.close();
+            }
+
+            RandomAccessFile raf = new RandomAccessFile(file, "r");
+            try {
+                FileChannel channel = raf.getChannel();
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                assertTrue(buffer.remaining() > 1024 * 64);
+
+                List<Model> result = JSON.parseObject(buffer, new TypeReference<List<Model>>() {}.getType());
+                Assert.assertEquals(list.size(), result.size());
+                for (int i = 0; i < list.size(); ++i) {
+                    Assert.assertEquals(list.get(i).id, result.get(i).id);
+                    Assert.assertEquals(list.get(i).name, result.get(i).name);
+                }
+            } finally {
+                raf.close();
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    public static class Model {
+        public int    id;
+        public String name;
+    }
+}
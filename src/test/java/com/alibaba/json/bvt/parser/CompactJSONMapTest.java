@@ -0,0 +1,118 @@
+package com.alibaba.json.bvt.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.parser.CompactJSONMap;
+import com.alibaba.fastjson.parser.Feature;
+
+import junit.framework.TestCase;
+
+public class CompactJSONMapTest extends TestCase {
+
+    private final static String TEXT = "{\"items\":[{\"id\":1,\"name\":\"a\",\"tags\":[]},"
+                                       + "{\"id\":2,\"name\":\"b\",\"tags\":[{\"k\":1}]},"
+                                       + "{\"id\":3,\"name\":\"c\"}],\"total\":3}";
+
+    public void test_parse() throws Exception {
+        JSONObject object = JSON.parseObject(TEXT, Feature.UseCompactMap);
+        Assert.assertTrue(object.getInnerMap() instanceof CompactJSONMap);
+        Assert.assertEquals(JSON.parseObject(TEXT), object);
+        Assert.assertEquals(TEXT, object.toJSONString());
+
+        JSONArray items = object.getJSONArray("items");
+        JSONObject first = items.getJSONObject(0);
+        JSONObject second = items.getJSONObject(1);
+        Assert.assertTrue(second.getJSONArray("tags").getJSONObject(0).getInnerMap() instanceof CompactJSONMap);
+
+        // 相同key顺序的对象共享同一个shape
+        Assert.assertSame(shape(first), shape(second));
+        Assert.assertNotSame(shape(first), shape(items.getJSONObject(2)));
+        Assert.assertEquals(2, items.getJSONObject(2).size());
+    }
+
+    public void test_map() throws Exception {
+        Map<String, Object> map = new CompactJSONMap();
+        for (int i = 0; i < 20; ++i) {
+            Assert.assertNull(map.put("k" + i, i));
+        }
+        Assert.assertEquals(20, map.size());
+        Assert.assertEquals(7, map.get(new String("k7")));
+        Assert.assertEquals(7, map.put("k7", 70));
+        Assert.assertEquals(70, map.get("k7"));
+        Assert.assertNull(map.get("k20"));
+        Assert.assertNull(map.get(1));
+        Assert.assertFalse(map.containsKey("x"));
+
+        int i = 0;
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            Assert.assertEquals("k" + i, entry.getKey());
+            if (i == 3) {
+                entry.setValue(-3);
+            }
+            i++;
+        }
+        Assert.assertEquals(-3, map.get("k3"));
+
+        // remove之后转成LinkedHashMap，顺序不变
+        Assert.assertEquals(0, map.remove("k0"));
+        Assert.assertNull(map.remove("k0"));
+        Assert.assertEquals(19, map.size());
+        Assert.assertEquals("k1", map.keySet().iterator().next());
+        map.put(null, "n");
+        Assert.assertEquals("n", map.get(null));
+
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        map.put("a", 1);
+        Assert.assertEquals("{\"a\":1}", JSON.toJSONString(map));
+    }
+
+    public void test_iterator_remove() throws Exception {
+        Map<String, Object> map = new CompactJSONMap();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+
+        Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            if (((Integer) it.next().getValue()) != 2) {
+                it.remove();
+            }
+        }
+        Assert.assertEquals(1, map.size());
+        Assert.assertEquals(2, map.get("b"));
+    }
+
+    public void test_clone_serialize() throws Exception {
+        JSONObject object = JSON.parseObject("{\"a\":1,\"b\":{\"c\":2}}", Feature.UseCompactMap);
+        JSONObject clone = (JSONObject) object.clone();
+        Assert.assertTrue(clone.getInnerMap() instanceof CompactJSONMap);
+        clone.put("a", 3);
+        Assert.assertEquals(1, object.get("a"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(object);
+        out.close();
+        JSONObject copy = (JSONObject) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+        Assert.assertEquals(object, copy);
+        Assert.assertEquals("{\"a\":1,\"b\":{\"c\":2}}", copy.toJSONString());
+    }
+
+    private static Object shape(JSONObject object) throws Exception {
+        Field field = CompactJSONMap.class.getDeclaredField("shape");
+        field.setAccessible(true);
+        return field.get(object.getInnerMap());
+    }
+}
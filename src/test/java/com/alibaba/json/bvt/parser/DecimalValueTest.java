@@ -0,0 +1,111 @@
+package com.alibaba.json.bvt.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.annotation.JSONType;
+import com.alibaba.fastjson.parser.Feature;
+import com.alibaba.fastjson.parser.JSONLexerBase;
+import com.alibaba.fastjson.parser.JSONReaderScanner;
+import com.alibaba.fastjson.parser.JSONScanner;
+import com.alibaba.fastjson.parser.JSONToken;
+import com.alibaba.fastjson.parser.JSONUTF8Scanner;
+import com.alibaba.fastjson.parser.ParserConfig;
+
+import junit.framework.TestCase;
+
+public class DecimalValueTest extends TestCase {
+
+    private final static String[] TEXTS = {"0.1", "-0.0", "12.50", "0.00123", "-2.5e-3", "1E5", "1e+5", "7.25E-10",
+            "123456789012345678", "12345678.9012345678", "1234567890123456789.5", "99999999999999999999",
+            "1.5e1000000000", "3.14D", "2.5F", "10L"};
+
+    public void test_lexer() throws Exception {
+        for (String text : TEXTS) {
+            BigDecimal expected = new BigDecimal(text.replaceAll("[DFL]$", ""));
+            for (JSONLexerBase lexer : lexers(text)) {
+                lexer.nextToken();
+                Assert.assertTrue(lexer.token() == JSONToken.LITERAL_FLOAT || lexer.token() == JSONToken.LITERAL_INT);
+                BigDecimal value = lexer.decimalValue();
+                Assert.assertEquals(text, expected, value);
+                Assert.assertEquals(text, expected.scale(), value.scale());
+            }
+        }
+    }
+
+    public void test_random() throws Exception {
+        Random random = new Random(3);
+        String[] texts = new String[10000];
+        StringBuilder buf = new StringBuilder("[");
+        for (int i = 0; i < texts.length; ++i) {
+            long unscaled = random.nextLong() % (random.nextBoolean() ? 1000000L : Long.MAX_VALUE);
+            texts[i] = BigDecimal.valueOf(unscaled, random.nextInt(40) - 20).toString();
+            if (i != 0) {
+                buf.append(',');
+            }
+            buf.append(texts[i]);
+        }
+        buf.append(']');
+
+        JSONArray array = JSON.parseArray(buf.toString());
+        for (int i = 0; i < array.size(); ++i) {
+            Object value = array.get(i);
+            if (value instanceof BigDecimal) {
+                Assert.assertEquals(texts[i], new BigDecimal(texts[i]), value);
+            }
+        }
+    }
+
+    public void test_field() throws Exception {
+        ParserConfig config = new ParserConfig();
+        config.setAsmEnable(false);
+
+        for (String text : TEXTS) {
+            if (text.endsWith("D") || text.endsWith("F") || text.endsWith("L")) {
+                continue;
+            }
+            BigDecimal expected = new BigDecimal(text);
+            String json = "{\"price\":" + text + ",\"id\":1}";
+
+            Assert.assertEquals(text, expected, JSON.parseObject(json, Model.class).price);
+            Model model = JSON.parseObject(json, Model.class, config, JSON.DEFAULT_PARSER_FEATURE);
+            Assert.assertEquals(text, expected, model.price);
+
+            model = JSON.parseObject(json.getBytes("UTF-8"), Model.class);
+            Assert.assertEquals(text, expected, model.price);
+
+            model = JSON.parseObject(new ByteArrayInputStream(json.getBytes("UTF-8")), Model.class);
+            Assert.assertEquals(text, expected, model.price);
+
+            Assert.assertEquals(text, expected,
+                                JSON.parseObject("{\"price\":\"" + text + "\",\"id\":1}", Model.class).price);
+            Assert.assertEquals(text, expected, JSON.parseObject("[" + text + ",1]", ArrayModel.class,
+                                                                 Feature.SupportArrayToBean).price);
+        }
+    }
+
+    private static JSONLexerBase[] lexers(String text) throws Exception {
+        return new JSONLexerBase[] {
+            new JSONScanner(text),
+            new JSONUTF8Scanner(text.getBytes("UTF-8")),
+            new JSONReaderScanner(new StringReader(text))
+        };
+    }
+
+    public static class Model {
+        public BigDecimal price;
+        public int        id;
+    }
+
+    @JSONType(orders = {"price", "id"})
+    public static class ArrayModel {
+        public BigDecimal price;
+        public int        id;
+    }
+}
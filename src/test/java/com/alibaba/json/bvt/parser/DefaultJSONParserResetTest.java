@@ -0,0 +1,90 @@
+package com.alibaba.json.bvt.parser;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.parser.DefaultJSONParser;
+import com.alibaba.fastjson.parser.ParserConfig;
+
+import junit.framework.TestCase;
+
+public class DefaultJSONParserResetTest extends TestCase {
+
+    public void test_string() throws Exception {
+        DefaultJSONParser parser = new DefaultJSONParser("{}");
+        for (int i = 0; i < 10; ++i) {
+            parser.reset("{\"id\":" + i + ",\"name\":\"n\\\"" + i + "\",\"price\":1.5}");
+            Tick tick = parser.parseObject(Tick.class);
+            parser.handleResovleTask(tick);
+            Assert.assertEquals(i, tick.id);
+            Assert.assertEquals("n\"" + i, tick.name);
+            Assert.assertEquals(1.5D, tick.price, 0D);
+        }
+
+        parser.reset("[1,2]");
+        Assert.assertEquals(JSON.parseArray("[1,2]"), parser.parse());
+    }
+
+    public void test_bytes() throws Exception {
+        byte[] first = "{\"id\":1,\"name\":\"中文\"}".getBytes("UTF-8");
+        DefaultJSONParser parser = new DefaultJSONParser(first, 0, first.length, ParserConfig.getGlobalInstance(),
+                                                         JSON.DEFAULT_PARSER_FEATURE);
+        Assert.assertEquals("中文", parser.parseObject(Tick.class).name);
+
+        byte[] second = " {\"id\":2,\"name\":\"b\"}".getBytes("UTF-8");
+        parser.reset(second, 1, second.length - 1, JSON.DEFAULT_PARSER_FEATURE);
+        Tick tick = parser.parseObject(Tick.class);
+        Assert.assertEquals(2, tick.id);
+        Assert.assertEquals("b", tick.name);
+    }
+
+    public void test_reference() throws Exception {
+        DefaultJSONParser parser = new DefaultJSONParser("{}");
+        parser.reset("{\"a\":{\"id\":1},\"b\":{\"$ref\":\"$.a\"}}");
+        JSONObject first = (JSONObject) parser.parse();
+        parser.handleResovleTask(first);
+        Assert.assertSame(first.get("a"), first.get("b"));
+
+        // 上一次的context不会被引用到
+        parser.reset("{\"b\":{\"$ref\":\"$.a\"}}");
+        JSONObject second = (JSONObject) parser.parse();
+        parser.handleResovleTask(second);
+        Assert.assertNull(second.get("b"));
+    }
+
+    public void test_after_error_and_close() throws Exception {
+        DefaultJSONParser parser = new DefaultJSONParser("{}");
+        parser.reset("{\"id\":");
+        Exception error = null;
+        try {
+            parser.parseObject(Tick.class);
+        } catch (JSONException ex) {
+            error = ex;
+        }
+        Assert.assertNotNull(error);
+
+        parser.close();
+        parser.reset("{\"id\":3}");
+        Assert.assertEquals(3, parser.parseObject(Tick.class).id);
+    }
+
+    public void test_lexer_mismatch() throws Exception {
+        DefaultJSONParser parser = new DefaultJSONParser("{}");
+        Exception error = null;
+        try {
+            parser.reset(new byte[] {'{', '}'}, 0, 2, JSON.DEFAULT_PARSER_FEATURE);
+        } catch (JSONException ex) {
+            error = ex;
+        }
+        Assert.assertNotNull(error);
+    }
+
+    public static class Tick {
+
+        public int    id;
+        public String name;
+        public double price;
+    }
+}
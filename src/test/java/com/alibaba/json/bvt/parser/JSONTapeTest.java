@@ -0,0 +1,114 @@
+package com.alibaba.json.bvt.parser;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.parser.Feature;
+import com.alibaba.fastjson.parser.JSONTape;
+
+import junit.framework.TestCase;
+
+public class JSONTapeTest extends TestCase {
+
+    private final static String TEXT = "﻿{\"id\":123, \"big\":12345678901,\"price\":-12.5e1,\"name\":\"a\\\"b\\u4e2d\","
+                                       + "\"名字\":\"中文\",\"flag\":true,\"off\":false,\"none\":null,"
+                                       + "\"items\":[{\"k\":1},[],{},[0,[2,3]]],\"huge\":123456789012345678901234,"
+                                       + "\"max\":9223372036854775807,\"small\":1.5E-300,\"id\":456}";
+
+    public void test_navigate() throws Exception {
+        for (JSONTape tape : tapes(TEXT)) {
+            int root = tape.root();
+            Assert.assertEquals(JSONTape.OBJECT, tape.type(root));
+            Assert.assertEquals(13, tape.size(root));
+
+            Assert.assertEquals(456, tape.longValue(tape.get(root, "id")));
+            Assert.assertEquals(12345678901L, tape.longValue(tape.get(root, "big")));
+            Assert.assertEquals(-125D, tape.doubleValue(tape.get(root, "price")), 0D);
+            Assert.assertEquals(new BigDecimal("-12.5e1"), tape.decimalValue(tape.get(root, "price")));
+            Assert.assertEquals("a\"b中", tape.stringValue(tape.get(root, "name")));
+            Assert.assertEquals("中文", tape.stringValue(tape.get(root, "名字")));
+            Assert.assertTrue(tape.booleanValue(tape.get(root, "flag")));
+            Assert.assertFalse(tape.booleanValue(tape.get(root, "off")));
+            Assert.assertTrue(tape.isNull(tape.get(root, "none")));
+            Assert.assertEquals(-1, tape.get(root, "missing"));
+            Assert.assertEquals(JSONTape.BIG_INTEGER, tape.type(tape.get(root, "huge")));
+            Assert.assertEquals(Long.MAX_VALUE, tape.longValue(tape.get(root, "max")));
+            Assert.assertEquals(1.5E-300, tape.doubleValue(tape.get(root, "small")), 0D);
+
+            int items = tape.get(root, "items");
+            Assert.assertEquals(4, tape.size(items));
+            Assert.assertEquals(1, tape.longValue(tape.get(tape.get(items, 0), "k")));
+            Assert.assertEquals(0, tape.size(tape.get(items, 1)));
+            Assert.assertEquals(0, tape.size(tape.get(items, 2)));
+            Assert.assertEquals(3, tape.longValue(tape.get(tape.get(tape.get(items, 3), 1), 1)));
+            Assert.assertEquals(-1, tape.get(items, 4));
+
+            int count = 0;
+            for (int p = tape.first(items), end = tape.next(items); p < end; p = tape.next(p)) {
+                count++;
+            }
+            Assert.assertEquals(4, count);
+        }
+    }
+
+    public void test_value() throws Exception {
+        Object expected = JSON.parse(TEXT, Feature.OrderedField);
+        for (JSONTape tape : tapes(TEXT)) {
+            Object value = tape.value(tape.root());
+            Assert.assertEquals(expected, value);
+            Assert.assertEquals(new BigInteger("123456789012345678901234"),
+                                tape.value(tape.get(tape.root(), "huge")));
+        }
+    }
+
+    public void test_off_heap() throws Exception {
+        byte[] bytes = TEXT.getBytes("UTF-8");
+        ByteBuffer input = ByteBuffer.allocateDirect(bytes.length + 2);
+        input.put((byte) ' ').put(bytes).flip();
+        input.position(1);
+
+        JSONTape tape = JSONTape.parse(input, true);
+        Assert.assertTrue(tape.isOffHeap());
+        Assert.assertEquals(1, input.position());
+        Assert.assertEquals(456, tape.longValue(tape.get(tape.root(), "id")));
+    }
+
+    public void test_scalar_root() throws Exception {
+        JSONTape tape = JSONTape.parse(" \"abc\" ".getBytes("UTF-8"));
+        Assert.assertEquals("abc", tape.stringValue(tape.root()));
+
+        tape = JSONTape.parse("-0.25".getBytes("UTF-8"));
+        Assert.assertEquals(-0.25D, tape.doubleValue(tape.root()), 0D);
+    }
+
+    public void test_error() throws Exception {
+        String[] texts = {"", " ", "{\"a\":1", "[1,2}", "{\"a\" 1}", "{a:1}", "[1,]", "\"abc", "[1] 2", "[tru]",
+                "[01]", "[1.]", "[1e]", "[-]", "[1 2]", "{\"a\":1,}", "[:]"};
+
+        for (String text : texts) {
+            Exception error = null;
+            try {
+                JSONTape.parse(text.getBytes("UTF-8"));
+            } catch (JSONException ex) {
+                error = ex;
+            }
+            Assert.assertNotNull(text, error);
+        }
+    }
+
+    private static JSONTape[] tapes(String text) throws Exception {
+        byte[] bytes = text.getBytes("UTF-8");
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        return new JSONTape[] {
+            JSONTape.parse(bytes),
+            JSONTape.parse(ByteBuffer.wrap(bytes), false),
+            JSONTape.parse(direct, true)
+        };
+    }
+}
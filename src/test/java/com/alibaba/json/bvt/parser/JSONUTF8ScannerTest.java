@@ -0,0 +1,122 @@
+package com.alibaba.json.bvt.parser;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.TypeReference;
+import com.alibaba.fastjson.parser.DefaultJSONParser;
+import com.alibaba.fastjson.parser.JSONToken;
+import com.alibaba.fastjson.parser.JSONUTF8Scanner;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.util.IOUtils;
+
+import junit.framework.TestCase;
+
+public class JSONUTF8ScannerTest extends TestCase {
+
+    public void test_bean() throws Exception {
+        byte[] bytes = "{\"id\":1001,\"name\":\"温少\",\"tags\":[\"a\\\"b\",\"中\\n文\"],\"price\":12.34,\"type\":\"大\"}".getBytes("UTF-8");
+
+        Model model = JSON.parseObject(bytes, Model.class);
+        Assert.assertEquals(1001, model.id);
+        Assert.assertEquals("温少", model.name);
+        Assert.assertEquals(2, model.tags.size());
+        Assert.assertEquals("a\"b", model.tags.get(0));
+        Assert.assertEquals("中\n文", model.tags.get(1));
+        Assert.assertEquals(new BigDecimal("12.34"), model.price);
+        Assert.assertEquals(Type.大, model.type);
+    }
+
+    public void test_jsonobject() throws Exception {
+        byte[] bytes = "{\"名字\":\"\\u4e2d\\u6587和中文\",\"emoji\":\"😀\",\"v\":[1,2.5,true,null]}".getBytes("UTF-8");
+
+        JSONObject object = (JSONObject) JSON.parse(bytes);
+        Assert.assertEquals("中文和中文", object.get("名字"));
+        Assert.assertEquals("😀", object.get("emoji"));
+        Assert.assertEquals(4, object.getJSONArray("v").size());
+        Assert.assertEquals(new BigDecimal("2.5"), object.getJSONArray("v").get(1));
+    }
+
+    public void test_escaped_key() throws Exception {
+        byte[] bytes = "{\"k\\\"中\":\"v\"}".getBytes("UTF-8");
+
+        JSONObject object = JSON.parseObject(bytes, JSONObject.class);
+        Assert.assertEquals("v", object.get("k\"中"));
+    }
+
+    public void test_bom() throws Exception {
+        byte[] json = "{\"id\":3}".getBytes("UTF-8");
+        byte[] bytes = new byte[json.length + 3];
+        bytes[0] = (byte) 0xEF;
+        bytes[1] = (byte) 0xBB;
+        bytes[2] = (byte) 0xBF;
+        System.arraycopy(json, 0, bytes, 3, json.length);
+
+        Model model = JSON.parseObject(bytes, Model.class);
+        Assert.assertEquals(3, model.id);
+    }
+
+    public void test_offset() throws Exception {
+        byte[] bytes = "xx[{\"id\":1},{\"id\":2}]yy".getBytes("UTF-8");
+
+        List<Model> list = JSON.parseObject(bytes, 2, bytes.length - 4, IOUtils.UTF8, new TypeReference<List<Model>>() {}.getType());
+        Assert.assertEquals(2, list.size());
+        Assert.assertEquals(2, list.get(1).id);
+    }
+
+    public void test_lexer() throws Exception {
+        JSONUTF8Scanner lexer = new JSONUTF8Scanner("\"中文\" 123".getBytes("UTF-8"));
+        lexer.nextToken();
+        Assert.assertEquals(JSONToken.LITERAL_STRING, lexer.token());
+        Assert.assertEquals("中文", lexer.stringVal());
+        lexer.nextToken();
+        Assert.assertEquals(JSONToken.LITERAL_INT, lexer.token());
+        Assert.assertEquals(123, lexer.intValue());
+        lexer.nextToken();
+        Assert.assertEquals(JSONToken.EOF, lexer.token());
+        lexer.close();
+    }
+
+    public void test_symbol() throws Exception {
+        byte[] bytes = "{\"名字\":1}".getBytes("UTF-8");
+
+        // 全局的SymbolTable可能已经被其他测试填满，填满后不再缓存，用单独的ParserConfig
+        ParserConfig config = new ParserConfig();
+        DefaultJSONParser parser = new DefaultJSONParser(bytes, 0, bytes.length, config, JSON.DEFAULT_PARSER_FEATURE);
+        JSONObject object = parser.parseObject();
+        parser.close();
+
+        String key = object.keySet().iterator().next();
+        Assert.assertEquals("名字", key);
+        Assert.assertSame(key, config.symbolTable.addSymbol("名字", 0, 2, "名字".hashCode()));
+    }
+
+    public void test_error() throws Exception {
+        byte[] bytes = "{\"name\":\"ÿ\"}".getBytes("UTF-8");
+        bytes[bytes.length - 3] = (byte) 0xFF;
+
+        Exception error = null;
+        try {
+            JSON.parseObject(bytes, Model.class);
+        } catch (Exception ex) {
+            error = ex;
+        }
+        Assert.assertNotNull(error);
+    }
+
+    public static class Model {
+        public int          id;
+        public String       name;
+        public List<String> tags;
+        public BigDecimal   price;
+        public Type         type;
+    }
+
+    public static enum Type {
+        大, 小
+    }
+}
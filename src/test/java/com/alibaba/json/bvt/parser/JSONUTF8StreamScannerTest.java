@@ -0,0 +1,180 @@
+package com.alibaba.json.bvt.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.TypeReference;
+import com.alibaba.fastjson.parser.JSONToken;
+import com.alibaba.fastjson.parser.JSONUTF8StreamScanner;
+
+import junit.framework.TestCase;
+
+public class JSONUTF8StreamScannerTest extends TestCase {
+
+    public void test_large_list() throws Exception {
+        List<Model> list = new ArrayList<Model>();
+        for (int i = 0; i < 2000; ++i) {
+            Model model = new Model();
+            model.id = i;
+            model.name = "名字_" + i + (i % 3 == 0 ? "\"\\\n😀" : "");
+            list.add(model);
+        }
+        String text = JSON.toJSONString(list);
+        byte[] bytes = text.getBytes("UTF-8");
+        assertTrue(bytes.length > 1024 * 64);
+
+        List<Model> result = JSON.parseObject(new TrickleInputStream(bytes), new TypeReference<List<Model>>() {}.getType());
+        Assert.assertEquals(list.size(), result.size());
+        for (int i = 0; i < list.size(); ++i) {
+            Assert.assertEquals(list.get(i).id, result.get(i).id);
+            Assert.assertEquals(list.get(i).name, result.get(i).name);
+        }
+    }
+
+    public void test_jsonobject() throws Exception {
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < 3000; ++i) {
+            buf.append("中文");
+        }
+        String text = "{\"键\":\"" + buf + "\",\"v\":[1,2.5,true,null,\"\\u4e2d\"]}";
+
+        JSONObject object = JSON.parseObject(new TrickleInputStream(text.getBytes("UTF-8")), JSONObject.class);
+        Assert.assertEquals(buf.toString(), object.get("键"));
+        JSONArray array = object.getJSONArray("v");
+        Assert.assertEquals(5, array.size());
+        Assert.assertEquals("中", array.get(4));
+    }
+
+    public void test_bom() throws Exception {
+        byte[] json = "{\"id\":3}".getBytes("UTF-8");
+        byte[] bytes = new byte[json.length + 3];
+        bytes[0] = (byte) 0xEF;
+        bytes[1] = (byte) 0xBB;
+        bytes[2] = (byte) 0xBF;
+        System.arraycopy(json, 0, bytes, 3, json.length);
+
+        Model model = JSON.parseObject(new TrickleInputStream(bytes), Model.class);
+        Assert.assertEquals(3, model.id);
+    }
+
+    public void test_empty() throws Exception {
+        Assert.assertNull(JSON.parseObject(new ByteArrayInputStream(new byte[0]), Model.class));
+    }
+
+    public void test_hex() throws Exception {
+        byte[] bytes = "{\"b\":x'0A0B'}".getBytes("UTF-8");
+        BytesModel model = JSON.parseObject(new TrickleInputStream(bytes), BytesModel.class);
+        Assert.assertArrayEquals(new byte[] { 10, 11 }, model.b);
+
+        // 比窗口大的十六进制值
+        byte[] large = new byte[1024 * 20];
+        for (int i = 0; i < large.length; ++i) {
+            large[i] = (byte) i;
+        }
+        StringBuilder buf = new StringBuilder("{\"b\":x'");
+        for (int i = 0; i < large.length; ++i) {
+            buf.append(Character.toUpperCase(Character.forDigit((large[i] >> 4) & 0xF, 16)));
+            buf.append(Character.toUpperCase(Character.forDigit(large[i] & 0xF, 16)));
+        }
+        buf.append("'}");
+        model = JSON.parseObject(new TrickleInputStream(buf.toString().getBytes("UTF-8")), BytesModel.class);
+        Assert.assertArrayEquals(large, model.b);
+    }
+
+    public void test_error_pos() throws Exception {
+        StringBuilder buf = new StringBuilder("{\"list\":[");
+        for (int i = 0; i < 5000; ++i) {
+            buf.append("\"abcdef\",");
+        }
+        buf.append("1],");
+        String prefix = buf.toString();
+
+        // 出错的位置在第一次滑动窗口之后，报告的是在整个流中的位置，和String输入一致
+        String[] texts = { prefix + "\"b\":@}", prefix + "\"b\" 1}", prefix + "\"b\":[1}" };
+        for (String text : texts) {
+            byte[] bytes = text.getBytes("UTF-8");
+            String expected = errorPos(text);
+            Assert.assertTrue(expected, Integer.parseInt(expected.replaceAll("\\D", "")) > 1024 * 16);
+            Assert.assertEquals(expected, errorPos(new ByteArrayInputStream(bytes)));
+            Assert.assertEquals(expected, errorPos(new TrickleInputStream(bytes)));
+        }
+    }
+
+    private static String errorPos(Object input) {
+        try {
+            if (input instanceof String) {
+                JSON.parseObject((String) input, Object.class);
+            } else {
+                JSON.parseObject((InputStream) input, Object.class);
+            }
+        } catch (Exception ex) {
+            Matcher matcher = Pattern.compile("(pos|at) \\d+").matcher(ex.getMessage());
+            if (matcher.find()) {
+                return matcher.group();
+            }
+            return ex.getMessage();
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+        return null;
+    }
+
+    public void test_lexer() throws Exception {
+        JSONUTF8StreamScanner lexer = new JSONUTF8StreamScanner(new TrickleInputStream("\"中文\" 123".getBytes("UTF-8")));
+        lexer.nextToken();
+        Assert.assertEquals(JSONToken.LITERAL_STRING, lexer.token());
+        Assert.assertEquals("中文", lexer.stringVal());
+        lexer.nextToken();
+        Assert.assertEquals(JSONToken.LITERAL_INT, lexer.token());
+        Assert.assertEquals(123, lexer.intValue());
+        lexer.nextToken();
+        Assert.assertEquals(JSONToken.EOF, lexer.token());
+        lexer.close();
+    }
+
+    public static class Model {
+        public int    id;
+        public String name;
+    }
+
+    public static class BytesModel {
+        public byte[] b;
+    }
+
+    /**
+     * 每次只返回很少的字节，模拟网络流
+     */
+    static class TrickleInputStream extends InputStream {
+
+        private final byte[] bytes;
+        private int          pos;
+
+        TrickleInputStream(byte[] bytes){
+            this.bytes = bytes;
+        }
+
+        public int read() throws IOException {
+            return pos < bytes.length ? bytes[pos++] & 0xFF : -1;
+        }
+
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (pos >= bytes.length) {
+                return -1;
+            }
+            int n = Math.min(Math.min(len, 1 + pos % 7), bytes.length - pos);
+            System.arraycopy(bytes, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.alibaba.json.bvt.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.parser.Feature;
+
+import junit.framework.TestCase;
+
+public class LazyJSONParserTest extends TestCase {
+
+    private final static String TEXT = "{\"id\":123,\"big\":12345678901,\"price\":12.5,\"name\":\"a\\\"b\\u4e2d\","
+                                       + "\"n\\u0061me2\":'x', /* c */ \"flag\":true,\"none\":null,"
+                                       + "\"items\":[{\"k\":1},[],{},[1,[2,3]]],\"id\":456}";
+
+    public void test_get() throws Exception {
+        JSONObject object = (JSONObject) JSON.parseLazy(TEXT);
+
+        Assert.assertEquals(456, object.get("id"));
+        Assert.assertEquals(12345678901L, object.get("big"));
+        Assert.assertEquals(new BigDecimal("12.5"), object.get("price"));
+        Assert.assertEquals("a\"b中", object.getString("name"));
+        Assert.assertEquals("x", object.getString("name2"));
+        Assert.assertEquals(Boolean.TRUE, object.get("flag"));
+        Assert.assertTrue(object.containsKey("none"));
+        Assert.assertNull(object.get("none"));
+        Assert.assertNull(object.get("missing"));
+        Assert.assertEquals(8, object.size());
+
+        JSONArray items = object.getJSONArray("items");
+        Assert.assertSame(items, object.getJSONArray("items"));
+        Assert.assertEquals(4, items.size());
+        Assert.assertEquals(1, items.getJSONObject(0).getIntValue("k"));
+        Assert.assertTrue(items.getJSONArray(1).isEmpty());
+        Assert.assertTrue(items.getJSONObject(2).isEmpty());
+        Assert.assertEquals(3, items.getJSONArray(3).getJSONArray(1).get(1));
+    }
+
+    public void test_same_as_parse() throws Exception {
+        Object lazy = JSON.parseLazy(TEXT);
+        Object eager = JSON.parse(TEXT, Feature.OrderedField);
+
+        Assert.assertEquals(eager, lazy);
+        Assert.assertEquals(JSON.toJSONString(eager), JSON.toJSONString(lazy));
+    }
+
+    public void test_many_keys() throws Exception {
+        StringBuilder buf = new StringBuilder("{");
+        for (int i = 0; i < 100; ++i) {
+            if (i != 0) {
+                buf.append(',');
+            }
+            buf.append("\"k").append(i).append("\":").append(i);
+        }
+        buf.append('}');
+
+        JSONObject object = (JSONObject) JSON.parseLazy(buf.toString());
+        Assert.assertEquals(77, object.getIntValue("k77"));
+        Assert.assertEquals(100, object.size());
+        Assert.assertFalse(object.containsKey("k100"));
+    }
+
+    public void test_modify() throws Exception {
+        JSONObject object = (JSONObject) JSON.parseLazy("{\"a\":1,\"b\":[1,2]}");
+        object.put("c", 3);
+        Assert.assertEquals(1, object.remove("a"));
+        Assert.assertEquals("{\"b\":[1,2],\"c\":3}", object.toJSONString());
+
+        JSONArray array = object.getJSONArray("b");
+        array.add(3);
+        array.remove(0);
+        array.set(0, "x");
+        Assert.assertEquals("[\"x\",3]", array.toJSONString());
+    }
+
+    public void test_serialize() throws Exception {
+        Object value = JSON.parseLazy(TEXT);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ObjectOutputStream objOut = new ObjectOutputStream(out);
+        objOut.writeObject(value);
+        objOut.close();
+
+        ObjectInputStream objIn = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()));
+        Assert.assertEquals(JSON.parse(TEXT), objIn.readObject());
+    }
+
+    public void test_blank() throws Exception {
+        Assert.assertNull(JSON.parseLazy(null));
+        Assert.assertNull(JSON.parseLazy("  "));
+        Assert.assertEquals("abc", JSON.parseLazy(" \"abc\" "));
+        Assert.assertEquals(-1, JSON.parseLazy("-1"));
+    }
+
+    public void test_error() throws Exception {
+        String[] texts = {"{\"a\":1", "[1,2}", "{\"a\" 1}", "{a:1}", "[1,]", "\"abc", "[1] 2"};
+
+        for (String text : texts) {
+            Exception error = null;
+            try {
+                JSON.parseLazy(text);
+            } catch (JSONException ex) {
+                error = ex;
+            }
+            Assert.assertNotNull(text, error);
+        }
+    }
+}
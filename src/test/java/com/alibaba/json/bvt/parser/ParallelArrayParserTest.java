@@ -0,0 +1,86 @@
+package com.alibaba.json.bvt.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONException;
+
+import junit.framework.TestCase;
+
+public class ParallelArrayParserTest extends TestCase {
+
+    private ExecutorService executor;
+
+    protected void setUp() throws Exception {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    protected void tearDown() throws Exception {
+        executor.shutdown();
+    }
+
+    public void test_large() throws Exception {
+        List<Model> list = new ArrayList<Model>();
+        for (int i = 0; i < 20000; ++i) {
+            Model model = new Model();
+            model.id = i;
+            model.name = i % 7 == 0 ? "a,]\"}" + i : "n" + i;
+            model.tags = new int[] {i, i + 1};
+            list.add(i % 100 == 0 ? null : model);
+        }
+        String text = JSON.toJSONString(list);
+
+        List<Model> result = JSON.parseArray(text, Model.class, executor);
+        Assert.assertEquals(list.size(), result.size());
+        for (int i = 0; i < list.size(); ++i) {
+            Model expected = list.get(i);
+            Model actual = result.get(i);
+            if (expected == null) {
+                Assert.assertNull(actual);
+                continue;
+            }
+            Assert.assertEquals(expected.id, actual.id);
+            Assert.assertEquals(expected.name, actual.name);
+            Assert.assertEquals(expected.tags[1], actual.tags[1]);
+        }
+    }
+
+    public void test_small() throws Exception {
+        List<Model> result = JSON.parseArray("[{\"id\":1},{\"id\":2}]", Model.class, executor);
+        Assert.assertEquals(2, result.size());
+        Assert.assertEquals(2, result.get(1).id);
+
+        Assert.assertNull(JSON.parseArray("null", Model.class, executor));
+        Assert.assertNull(JSON.parseArray(null, Model.class, executor));
+    }
+
+    public void test_error() throws Exception {
+        StringBuilder buf = new StringBuilder("[");
+        for (int i = 0; i < 10000; ++i) {
+            if (i != 0) {
+                buf.append(',');
+            }
+            buf.append(i == 9000 ? "{\"id\":x}" : "{\"id\":1}");
+        }
+        buf.append(']');
+
+        Exception error = null;
+        try {
+            JSON.parseArray(buf.toString(), Model.class, executor);
+        } catch (JSONException ex) {
+            error = ex;
+        }
+        Assert.assertNotNull(error);
+    }
+
+    public static class Model {
+        public int    id;
+        public String name;
+        public int[]  tags;
+    }
+}
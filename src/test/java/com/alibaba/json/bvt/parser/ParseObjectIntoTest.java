@@ -0,0 +1,145 @@
+package com.alibaba.json.bvt.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONException;
+
+import junit.framework.TestCase;
+
+public class ParseObjectIntoTest extends TestCase {
+
+    public void test_into() throws Exception {
+        Order order = new Order();
+        Item item = order.getItem();
+        List<Item> items = order.getItems();
+        List<String> tags = order.tags;
+
+        Order result = JSON.parseObjectInto("{\"id\":1,\"name\":\"a\",\"item\":{\"sku\":\"x\",\"price\":2.5},"
+                                            + "\"items\":[{\"sku\":\"y\"},{\"sku\":\"z\"}],\"tags\":[\"t1\",\"t2\"]}",
+                                            order);
+        Assert.assertSame(order, result);
+        Assert.assertSame(item, order.getItem());
+        Assert.assertSame(items, order.getItems());
+        Assert.assertSame(tags, order.tags);
+
+        Assert.assertEquals(1, order.getId());
+        Assert.assertEquals("a", order.getName());
+        Assert.assertEquals("x", item.sku);
+        Assert.assertEquals(2.5D, item.price, 0D);
+        Assert.assertEquals(2, items.size());
+        Assert.assertEquals("z", items.get(1).sku);
+        Assert.assertEquals(2, tags.size());
+
+        // 没有出现的属性被重置
+        JSON.parseObjectInto("{\"item\":{\"sku\":\"w\"},\"items\":[{\"sku\":\"v\"}]}".getBytes("UTF-8"), order);
+        Assert.assertSame(item, order.getItem());
+        Assert.assertSame(items, order.getItems());
+        Assert.assertEquals(0, order.getId());
+        Assert.assertNull(order.getName());
+        Assert.assertEquals("w", item.sku);
+        Assert.assertEquals(0D, item.price, 0D);
+        Assert.assertEquals(1, items.size());
+        Assert.assertEquals("v", items.get(0).sku);
+        Assert.assertTrue(tags.isEmpty());
+    }
+
+    public void test_null_field() throws Exception {
+        Order order = new Order();
+        order.setItem(null);
+
+        JSON.parseObjectInto("{\"item\":{\"sku\":\"x\"}}", order);
+        Assert.assertEquals("x", order.getItem().sku);
+    }
+
+    public void test_ref() throws Exception {
+        Pair pair = new Pair();
+        pair.b = pair.a;
+        pair.a.x = 5;
+        String text = JSON.toJSONString(pair);
+        Assert.assertEquals("{\"a\":{\"x\":5},\"b\":{\"$ref\":\"$.a\"}}", text);
+
+        Pair target = new Pair();
+        Point a = target.a;
+        Assert.assertSame(target, JSON.parseObjectInto(text, target));
+        Assert.assertSame(a, target.a);
+        Assert.assertSame(target.a, target.b);
+        Assert.assertEquals(5, target.b.x);
+
+        target = new Pair();
+        JSON.parseObjectInto(text.getBytes("UTF-8"), target);
+        Assert.assertSame(target.a, target.b);
+        Assert.assertEquals(5, target.b.x);
+    }
+
+    public void test_not_bean() throws Exception {
+        Exception error = null;
+        try {
+            JSON.parseObjectInto("{}", new ArrayList<Object>());
+        } catch (JSONException ex) {
+            error = ex;
+        }
+        Assert.assertNotNull(error);
+    }
+
+    public static class Pair {
+
+        public Point a = new Point();
+        public Point b = new Point();
+    }
+
+    public static class Point {
+
+        public int x;
+    }
+
+    public static class Order {
+
+        private int              id;
+        private String           name;
+        private Item             item  = new Item();
+        private List<Item>       items = new ArrayList<Item>();
+        public final List<String> tags  = new ArrayList<String>();
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Item getItem() {
+            return item;
+        }
+
+        public void setItem(Item item) {
+            this.item = item;
+        }
+
+        public List<Item> getItems() {
+            return items;
+        }
+
+        public void setItems(List<Item> items) {
+            this.items = items;
+        }
+    }
+
+    public static class Item {
+
+        public String sku;
+        public double price;
+    }
+}
@@ -0,0 +1,88 @@
+package com.alibaba.json.bvt.parser;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.parser.ParseContext;
+
+import junit.framework.TestCase;
+
+public class RefIndexTest extends TestCase {
+
+    public void test_path() throws Exception {
+        ParseContext root = new ParseContext(null, null, null);
+        ParseContext a = new ParseContext(root, null, "a");
+        ParseContext a12 = new ParseContext(a, null, 12);
+        ParseContext a0 = new ParseContext(a, null, 0);
+        ParseContext neg = new ParseContext(a12, null, -3);
+        ParseContext dot = new ParseContext(a0, null, "b.c");
+        ParseContext other = new ParseContext(dot, null, Boolean.TRUE);
+
+        ParseContext[] contexts = {root, a, a12, a0, neg, dot, other};
+        for (ParseContext context : contexts) {
+            String path = new ParseContext(context.parent, null, context.fieldName).toString();
+            Assert.assertEquals(path, path.hashCode(), context.pathHash());
+            Assert.assertTrue(path, context.pathEquals(path));
+            Assert.assertTrue(path, context.pathEquals(context.toString()));
+        }
+
+        Assert.assertFalse(a12.pathEquals("$.a[1]"));
+        Assert.assertFalse(a12.pathEquals("$.a[13]"));
+        Assert.assertFalse(a12.pathEquals("$.b[12]"));
+        Assert.assertFalse(dot.pathEquals("$.a[0].b"));
+        Assert.assertFalse(a.pathEquals("$a"));
+        Assert.assertFalse(root.pathEquals("@"));
+    }
+
+    public void test_many_refs() throws Exception {
+        List<Map<String, Object>> items = new ArrayList<Map<String, Object>>();
+        for (int i = 0; i < 500; ++i) {
+            Map<String, Object> item = new LinkedHashMap<String, Object>();
+            item.put("id", i);
+            items.add(item);
+        }
+
+        Map<String, Object> root = new LinkedHashMap<String, Object>();
+        root.put("items", items);
+        List<Object> refs = new ArrayList<Object>();
+        for (int i = items.size() - 1; i >= 0; --i) {
+            refs.add(items.get(i));
+        }
+        root.put("refs", refs);
+
+        String text = JSON.toJSONString(root);
+        Assert.assertTrue(text.indexOf("{\"$ref\":\"$.items[499]\"}") != -1);
+
+        JSONObject parsed = JSON.parseObject(text);
+        JSONArray parsedItems = parsed.getJSONArray("items");
+        JSONArray parsedRefs = parsed.getJSONArray("refs");
+        for (int i = 0; i < 500; ++i) {
+            Assert.assertSame(parsedItems.get(499 - i), parsedRefs.get(i));
+        }
+    }
+
+    public void test_bean_refs() throws Exception {
+        Node node = new Node();
+        node.child = new Node();
+        node.child.id = 2;
+        node.other = node.child;
+
+        Node parsed = JSON.parseObject(JSON.toJSONString(node), Node.class);
+        Assert.assertEquals(2, parsed.other.id);
+        Assert.assertSame(parsed.child, parsed.other);
+    }
+
+    public static class Node {
+
+        public int  id;
+        public Node child;
+        public Node other;
+    }
+}
@@ -0,0 +1,160 @@
+package com.alibaba.json.bvt.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.util.Map;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.parser.DefaultJSONParser;
+import com.alibaba.fastjson.parser.JSONLexerBase;
+import com.alibaba.fastjson.parser.JSONReaderScanner;
+import com.alibaba.fastjson.parser.JSONScanner;
+import com.alibaba.fastjson.parser.JSONToken;
+import com.alibaba.fastjson.parser.JSONUTF8Scanner;
+
+import junit.framework.TestCase;
+
+public class SkipValueTest extends TestCase {
+
+    private final static String VALUE = "{\"a\":[1,-2.5e3,{\"b\":\"x\\\"]}\\\\\"},'y\"}'],\"c\":null,\"d\":true,"
+                                        + "\"e\":\"中文\\u4e2d\", /* } */ \"f\":[[],{}]}";
+
+    public void test_skip() throws Exception {
+        String text = "[" + VALUE + ",123, \"abc\\\"\" ,null,{\"k\":1}]";
+
+        for (JSONLexerBase lexer : lexers(text)) {
+            lexer.nextToken();
+            Assert.assertEquals(JSONToken.LBRACKET, lexer.token());
+
+            lexer.skipValue();
+            Assert.assertEquals(JSONToken.COMMA, lexer.token());
+            lexer.skipValue();
+            Assert.assertEquals(JSONToken.COMMA, lexer.token());
+            lexer.skipValue();
+            Assert.assertEquals(JSONToken.COMMA, lexer.token());
+            lexer.skipValue();
+            Assert.assertEquals(JSONToken.COMMA, lexer.token());
+
+            DefaultJSONParser parser = new DefaultJSONParser(lexer);
+            Assert.assertEquals(1, ((Map) parser.parse()).get("k"));
+            Assert.assertEquals(JSONToken.RBRACKET, lexer.token());
+            lexer.nextToken();
+            Assert.assertEquals(JSONToken.EOF, lexer.token());
+        }
+    }
+
+    public void test_skip_with_colon() throws Exception {
+        for (JSONLexerBase lexer : lexers(": " + VALUE + " }")) {
+            lexer.skipValueWithColon();
+            Assert.assertEquals(JSONToken.RBRACE, lexer.token());
+        }
+    }
+
+    public void test_unknown_field() throws Exception {
+        String text = "{\"id\":3,\"unknown\":" + VALUE + ",\"name\":\"n\",\"x\":[1,[2]]}";
+
+        Model model = JSON.parseObject(text, Model.class);
+        Assert.assertEquals(3, model.id);
+        Assert.assertEquals("n", model.name);
+
+        model = JSON.parseObject(text.getBytes("UTF-8"), Model.class);
+        Assert.assertEquals(3, model.id);
+        Assert.assertEquals("n", model.name);
+
+        model = JSON.parseObject(new ByteArrayInputStream(text.getBytes("UTF-8")), Model.class);
+        Assert.assertEquals(3, model.id);
+        Assert.assertEquals("n", model.name);
+    }
+
+    public void test_error() throws Exception {
+        String[] texts = {"[1,2}", "{\"a\":1]", "\"abc", "{\"a\":[1,2", "", "}"};
+
+        for (String text : texts) {
+            for (JSONLexerBase lexer : lexers(text)) {
+                Exception error = null;
+                try {
+                    lexer.skipValue();
+                } catch (JSONException ex) {
+                    error = ex;
+                }
+                Assert.assertNotNull(text + " " + lexer.getClass().getSimpleName(), error);
+            }
+        }
+
+        Exception error = null;
+        try {
+            JSON.parseObject("{\"id\":3,\"unknown\":[1,{]}", Model.class);
+        } catch (JSONException ex) {
+            error = ex;
+        }
+        Assert.assertNotNull(error);
+    }
+
+    public void test_invalid_unknown_field() throws Exception {
+        String[] values = {"tru", "nul", "@#!", "1 2 3", "1.2.3", "-", "{\"q\" 1}", "{\"q\":1 \"r\":2}", "[1 2]",
+                "{\"q\":}", "[1,{\"q\"}]", "\"a\" \"b\"", "{q-1:1}", "\"\\9\"", "[\"a\\q\"]", "{\"k\":\"x\\\\\\z\"}",
+                "'\\9'"};
+
+        for (String value : values) {
+            String text = "{\"zzz\": " + value + ", \"id\": 1}";
+            byte[] bytes = text.getBytes("UTF-8");
+            for (int i = 0; i < 4; ++i) {
+                Exception error = null;
+                try {
+                    switch (i) {
+                        case 0:
+                            JSON.parseObject(text, Model.class);
+                            break;
+                        case 1:
+                            JSON.parseObject(bytes, Model.class);
+                            break;
+                        case 2:
+                            JSON.parseObject(new ByteArrayInputStream(bytes), Model.class);
+                            break;
+                        default:
+                            new DefaultJSONParser(new JSONReaderScanner(new StringReader(text))).parseObject(Model.class);
+                            break;
+                    }
+                } catch (JSONException ex) {
+                    error = ex;
+                }
+                Assert.assertNotNull(value + " " + i, error);
+            }
+        }
+    }
+
+    public void test_extension_values() throws Exception {
+        String[] values = {"NaN", "undefined", "new Date(1)", "Set[1,'a']", "TreeSet[]", "x'0A0B'", "'s'", "+1",
+                "{unquoted:1, 2:3, 'k' : [ , 1, ], }", "1.5e-3", "-0", "\"q\\\"\\\\\\/\\b\\u0041\\x41\\0\\'\"",
+                "'\\''"};
+
+        for (String value : values) {
+            String text = "{\"zzz\": " + value + ", \"id\": 1}";
+            for (JSONLexerBase lexer : lexers(": " + value + " }")) {
+                lexer.skipValueWithColon();
+                Assert.assertEquals(value, JSONToken.RBRACE, lexer.token());
+            }
+            Model model = JSON.parseObject(text, Model.class);
+            Assert.assertEquals(value, 1, model.id);
+            model = JSON.parseObject(text.getBytes("UTF-8"), Model.class);
+            Assert.assertEquals(value, 1, model.id);
+        }
+    }
+
+    private static JSONLexerBase[] lexers(String text) throws Exception {
+        byte[] bytes = text.getBytes("UTF-8");
+        return new JSONLexerBase[] {
+            new JSONScanner(text),
+            new JSONUTF8Scanner(bytes),
+            new JSONReaderScanner(new StringReader(text))
+        };
+    }
+
+    public static class Model {
+        public int    id;
+        public String name;
+    }
+}
@@ -0,0 +1,103 @@
+package com.alibaba.json.bvt.parser;
+
+import java.io.StringReader;
+import java.util.Random;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.parser.JSONLexerBase;
+import com.alibaba.fastjson.parser.JSONReaderScanner;
+import com.alibaba.fastjson.parser.JSONScanner;
+import com.alibaba.fastjson.parser.JSONToken;
+import com.alibaba.fastjson.parser.JSONUTF8Scanner;
+
+import junit.framework.TestCase;
+
+public class StringScanTest extends TestCase {
+
+    private final static char[] CHARS = {'a', 'b', ' ', '"', '\\', '中', '\u001a', '\'', '\n', 'é'};
+
+    public void test_random() throws Exception {
+        Random random = new Random(5);
+
+        for (int i = 0; i < 3000; ++i) {
+            StringBuilder buf = new StringBuilder();
+            for (int j = random.nextInt(40); j > 0; --j) {
+                buf.append(CHARS[random.nextInt(CHARS.length)]);
+            }
+            String value = buf.toString();
+
+            String text = "[" + JSON.toJSONString(value) + "," + JSON.toJSONString(value + "x") + "]";
+            for (JSONLexerBase lexer : lexers(text)) {
+                lexer.nextToken();
+                lexer.nextToken();
+                Assert.assertEquals(JSONToken.LITERAL_STRING, lexer.token());
+                Assert.assertEquals(value, lexer.stringVal());
+
+                lexer.nextToken();
+                lexer.nextToken();
+                Assert.assertEquals(value + "x", lexer.stringVal());
+            }
+
+            Model model = JSON.parseObject("{\"id\":1,\"name\":" + JSON.toJSONString(value) + "}", Model.class);
+            Assert.assertEquals(value, model.name);
+            model = JSON.parseObject(("{\"id\":1,\"name\":" + JSON.toJSONString(value) + "}").getBytes("UTF-8"),
+                                     Model.class);
+            Assert.assertEquals(value, model.name);
+        }
+    }
+
+    public void test_long() throws Exception {
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < 1000; ++i) {
+            buf.append("abcdefg中文");
+        }
+        String value = buf.toString();
+        String escaped = value + "\"\\/" + value;
+
+        for (String item : new String[] {value, escaped}) {
+            String text = JSON.toJSONString(item);
+            for (JSONLexerBase lexer : lexers(text)) {
+                lexer.nextToken();
+                Assert.assertEquals(item, lexer.stringVal());
+                Assert.assertEquals(JSONToken.EOF, next(lexer));
+            }
+        }
+    }
+
+    public void test_unclosed() throws Exception {
+        String[] texts = {"\"abcdefghijklmnopqrstuvwxyz", "\"abc\\\"", "\"abcdefghij\\"};
+
+        for (String text : texts) {
+            for (JSONLexerBase lexer : lexers(text)) {
+                Exception error = null;
+                try {
+                    lexer.nextToken();
+                } catch (JSONException ex) {
+                    error = ex;
+                }
+                Assert.assertNotNull(text + " " + lexer.getClass().getSimpleName(), error);
+            }
+        }
+    }
+
+    private static int next(JSONLexerBase lexer) {
+        lexer.nextToken();
+        return lexer.token();
+    }
+
+    private static JSONLexerBase[] lexers(String text) throws Exception {
+        return new JSONLexerBase[] {
+            new JSONScanner(text),
+            new JSONUTF8Scanner(text.getBytes("UTF-8")),
+            new JSONReaderScanner(new StringReader(text))
+        };
+    }
+
+    public static class Model {
+        public int    id;
+        public String name;
+    }
+}
@@ -0,0 +1,161 @@
+package com.alibaba.json.bvt.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.parser.Feature;
+import com.alibaba.fastjson.parser.StringSlice;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import com.alibaba.fastjson.serializer.ValueFilter;
+import com.alibaba.fastjson.util.TypeUtils;
+
+import junit.framework.TestCase;
+
+public class StringSliceTest extends TestCase {
+
+    private final static String TEXT = "{\"a\":\"hello\",\"b\":\"x\\\"y\\u4e2d\",\"c\":\"中文/<>\",\"d\":1,"
+                                       + "\"e\":{\"f\":\"g\"},\"h\":[\"i\"],\"j\":\"\"}";
+
+    public void test_parse() throws Exception {
+        JSONObject object = JSON.parseObject(TEXT, Feature.LazyStringValue);
+        JSONObject expected = JSON.parseObject(TEXT);
+
+        StringSlice a = (StringSlice) object.getInnerMap().get("a");
+        StringSlice b = (StringSlice) object.getInnerMap().get("b");
+        Assert.assertFalse(a.isEscaped());
+        Assert.assertTrue(b.isEscaped());
+        Assert.assertEquals(5, a.length());
+        Assert.assertEquals('e', a.charAt(1));
+        Assert.assertFalse(a.isDecoded());
+
+        Assert.assertEquals("hello", object.get("a"));
+        Assert.assertEquals("x\"y中", object.getString("b"));
+        Assert.assertEquals("", object.getString("j"));
+        Assert.assertEquals("g", object.getJSONObject("e").get("f"));
+        Assert.assertEquals("i", object.getJSONArray("h").get(0));
+        Assert.assertTrue(a.isDecoded());
+
+        Assert.assertEquals(expected, object);
+        Assert.assertEquals(object, expected);
+        Assert.assertEquals(expected.hashCode(), object.hashCode());
+    }
+
+    public void test_write() throws Exception {
+        JSONObject object = JSON.parseObject(TEXT, Feature.LazyStringValue, Feature.OrderedField);
+        JSONObject expected = JSON.parseObject(TEXT, Feature.OrderedField);
+        object.put("d", 2);
+        expected.put("d", 2);
+
+        Assert.assertEquals(expected.toJSONString(), object.toJSONString());
+        Assert.assertFalse(((StringSlice) object.getInnerMap().get("c")).isDecoded());
+
+        SerializerFeature[][] featuresList = {{SerializerFeature.BrowserCompatible},
+                {SerializerFeature.BrowserSecure}, {SerializerFeature.UseSingleQuotes},
+                {SerializerFeature.WriteSlashAsSpecial}, {SerializerFeature.PrettyFormat}};
+        for (SerializerFeature[] features : featuresList) {
+            Assert.assertEquals(JSON.toJSONString(expected, features), JSON.toJSONString(object, features));
+        }
+
+        String control = "{\"a\":\"\u0001 \"}";
+        Assert.assertEquals(JSON.toJSONString(JSON.parseObject(control)),
+                            JSON.toJSONString(JSON.parseObject(control, Feature.LazyStringValue)));
+    }
+
+    public void test_bytes() throws Exception {
+        JSONObject object = JSON.parseObject(TEXT.getBytes("UTF-8"), JSONObject.class, Feature.LazyStringValue);
+        Assert.assertTrue(object.getInnerMap().get("a") instanceof String);
+    }
+
+    public void test_serialize() throws Exception {
+        JSONObject object = JSON.parseObject(TEXT, Feature.LazyStringValue);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(object);
+        out.close();
+        JSONObject copy = (JSONObject) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+        Assert.assertTrue(copy.getInnerMap().get("a") instanceof String);
+        Assert.assertEquals(object, copy);
+    }
+
+    public void test_entrySet() throws Exception {
+        JSONObject object = JSON.parseObject(TEXT, Feature.LazyStringValue, Feature.OrderedField);
+
+        for (Map.Entry<String, Object> entry : object.entrySet()) {
+            Assert.assertFalse(entry.getKey(), entry.getValue() instanceof StringSlice);
+        }
+        for (Object value : object.values()) {
+            Assert.assertFalse(value instanceof StringSlice);
+        }
+        Assert.assertTrue(object.values().contains("hello"));
+        Assert.assertTrue(object.entrySet().contains(new AbstractMap.SimpleEntry<String, Object>("a", "hello")));
+        Assert.assertEquals(JSON.parseObject(TEXT, Feature.OrderedField).entrySet(), object.entrySet());
+
+        Map.Entry<String, Object> first = object.entrySet().iterator().next();
+        Assert.assertEquals("hello", first.setValue("world"));
+        Assert.assertEquals("world", object.get("a"));
+
+        Iterator<Object> it = object.values().iterator();
+        it.next();
+        it.remove();
+        Assert.assertFalse(object.containsKey("a"));
+    }
+
+    public void test_toJavaObject() throws Exception {
+        JSONObject object = JSON.parseObject("{\"id\":\"123\",\"name\":\"x\\\"y\",\"flag\":\"true\",\"price\":\"1.5\"}",
+                                             Feature.LazyStringValue);
+        Assert.assertTrue(object.getInnerMap().get("id") instanceof StringSlice);
+
+        Model model = object.toJavaObject(Model.class);
+        Assert.assertEquals(123, model.id);
+        Assert.assertEquals("x\"y", model.name);
+        Assert.assertTrue(model.flag);
+        Assert.assertEquals(new BigDecimal("1.5"), model.price);
+
+        Object id = object.getInnerMap().get("id");
+        Assert.assertEquals(Integer.valueOf(123), TypeUtils.castToInt(id));
+        Assert.assertEquals(Long.valueOf(123), TypeUtils.castToLong(id));
+        Assert.assertEquals(Double.valueOf(123), TypeUtils.castToDouble(id));
+        Assert.assertEquals(new BigDecimal("123"), TypeUtils.castToBigDecimal(id));
+        Assert.assertEquals(Boolean.TRUE, TypeUtils.castToBoolean(object.getInnerMap().get("flag")));
+        Assert.assertEquals("123", TypeUtils.cast(id, String.class, null));
+        Assert.assertEquals("123", TypeUtils.cast(id, Object.class, null));
+    }
+
+    public void test_filter() throws Exception {
+        JSONObject object = JSON.parseObject(TEXT, Feature.LazyStringValue, Feature.OrderedField);
+        JSONObject expected = JSON.parseObject(TEXT, Feature.OrderedField);
+
+        ValueFilter filter = new ValueFilter() {
+
+            public Object process(Object object, String name, Object value) {
+                if (value instanceof String) {
+                    return ((String) value).toUpperCase();
+                }
+                return value;
+            }
+        };
+        Assert.assertEquals(JSON.toJSONString(expected, filter), JSON.toJSONString(object, filter));
+        Assert.assertTrue(JSON.toJSONString(object, filter).contains("\"HELLO\""));
+        Assert.assertEquals(JSON.toJSONString(expected, filter, SerializerFeature.MapSortField),
+                            JSON.toJSONString(object, filter, SerializerFeature.MapSortField));
+    }
+
+    public static class Model {
+
+        public int        id;
+        public String     name;
+        public boolean    flag;
+        public BigDecimal price;
+    }
+}
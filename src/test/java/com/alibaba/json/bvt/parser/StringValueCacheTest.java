@@ -0,0 +1,117 @@
+package com.alibaba.json.bvt.parser;
+
+import java.io.StringReader;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.parser.DefaultJSONParser;
+import com.alibaba.fastjson.parser.JSONReaderScanner;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.parser.StringValueCache;
+
+import junit.framework.TestCase;
+
+public class StringValueCacheTest extends TestCase {
+
+    private final static String TEXT = "[{\"type\":\"click\",\"name\":\"x\\\"y\",\"desc\":\"0123456789abcdef\"},"
+                                       + "{\"type\":\"click\",\"name\":\"x\\\"y\",\"desc\":\"0123456789abcdef\"}]";
+
+    private StringValueCache cache;
+    private ParserConfig     config;
+
+    protected void setUp() throws Exception {
+        cache = new StringValueCache(100, 8);
+        config = new ParserConfig();
+        config.setStringValueCache(cache);
+    }
+
+    public void test_statistics_disabled() throws Exception {
+        Assert.assertFalse(cache.isStatisticsEnabled());
+        JSON.parseObject(TEXT, JSONArray.class, config);
+        Assert.assertEquals(0, cache.getHitCount());
+        Assert.assertEquals(0, cache.getMissCount());
+        Assert.assertEquals(0D, cache.getHitRate(), 0D);
+    }
+
+    public void test_string() throws Exception {
+        cache.setStatisticsEnabled(true);
+        JSONArray array = JSON.parseObject(TEXT, JSONArray.class, config);
+        check(array);
+
+        Assert.assertEquals(128, cache.getCapacity());
+        Assert.assertEquals(2, cache.getHitCount());
+        Assert.assertEquals(2, cache.getMissCount());
+        Assert.assertEquals(0.5D, cache.getHitRate(), 0D);
+
+        // 缓存可以跨多次解析使用
+        JSONArray other = JSON.parseObject(TEXT, JSONArray.class, config);
+        Assert.assertSame(array.getJSONObject(0).get("type"), other.getJSONObject(1).get("type"));
+        Assert.assertEquals(6, cache.getHitCount());
+
+        cache.clear();
+        Assert.assertTrue(cache.isStatisticsEnabled());
+        Assert.assertEquals(0, cache.getHitCount());
+        Assert.assertEquals(0D, cache.getHitRate(), 0D);
+    }
+
+    public void test_bytes() throws Exception {
+        byte[] bytes = TEXT.getBytes("UTF-8");
+        DefaultJSONParser parser = new DefaultJSONParser(bytes, 0, bytes.length, config, JSON.DEFAULT_PARSER_FEATURE);
+        JSONArray array = (JSONArray) parser.parse();
+        parser.close();
+        check(array);
+    }
+
+    public void test_reader() throws Exception {
+        DefaultJSONParser parser = new DefaultJSONParser(new JSONReaderScanner(new StringReader(TEXT)), config);
+        JSONArray array = (JSONArray) parser.parse();
+        parser.close();
+        check(array);
+    }
+
+    public void test_disabled() throws Exception {
+        JSONArray array = JSON.parseArray(TEXT);
+        Assert.assertNotSame(array.getJSONObject(0).get("type"), array.getJSONObject(1).get("type"));
+    }
+
+    public void test_collision() throws Exception {
+        StringValueCache cache = new StringValueCache(1, 8);
+        cache.setStatisticsEnabled(true);
+        char[] chars = "abcd".toCharArray();
+        Assert.assertEquals("ab", cache.get(chars, 0, 2));
+        Assert.assertEquals("cd", cache.get(chars, 2, 2));
+        Assert.assertEquals("ab", cache.get("xaby", 1, 2));
+        Assert.assertEquals("", cache.get(chars, 0, 0));
+        Assert.assertEquals(0, cache.getHitCount());
+        Assert.assertEquals(4, cache.getMissCount());
+    }
+
+    public void test_illegal() throws Exception {
+        try {
+            new StringValueCache(0, 8);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // skip
+        }
+        try {
+            new StringValueCache(16, -1);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // skip
+        }
+    }
+
+    private static void check(JSONArray array) {
+        Assert.assertEquals(JSON.parseArray(TEXT), array);
+
+        JSONObject first = array.getJSONObject(0), second = array.getJSONObject(1);
+        Assert.assertSame(first.get("type"), second.get("type"));
+        Assert.assertSame(first.get("name"), second.get("name"));
+        Assert.assertEquals("x\"y", first.get("name"));
+        // 超过maxLength的不缓存
+        Assert.assertNotSame(first.get("desc"), second.get("desc"));
+    }
+}
@@ -0,0 +1,111 @@
+package com.alibaba.json.bvt.parser;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.parser.JSONScanner;
+import com.alibaba.fastjson.parser.SymbolTable;
+
+import junit.framework.TestCase;
+
+public class SymbolTableCapacityTest extends TestCase {
+
+    public void test_grow() throws Exception {
+        SymbolTable table = new SymbolTable(16, 256);
+        Assert.assertEquals(16, table.getCapacity());
+
+        for (int i = 0; i < 1000; ++i) {
+            add(table, "key_" + i);
+        }
+        Assert.assertEquals(256, table.getCapacity());
+        Assert.assertTrue(table.size() <= 256);
+
+        // 扩容后按引用比较的key仍然是同一个对象
+        Assert.assertSame(add(table, "$ref"), add(table, "$ref"));
+        Assert.assertSame(JSON.DEFAULT_TYPE_KEY, add(table, JSON.DEFAULT_TYPE_KEY));
+    }
+
+    public void test_hit_miss() throws Exception {
+        SymbolTable table = new SymbolTable(64);
+        add(table, "name");
+        Assert.assertFalse(table.isStatisticsEnabled());
+        Assert.assertEquals(0, table.getHitCount());
+
+        table.setStatisticsEnabled(true);
+        String first = add(table, "name");
+        long miss = table.getMissCount();
+        Assert.assertEquals(0, miss);
+
+        String second = add(table, "name");
+        Assert.assertSame(first, second);
+        Assert.assertEquals(miss, table.getMissCount());
+        Assert.assertEquals(2, table.getHitCount());
+
+        add(table, "other");
+        Assert.assertEquals(1, table.getMissCount());
+    }
+
+    public void test_replace() throws Exception {
+        SymbolTable table = new SymbolTable(64);
+        String first = add(table, "name");
+
+        String text = new String("name");
+        String replaced = table.addSymbol(text, 0, 4, text.hashCode(), true);
+        Assert.assertSame(text, replaced);
+        Assert.assertNotSame(first, replaced);
+        Assert.assertSame(text, add(table, "name"));
+    }
+
+    public void test_replace_pinned() throws Exception {
+        SymbolTable table = new SymbolTable(16, 16);
+        for (int i = 0; i < 1000; ++i) {
+            add(table, "key_" + i);
+        }
+
+        // 表满之后，替换和"$ref"、"@type"在同一个槽的symbol，不能把它们挤掉
+        for (String pinned : new String[] { "$ref", JSON.DEFAULT_TYPE_KEY }) {
+            int slot = pinned.hashCode() & 15;
+            for (int i = 0, n = 0; n < 20; ++i) {
+                String text = "x" + i;
+                if ((text.hashCode() & 15) == slot) {
+                    table.addSymbol(text, 0, text.length(), text.hashCode(), true);
+                    n++;
+                }
+            }
+
+            String text = new String(pinned);
+            Assert.assertSame(pinned, table.addSymbol(text, 0, text.length(), text.hashCode(), true));
+            Assert.assertSame(pinned, add(table, pinned));
+        }
+    }
+
+    public void test_full() throws Exception {
+        SymbolTable table = new SymbolTable(16, 16);
+        for (int i = 0; i < 1000; ++i) {
+            add(table, "key_" + i);
+        }
+        Assert.assertEquals(16, table.getCapacity());
+
+        // 表满之后不再缓存，内容相同但不一定是同一个对象；"$ref"和"@type"仍然是字符串常量
+        Assert.assertEquals("key_999", add(table, "key_999"));
+        Assert.assertSame("$ref", add(table, "$ref"));
+        Assert.assertSame(JSON.DEFAULT_TYPE_KEY, add(table, JSON.DEFAULT_TYPE_KEY));
+    }
+
+    public void test_escaped_symbol() throws Exception {
+        SymbolTable symbolTable = new SymbolTable(512);
+
+        JSONScanner lexer = new JSONScanner("\"nick \\\"name\"");
+        String symbol = lexer.scanSymbol(symbolTable, '"');
+        lexer.close();
+
+        lexer = new JSONScanner("\"nick \\\"name\"");
+        Assert.assertSame(symbol, lexer.scanSymbol(symbolTable, '"'));
+        lexer.close();
+    }
+
+    private static String add(SymbolTable table, String key) {
+        char[] chars = key.toCharArray();
+        return table.addSymbol(chars, 0, chars.length);
+    }
+}
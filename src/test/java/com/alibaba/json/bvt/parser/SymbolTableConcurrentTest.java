@@ -0,0 +1,56 @@
+package com.alibaba.json.bvt.parser;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.parser.SymbolTable;
+
+import junit.framework.TestCase;
+
+public class SymbolTableConcurrentTest extends TestCase {
+
+    public void test_concurrent() throws Exception {
+        final SymbolTable table = new SymbolTable(16, 1024);
+        table.setStatisticsEnabled(true);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger errors = new AtomicInteger();
+
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; ++t) {
+            threads[t] = new Thread() {
+
+                public void run() {
+                    try {
+                        start.await();
+                        for (int i = 0; i < 10000; ++i) {
+                            String key = "k" + (i % 500);
+                            if (!key.equals(add(table, key))) {
+                                errors.incrementAndGet();
+                            }
+                        }
+                    } catch (InterruptedException ex) {
+                        errors.incrementAndGet();
+                    }
+                }
+            };
+            threads[t].start();
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals(0, errors.get());
+        Assert.assertTrue(table.getCapacity() <= 1024);
+        Assert.assertTrue(table.getHitCount() > 0);
+        Assert.assertEquals(40000, table.getHitCount() + table.getMissCount());
+    }
+
+    private static String add(SymbolTable table, String key) {
+        char[] chars = key.toCharArray();
+        return table.addSymbol(chars, 0, chars.length);
+    }
+}
@@ -0,0 +1,92 @@
+package com.alibaba.json.bvt.parser.deser;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.parser.DefaultJSONParser;
+import com.alibaba.fastjson.parser.Feature;
+import com.alibaba.fastjson.parser.ParseContext;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.parser.deserializer.ObjectDeserializer;
+
+import junit.framework.TestCase;
+
+public class DisableContextTest extends TestCase {
+
+    private final static String TEXT = "{\"items\":[{\"id\":1,\"probe\":0},{\"id\":2,\"probe\":0}],"
+                                       + "\"item\":{\"id\":3,\"probe\":0},\"probe\":0}";
+
+    public void test_disable_asm() throws Exception {
+        check(new ParserConfig());
+    }
+
+    public void test_disable_reflect() throws Exception {
+        ParserConfig config = new ParserConfig();
+        config.setAsmEnable(false);
+        check(config);
+    }
+
+    private void check(ParserConfig config) throws Exception {
+        config.putDeserializer(Probe.class, new ContextProbe());
+
+        ContextProbe.contexts = 0;
+        DefaultJSONParser parser = new DefaultJSONParser(TEXT, config,
+                                                         JSON.DEFAULT_PARSER_FEATURE
+                                                                 | Feature.DisableCircularReferenceDetect.mask);
+        Model model = parser.parseObject(Model.class);
+        Assert.assertEquals(2, model.items.get(1).id);
+        Assert.assertEquals(3, model.item.id);
+
+        // 没有创建ParseContext，也没有创建contextArray
+        Assert.assertEquals(0, ContextProbe.contexts);
+        Assert.assertNull(parser.getContext());
+        Field field = DefaultJSONParser.class.getDeclaredField("contextArray");
+        field.setAccessible(true);
+        Assert.assertNull(field.get(parser));
+
+        // 开启时每一层都有context
+        ContextProbe.contexts = 0;
+        model = JSON.parseObject(TEXT, Model.class, config);
+        Assert.assertEquals(4, ContextProbe.contexts);
+        Assert.assertEquals(1, model.items.get(0).id);
+    }
+
+    public static class Model {
+
+        public List<Item> items;
+        public Item       item;
+        public Probe      probe;
+    }
+
+    public static class Item {
+
+        public int   id;
+        public Probe probe;
+    }
+
+    public static class Probe {
+    }
+
+    public static class ContextProbe implements ObjectDeserializer {
+
+        static int contexts;
+
+        @SuppressWarnings("unchecked")
+        public <T> T deserialze(DefaultJSONParser parser, Type type, Object fieldName) {
+            ParseContext context = parser.getContext();
+            if (context != null && context.object != null) {
+                contexts++;
+            }
+            parser.parseObject(int.class);
+            return (T) new Probe();
+        }
+
+        public int getFastMatchToken() {
+            return 0;
+        }
+    }
+}
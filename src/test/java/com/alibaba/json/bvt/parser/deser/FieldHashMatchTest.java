@@ -0,0 +1,122 @@
+package com.alibaba.json.bvt.parser.deser;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.annotation.JSONField;
+import com.alibaba.fastjson.parser.Feature;
+import com.alibaba.fastjson.parser.JSONLexer;
+import com.alibaba.fastjson.parser.JSONScanner;
+import com.alibaba.fastjson.parser.JSONUTF8Scanner;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.parser.SymbolTable;
+import com.alibaba.fastjson.parser.deserializer.ExtraProcessor;
+import com.alibaba.fastjson.util.IOUtils;
+import com.alibaba.fastjson.util.TypeUtils;
+
+import junit.framework.TestCase;
+
+public class FieldHashMatchTest extends TestCase {
+
+    private ParserConfig config;
+
+    protected void setUp() throws Exception {
+        config = new ParserConfig();
+        config.setAsmEnable(false);
+    }
+
+    public void test_scanFieldHash() throws Exception {
+        String text = " \"userName\":1";
+        SymbolTable symbolTable = new SymbolTable(16);
+
+        JSONScanner lexer = new JSONScanner(text);
+        Assert.assertEquals(TypeUtils.fnv1a_64("userName"), lexer.scanFieldHash());
+        Assert.assertEquals(JSONLexer.VALUE, lexer.matchStat);
+        Assert.assertEquals(':', lexer.getCurrent());
+        Assert.assertSame(symbolTable.addSymbol("userName", 0, 8, "userName".hashCode()),
+                          lexer.fieldHashKey(symbolTable));
+
+        JSONUTF8Scanner utf8Lexer = new JSONUTF8Scanner(text.getBytes("UTF-8"));
+        Assert.assertEquals(TypeUtils.fnv1a_64("userName"), utf8Lexer.scanFieldHash());
+        Assert.assertEquals(':', utf8Lexer.getCurrent());
+        Assert.assertEquals("userName", utf8Lexer.fieldHashKey(symbolTable));
+
+        lexer = new JSONScanner("\"user\\u004eame\":1");
+        lexer.scanFieldHash();
+        Assert.assertEquals(JSONLexer.NOT_MATCH, lexer.matchStat);
+        Assert.assertEquals('"', lexer.getCurrent());
+        Assert.assertEquals("userName", lexer.scanSymbol(symbolTable));
+    }
+
+    public void test_reflect() throws Exception {
+        String text = "{\"x\":{\"a\":[1,2]},\"name\":\"n\",\"user_id\":3,\"na\\u006de2\":\"m\",\"名字\":\"中\",\"id\":5}";
+
+        Model model = JSON.parseObject(text, Model.class, config, JSON.DEFAULT_PARSER_FEATURE);
+        assertModel(model);
+
+        model = JSON.parseObject(text.getBytes("UTF-8"), 0, text.getBytes("UTF-8").length, IOUtils.UTF8,
+                                 Model.class, config, null, JSON.DEFAULT_PARSER_FEATURE);
+        assertModel(model);
+    }
+
+    public void test_non_public() throws Exception {
+        PrivateModel model = JSON.parseObject("{\"id\":1,\"name\":\"n\"}", PrivateModel.class, config,
+                                              JSON.DEFAULT_PARSER_FEATURE, Feature.SupportNonPublicField);
+        Assert.assertEquals(1, model.id);
+        Assert.assertEquals("n", model.name);
+    }
+
+    public void test_extra() throws Exception {
+        final Map<String, Object> extras = new HashMap<String, Object>();
+        ExtraProcessor processor = new ExtraProcessor() {
+
+            public void processExtra(Object object, String key, Object value) {
+                extras.put(key, value);
+            }
+        };
+
+        Model model = JSON.parseObject("{\"id\":5,\"unknown\":[1],\"name\":\"n\"}", Model.class, config, processor,
+                                       JSON.DEFAULT_PARSER_FEATURE);
+        Assert.assertEquals(5, model.id);
+        Assert.assertEquals("n", model.name);
+        Assert.assertEquals(1, extras.size());
+        Assert.assertEquals("[1]", JSON.toJSONString(extras.get("unknown")));
+    }
+
+    public void test_ref() throws Exception {
+        Node node = JSON.parseObject("{\"id\":1,\"self\":{\"$ref\":\"@\"}}", Node.class, config,
+                                     JSON.DEFAULT_PARSER_FEATURE);
+        Assert.assertSame(node, node.self.self);
+    }
+
+    private static void assertModel(Model model) {
+        Assert.assertEquals(5, model.id);
+        Assert.assertEquals("n", model.name);
+        Assert.assertEquals("m", model.name2);
+        Assert.assertEquals(3, model.userId);
+        Assert.assertEquals("中", model.cnName);
+    }
+
+    public static class Model {
+        public int    id;
+        public String name;
+        public String name2;
+        public int    userId;
+
+        @JSONField(name = "名字")
+        public String cnName;
+    }
+
+    public static class PrivateModel {
+        private int    id;
+        private String name;
+    }
+
+    public static class Node {
+        public int  id;
+        public Node self;
+    }
+}
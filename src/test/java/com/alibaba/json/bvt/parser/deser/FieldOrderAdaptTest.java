@@ -0,0 +1,155 @@
+package com.alibaba.json.bvt.parser.deser;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.parser.Feature;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.parser.deserializer.JavaBeanDeserializer;
+
+import junit.framework.TestCase;
+
+public class FieldOrderAdaptTest extends TestCase {
+
+    public void test_asm() throws Exception {
+        // ASM先按声明顺序匹配能匹配上的字段，剩下的字段才交给JavaBeanDeserializer，按声明顺序的输入不会再经过学习
+        check(new ParserConfig(), new int[] {2, 1, 0, 3}, new int[] {0, 3, 2, 1}, new int[] {0, 3, 2, 1});
+    }
+
+    public void test_reflect() throws Exception {
+        ParserConfig config = new ParserConfig();
+        config.setAsmEnable(false);
+        check(config, new int[] {3, 2, 1, 0}, new int[] {1, 0, 3, 2}, null);
+    }
+
+    public void test_set_flags() throws Exception {
+        ParserConfig reflect = new ParserConfig();
+        reflect.setAsmEnable(false);
+
+        // 快速匹配过的字段(排序后下标不是0)不会被后面smart match的"_id"覆盖
+        for (ParserConfig config : new ParserConfig[] { new ParserConfig(), reflect }) {
+            for (int i = 0; i < 3; ++i) {
+                Model model = JSON.parseObject("{\"age\":7,\"flag\":true,\"id\":1,\"name\":\"s\",\"_id\":2}",
+                                               Model.class, config, Feature.AdaptiveFieldOrder);
+                assertModel(model, 1, "s");
+            }
+        }
+    }
+
+    public void test_disabled() throws Exception {
+        ParserConfig config = new ParserConfig();
+        for (int i = 0; i < 5; ++i) {
+            assertModel(JSON.parseObject("{\"name\":\"x\",\"id\":1,\"flag\":true,\"age\":7}", Model.class, config),
+                        1, "x");
+        }
+        Assert.assertNull(fieldOrder((JavaBeanDeserializer) config.getDeserializer(Model.class)));
+    }
+
+    // 学习到的顺序不影响没有打开AdaptiveFieldOrder时的解析结果，也不影响按声明顺序输入时ASM的解析结果
+    public void test_same_result() throws Exception {
+        ParserConfig reflect = new ParserConfig();
+        reflect.setAsmEnable(false);
+
+        String[] inputs = { "{\"farr\":[8E72]}", "{\"fv\":4E85}", "{\"farr\":[1.5],\"fv\":2.5,\"id\":3}",
+                "{\"id\":3,\"fv\":4E85}" };
+        for (ParserConfig config : new ParserConfig[] { new ParserConfig(), reflect }) {
+            String[] before = new String[inputs.length];
+            String[] beforeAdaptive = new String[inputs.length];
+            for (int i = 0; i < inputs.length; ++i) {
+                before[i] = parseFloatModel(inputs[i], config);
+                beforeAdaptive[i] = parseFloatModel(inputs[i], config, Feature.AdaptiveFieldOrder);
+            }
+
+            for (int i = 0; i < 5; ++i) {
+                JSON.parseObject("{\"id\":" + i + ",\"fv\":1.5,\"farr\":[2.5]}", FloatModel.class, config,
+                                 Feature.AdaptiveFieldOrder);
+            }
+            JavaBeanDeserializer deser = (JavaBeanDeserializer) config.getDeserializer(FloatModel.class);
+            Assert.assertNotNull(fieldOrder(deser));
+
+            for (int i = 0; i < inputs.length; ++i) {
+                assertEquals(inputs[i], before[i], parseFloatModel(inputs[i], config));
+            }
+
+            if (config.isAsmEnable()) {
+                // 按声明顺序输入时仍然使用ASM的快速匹配
+                for (int i = 0; i < 3; ++i) {
+                    assertEquals(inputs[i], beforeAdaptive[i],
+                                 parseFloatModel(inputs[i], config, Feature.AdaptiveFieldOrder));
+                }
+            }
+        }
+    }
+
+    private static String parseFloatModel(String text, ParserConfig config, Feature... features) {
+        try {
+            FloatModel model = JSON.parseObject(text, FloatModel.class, config, features);
+            return (model.farr == null ? "null" : Arrays.toString(model.farr)) + "," + model.fv + "," + model.id;
+        } catch (JSONException ex) {
+            return ex.getMessage();
+        }
+    }
+
+    private void check(ParserConfig config, int[] reversedOrder, int[] otherOrder, int[] sortedOrder)
+            throws Exception {
+        String reversed = "{\"name\":\"x\",\"id\":%d,\"flag\":true,\"age\":7}";
+        for (int i = 0; i < 5; ++i) {
+            Model model = JSON.parseObject(String.format(reversed, i), Model.class, config, Feature.AdaptiveFieldOrder);
+            assertModel(model, i, "x");
+        }
+
+        JavaBeanDeserializer deser = (JavaBeanDeserializer) config.getDeserializer(Model.class);
+        Assert.assertArrayEquals(reversedOrder, fieldOrder(deser));
+
+        // 缺少字段和未知字段不影响学习到的顺序
+        Model model = JSON.parseObject("{\"name\":\"y\",\"extra\":1,\"id\":9,\"age\":7}", Model.class, config, Feature.AdaptiveFieldOrder);
+        assertModel(model, 9, "y");
+        Assert.assertFalse(model.flag);
+        Assert.assertArrayEquals(reversedOrder, fieldOrder(deser));
+
+        // 顺序变化后重新学习
+        String other = "{\"flag\":true,\"age\":7,\"name\":\"z\",\"id\":%d}";
+        for (int i = 0; i < 5; ++i) {
+            assertModel(JSON.parseObject(String.format(other, i), Model.class, config, Feature.AdaptiveFieldOrder), i, "z");
+        }
+        Assert.assertArrayEquals(otherOrder, fieldOrder(deser));
+
+        // 恢复到排序后的顺序
+        String sorted = "{\"age\":7,\"flag\":true,\"id\":%d,\"name\":\"s\"}";
+        for (int i = 0; i < 5; ++i) {
+            assertModel(JSON.parseObject(String.format(sorted, i), Model.class, config, Feature.AdaptiveFieldOrder), i, "s");
+        }
+        Assert.assertArrayEquals(sortedOrder, fieldOrder(deser));
+    }
+
+    private static void assertModel(Model model, int id, String name) {
+        Assert.assertEquals(id, model.id);
+        Assert.assertEquals(7, model.age);
+        Assert.assertEquals(name, model.name);
+    }
+
+    private static int[] fieldOrder(JavaBeanDeserializer deser) throws Exception {
+        Field field = JavaBeanDeserializer.class.getDeclaredField("fieldOrder");
+        field.setAccessible(true);
+        return (int[]) field.get(deser);
+    }
+
+    public static class Model {
+
+        public int     age;
+        public boolean flag;
+        public int     id;
+        public String  name;
+    }
+
+    public static class FloatModel {
+
+        public float[] farr;
+        public float   fv;
+        public int     id;
+    }
+}
@@ -0,0 +1,108 @@
+package com.alibaba.json.bvt.parser.deser;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.TypeReference;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.parser.deserializer.PropertyProjection;
+import com.alibaba.fastjson.util.IOUtils;
+
+import junit.framework.TestCase;
+
+public class PropertyProjectionTest extends TestCase {
+
+    private final static String TEXT = "{\"id\":1001,\"payload\":{\"a\":[1,2,{\"b\":\"x\\\"}\"}],\"c\":null},"
+                                       + "\"user\":{\"name\":\"wenshao\",\"age\":30,\"tags\":[\"a\",\"b\"]},"
+                                       + "\"items\":[{\"price\":1.5,\"sku\":\"s1\"},{\"price\":2.5,\"sku\":\"s2\"}],"
+                                       + "\"flag\":true,\"note\":\"n\"}";
+
+    public void test_bean() throws Exception {
+        Event event = JSON.parseObject(TEXT, Event.class, new PropertyProjection("id", "user.name", "items.price"));
+
+        Assert.assertEquals(1001, event.id);
+        Assert.assertNull(event.payload);
+        Assert.assertNull(event.note);
+        Assert.assertFalse(event.flag);
+        Assert.assertEquals("wenshao", event.user.name);
+        Assert.assertEquals(0, event.user.age);
+        Assert.assertNull(event.user.tags);
+        Assert.assertEquals(2, event.items.size());
+        Assert.assertEquals(2.5D, event.items.get(1).price, 0D);
+        Assert.assertNull(event.items.get(1).sku);
+    }
+
+    public void test_bean_leaf() throws Exception {
+        Event event = JSON.parseObject(TEXT, Event.class, new PropertyProjection("user", "user.name", "note"));
+
+        Assert.assertEquals(0, event.id);
+        Assert.assertEquals("n", event.note);
+        Assert.assertEquals(30, event.user.age);
+        Assert.assertEquals(2, event.user.tags.size());
+    }
+
+    public void test_jsonObject() throws Exception {
+        JSONObject object = JSON.parseObject(TEXT, JSONObject.class, new PropertyProjection("id", "payload.c", "items.sku"));
+
+        Assert.assertEquals(3, object.size());
+        Assert.assertEquals(1001, object.get("id"));
+        Assert.assertTrue(object.getJSONObject("payload").containsKey("c"));
+        Assert.assertEquals(1, object.getJSONObject("payload").size());
+
+        JSONArray items = object.getJSONArray("items");
+        Assert.assertEquals(2, items.size());
+        Assert.assertEquals("{\"sku\":\"s2\"}", items.getJSONObject(1).toJSONString());
+    }
+
+    public void test_map() throws Exception {
+        Map<String, Object> map = JSON.parseObject(TEXT, new TypeReference<Map<String, Object>>() {}.getType(),
+                                                   new PropertyProjection("note", "user.age"));
+
+        Assert.assertEquals(2, map.size());
+        Assert.assertEquals("n", map.get("note"));
+        Assert.assertEquals("{\"age\":30}", JSON.toJSONString(map.get("user")));
+    }
+
+    public void test_utf8() throws Exception {
+        Event event = JSON.parseObject(TEXT.getBytes("UTF-8"), IOUtils.UTF8, Event.class, ParserConfig.global,
+                                        new PropertyProjection("id"), JSON.DEFAULT_PARSER_FEATURE);
+
+        Assert.assertEquals(1001, event.id);
+        Assert.assertNull(event.user);
+    }
+
+    public void test_error() throws Exception {
+        Exception error = null;
+        try {
+            JSON.parseObject("{\"id\":1,\"payload\":{\"a\":[1,2}", Event.class, new PropertyProjection("id"));
+        } catch (Exception ex) {
+            error = ex;
+        }
+        Assert.assertNotNull(error);
+    }
+
+    public static class Event {
+        public int        id;
+        public JSONObject payload;
+        public User       user;
+        public List<Item> items;
+        public boolean    flag;
+        public String     note;
+    }
+
+    public static class User {
+        public String       name;
+        public int          age;
+        public List<String> tags;
+    }
+
+    public static class Item {
+        public double price;
+        public String sku;
+    }
+}
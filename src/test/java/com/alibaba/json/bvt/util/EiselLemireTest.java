@@ -0,0 +1,106 @@
+package com.alibaba.json.bvt.util;
+
+import java.io.StringReader;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONReader;
+import com.alibaba.fastjson.TypeReference;
+import com.alibaba.fastjson.parser.Feature;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.util.EiselLemire;
+
+import junit.framework.TestCase;
+
+public class EiselLemireTest extends TestCase {
+
+    public void test_random_decimal() throws Exception {
+        Random random = new Random(17);
+
+        for (int i = 0; i < 1000 * 1000; ++i) {
+            StringBuilder buf = new StringBuilder();
+            for (int j = 1 + random.nextInt(19); j > 0; --j) {
+                buf.append((char) ('0' + random.nextInt(10)));
+            }
+            long mantissa = new BigInteger(buf.toString()).longValue();
+            int exp10 = random.nextInt(3) == 0 ? random.nextInt(700) - 350 : random.nextInt(60) - 30;
+            String text = buf + "e" + exp10;
+
+            double value = EiselLemire.toDouble(mantissa, exp10, false);
+            if (value == value) {
+                Assert.assertEquals(text, Double.parseDouble(text), value, 0D);
+            }
+
+            double floatValue = EiselLemire.toFloat(mantissa, exp10, true);
+            if (floatValue == floatValue) {
+                Assert.assertEquals(text, -Float.parseFloat(text), (float) floatValue, 0F);
+            }
+        }
+    }
+
+    public void test_round_trip() throws Exception {
+        Random random = new Random(19);
+
+        for (int i = 0; i < 1000 * 100; ++i) {
+            double value = Double.longBitsToDouble(random.nextLong());
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                continue;
+            }
+
+            String text = Double.toString(value);
+            Assert.assertEquals(text, value, JSON.parseObject("{\"v\":" + text + "}", Model.class).v, 0D);
+            Assert.assertEquals(text, value, JSON.parseObject("[" + text + "]", double[].class)[0], 0D);
+        }
+    }
+
+    public void test_lexer_paths() throws Exception {
+        String[] texts = {"0.1", "-2.5e-3", "1.7976931348623157E308", "4.9E-324", "123456789012345678901.5",
+                "0.30000000000000004", "1E22", "9007199254740993", "-0.0", "3.4028235E38", "1.4E-45"};
+
+        ParserConfig config = new ParserConfig();
+        config.setAsmEnable(false);
+
+        for (String text : texts) {
+            double expected = Double.parseDouble(text);
+            float expectedFloat = Float.parseFloat(text);
+            // 超出float范围时floatValue会抛出异常
+            boolean isFloat = !Float.isInfinite(expectedFloat) && (expectedFloat != 0 || expected == 0);
+            String json = isFloat ? "{\"v\":" + text + ",\"f\":" + text + "}" : "{\"v\":" + text + "}";
+
+            Model model = JSON.parseObject(json, Model.class);
+            Assert.assertEquals(text, expected, model.v, 0D);
+            if (isFloat) {
+                Assert.assertEquals(text, expectedFloat, model.f, 0F);
+            }
+
+            model = JSON.parseObject(json, Model.class, config, JSON.DEFAULT_PARSER_FEATURE);
+            Assert.assertEquals(text, expected, model.v, 0D);
+            if (isFloat) {
+                Assert.assertEquals(text, expectedFloat, model.f, 0F);
+            }
+
+            model = JSON.parseObject(json.getBytes("UTF-8"), Model.class);
+            Assert.assertEquals(text, expected, model.v, 0D);
+
+            JSONReader reader = new JSONReader(new StringReader(json));
+            model = reader.readObject(Model.class);
+            reader.close();
+            Assert.assertEquals(text, expected, model.v, 0D);
+
+            Object value = JSON.parse("[" + text + "]", JSON.DEFAULT_PARSER_FEATURE & ~Feature.UseBigDecimal.mask);
+            Assert.assertEquals(text, expected, ((Number) ((List) value).get(0)).doubleValue(), 0D);
+
+            List<Double> list = JSON.parseObject("[" + text + "]", new TypeReference<List<Double>>() {});
+            Assert.assertEquals(text, expected, list.get(0).doubleValue(), 0D);
+        }
+    }
+
+    public static class Model {
+        public double v;
+        public float  f;
+    }
+}